@@ -0,0 +1,127 @@
+package com.clickhouse.benchmark.misc;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.data.ClickHouseByteBuffer;
+import com.clickhouse.data.ClickHouseByteUtils;
+
+/**
+ * Compares byte-by-byte decoding of little-endian numbers against
+ * {@link ClickHouseByteUtils}, which is backed by {@code VarHandle} and bulk
+ * {@code ByteBuffer} views on Java 9 and above.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ByteUtilsBenchmark {
+    @State(Scope.Thread)
+    public static class ByteState extends BaseState {
+        @Param(value = { "1024", "65536" })
+        private int length;
+
+        public byte[] bytes;
+        public ClickHouseByteBuffer buffer;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            bytes = new byte[length + 1];
+            new Random().nextBytes(bytes);
+            // odd position to make sure access is unaligned
+            buffer = ClickHouseByteBuffer.of(bytes, 1, length);
+        }
+    }
+
+    static int getInt32(byte[] bytes, int offset) {
+        return (0xFF & bytes[offset]) | ((0xFF & bytes[offset + 1]) << 8) | ((0xFF & bytes[offset + 2]) << 16)
+                | ((0xFF & bytes[offset + 3]) << 24);
+    }
+
+    static long getInt64(byte[] bytes, int offset) {
+        return (0xFFL & bytes[offset]) | ((0xFFL & bytes[offset + 1]) << 8) | ((0xFFL & bytes[offset + 2]) << 16)
+                | ((0xFFL & bytes[offset + 3]) << 24) | ((0xFFL & bytes[offset + 4]) << 32)
+                | ((0xFFL & bytes[offset + 5]) << 40) | ((0xFFL & bytes[offset + 6]) << 48)
+                | ((0xFFL & bytes[offset + 7]) << 56);
+    }
+
+    @Benchmark
+    public void scalarInt32Shift(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        for (int i = 1, len = bytes.length - Integer.BYTES; i <= len; i += Integer.BYTES) {
+            consumer.consume(getInt32(bytes, i));
+        }
+    }
+
+    @Benchmark
+    public void scalarInt32(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        for (int i = 1, len = bytes.length - Integer.BYTES; i <= len; i += Integer.BYTES) {
+            consumer.consume(ClickHouseByteUtils.getInt32LE(bytes, i));
+        }
+    }
+
+    @Benchmark
+    public void scalarInt64Shift(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        for (int i = 1, len = bytes.length - Long.BYTES; i <= len; i += Long.BYTES) {
+            consumer.consume(getInt64(bytes, i));
+        }
+    }
+
+    @Benchmark
+    public void scalarInt64(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        for (int i = 1, len = bytes.length - Long.BYTES; i <= len; i += Long.BYTES) {
+            consumer.consume(ClickHouseByteUtils.getInt64LE(bytes, i));
+        }
+    }
+
+    @Benchmark
+    public void arrayInt32Shift(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        int[] values = new int[state.length / Integer.BYTES];
+        for (int i = 0, offset = 1, len = values.length; i < len; i++, offset += Integer.BYTES) {
+            values[i] = getInt32(bytes, offset);
+        }
+        consumer.consume(values);
+    }
+
+    @Benchmark
+    public void arrayInt32(ByteState state, Blackhole consumer) {
+        consumer.consume(state.buffer.asIntegerArray());
+    }
+
+    @Benchmark
+    public void arrayInt64Shift(ByteState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        long[] values = new long[state.length / Long.BYTES];
+        for (int i = 0, offset = 1, len = values.length; i < len; i++, offset += Long.BYTES) {
+            values[i] = getInt64(bytes, offset);
+        }
+        consumer.consume(values);
+    }
+
+    @Benchmark
+    public void arrayInt64(ByteState state, Blackhole consumer) {
+        consumer.consume(state.buffer.asLongArray());
+    }
+}
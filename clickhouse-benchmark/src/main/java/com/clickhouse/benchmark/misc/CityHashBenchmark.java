@@ -0,0 +1,104 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.data.ClickHouseCityHash;
+import com.clickhouse.data.stream.Lz4InputStream;
+import com.clickhouse.data.stream.Lz4OutputStream;
+
+/**
+ * Measures throughput of {@link ClickHouseCityHash} as well as LZ4 frame
+ * decoding with different checksum verification modes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CityHashBenchmark {
+    @State(Scope.Thread)
+    public static class HashState extends BaseState {
+        @Param(value = { "4096", "65536", "1048576" })
+        private int blockSize;
+
+        public byte[] block;
+        public byte[] frames;
+        public byte[] buffer;
+
+        @Setup(Level.Trial)
+        public void setupSamples() throws IOException {
+            block = new byte[blockSize];
+            Random random = new Random();
+            // half random and half repeated bytes, so that it's compressible
+            for (int i = 0; i < blockSize; i++) {
+                block[i] = (i & 1) == 0 ? (byte) random.nextInt(16) : (byte) 'x';
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (Lz4OutputStream lz4Out = new Lz4OutputStream(out, blockSize, null)) {
+                for (int i = 0, len = Math.max(8 * 1024 * 1024 / blockSize, 1); i < len; i++) {
+                    lz4Out.write(block);
+                }
+            }
+            frames = out.toByteArray();
+            buffer = new byte[blockSize];
+        }
+    }
+
+    private void decode(HashState state, int sampling, boolean async, Blackhole consumer) throws IOException {
+        byte[] buffer = state.buffer;
+        try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(state.frames), sampling, async,
+                null)) {
+            int len = 0;
+            while ((len = in.read(buffer)) != -1) {
+                consumer.consume(len);
+            }
+        }
+    }
+
+    @Benchmark
+    public void hash(HashState state, Blackhole consumer) {
+        consumer.consume(ClickHouseCityHash.cityHash128(state.block, 0, state.block.length));
+    }
+
+    @Benchmark
+    public void decodeWithoutChecksum(HashState state, Blackhole consumer) throws IOException {
+        decode(state, 0, false, consumer);
+    }
+
+    @Benchmark
+    public void decodeWithChecksum(HashState state, Blackhole consumer) throws IOException {
+        decode(state, 1, false, consumer);
+    }
+
+    @Benchmark
+    public void decodeWithSampledChecksum(HashState state, Blackhole consumer) throws IOException {
+        decode(state, 8, false, consumer);
+    }
+
+    @Benchmark
+    public void decodeWithAsyncChecksum(HashState state, Blackhole consumer) throws IOException {
+        decode(state, 1, true, consumer);
+    }
+}
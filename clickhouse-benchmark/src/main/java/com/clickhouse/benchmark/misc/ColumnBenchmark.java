@@ -0,0 +1,95 @@
+package com.clickhouse.benchmark.misc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.data.ClickHouseColumn;
+
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ColumnBenchmark {
+    static final String[] TYPES = new String[] { "UInt64", "Nullable(String)", "LowCardinality(String)",
+            "DateTime64(3, 'UTC')", "Decimal(18, 4)", "Array(Nullable(Int32))", "Map(String, UInt8)",
+            "Tuple(a String, b Nullable(Float64))", "Nested(x Int8, y Array(String))", "IPv6" };
+
+    // distinct enum types, way more than what the type cache can hold
+    static final int UNIQUE_TYPES = 10000;
+
+    @State(Scope.Thread)
+    public static class ColumnState extends BaseState {
+        @Param(value = { "repeated", "unique" })
+        private String mode;
+        @Param(value = { "100" })
+        private int width;
+
+        public String[] names;
+        public String[] types;
+        public String[] headers;
+
+        private int offset;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            boolean unique = "unique".equals(mode);
+            int count = unique ? UNIQUE_TYPES : TYPES.length;
+            names = new String[count];
+            types = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = "c" + i;
+                types[i] = unique ? "Enum8('v" + i + "' = 1)" : TYPES[i];
+            }
+
+            headers = new String[count];
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                builder.setLength(0);
+                for (int j = 0; j < width; j++) {
+                    int index = (i + j) % count;
+                    builder.append(names[index]).append(' ').append(types[index]).append(',');
+                }
+                builder.setLength(builder.length() - 1);
+                headers[i] = builder.toString();
+            }
+            offset = 0;
+        }
+
+        public int next() {
+            int index = offset;
+            offset = (offset + width) % names.length;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public void of(ColumnState state, Blackhole consumer) {
+        final int len = state.names.length;
+        for (int i = 0, index = state.next(); i < state.width; i++) {
+            int j = (index + i) % len;
+            consumer.consume(ClickHouseColumn.of(state.names[j], state.types[j]));
+        }
+    }
+
+    @Benchmark
+    public void parse(ColumnState state, Blackhole consumer) {
+        consumer.consume(ClickHouseColumn.parse(state.headers[state.next() % state.headers.length]));
+    }
+}
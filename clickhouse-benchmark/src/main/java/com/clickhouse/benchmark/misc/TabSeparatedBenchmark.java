@@ -0,0 +1,143 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseRecord;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.format.ClickHouseTabSeparatedProcessor;
+import com.clickhouse.data.format.tsv.ByteFragment;
+import com.clickhouse.data.format.tsv.FieldScanner;
+import com.clickhouse.data.format.tsv.StreamSplitter;
+
+/**
+ * Compares {@link StreamSplitter} and {@link ByteFragment}, which scan and
+ * unescape byte by byte, against {@link FieldScanner}, which scans eight bytes
+ * at a time and parses numbers without creating strings.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TabSeparatedBenchmark {
+    static final String COLUMNS = "id Int64, score Float64, name String, flags UInt32";
+
+    @State(Scope.Thread)
+    public static class TsvState extends BaseState {
+        @Param(value = { "1000", "100000" })
+        private int rows;
+
+        public byte[] bytes;
+        public List<ClickHouseColumn> columns;
+        public ClickHouseConfig config;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            Random random = new Random();
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < rows; i++) {
+                builder.append(random.nextLong()).append('\t').append(random.nextInt(1000000) / 100D).append('\t')
+                        .append("name_").append(i);
+                if (i % 10 == 0) {
+                    builder.append("\\twith\\\\escape");
+                }
+                builder.append('\t').append(random.nextInt() & 0x7FFFFFFF).append('\n');
+            }
+            bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+            columns = ClickHouseColumn.parse(COLUMNS);
+            config = new ClickHouseConfig(
+                    Collections.singletonMap(ClickHouseClientOption.FORMAT, ClickHouseFormat.TabSeparated));
+        }
+    }
+
+    @Benchmark
+    public void splitter(TsvState state, Blackhole consumer) throws IOException {
+        StreamSplitter splitter = new StreamSplitter(new ByteArrayInputStream(state.bytes), (byte) '\n');
+        ByteFragment row;
+        while ((row = splitter.next()) != null) {
+            if (row.isEmpty()) {
+                continue;
+            }
+            ByteFragment[] fields = row.split((byte) '\t');
+            consumer.consume(Long.parseLong(fields[0].asString(true)));
+            consumer.consume(Double.parseDouble(fields[1].asString(true)));
+            consumer.consume(fields[2].asString(true));
+            consumer.consume(Long.parseLong(fields[3].asString(true)));
+        }
+    }
+
+    @Benchmark
+    public void scanner(TsvState state, Blackhole consumer) {
+        byte[] bytes = state.bytes;
+        byte[] unescaped = new byte[64];
+        int position = 0;
+        int limit = bytes.length;
+        while (position < limit) {
+            int end = FieldScanner.indexOf(bytes, position, limit, (byte) '\t');
+            consumer.consume(FieldScanner.parseLong(bytes, position, end));
+            position = end + 1;
+
+            end = FieldScanner.indexOf(bytes, position, limit, (byte) '\t');
+            double d = FieldScanner.parseDouble(bytes, position, end);
+            consumer.consume(Double.isNaN(d)
+                    ? Double.parseDouble(new String(bytes, position, end - position, StandardCharsets.UTF_8))
+                    : d);
+            position = end + 1;
+
+            end = FieldScanner.indexOf(bytes, position, limit, (byte) '\t');
+            if (FieldScanner.indexOf(bytes, position, end, (byte) '\\') >= 0) {
+                if (unescaped.length < end - position) {
+                    unescaped = new byte[end - position];
+                }
+                consumer.consume(new String(unescaped, 0, FieldScanner.unescape(bytes, position, end, unescaped),
+                        StandardCharsets.UTF_8));
+            } else {
+                consumer.consume(new String(bytes, position, end - position, StandardCharsets.UTF_8));
+            }
+            position = end + 1;
+
+            end = FieldScanner.indexOf(bytes, position, limit, (byte) '\n');
+            consumer.consume(FieldScanner.parseLong(bytes, position, end));
+            position = end + 1;
+        }
+    }
+
+    @Benchmark
+    public void processor(TsvState state, Blackhole consumer) throws IOException {
+        ClickHouseTabSeparatedProcessor p = new ClickHouseTabSeparatedProcessor(state.config,
+                ClickHouseInputStream.of(new ByteArrayInputStream(state.bytes)), null, state.columns, null);
+        for (ClickHouseRecord r : p.records()) {
+            for (ClickHouseValue v : r) {
+                consumer.consume(v);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
@@ -22,7 +23,9 @@ import java.util.Optional;
 import java.util.WeakHashMap;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.clickhouse.client.ClickHouseClient;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseCredentials;
 import com.clickhouse.client.ClickHouseNode;
@@ -189,7 +192,8 @@ public class ClickHouseCommandLine implements AutoCloseable {
         commands.add(DEFAULT_CLICKHOUSE_CLI_PATH);
     }
 
-    static Process startProcess(ClickHouseRequest<?> request) {
+    static Process startProcess(ClickHouseRequest<?> request, ClickHouseCommandLinePool.Provider provider,
+            AtomicReference<IOException> inputError) {
         final ClickHouseConfig config = request.getConfig();
         final ClickHouseNode server = request.getServer();
         final int timeout = config.getSocketTimeout();
@@ -275,10 +279,19 @@ public class ClickHouseCommandLine implements AutoCloseable {
         commands.add("--format=".concat(config.getFormat().name()));
 
         str = request.getQueryId().orElse("");
+        // query ID, external tables as well as input and output files are all
+        // specific to the query, so they can only be passed to a new process
+        final int poolSize = config.getIntOption(ClickHouseCommandLineOption.CLI_POOL_SIZE);
+        final boolean pooled = provider != null && poolSize > 0 && ClickHouseChecker.isNullOrBlank(str) && !request.hasInputStream()
+                && request.getExternalTables().isEmpty()
+                && !request.getOutputStream().map(ClickHouseOutputStream::hasUnderlyingStream).orElse(false);
         if (!ClickHouseChecker.isNullOrBlank(str)) {
             commands.add("--query_id=".concat(str));
         }
-        commands.add("--query=".concat(str = request.getStatements(false).get(0)));
+        final String query = str = request.getStatements(false).get(0);
+        if (!pooled) {
+            commands.add("--query=".concat(query));
+        }
 
         for (ClickHouseExternalTable table : request.getExternalTables()) {
             ClickHouseFile tableFile = ClickHouseFile.of(table.getContent(), table.getCompression(),
@@ -329,16 +342,37 @@ public class ClickHouseCommandLine implements AutoCloseable {
         }
 
         log.debug("Query: %s", str);
-        ProcessBuilder builder = new ProcessBuilder(commands);
+        File directory = null;
         String workDirectory = config.getStrOption(
                 ClickHouseCommandLineOption.CLI_WORK_DIRECTORY);
         if (!ClickHouseChecker.isNullOrBlank(workDirectory)) {
             Path p = Paths.get(workDirectory);
             if (Files.isDirectory(p)) {
-                builder.directory(p.toFile());
+                directory = p.toFile();
+            }
+        }
+
+        if (pooled) {
+            Process process = null;
+            try {
+                process = provider.get(commands, directory, poolSize).acquire();
+                try (OutputStream out = process.getOutputStream()) {
+                    out.write(query.getBytes(StandardCharsets.UTF_8));
+                }
+                return process;
+            } catch (IOException e) {
+                if (process != null) {
+                    process.destroyForcibly();
+                }
+                throw new UncheckedIOException(e);
             }
         }
 
+        ProcessBuilder builder = new ProcessBuilder(commands);
+        if (directory != null) {
+            builder.directory(directory);
+        }
+
         if (request.hasOutputStream()) {
             final ClickHouseOutputStream chOutput = request.getOutputStream().get(); // NOSONAR
 
@@ -389,17 +423,31 @@ public class ClickHouseCommandLine implements AutoCloseable {
             final Process process;
             if (in.isPresent()) {
                 final ClickHouseInputStream chInput = in.get();
-                final File inputFile;
-                if (chInput.hasUnderlyingStream()) {
-                    final ClickHousePassThruStream customStream = chInput.getUnderlyingStream();
-                    inputFile = customStream instanceof ClickHouseFile ? ((ClickHouseFile) customStream).getFile()
-                            : ClickHouseFile.of(customStream.getInputStream(), config.getRequestCompressAlgorithm(),
-                                    config.getRequestCompressLevel(), config.getFormat()).getFile();
+                final ClickHousePassThruStream customStream = chInput.getUnderlyingStream();
+                if (customStream instanceof ClickHouseFile) {
+                    process = builder.redirectInput(((ClickHouseFile) customStream).getFile()).start();
                 } else {
-                    inputFile = ClickHouseFile.of(chInput, config.getRequestCompressAlgorithm(),
-                            config.getRequestCompressLevel(), config.getFormat()).getFile();
+                    // stream data through pipe instead of saving it into a temporary file
+                    final InputStream source = chInput.hasUnderlyingStream() ? customStream.getInputStream()
+                            : chInput;
+                    process = builder.start();
+                    final OutputStream target = process.getOutputStream();
+                    ClickHouseClient.submit(() -> {
+                        try (InputStream i = source; OutputStream o = target) {
+                            try {
+                                ClickHouseInputStream.pipe(i, o, config.getWriteBufferSize());
+                            } catch (IOException e) {
+                                inputError.compareAndSet(null, e);
+                                // kill the process before closing its standard input, otherwise
+                                // it will see EOF and take partial data as complete
+                                process.destroyForcibly();
+                                throw e;
+                            }
+                        } catch (IOException e) {
+                            log.debug("Failed to write input data due to: %s", e.getMessage());
+                        }
+                    });
                 }
-                process = builder.redirectInput(inputFile).start();
             } else {
                 process = builder.start();
                 process.getOutputStream().close();
@@ -412,16 +460,29 @@ public class ClickHouseCommandLine implements AutoCloseable {
 
     private final ClickHouseRequest<?> request;
 
+    private final AtomicReference<IOException> inputError;
     private String error;
 
     private final Process process;
 
     public ClickHouseCommandLine(ClickHouseRequest<?> request) {
+        this(request, null);
+    }
+
+    /**
+     * Starts command-line process for the given request.
+     *
+     * @param request  non-null request
+     * @param provider optional provider of process pools, pooling is disabled
+     *                 when it's null
+     */
+    ClickHouseCommandLine(ClickHouseRequest<?> request, ClickHouseCommandLinePool.Provider provider) {
         this.request = request;
 
+        this.inputError = new AtomicReference<>();
         this.error = null;
 
-        this.process = startProcess(request);
+        this.process = startProcess(request, provider, inputError);
     }
 
     public ClickHouseInputStream getInputStream() throws IOException {
@@ -480,6 +541,11 @@ public class ClickHouseCommandLine implements AutoCloseable {
                 throw new CompletionException(e);
             }
         }
+
+        IOException exp = inputError.get();
+        if (exp != null) {
+            return exp;
+        }
         return !ClickHouseChecker.isNullOrBlank(error) ? new IOException(error) : null;
     }
 
@@ -1,10 +1,13 @@
 package com.clickhouse.client.cli;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.clickhouse.client.AbstractClient;
 import com.clickhouse.client.ClickHouseException;
@@ -26,6 +29,14 @@ public class ClickHouseCommandLineClient extends AbstractClient<ClickHouseComman
     static final List<ClickHouseProtocol> SUPPORTED = Collections
             .unmodifiableList(Arrays.asList(ClickHouseProtocol.LOCAL, ClickHouseProtocol.TCP));
 
+    // pools retained by this client, which will be released on close
+    private final Map<String, ClickHouseCommandLinePool> pools = new ConcurrentHashMap<>();
+
+    ClickHouseCommandLinePool getPool(List<String> commands, File directory, int size) {
+        return pools.computeIfAbsent(ClickHouseCommandLinePool.getKey(commands, directory, size),
+                k -> ClickHouseCommandLinePool.retain(commands, directory, size));
+    }
+
     @Override
     protected boolean checkHealth(ClickHouseNode server, int timeout) {
         try (ClickHouseCommandLine cli = getConnection(connect(server).query("SELECT 1"));
@@ -41,10 +52,10 @@ public class ClickHouseCommandLineClient extends AbstractClient<ClickHouseComman
     protected ClickHouseCommandLine newConnection(ClickHouseCommandLine conn, ClickHouseNode server,
             ClickHouseRequest<?> request) {
         if (conn != null) {
-            closeConnection(conn, false);
+            conn.close();
         }
 
-        return new ClickHouseCommandLine(request);
+        return new ClickHouseCommandLine(request, this::getPool);
     }
 
     @Override
@@ -58,7 +69,13 @@ public class ClickHouseCommandLineClient extends AbstractClient<ClickHouseComman
         try {
             conn.close();
         } catch (Exception e) {
-            log.warn("Failed to close http connection due to: %s", e.getMessage());
+            log.warn("Failed to close command-line process due to: %s", e.getMessage());
+        } finally {
+            // only called when closing the client
+            for (ClickHouseCommandLinePool pool : pools.values()) {
+                pool.release();
+            }
+            pools.clear();
         }
     }
 
@@ -69,7 +86,18 @@ public class ClickHouseCommandLineClient extends AbstractClient<ClickHouseComman
 
     @Override
     protected ClickHouseResponse send(ClickHouseRequest<?> sealedRequest) throws ClickHouseException, IOException {
-        return new ClickHouseCommandLineResponse(sealedRequest.getConfig(), getConnection(sealedRequest));
+        ClickHouseCommandLine cli = getConnection(sealedRequest);
+        try {
+            return new ClickHouseCommandLineResponse(sealedRequest.getConfig(), cli);
+        } catch (IOException e) {
+            // streams are closed when the process was killed, e.g. failed to write input
+            IOException exp = cli.getError();
+            if (exp != null && exp != e) {
+                exp.addSuppressed(e);
+                throw exp;
+            }
+            throw e;
+        }
     }
 
     @Override
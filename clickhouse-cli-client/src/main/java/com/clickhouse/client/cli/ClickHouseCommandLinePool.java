@@ -0,0 +1,216 @@
+package com.clickhouse.client.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.logging.Logger;
+import com.clickhouse.logging.LoggerFactory;
+
+/**
+ * Pool of warm command-line processes. A process is started without query, so
+ * that it waits for the query to be written into its standard input, and the
+ * results will be streamed back from its standard output. Since the native
+ * command-line reads standard input until EOF before execution, each process
+ * serves exactly one query, but process spawn, container startup(e.g.
+ * {@code docker exec}) as well as connection establishment happen ahead of time
+ * in background.
+ *
+ * <p>
+ * Pools are shared by clients using same command line and pool size. Each
+ * client retains the pools it uses, and releases them when it's closed, so
+ * that idle processes are destroyed along with the last client.
+ */
+final class ClickHouseCommandLinePool {
+    /**
+     * Provider of pools, usually backed by a client.
+     */
+    @FunctionalInterface
+    interface Provider {
+        /**
+         * Gets pool for the given command line.
+         *
+         * @param commands  non-null command line without query
+         * @param directory optional work directory
+         * @param size      number of idle processes to keep
+         * @return non-null pool
+         */
+        ClickHouseCommandLinePool get(List<String> commands, File directory, int size);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ClickHouseCommandLinePool.class);
+
+    private static final Map<String, ClickHouseCommandLinePool> pools = new ConcurrentHashMap<>();
+
+    static {
+        // in case a client was not closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (ClickHouseCommandLinePool pool : pools.values()) {
+                pool.clear();
+            }
+        }));
+    }
+
+    static String getKey(List<String> commands, File directory, int size) {
+        StringBuilder builder = new StringBuilder().append(size).append('\0');
+        if (directory != null) {
+            builder.append(directory.getAbsolutePath());
+        }
+        for (String str : commands) {
+            builder.append('\0').append(str);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets pool for the given command line and increases its reference count.
+     * {@link #release()} must be called when the pool is no longer needed.
+     *
+     * @param commands  non-null command line without query
+     * @param directory optional work directory
+     * @param size      number of idle processes to keep
+     * @return non-null pool
+     */
+    static ClickHouseCommandLinePool retain(List<String> commands, File directory, int size) {
+        return pools.compute(getKey(commands, directory, size), (k, v) -> {
+            if (v == null) {
+                v = new ClickHouseCommandLinePool(k, commands, directory, size);
+            }
+            v.references++;
+            return v;
+        });
+    }
+
+    /**
+     * Gets number of pools in use.
+     *
+     * @return number of pools
+     */
+    static int getPools() {
+        return pools.size();
+    }
+
+    // only accessed in pools.compute()
+    private int references;
+
+    private final String key;
+    private final List<String> commands;
+    private final File directory;
+    private final int size;
+
+    private final Deque<Process> idleProcesses;
+    // number of idle processes plus the ones being started
+    private final AtomicInteger counter;
+    private volatile boolean closed;
+
+    ClickHouseCommandLinePool(List<String> commands, File directory, int size) {
+        this(null, commands, directory, size);
+    }
+
+    private ClickHouseCommandLinePool(String key, List<String> commands, File directory, int size) {
+        this.key = key;
+        this.references = 0;
+        this.commands = new ArrayList<>(commands);
+        this.directory = directory;
+        this.size = size;
+
+        this.idleProcesses = new ConcurrentLinkedDeque<>();
+        this.counter = new AtomicInteger(0);
+        this.closed = false;
+    }
+
+    Process start() throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(commands);
+        if (directory != null) {
+            builder.directory(directory);
+        }
+        return builder.start();
+    }
+
+    void fill() {
+        while (!closed && counter.get() < size) {
+            if (counter.incrementAndGet() > size) {
+                counter.decrementAndGet();
+                break;
+            }
+
+            ClickHouseClient.submit(() -> {
+                try {
+                    Process process = start();
+                    idleProcesses.offer(process);
+                    if (closed) {
+                        clear();
+                    }
+                } catch (IOException e) {
+                    counter.decrementAndGet();
+                    log.debug("Failed to start command-line process due to: %s", e.getMessage());
+                }
+            });
+        }
+    }
+
+    int getIdleProcesses() {
+        return idleProcesses.size();
+    }
+
+    /**
+     * Gets an idle process or starts a new one when there's none, and then
+     * replenishes the pool in background.
+     *
+     * @return non-null process waiting for query
+     * @throws IOException when failed to start new process
+     */
+    Process acquire() throws IOException {
+        Process process;
+        try {
+            while ((process = idleProcesses.poll()) != null) {
+                counter.decrementAndGet();
+                if (process.isAlive()) {
+                    return process;
+                }
+                // e.g. idle connection closed by server
+                log.debug("Discarded exited command-line process, exit value: %d", process.exitValue());
+            }
+        } finally {
+            fill();
+        }
+        return start();
+    }
+
+    /**
+     * Decreases reference count of the pool, and destroys idle processes when
+     * it's no longer referenced.
+     */
+    void release() {
+        if (key == null) {
+            clear();
+            return;
+        }
+
+        pools.computeIfPresent(key, (k, v) -> {
+            if (v != this) {
+                return v;
+            } else if (--references > 0) {
+                return this;
+            }
+            closed = true;
+            clear();
+            return null;
+        });
+    }
+
+    void clear() {
+        Process process;
+        while ((process = idleProcesses.poll()) != null) {
+            counter.decrementAndGet();
+            process.destroyForcibly();
+        }
+    }
+}
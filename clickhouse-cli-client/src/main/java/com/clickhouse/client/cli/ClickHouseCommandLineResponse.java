@@ -16,7 +16,10 @@ public class ClickHouseCommandLineResponse extends ClickHouseStreamResponse {
         super(config, cli.getInputStream(), null, null, ClickHouseResponseSummary.EMPTY);
         this.cli = cli;
 
-        if (this.input.available() < 1) {
+        // wait for the first byte instead of checking available bytes, so that
+        // results can be streamed from the pipe without waiting for the process
+        // to exit
+        if (this.input.peek() < 0) {
             IOException exp = cli.getError();
             if (exp != null) {
                 throw exp;
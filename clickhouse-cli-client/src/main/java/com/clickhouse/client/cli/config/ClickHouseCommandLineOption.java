@@ -48,6 +48,16 @@ public enum ClickHouseCommandLineOption implements ClickHouseOption {
      */
     CLI_WORK_DIRECTORY("cli_work_directory", "",
             "Command-line work directory, empty value is treate as system temporary directory"),
+    /**
+     * Number of idle command-line processes to keep for each distinct command
+     * line. A pooled process is started in advance and waits for query from
+     * standard input, which hides the latency of process spawn, container startup
+     * and connection establishment. Queries with query ID, external tables, input
+     * or output file will always start a new process. Zero or negative number
+     * disables pooling.
+     */
+    CLI_POOL_SIZE("cli_pool_size", 0,
+            "Number of idle command-line processes to keep for each distinct command line, zero or negative number disables pooling"),
     /**
      * Whether to use native command-line client configuration file as defined in
      * {@link #CLI_CONFIG_FILE}.
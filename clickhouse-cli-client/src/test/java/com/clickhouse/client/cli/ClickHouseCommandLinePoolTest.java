@@ -0,0 +1,187 @@
+package com.clickhouse.client.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProtocol;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.cli.config.ClickHouseCommandLineOption;
+import com.clickhouse.config.ClickHouseOption;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseRecord;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+public class ClickHouseCommandLinePoolTest {
+    /**
+     * Creates a script mimics the command-line client: it prints value of
+     * {@code --query} with a prefix when specified, or otherwise echoes standard
+     * input.
+     */
+    static File createStandInScript() throws IOException {
+        if (!new File("/bin/sh").canExecute()) {
+            throw new SkipException("Skip as /bin/sh is not available");
+        }
+
+        File script = File.createTempFile("fake-clickhouse", ".sh");
+        script.deleteOnExit();
+        String content = "#!/bin/sh\n"
+                + "for arg in \"$@\"; do\n"
+                + "  case \"$arg\" in\n"
+                + "    --version) echo 'fake'; exit 0;;\n"
+                + "    --query=*) printf 'arg:%s\\n' \"${arg#--query=}\"; exit 0;;\n"
+                + "  esac\n"
+                + "done\n"
+                + "cat\n"
+                + "echo\n";
+        Files.write(script.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        Assert.assertTrue(script.setExecutable(true));
+        return script;
+    }
+
+    static void waitForIdleProcesses(ClickHouseCommandLinePool pool, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && pool.getIdleProcesses() < expected; i++) {
+            Thread.sleep(50L);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testAcquire() throws IOException, InterruptedException {
+        File script = createStandInScript();
+        List<String> commands = Arrays.asList(script.getAbsolutePath(), "client");
+        ClickHouseCommandLinePool pool = new ClickHouseCommandLinePool(commands, null, 2);
+        Assert.assertEquals(pool.getIdleProcesses(), 0);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                Process process = pool.acquire();
+                waitForIdleProcesses(pool, 2);
+                Assert.assertEquals(pool.getIdleProcesses(), 2);
+
+                try (OutputStream out = process.getOutputStream()) {
+                    out.write(("SELECT " + i).getBytes(StandardCharsets.US_ASCII));
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (InputStream in = process.getInputStream()) {
+                    ClickHouseInputStream.pipe(in, out, 1024);
+                }
+                Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.US_ASCII).trim(), "SELECT " + i);
+                Assert.assertEquals(process.waitFor(), 0);
+            }
+        } finally {
+            pool.clear();
+        }
+        Assert.assertEquals(pool.getIdleProcesses(), 0);
+    }
+
+    @Test(groups = "unit")
+    public void testRetainAndRelease() {
+        List<String> commands = Arrays.asList("clickhouse", "client", "--host=retain");
+        int count = ClickHouseCommandLinePool.getPools();
+
+        ClickHouseCommandLinePool pool1 = ClickHouseCommandLinePool.retain(commands, null, 1);
+        ClickHouseCommandLinePool pool2 = ClickHouseCommandLinePool.retain(commands, null, 1);
+        ClickHouseCommandLinePool pool3 = ClickHouseCommandLinePool.retain(commands, null, 2);
+        Assert.assertTrue(pool1 == pool2);
+        Assert.assertTrue(pool1 != pool3, "Pools of different sizes should not be shared");
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count + 2);
+
+        pool1.release();
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count + 2);
+        pool2.release();
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count + 1);
+        pool3.release();
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count);
+
+        pool2 = ClickHouseCommandLinePool.retain(commands, null, 1);
+        Assert.assertTrue(pool1 != pool2, "Released pool should not be reused");
+        pool2.release();
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count);
+    }
+
+    @Test(groups = "unit")
+    public void testFailedInput() throws Exception {
+        if (!new File("/bin/sh").canExecute()) {
+            throw new SkipException("Skip as /bin/sh is not available");
+        }
+
+        // consumes all input before exiting successfully, like an insert query
+        File script = File.createTempFile("fake-clickhouse", ".sh");
+        script.deleteOnExit();
+        Files.write(script.toPath(), "#!/bin/sh\ncat > /dev/null\n".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertTrue(script.setExecutable(true));
+
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseCommandLineOption.CLICKHOUSE_CLI_PATH, script.getAbsolutePath());
+        ClickHouseNode server = ClickHouseNode.of("localhost", ClickHouseProtocol.TCP, 9000, null);
+        InputStream input = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (++count > 100) {
+                    throw new IOException("Broken input");
+                }
+                return '1';
+            }
+        };
+
+        try (ClickHouseCommandLineClient client = new ClickHouseCommandLineClient()) {
+            client.init(new ClickHouseConfig(options));
+            Throwable error = null;
+            try (ClickHouseResponse response = client.connect(server).write().query("insert into x")
+                    .data(input).executeAndWait()) {
+                Assert.fail("Insert should fail when input is broken");
+            } catch (Exception e) {
+                error = e;
+            }
+            while (error.getCause() != null && !"Broken input".equals(error.getMessage())) {
+                error = error.getCause();
+            }
+            Assert.assertEquals(error.getMessage(), "Broken input");
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testPooledQuery() throws Exception {
+        File script = createStandInScript();
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseCommandLineOption.CLICKHOUSE_CLI_PATH, script.getAbsolutePath());
+        options.put(ClickHouseCommandLineOption.CLI_POOL_SIZE, 1);
+        ClickHouseNode server = ClickHouseNode.of("localhost", ClickHouseProtocol.TCP, 9000, null);
+        int count = ClickHouseCommandLinePool.getPools();
+
+        try (ClickHouseCommandLineClient client = new ClickHouseCommandLineClient()) {
+            client.init(new ClickHouseConfig(options));
+            for (int i = 0; i < 3; i++) {
+                try (ClickHouseResponse response = client.connect(server).query("select " + i).executeAndWait()) {
+                    ClickHouseRecord r = response.firstRecord();
+                    Assert.assertEquals(r.getValue(0).asString(), "select " + i);
+                }
+                // query ID can only be passed as argument to a new process
+                try (ClickHouseResponse response = client.connect(server).query("select " + i, "qid")
+                        .executeAndWait()) {
+                    ClickHouseRecord r = response.firstRecord();
+                    Assert.assertEquals(r.getValue(0).asString(), "arg:select " + i);
+                }
+            }
+            Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count + 1);
+        }
+        // idle processes are released along with the client
+        Assert.assertEquals(ClickHouseCommandLinePool.getPools(), count);
+    }
+}
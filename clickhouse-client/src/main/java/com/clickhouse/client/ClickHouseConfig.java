@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -202,6 +203,7 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
     private final int failover;
     private final int retry;
     private final boolean repeatOnSessionLock;
+    private final boolean reuseValueContainer;
     private final boolean reuseValueWrapper;
     private final boolean serverInfo;
     private final TimeZone serverTimeZone;
@@ -214,10 +216,13 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
     private final String sslRootCert;
     private final String sslCert;
     private final String sslKey;
+    private final int stringDictionarySize;
+    private final Set<String> stringDictionaryColumns;
     private final int transactionTimeout;
     private final boolean widenUnsignedTypes;
     private final boolean useBinaryString;
     private final boolean useBlockingQueue;
+    private final boolean useEpochTime;
     private final boolean useObjectsInArray;
     private final boolean useNoProxy;
     private final boolean useServerTimeZone;
@@ -310,6 +315,7 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
         this.failover = getIntOption(ClickHouseClientOption.FAILOVER);
         this.retry = getIntOption(ClickHouseClientOption.RETRY);
         this.repeatOnSessionLock = getBoolOption(ClickHouseClientOption.REPEAT_ON_SESSION_LOCK);
+        this.reuseValueContainer = getBoolOption(ClickHouseClientOption.REUSE_VALUE_CONTAINER);
         this.reuseValueWrapper = getBoolOption(ClickHouseClientOption.REUSE_VALUE_WRAPPER);
         this.serverInfo = !ClickHouseChecker.isNullOrBlank(getStrOption(ClickHouseClientOption.SERVER_TIME_ZONE))
                 && !ClickHouseChecker.isNullOrBlank(getStrOption(ClickHouseClientOption.SERVER_VERSION));
@@ -325,10 +331,20 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
         this.sslRootCert = getStrOption(ClickHouseClientOption.SSL_ROOT_CERTIFICATE);
         this.sslCert = getStrOption(ClickHouseClientOption.SSL_CERTIFICATE);
         this.sslKey = getStrOption(ClickHouseClientOption.SSL_KEY);
+        this.stringDictionarySize = getIntOption(ClickHouseClientOption.STRING_DICTIONARY_SIZE);
+        Set<String> dictColumns = new HashSet<>();
+        for (String name : getStrOption(ClickHouseClientOption.STRING_DICTIONARY_COLUMNS).split(",")) {
+            if (!(name = name.trim()).isEmpty()) {
+                dictColumns.add(name);
+            }
+        }
+        this.stringDictionaryColumns = dictColumns.isEmpty() ? Collections.emptySet()
+                : Collections.unmodifiableSet(dictColumns);
         this.transactionTimeout = getIntOption(ClickHouseClientOption.TRANSACTION_TIMEOUT);
         this.widenUnsignedTypes = getBoolOption(ClickHouseClientOption.WIDEN_UNSIGNED_TYPES);
         this.useBinaryString = getBoolOption(ClickHouseClientOption.USE_BINARY_STRING);
         this.useBlockingQueue = getBoolOption(ClickHouseClientOption.USE_BLOCKING_QUEUE);
+        this.useEpochTime = getBoolOption(ClickHouseClientOption.USE_EPOCH_TIME);
         this.useObjectsInArray = getBoolOption(ClickHouseClientOption.USE_OBJECTS_IN_ARRAYS);
         this.useNoProxy = getBoolOption(ClickHouseClientOption.USE_NO_PROXY);
         this.useServerTimeZone = getBoolOption(ClickHouseClientOption.USE_SERVER_TIME_ZONE);
@@ -536,6 +552,11 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
         return reuseValueWrapper;
     }
 
+    @Override
+    public boolean isReuseValueContainer() {
+        return reuseValueContainer;
+    }
+
     /**
      * Checks whether we got all server information(e.g. timezone and version).
      *
@@ -585,6 +606,16 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
         return sslKey;
     }
 
+    @Override
+    public int getStringDictionarySize() {
+        return stringDictionarySize;
+    }
+
+    @Override
+    public Set<String> getStringDictionaryColumns() {
+        return stringDictionaryColumns;
+    }
+
     public int getTransactionTimeout() {
         return transactionTimeout < 1 ? sessionTimeout : transactionTimeout;
     }
@@ -604,6 +635,11 @@ public class ClickHouseConfig implements ClickHouseDataConfig {
         return useBlockingQueue;
     }
 
+    @Override
+    public boolean isUseEpochTime() {
+        return useEpochTime;
+    }
+
     @Override
     public boolean isUseObjectsInArray() {
         return useObjectsInArray;
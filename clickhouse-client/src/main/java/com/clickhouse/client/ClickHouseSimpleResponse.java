@@ -6,6 +6,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseColumnLookup;
 import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseRecord;
 import com.clickhouse.data.ClickHouseRecordTransformer;
@@ -99,6 +100,7 @@ public class ClickHouseSimpleResponse implements ClickHouseResponse {
         }
 
         List<ClickHouseColumn> columns = response.getColumns();
+        ClickHouseColumnLookup lookup = ClickHouseColumnLookup.of(columns);
         int size = columns.size();
         List<ClickHouseRecord> records = new LinkedList<>();
         int rowIndex = 0;
@@ -108,7 +110,7 @@ public class ClickHouseSimpleResponse implements ClickHouseResponse {
                 values[i] = r.getValue(i).copy();
             }
 
-            ClickHouseRecord rec = ClickHouseSimpleRecord.of(columns, values);
+            ClickHouseRecord rec = ClickHouseSimpleRecord.of(columns, values, lookup);
             if (func != null) {
                 func.update(rowIndex, rec);
             }
@@ -138,8 +140,9 @@ public class ClickHouseSimpleResponse implements ClickHouseResponse {
 
         int len = values.length;
         List<ClickHouseRecord> list = new ArrayList<>(len);
+        ClickHouseColumnLookup lookup = len > 0 ? ClickHouseColumnLookup.of(columns) : null;
         for (int i = 0; i < len; i++) {
-            list.add(ClickHouseSimpleRecord.of(columns, values[i]));
+            list.add(ClickHouseSimpleRecord.of(columns, values[i], lookup));
         }
 
         this.records = Collections.unmodifiableList(list);
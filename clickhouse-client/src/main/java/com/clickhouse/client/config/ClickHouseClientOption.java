@@ -233,6 +233,12 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      */
     REUSE_VALUE_WRAPPER("reuse_value_wrapper", ClickHouseDataConfig.DEFAULT_REUSE_VALUE_WRAPPER,
             "Whether to reuse wrapper of value(e.g. ClickHouseValue or ClickHouseRecord) for memory efficiency."),
+    /**
+     * Whether to reuse container of value(e.g. Object[] of Tuple or Map of Map)
+     * across rows.
+     */
+    REUSE_VALUE_CONTAINER("reuse_value_container", ClickHouseDataConfig.DEFAULT_REUSE_VALUE_CONTAINER,
+            "Whether to reuse container of value(e.g. Object[] of Tuple or Map of Map) across rows. Only enable this when values are consumed before reading the next row."),
     /**
      * Server revision.
      */
@@ -327,6 +333,17 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      * SSL key.
      */
     SSL_KEY("sslkey", "", "RSA key in PKCS#8 format."),
+    /**
+     * Maximum number of distinct values kept in the dictionary of a String column.
+     * Zero or negative number disables dictionary.
+     */
+    STRING_DICTIONARY_SIZE("string_dictionary_size", ClickHouseDataConfig.DEFAULT_STRING_DICTIONARY_SIZE,
+            "Maximum number of distinct values kept in the dictionary of a String column, so that repeated values will be decoded only once and shared. Zero or negative number disables dictionary."),
+    /**
+     * Comma separated names of String columns using dictionary.
+     */
+    STRING_DICTIONARY_COLUMNS("string_dictionary_columns", ClickHouseDataConfig.DEFAULT_STRING_DICTIONARY_COLUMNS,
+            "Comma separated names of String columns using dictionary. Empty string means LowCardinality(String) columns only. It has no effect when string_dictionary_size is zero or negative."),
     /**
      * Transaction timeout in seconds.
      */
@@ -350,6 +367,12 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      */
     USE_BLOCKING_QUEUE("use_blocking_queue", ClickHouseDataConfig.DEFAULT_USE_BLOCKING_QUEUE,
             "Whether to use blocking queue for buffering."),
+    /**
+     * Whether to keep {@code Date} and {@code DateTime} values as days, seconds or
+     * ticks since epoch.
+     */
+    USE_EPOCH_TIME("use_epoch_time", ClickHouseDataConfig.DEFAULT_USE_EPOCH_TIME,
+            "Whether to keep Date and DateTime values as days, seconds or ticks since epoch, and create java.time objects only when needed."),
     /**
      * Whether Object[] should be used instead of primitive arrays.
      */
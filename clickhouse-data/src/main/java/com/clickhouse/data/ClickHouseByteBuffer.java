@@ -136,12 +136,8 @@ public class ClickHouseByteBuffer implements Serializable {
     }
 
     public double[] asDoubleArray() {
-        int step = Double.BYTES;
-        int len = length / step;
-        double[] values = new double[len];
-        for (int i = 0, offset = 0; i < len; i++, offset += step) {
-            values[i] = getDouble(offset);
-        }
+        double[] values = new double[length / Double.BYTES];
+        ClickHouseByteUtils.getFloat64ArrayLE(array, position, values);
         return values;
     }
 
@@ -150,12 +146,8 @@ public class ClickHouseByteBuffer implements Serializable {
     }
 
     public float[] asFloatArray() {
-        int step = Float.BYTES;
-        int len = length / step;
-        float[] values = new float[len];
-        for (int i = 0, offset = 0; i < len; i++, offset += step) {
-            values[i] = getFloat(offset);
-        }
+        float[] values = new float[length / Float.BYTES];
+        ClickHouseByteUtils.getFloat32ArrayLE(array, position, values);
         return values;
     }
 
@@ -232,9 +224,7 @@ public class ClickHouseByteBuffer implements Serializable {
      * @return signed integer
      */
     public int getInteger(int offset) {
-        int i = offset + position;
-        return (0xFF & array[i]) | ((0xFF & array[i + 1]) << 8) | ((0xFF & array[i + 2]) << 16)
-                | ((0xFF & array[i + 3]) << 24);
+        return ClickHouseByteUtils.getInt32LE(array, offset + position);
     }
 
     /**
@@ -246,11 +236,7 @@ public class ClickHouseByteBuffer implements Serializable {
      * @return signed long
      */
     public long getLong(int offset) {
-        int i = offset + position;
-        return (0xFFL & array[i]) | ((0xFFL & array[i + 1]) << 8) | ((0xFFL & array[i + 2]) << 16)
-                | ((0xFFL & array[i + 3]) << 24) | ((0xFFL & array[i + 4]) << 32)
-                | ((0xFFL & array[i + 5]) << 40) | ((0xFFL & array[i + 6]) << 48)
-                | ((0xFFL & array[i + 7]) << 56);
+        return ClickHouseByteUtils.getInt64LE(array, offset + position);
     }
 
     /**
@@ -262,8 +248,7 @@ public class ClickHouseByteBuffer implements Serializable {
      * @return signed short
      */
     public short getShort(int offset) {
-        int i = offset + position;
-        return (short) ((0xFF & array[i]) | (array[i + 1] << 8));
+        return ClickHouseByteUtils.getInt16LE(array, offset + position);
     }
 
     /**
@@ -324,32 +309,20 @@ public class ClickHouseByteBuffer implements Serializable {
     }
 
     public int[] asIntegerArray() {
-        int step = Integer.BYTES;
-        int len = length / step;
-        int[] values = new int[len];
-        for (int i = 0, offset = 0; i < len; i++, offset += step) {
-            values[i] = getInteger(offset);
-        }
+        int[] values = new int[length / Integer.BYTES];
+        ClickHouseByteUtils.getInt32ArrayLE(array, position, values);
         return values;
     }
 
     public long[] asLongArray() {
-        int step = Long.BYTES;
-        int len = length / step;
-        long[] values = new long[len];
-        for (int i = 0, offset = 0; i < len; i++, offset += step) {
-            values[i] = getLong(offset);
-        }
+        long[] values = new long[length / Long.BYTES];
+        ClickHouseByteUtils.getInt64ArrayLE(array, position, values);
         return values;
     }
 
     public short[] asShortArray() {
-        int step = Short.BYTES;
-        int len = length / step;
-        short[] values = new short[len];
-        for (int i = 0, offset = 0; i < len; i++, offset += step) {
-            values[i] = getShort(offset);
-        }
+        short[] values = new short[length / Short.BYTES];
+        ClickHouseByteUtils.getInt16ArrayLE(array, position, values);
         return values;
     }
 
@@ -6,7 +6,21 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
+/**
+ * Utility class for reading and writing numbers in little-endian byte order.
+ * It's replaced by a {@code java.lang.invoke.VarHandle} based implementation on
+ * Java 9 and above.
+ */
 public class ClickHouseByteUtils {
+    public static short getInt16LE(byte[] bytes, int offset) {
+        return (short) ((0xFF & bytes[offset]) | (bytes[offset + 1] << 8));
+    }
+
+    public static void setInt16LE(byte[] bytes, int offset, short value) {
+        bytes[offset++] = (byte) (0xFF & value);
+        bytes[offset] = (byte) (0xFF & (value >> 8));
+    }
+
     public static int getInt32LE(byte[] bytes, int offset) {
         return (0xFF & bytes[offset++]) | ((0xFF & bytes[offset++]) << 8) | ((0xFF & bytes[offset++]) << 16)
                 | ((0xFF & bytes[offset]) << 24);
@@ -37,6 +51,76 @@ public class ClickHouseByteUtils {
         bytes[offset] = (byte) (0xFF & (value >> 56));
     }
 
+    /**
+     * Reads {@code values.length} little-endian short values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt16ArrayLE(byte[] bytes, int offset, short[] values) {
+        for (int i = 0, len = values.length; i < len; i++, offset += Short.BYTES) {
+            values[i] = getInt16LE(bytes, offset);
+        }
+    }
+
+    /**
+     * Reads {@code values.length} little-endian integers starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt32ArrayLE(byte[] bytes, int offset, int[] values) {
+        for (int i = 0, len = values.length; i < len; i++, offset += Integer.BYTES) {
+            values[i] = getInt32LE(bytes, offset);
+        }
+    }
+
+    /**
+     * Reads {@code values.length} little-endian long values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt64ArrayLE(byte[] bytes, int offset, long[] values) {
+        for (int i = 0, len = values.length; i < len; i++, offset += Long.BYTES) {
+            values[i] = getInt64LE(bytes, offset);
+        }
+    }
+
+    /**
+     * Reads {@code values.length} little-endian float values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getFloat32ArrayLE(byte[] bytes, int offset, float[] values) {
+        for (int i = 0, len = values.length; i < len; i++, offset += Float.BYTES) {
+            values[i] = Float.intBitsToFloat(getInt32LE(bytes, offset));
+        }
+    }
+
+    /**
+     * Reads {@code values.length} little-endian double values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getFloat64ArrayLE(byte[] bytes, int offset, double[] values) {
+        for (int i = 0, len = values.length; i < len; i++, offset += Double.BYTES) {
+            values[i] = Double.longBitsToDouble(getInt64LE(bytes, offset));
+        }
+    }
+
     /**
      * Get varint length of given integer.
      *
@@ -40,7 +40,8 @@ package com.clickhouse.data;
 
 /**
  * NOTE: The code is modified to be compatible with CityHash128 used in
- * ClickHouse
+ * ClickHouse. Words are read at once using {@link ClickHouseByteUtils}, and
+ * intermediate state is kept in local variables instead of short-lived arrays.
  */
 public class ClickHouseCityHash {
 
@@ -49,23 +50,12 @@ public class ClickHouseCityHash {
     private static final long k2 = 0x9ae16a3b2f90404fL;
     private static final long k3 = 0xc949d7c7509e6557L;
 
-    private static long toLongLE(byte[] b, int i) {
-        return 0xffffffffffffffffL & (((long) b[i + 7] << 56) + ((long) (b[i + 6] & 255) << 48)
-                + ((long) (b[i + 5] & 255) << 40) + ((long) (b[i + 4] & 255) << 32) + ((long) (b[i + 3] & 255) << 24)
-                + ((b[i + 2] & 255) << 16) + ((b[i + 1] & 255) << 8) + ((b[i + 0] & 255)));
-    }
-
-    private static long toIntLE(byte[] b, int i) {
-        return 0xffffffffL & (((b[i + 3] & 255) << 24) + ((b[i + 2] & 255) << 16) + ((b[i + 1] & 255) << 8)
-                + ((b[i + 0] & 255)));
-    }
-
     private static long fetch64(byte[] s, int pos) {
-        return toLongLE(s, pos);
+        return ClickHouseByteUtils.getInt64LE(s, pos);
     }
 
     private static long fetch32(byte[] s, int pos) {
-        return toIntLE(s, pos);
+        return 0xFFFFFFFFL & ClickHouseByteUtils.getInt32LE(s, pos);
     }
 
     private static int staticCastToInt(byte b) {
@@ -120,22 +110,6 @@ public class ClickHouseCityHash {
         return k2;
     }
 
-    private static long[] weakHashLen32WithSeeds(long w, long x, long y, long z, long a, long b) {
-
-        a += w;
-        b = rotate(b + a + z, 21);
-        long c = a;
-        a += x;
-        a += y;
-        b += rotate(a, 44);
-        return new long[] { a + z, b + c };
-    }
-
-    private static long[] weakHashLen32WithSeeds(byte[] s, int pos, long a, long b) {
-        return weakHashLen32WithSeeds(fetch64(s, pos + 0), fetch64(s, pos + 8), fetch64(s, pos + 16),
-                fetch64(s, pos + 24), a, b);
-    }
-
     private static long[] cityMurmur(byte[] s, int pos, int len, long seed0, long seed1) {
 
         long a = seed0;
@@ -177,79 +151,96 @@ public class ClickHouseCityHash {
             return cityMurmur(s, pos, len, seed0, seed1);
         }
 
-        long[] v = new long[2], w = new long[2];
+        // v and w are pairs of 64-bit values, which are updated by
+        // weakHashLen32WithSeeds in the original implementation
+        long v0;
+        long v1;
+        long w0;
+        long w1;
         long x = seed0;
         long y = seed1;
         long z = k1 * len;
-        v[0] = rotate(y ^ k1, 49) * k1 + fetch64(s, pos);
-        v[1] = rotate(v[0], 42) * k1 + fetch64(s, pos + 8);
-        w[0] = rotate(y + z, 35) * k1 + x;
-        w[1] = rotate(x + fetch64(s, pos + 88), 53) * k1;
-
+        v0 = rotate(y ^ k1, 49) * k1 + fetch64(s, pos);
+        v1 = rotate(v0, 42) * k1 + fetch64(s, pos + 8);
+        w0 = rotate(y + z, 35) * k1 + x;
+        w1 = rotate(x + fetch64(s, pos + 88), 53) * k1;
+
+        long a;
+        long b;
+        long c;
+        long swap;
         // This is the same inner loop as CityHash64(), manually unrolled.
         do {
-            x = rotate(x + y + v[0] + fetch64(s, pos + 16), 37) * k1;
-            y = rotate(y + v[1] + fetch64(s, pos + 48), 42) * k1;
-
-            x ^= w[1];
-            y ^= v[0];
-
-            z = rotate(z ^ w[0], 33);
-            v = weakHashLen32WithSeeds(s, pos, v[1] * k1, x + w[0]);
-            w = weakHashLen32WithSeeds(s, pos + 32, z + w[1], y);
-
-            {
-                long swap = z;
-                z = x;
-                x = swap;
-            }
-            pos += 64;
-            x = rotate(x + y + v[0] + fetch64(s, pos + 16), 37) * k1;
-            y = rotate(y + v[1] + fetch64(s, pos + 48), 42) * k1;
-            x ^= w[1];
-            y ^= v[0];
-            z = rotate(z ^ w[0], 33);
-            v = weakHashLen32WithSeeds(s, pos, v[1] * k1, x + w[0]);
-            w = weakHashLen32WithSeeds(s, pos + 32, z + w[1], y);
-            {
-                long swap = z;
+            for (int i = 0; i < 2; i++) {
+                x = rotate(x + y + v0 + fetch64(s, pos + 16), 37) * k1;
+                y = rotate(y + v1 + fetch64(s, pos + 48), 42) * k1;
+                x ^= w1;
+                y ^= v0;
+                z = rotate(z ^ w0, 33);
+
+                // v = weakHashLen32WithSeeds(s, pos, v1 * k1, x + w0)
+                a = v1 * k1 + fetch64(s, pos);
+                b = rotate(x + w0 + a + fetch64(s, pos + 24), 21);
+                c = a;
+                a += fetch64(s, pos + 8) + fetch64(s, pos + 16);
+                v0 = a + fetch64(s, pos + 24);
+                v1 = b + rotate(a, 44) + c;
+
+                // w = weakHashLen32WithSeeds(s, pos + 32, z + w1, y)
+                a = z + w1 + fetch64(s, pos + 32);
+                b = rotate(y + a + fetch64(s, pos + 56), 21);
+                c = a;
+                a += fetch64(s, pos + 40) + fetch64(s, pos + 48);
+                w0 = a + fetch64(s, pos + 56);
+                w1 = b + rotate(a, 44) + c;
+
+                swap = z;
                 z = x;
                 x = swap;
+                pos += 64;
             }
-            pos += 64;
             len -= 128;
         } while (len >= 128);
 
-        y += rotate(w[0], 37) * k0 + z;
-        x += rotate(v[0] + z, 49) * k0;
+        y += rotate(w0, 37) * k0 + z;
+        x += rotate(v0 + z, 49) * k0;
 
         // If 0 < len < 128, hash up to 4 chunks of 32 bytes each from the end of s.
         for (int tail_done = 0; tail_done < len;) {
             tail_done += 32;
-            y = rotate(y - x, 42) * k0 + v[1];
-            w[0] += fetch64(s, pos + len - tail_done + 16);
-            x = rotate(x, 49) * k0 + w[0];
-            w[0] += v[0];
-            v = weakHashLen32WithSeeds(s, pos + len - tail_done, v[0], v[1]);
+            y = rotate(y - x, 42) * k0 + v1;
+            w0 += fetch64(s, pos + len - tail_done + 16);
+            x = rotate(x, 49) * k0 + w0;
+            w0 += v0;
+
+            // v = weakHashLen32WithSeeds(s, pos + len - tail_done, v0, v1)
+            int p = pos + len - tail_done;
+            a = v0 + fetch64(s, p);
+            b = rotate(v1 + a + fetch64(s, p + 24), 21);
+            c = a;
+            a += fetch64(s, p + 8) + fetch64(s, p + 16);
+            v0 = a + fetch64(s, p + 24);
+            v1 = b + rotate(a, 44) + c;
         }
 
         // At this point our 48 bytes of state should contain more than
         // enough information for a strong 128-bit hash. We use two
         // different 48-byte-to-8-byte hashes to get a 16-byte final result.
 
-        x = hashLen16(x, v[0]);
-        y = hashLen16(y, w[0]);
+        x = hashLen16(x, v0);
+        y = hashLen16(y, w0);
 
-        return new long[] { hashLen16(x + v[1], w[1]) + y, hashLen16(x + w[1], y + v[1]) };
+        return new long[] { hashLen16(x + v1, w1) + y, hashLen16(x + w1, y + v1) };
     }
 
     public static long[] cityHash128(byte[] s, int pos, int len) {
         if (len >= 16) {
             return cityHash128WithSeed(s, pos + 16, len - 16, fetch64(s, pos) ^ k3, fetch64(s, pos + 8));
         } else if (len >= 8) {
-            return cityHash128WithSeed(new byte[0], 0, 0, fetch64(s, pos) ^ (len * k0), fetch64(s, pos + len - 8) ^ k1);
+            return cityHash128WithSeed(ClickHouseByteBuffer.EMPTY_BYTES, 0, 0, fetch64(s, pos) ^ (len * k0),
+                    fetch64(s, pos + len - 8) ^ k1);
         } else {
             return cityHash128WithSeed(s, pos, len, k0, k1);
         }
     }
-}
\ No newline at end of file
+}
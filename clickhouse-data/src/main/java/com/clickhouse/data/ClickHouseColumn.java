@@ -13,23 +13,24 @@ import java.util.TimeZone;
 
 import com.clickhouse.data.value.ClickHouseArrayValue;
 import com.clickhouse.data.value.ClickHouseBigDecimalValue;
-import com.clickhouse.data.value.ClickHouseBigIntegerValue;
 import com.clickhouse.data.value.ClickHouseBitmapValue;
 import com.clickhouse.data.value.ClickHouseBoolValue;
 import com.clickhouse.data.value.ClickHouseByteValue;
+import com.clickhouse.data.value.ClickHouseCompactIpv4Value;
+import com.clickhouse.data.value.ClickHouseCompactIpv6Value;
+import com.clickhouse.data.value.ClickHouseCompactUuidValue;
 import com.clickhouse.data.value.ClickHouseDateTimeValue;
 import com.clickhouse.data.value.ClickHouseDateValue;
+import com.clickhouse.data.value.ClickHouseDecimalValue;
 import com.clickhouse.data.value.ClickHouseDoubleValue;
 import com.clickhouse.data.value.ClickHouseEmptyValue;
+import com.clickhouse.data.value.ClickHouseEpochDateTimeValue;
+import com.clickhouse.data.value.ClickHouseEpochDateValue;
 import com.clickhouse.data.value.ClickHouseEnumValue;
 import com.clickhouse.data.value.ClickHouseFloatValue;
-import com.clickhouse.data.value.ClickHouseGeoMultiPolygonValue;
 import com.clickhouse.data.value.ClickHouseGeoPointValue;
-import com.clickhouse.data.value.ClickHouseGeoPolygonValue;
-import com.clickhouse.data.value.ClickHouseGeoRingValue;
+import com.clickhouse.data.value.ClickHouseGeoShapeValue;
 import com.clickhouse.data.value.ClickHouseIntegerValue;
-import com.clickhouse.data.value.ClickHouseIpv4Value;
-import com.clickhouse.data.value.ClickHouseIpv6Value;
 import com.clickhouse.data.value.ClickHouseLongValue;
 import com.clickhouse.data.value.ClickHouseMapValue;
 import com.clickhouse.data.value.ClickHouseNestedValue;
@@ -37,7 +38,7 @@ import com.clickhouse.data.value.ClickHouseOffsetDateTimeValue;
 import com.clickhouse.data.value.ClickHouseShortValue;
 import com.clickhouse.data.value.ClickHouseStringValue;
 import com.clickhouse.data.value.ClickHouseTupleValue;
-import com.clickhouse.data.value.ClickHouseUuidValue;
+import com.clickhouse.data.value.ClickHouseWideIntegerValue;
 import com.clickhouse.data.value.array.ClickHouseBoolArrayValue;
 import com.clickhouse.data.value.array.ClickHouseByteArrayValue;
 import com.clickhouse.data.value.array.ClickHouseDoubleArrayValue;
@@ -66,6 +67,25 @@ public final class ClickHouseColumn implements Serializable {
     private static final String KEYWORD_MAP = ClickHouseDataType.Map.name();
     private static final String KEYWORD_NESTED = ClickHouseDataType.Nested.name();
 
+    // placeholder for parsing column type, it has to be non-empty because empty
+    // name means the type might start with column name
+    private static final String PLACEHOLDER_NAME = "_";
+
+    /**
+     * Maximum number of parsed column types in cache.
+     */
+    static final int TYPE_CACHE_SIZE = 2000;
+    /**
+     * Maximum number of parsed column lists in cache.
+     */
+    static final int LIST_CACHE_SIZE = 200;
+
+    // parsed columns are templates, which should be copied before use
+    private static final ClickHouseCache<String, ClickHouseColumn> typeCache = ClickHouseCache
+            .create(TYPE_CACHE_SIZE, 1800L, ClickHouseColumn::parseType);
+    private static final ClickHouseCache<String, List<ClickHouseColumn>> listCache = ClickHouseCache
+            .create(LIST_CACHE_SIZE, 1800L, ClickHouseColumn::parseList);
+
     private int columnCount;
     private int columnIndex;
     private String columnName;
@@ -148,7 +168,7 @@ public final class ClickHouseColumn implements Serializable {
             case UInt128:
             case Int256:
             case UInt256:
-                column.template = ClickHouseBigIntegerValue.ofNull();
+                column.template = ClickHouseWideIntegerValue.ofNull(column.dataType, 0);
                 break;
             case Float32:
                 column.template = ClickHouseFloatValue.ofNull();
@@ -213,22 +233,34 @@ public final class ClickHouseColumn implements Serializable {
                         }
                     }
                 }
-                column.template = ClickHouseBigDecimalValue.ofNull();
+                if (column.precision > ClickHouseDataType.Decimal128.getMaxScale()) {
+                    column.template = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal256, column.scale);
+                } else if (column.precision > ClickHouseDataType.Decimal64.getMaxScale()) {
+                    column.template = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, column.scale);
+                } else {
+                    column.template = column.precision > 0 ? ClickHouseDecimalValue.ofNull(column.scale)
+                            : ClickHouseBigDecimalValue.ofNull();
+                }
                 break;
             case Decimal32:
             case Decimal64:
+                if (size > 0) {
+                    column.scale = Integer.parseInt(column.parameters.get(0));
+                }
+                column.template = ClickHouseDecimalValue.ofNull(column.scale);
+                break;
             case Decimal128:
             case Decimal256:
                 if (size > 0) {
                     column.scale = Integer.parseInt(column.parameters.get(0));
                 }
-                column.template = ClickHouseBigDecimalValue.ofNull();
+                column.template = ClickHouseWideIntegerValue.ofNull(column.dataType, column.scale);
                 break;
             case IPv4:
-                column.template = ClickHouseIpv4Value.ofNull();
+                column.template = ClickHouseCompactIpv4Value.ofNull();
                 break;
             case IPv6:
-                column.template = ClickHouseIpv6Value.ofNull();
+                column.template = ClickHouseCompactIpv6Value.ofNull();
                 break;
             case FixedString:
                 if (size > 0) {
@@ -249,19 +281,19 @@ public final class ClickHouseColumn implements Serializable {
                 column.template = ClickHouseStringValue.ofNull();
                 break;
             case UUID:
-                column.template = ClickHouseUuidValue.ofNull();
+                column.template = ClickHouseCompactUuidValue.ofNull();
                 break;
             case Point:
                 column.template = ClickHouseGeoPointValue.ofOrigin();
                 break;
             case Ring:
-                column.template = ClickHouseGeoRingValue.ofEmpty();
+                column.template = ClickHouseGeoShapeValue.ofEmpty(column.dataType);
                 break;
             case Polygon:
-                column.template = ClickHouseGeoPolygonValue.ofEmpty();
+                column.template = ClickHouseGeoShapeValue.ofEmpty(column.dataType);
                 break;
             case MultiPolygon:
-                column.template = ClickHouseGeoMultiPolygonValue.ofEmpty();
+                column.template = ClickHouseGeoShapeValue.ofEmpty(column.dataType);
                 break;
             case Nested:
                 column.template = ClickHouseNestedValue.ofEmpty(column.nested);
@@ -388,7 +420,7 @@ public final class ClickHouseColumn implements Serializable {
             }
             i = ClickHouseUtils.skipBrackets(args, index, len, '(');
             String originalTypeName = args.substring(startIndex, i);
-            List<ClickHouseColumn> nestedColumns = parse(args.substring(index + 1, i - 1));
+            List<ClickHouseColumn> nestedColumns = parseList(args.substring(index + 1, i - 1));
             if (nestedColumns.isEmpty()) {
                 throw new IllegalArgumentException("Nested should have at least one nested column");
             }
@@ -524,11 +556,7 @@ public final class ClickHouseColumn implements Serializable {
                 new ClickHouseColumn(dataType, columnName, null, nullable, false, null, Arrays.asList(nestedColumns)));
     }
 
-    public static ClickHouseColumn of(String columnName, String columnType) {
-        if (columnName == null || columnType == null) {
-            throw new IllegalArgumentException("Non-null columnName and columnType are required");
-        }
-
+    static ClickHouseColumn parseColumn(String columnName, String columnType) {
         List<ClickHouseColumn> list = new ArrayList<>(1);
         readColumn(columnType, 0, columnType.length(), columnName, list);
         if (list.size() != 1) { // should not happen
@@ -537,11 +565,55 @@ public final class ClickHouseColumn implements Serializable {
         return list.get(0);
     }
 
+    static ClickHouseColumn parseType(String columnType) {
+        return parseColumn(PLACEHOLDER_NAME, columnType);
+    }
+
+    /**
+     * Creates a column using cached type definition. Parsed type information,
+     * including nested columns, is immutable and shared among all columns of the
+     * same type, so only name and index are specific to the returned column.
+     *
+     * @param columnName non-null column name
+     * @param columnType non-null column type
+     * @return non-null column
+     */
+    public static ClickHouseColumn of(String columnName, String columnType) {
+        if (columnName == null || columnType == null) {
+            throw new IllegalArgumentException("Non-null columnName and columnType are required");
+        }
+
+        return columnName.isEmpty() ? parseColumn(columnName, columnType)
+                : new ClickHouseColumn(typeCache.get(columnType), columnName);
+    }
+
+    /**
+     * Parses the given column list. Like {@link #of(String, String)}, type
+     * information of the columns is cached and shared.
+     *
+     * @param args column list, for example: {@code a String, b Nullable(Int32)}
+     * @return non-null unmodifiable list of columns
+     */
     public static List<ClickHouseColumn> parse(String args) {
         if (args == null || args.isEmpty()) {
             return Collections.emptyList();
         }
 
+        List<ClickHouseColumn> templates = listCache.get(args);
+        int size = templates.size();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+
+        ClickHouseColumn[] columns = new ClickHouseColumn[size];
+        for (int i = 0; i < size; i++) {
+            ClickHouseColumn c = templates.get(i);
+            columns[i] = new ClickHouseColumn(c, c.columnName);
+        }
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    static List<ClickHouseColumn> parseList(String args) {
         String name = null;
         ClickHouseColumn column = null;
         List<ClickHouseColumn> list = new LinkedList<>();
@@ -606,6 +678,40 @@ public final class ClickHouseColumn implements Serializable {
         this.estimatedByteLength = 0;
     }
 
+    /**
+     * Creates a copy of the given column with different name. All type information
+     * is shared with the given column.
+     *
+     * @param column     non-null column
+     * @param columnName non-null column name
+     */
+    private ClickHouseColumn(ClickHouseColumn column, String columnName) {
+        this.columnCount = 1;
+        this.columnIndex = 0;
+        this.columnName = columnName;
+        this.originalTypeName = column.originalTypeName;
+
+        this.aggFuncType = column.aggFuncType;
+        this.dataType = column.dataType;
+        this.nullable = column.nullable;
+        this.lowCardinality = column.lowCardinality;
+        this.lowCardinalityDisabled = column.lowCardinalityDisabled;
+        this.timeZone = column.timeZone;
+        this.precision = column.precision;
+        this.scale = column.scale;
+        this.nested = column.nested;
+        this.parameters = column.parameters;
+        this.enumConstants = column.enumConstants;
+
+        this.arrayLevel = column.arrayLevel;
+        this.arrayBaseColumn = column.arrayBaseColumn;
+
+        this.fixedByteLength = column.fixedByteLength;
+        this.estimatedByteLength = column.estimatedByteLength;
+
+        this.template = column.template;
+    }
+
     /**
      * Sets zero-based column index and column count.
      * 
@@ -860,6 +966,20 @@ public final class ClickHouseColumn implements Serializable {
     }
 
     public ClickHouseValue newValue(ClickHouseDataConfig config) {
+        if (config.isUseEpochTime()) {
+            switch (dataType) {
+                case Date:
+                case Date32:
+                    return ClickHouseEpochDateValue.ofNull();
+                case DateTime:
+                case DateTime32:
+                case DateTime64:
+                    return ClickHouseEpochDateTimeValue.ofNull(getScale(),
+                            hasTimeZone() ? getTimeZone() : config.getUseTimeZone());
+                default:
+                    break;
+            }
+        }
         if (template != null) {
             return template.copy();
         }
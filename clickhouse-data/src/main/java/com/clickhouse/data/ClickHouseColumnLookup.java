@@ -0,0 +1,102 @@
+package com.clickhouse.data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable and case-insensitive lookup of column index by column name. It's
+ * computed once per list of columns and shared among all records of a response,
+ * as well as responses having the same column names.
+ */
+public final class ClickHouseColumnLookup {
+    /**
+     * Empty lookup.
+     */
+    public static final ClickHouseColumnLookup EMPTY = new ClickHouseColumnLookup(new String[0]);
+
+    private static final ClickHouseCache<List<String>, ClickHouseColumnLookup> lookupCache = ClickHouseCache
+            .create(100, 300, names -> new ClickHouseColumnLookup(names.toArray(new String[0])));
+
+    /**
+     * Gets lookup for the given columns.
+     *
+     * @param columns list of columns, null or empty list is treated as
+     *                {@link #EMPTY}
+     * @return non-null lookup
+     */
+    public static ClickHouseColumnLookup of(List<ClickHouseColumn> columns) {
+        int size = columns != null ? columns.size() : 0;
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        String[] names = new String[size];
+        int index = 0;
+        for (ClickHouseColumn c : columns) {
+            names[index++] = c.getColumnName();
+        }
+        return lookupCache.get(Collections.unmodifiableList(Arrays.asList(names)));
+    }
+
+    private final String[] names;
+    // both original and lower-cased names, pointing to the first case-insensitive
+    // match so that the result is same as a linear scan using equalsIgnoreCase
+    private final Map<String, Integer> indexes;
+
+    private ClickHouseColumnLookup(String[] names) {
+        this.names = names;
+
+        Map<String, Integer> map = new HashMap<>(names.length * 4);
+        for (int i = 0, len = names.length; i < len; i++) {
+            String name = names[i];
+            if (name == null) {
+                continue;
+            }
+            String key = name.toLowerCase(Locale.ROOT);
+            Integer index = map.get(key);
+            if (index == null) {
+                map.put(key, index = i);
+            }
+            map.putIfAbsent(name, index);
+        }
+        this.indexes = map;
+    }
+
+    /**
+     * Gets zero-based index of the first column, whose name matches the given one
+     * ignoring case.
+     *
+     * @param name column name
+     * @return zero-based index, or -1 when there's no such column
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+
+        Integer index = indexes.get(name);
+        if (index == null && (index = indexes.get(name.toLowerCase(Locale.ROOT))) == null) {
+            // lower case is not always same as equalsIgnoreCase, for example: dotless i
+            for (int i = 0, len = names.length; i < len; i++) {
+                if (name.equalsIgnoreCase(names[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return index.intValue();
+    }
+
+    /**
+     * Gets number of columns.
+     *
+     * @return number of columns
+     */
+    public int size() {
+        return names.length;
+    }
+}
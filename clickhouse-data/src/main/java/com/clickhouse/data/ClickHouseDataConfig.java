@@ -2,6 +2,8 @@ package com.clickhouse.data;
 
 import java.io.Serializable;
 import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Set;
 import java.util.TimeZone;
 
 import com.clickhouse.config.ClickHouseBufferingMode;
@@ -97,11 +99,31 @@ public interface ClickHouseDataConfig extends Serializable {
             return config.isReuseValueWrapper();
         }
 
+        @Override
+        public boolean isReuseValueContainer() {
+            return config.isReuseValueContainer();
+        }
+
         @Override
         public boolean isUseBinaryString() {
             return config.isUseBinaryString();
         }
 
+        @Override
+        public boolean isUseEpochTime() {
+            return config.isUseEpochTime();
+        }
+
+        @Override
+        public int getStringDictionarySize() {
+            return config.getStringDictionarySize();
+        }
+
+        @Override
+        public Set<String> getStringDictionaryColumns() {
+            return config.getStringDictionaryColumns();
+        }
+
         @Override
         public boolean isUseBlockingQueue() {
             return config.isUseBlockingQueue();
@@ -135,12 +157,17 @@ public interface ClickHouseDataConfig extends Serializable {
 
     static final ClickHouseFormat DEFAULT_FORMAT = ClickHouseFormat.TabSeparated;
 
+    static final boolean DEFAULT_REUSE_VALUE_CONTAINER = false;
     static final boolean DEFAULT_REUSE_VALUE_WRAPPER = true;
     static final boolean DEFAULT_USE_BINARY_STRING = false;
     static final boolean DEFAULT_USE_BLOCKING_QUEUE = false;
+    static final boolean DEFAULT_USE_EPOCH_TIME = false;
     static final boolean DEFAULT_USE_OBJECT_IN_ARRAY = false;
     static final boolean DEFAULT_WIDEN_UNSIGNED_TYPE = false;
 
+    static final int DEFAULT_STRING_DICTIONARY_SIZE = 0;
+    static final String DEFAULT_STRING_DICTIONARY_COLUMNS = "";
+
     static final int DEFAULT_COMPRESS_LEVEL = -1;
     static final int DEFAULT_READ_COMPRESS_LEVEL = DEFAULT_COMPRESS_LEVEL;
     static final int DEFAULT_WRITE_COMPRESS_LEVEL = DEFAULT_COMPRESS_LEVEL;
@@ -309,6 +336,19 @@ public interface ClickHouseDataConfig extends Serializable {
         return DEFAULT_REUSE_VALUE_WRAPPER;
     }
 
+    /**
+     * Checks whether container of value, for instance {@code Object[]} of
+     * {@code Tuple} or {@link java.util.Map} of {@code Map}, should be reused
+     * across rows. When enabled, object returned from
+     * {@link ClickHouseValue#asObject()} of such a value will be overwritten when
+     * reading the next row, so it must not be kept around.
+     *
+     * @return true if value container will be reused; false otherwise
+     */
+    default boolean isReuseValueContainer() {
+        return DEFAULT_REUSE_VALUE_CONTAINER;
+    }
+
     /**
      * Checks whether binary string is supported.
      *
@@ -318,6 +358,40 @@ public interface ClickHouseDataConfig extends Serializable {
         return DEFAULT_USE_BINARY_STRING;
     }
 
+    /**
+     * Checks whether {@code Date}, {@code Date32}, {@code DateTime} and
+     * {@code DateTime64} values should be kept as days, seconds or ticks since
+     * epoch, so that {@code java.time} objects are only created on demand.
+     *
+     * @return true if epoch based values are used; false otherwise
+     */
+    default boolean isUseEpochTime() {
+        return DEFAULT_USE_EPOCH_TIME;
+    }
+
+    /**
+     * Gets maximum number of distinct values kept in the dictionary of a String
+     * column, which maps bytes to shared {@link String} instances to avoid
+     * decoding and allocating the same value over and over again.
+     *
+     * @return maximum number of distinct values in dictionary, zero or negative
+     *         number means dictionary is disabled
+     */
+    default int getStringDictionarySize() {
+        return DEFAULT_STRING_DICTIONARY_SIZE;
+    }
+
+    /**
+     * Gets names of String columns using dictionary. When it's empty, dictionary
+     * will be used for {@code LowCardinality(String)} columns only. It has no
+     * effect when {@link #getStringDictionarySize()} is zero or negative.
+     *
+     * @return non-null names of columns using dictionary
+     */
+    default Set<String> getStringDictionaryColumns() {
+        return Collections.emptySet();
+    }
+
     /**
      * Checks whether blocking queue(mainly for piped stream) is used or not.
      *
@@ -12,6 +12,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TimeZone;
 
 /**
  * This defines a data processor for dealing with serialization and
@@ -68,6 +71,146 @@ public abstract class ClickHouseDataProcessor {
         }
     }
 
+    /**
+     * Key of a cached plan, which consists of processor class, format, column
+     * types and relevant configuration.
+     */
+    static final class PlanKey {
+        private final Class<?> processorClass;
+        private final ClickHouseFormat format;
+        private final String[] types;
+        private final TimeZone timeZoneForDate;
+        private final TimeZone useTimeZone;
+        private final boolean reuseValueContainer;
+        private final boolean useBinaryString;
+        private final boolean useEpochTime;
+        private final boolean useObjectsInArray;
+        private final boolean widenUnsignedTypes;
+
+        private final int hashCode;
+
+        PlanKey(Class<?> processorClass, ClickHouseDataConfig config, ClickHouseColumn[] columns) {
+            this.processorClass = processorClass;
+            this.format = config.getFormat();
+            this.types = new String[columns.length];
+            for (int i = 0, len = columns.length; i < len; i++) {
+                types[i] = columns[i].getOriginalTypeName();
+            }
+            this.timeZoneForDate = config.getTimeZoneForDate();
+            this.useTimeZone = config.getUseTimeZone();
+            this.reuseValueContainer = config.isReuseValueContainer();
+            this.useBinaryString = config.isUseBinaryString();
+            this.useEpochTime = config.isUseEpochTime();
+            this.useObjectsInArray = config.isUseObjectsInArray();
+            this.widenUnsignedTypes = config.isWidenUnsignedTypes();
+
+            int result = 31 + processorClass.hashCode();
+            result = 31 * result + Objects.hashCode(format);
+            result = 31 * result + Arrays.hashCode(types);
+            result = 31 * result + Objects.hashCode(timeZoneForDate);
+            result = 31 * result + Objects.hashCode(useTimeZone);
+            result = 31 * result + (reuseValueContainer ? 1231 : 1237);
+            result = 31 * result + (useBinaryString ? 1231 : 1237);
+            result = 31 * result + (useEpochTime ? 1231 : 1237);
+            result = 31 * result + (useObjectsInArray ? 1231 : 1237);
+            this.hashCode = 31 * result + (widenUnsignedTypes ? 1231 : 1237);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            PlanKey other = (PlanKey) obj;
+            return hashCode == other.hashCode && processorClass == other.processorClass && format == other.format
+                    && reuseValueContainer == other.reuseValueContainer
+                    && useBinaryString == other.useBinaryString && useEpochTime == other.useEpochTime
+                    && useObjectsInArray == other.useObjectsInArray
+                    && widenUnsignedTypes == other.widenUnsignedTypes && Arrays.equals(types, other.types)
+                    && Objects.equals(timeZoneForDate, other.timeZoneForDate)
+                    && Objects.equals(useTimeZone, other.useTimeZone);
+        }
+    }
+
+    /**
+     * Deserializers and serializers shared among processors of the same schema.
+     * Element is null when the step of the column is stateful, which has to be
+     * created for each processor.
+     */
+    static final class Plan {
+        volatile ClickHouseDeserializer[] deserializers;
+        volatile ClickHouseSerializer[] serializers;
+    }
+
+    /**
+     * Maximum number of plans in cache.
+     */
+    static final int PLAN_CACHE_SIZE = 1000;
+
+    private static final ClickHouseCache<PlanKey, Plan> plans = ClickHouseCache.create(PLAN_CACHE_SIZE, 600L,
+            k -> new Plan());
+
+    /**
+     * Checks whether dictionary should be used for deserializing values of the
+     * given column. It only applies to text {@code String} column, when either the
+     * column is listed in {@link ClickHouseDataConfig#getStringDictionaryColumns()},
+     * or the list is empty but the column is {@code LowCardinality}.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @return true if dictionary should be used; false otherwise
+     */
+    protected static boolean useStringDictionary(ClickHouseDataConfig config, ClickHouseColumn column) {
+        if (config.getStringDictionarySize() < 1 || config.isUseBinaryString()
+                || column.getDataType() != ClickHouseDataType.String) {
+            return false;
+        }
+
+        Set<String> names = config.getStringDictionaryColumns();
+        return names.isEmpty() ? column.isLowCardinality() : names.contains(column.getColumnName());
+    }
+
+    /**
+     * Checks whether deserialization and serialization steps of the given column
+     * hold no state, so that they can be shared by multiple processors at the same
+     * time. Composite steps usually reuse value objects for nested columns, so
+     * they are considered as stateful, and so is the one using string dictionary.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @return true if the steps are stateless; false otherwise
+     */
+    static boolean isStateless(ClickHouseDataConfig config, ClickHouseColumn column) {
+        if (useStringDictionary(config, column)) {
+            return false;
+        }
+
+        switch (column.getDataType()) {
+            case Array:
+            case Map:
+            case Nested:
+            case Tuple:
+                return false;
+            default:
+                break;
+        }
+
+        for (ClickHouseColumn c : column.getNestedColumns()) {
+            if (!isStateless(config, c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static final List<ClickHouseColumn> DEFAULT_COLUMNS = Collections
             .singletonList(ClickHouseColumn.of("results", "Nullable(String)"));
 
@@ -196,6 +339,20 @@ public abstract class ClickHouseDataProcessor {
         return new ClickHouseSerializer[0];
     }
 
+    /**
+     * Checks whether stateless deserializers and serializers created by this
+     * processor can be cached and shared among processors of the same schema. It
+     * should only return true when {@link #getDeserializer(ClickHouseDataConfig,
+     * ClickHouseColumn)} and {@link #getSerializer(ClickHouseDataConfig,
+     * ClickHouseColumn)} depend on nothing but format, column type and data
+     * configuration.
+     *
+     * @return true if the steps can be cached; false otherwise
+     */
+    protected boolean isCacheable() {
+        return false;
+    }
+
     /**
      * Factory method to create a record.
      *
@@ -332,8 +489,22 @@ public abstract class ClickHouseDataProcessor {
 
             this.deserializers = new ClickHouseDeserializer[0];
             this.serializers = new ClickHouseSerializer[colCount];
+            Plan plan = colCount > 0 && isCacheable() ? plans.get(new PlanKey(getClass(), config, this.columns))
+                    : null;
+            ClickHouseSerializer[] cached = plan != null ? plan.serializers : null;
             for (int i = 0; i < colCount; i++) {
-                this.serializers[i] = getSerializer(config, this.columns[i]);
+                ClickHouseSerializer s = cached != null && isStateless(config, this.columns[i]) ? cached[i]
+                        : null;
+                this.serializers[i] = s != null ? s : getSerializer(config, this.columns[i]);
+            }
+            if (plan != null && cached == null) {
+                cached = new ClickHouseSerializer[colCount];
+                for (int i = 0; i < colCount; i++) {
+                    if (isStateless(config, this.columns[i])) {
+                        cached[i] = this.serializers[i];
+                    }
+                }
+                plan.serializers = cached;
             }
         } else {
             this.currentRecord = createRecord();
@@ -342,8 +513,22 @@ public abstract class ClickHouseDataProcessor {
 
             this.deserializers = new ClickHouseDeserializer[colCount];
             this.serializers = new ClickHouseSerializer[0];
+            Plan plan = colCount > 0 && isCacheable() ? plans.get(new PlanKey(getClass(), config, this.columns))
+                    : null;
+            ClickHouseDeserializer[] cached = plan != null ? plan.deserializers : null;
             for (int i = 0; i < colCount; i++) {
-                this.deserializers[i] = getDeserializer(config, this.columns[i]);
+                ClickHouseDeserializer d = cached != null && isStateless(config, this.columns[i]) ? cached[i]
+                        : null;
+                this.deserializers[i] = d != null ? d : getDeserializer(config, this.columns[i]);
+            }
+            if (plan != null && cached == null) {
+                cached = new ClickHouseDeserializer[colCount];
+                for (int i = 0; i < colCount; i++) {
+                    if (isStateless(config, this.columns[i])) {
+                        cached[i] = this.deserializers[i];
+                    }
+                }
+                plan.deserializers = cached;
             }
         }
         // this.writer = this.columns.length == 0 || output == null ? null :
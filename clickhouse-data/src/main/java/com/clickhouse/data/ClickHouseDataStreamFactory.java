@@ -14,6 +14,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.clickhouse.config.ClickHouseBufferingMode;
+import com.clickhouse.data.format.ClickHouseJsonEachRowProcessor;
 import com.clickhouse.data.format.ClickHouseRowBinaryProcessor;
 import com.clickhouse.data.format.ClickHouseTabSeparatedProcessor;
 import com.clickhouse.data.stream.BlockingPipedOutputStream;
@@ -138,6 +139,10 @@ public class ClickHouseDataStreamFactory {
         ClickHouseDataProcessor processor = null;
         if (ClickHouseFormat.RowBinary == format || ClickHouseFormat.RowBinaryWithNamesAndTypes == format) {
             processor = new ClickHouseRowBinaryProcessor(config, input, output, columns, settings);
+        } else if (ClickHouseFormat.JSONEachRow == format || ClickHouseFormat.JSONLines == format
+                || ClickHouseFormat.NDJSON == format || ClickHouseFormat.JSONCompactEachRow == format
+                || ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes == format) {
+            processor = new ClickHouseJsonEachRowProcessor(config, input, output, columns, settings);
         } else if (format.isText()) {
             processor = new ClickHouseTabSeparatedProcessor(config, input, output, columns, settings);
         }
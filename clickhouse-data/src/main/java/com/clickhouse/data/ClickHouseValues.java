@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.UUID;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 import com.clickhouse.data.value.ClickHouseArrayValue;
 import com.clickhouse.data.value.ClickHouseByteValue;
@@ -937,6 +938,77 @@ public final class ClickHouseValues {
         return value.values().iterator().next();
     }
 
+    /**
+     * Gets converter for turning a value into the given Java type. It's resolved
+     * once and then applied to many values without going through all the checks
+     * in {@link ClickHouseValue#asObject(Class)} again. Unlike the latter,
+     * primitive type is treated as its wrapper class.
+     *
+     * @param <T>   type of the object
+     * @param clazz class of the object, null means always returning null
+     * @return non-null converter, which returns null when the value is nullable
+     *         and null or empty
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Function<ClickHouseValue, T> getConverter(Class<T> clazz) {
+        final Function<ClickHouseValue, ?> func;
+        if (clazz == null) {
+            return v -> null;
+        } else if (clazz == boolean.class || clazz == Boolean.class) {
+            func = ClickHouseValue::asBoolean;
+        } else if (clazz == byte.class || clazz == Byte.class) {
+            func = ClickHouseValue::asByte;
+        } else if (clazz == char.class || clazz == Character.class) {
+            func = ClickHouseValue::asCharacter;
+        } else if (clazz == short.class || clazz == Short.class) {
+            func = ClickHouseValue::asShort;
+        } else if (clazz == int.class || clazz == Integer.class) {
+            func = ClickHouseValue::asInteger;
+        } else if (clazz == long.class || clazz == Long.class) {
+            func = ClickHouseValue::asLong;
+        } else if (clazz == float.class || clazz == Float.class) {
+            func = ClickHouseValue::asFloat;
+        } else if (clazz == double.class || clazz == Double.class) {
+            func = ClickHouseValue::asDouble;
+        } else if (clazz == String.class) {
+            func = ClickHouseValue::asString;
+        } else if (clazz == LocalDate.class) {
+            func = ClickHouseValue::asDate;
+        } else if (clazz == LocalDateTime.class) {
+            func = ClickHouseValue::asDateTime;
+        } else if (clazz == Instant.class) {
+            func = ClickHouseValue::asInstant;
+        } else if (clazz == OffsetDateTime.class) {
+            func = ClickHouseValue::asOffsetDateTime;
+        } else if (clazz == ZonedDateTime.class) {
+            func = ClickHouseValue::asZonedDateTime;
+        } else if (clazz == LocalTime.class) {
+            func = ClickHouseValue::asTime;
+        } else if (clazz == BigInteger.class) {
+            func = ClickHouseValue::asBigInteger;
+        } else if (clazz == BigDecimal.class) {
+            func = ClickHouseValue::asBigDecimal;
+        } else if (clazz == Inet4Address.class) {
+            func = ClickHouseValue::asInet4Address;
+        } else if (clazz == Inet6Address.class) {
+            func = ClickHouseValue::asInet6Address;
+        } else if (clazz == UUID.class) {
+            func = ClickHouseValue::asUuid;
+        } else if (Array.class.isAssignableFrom(clazz)) {
+            func = v -> clazz.cast(v.asArray());
+        } else if (List.class.isAssignableFrom(clazz)) {
+            func = v -> clazz.cast(v.asTuple());
+        } else if (Map.class.isAssignableFrom(clazz)) {
+            func = v -> clazz.cast(v.asMap());
+        } else if (Enum.class.isAssignableFrom(clazz)) {
+            func = v -> v.asEnum((Class<Enum>) clazz);
+        } else {
+            func = v -> clazz.cast(v.asObject());
+        }
+
+        return v -> v.isNullable() && v.isNullOrEmpty() ? null : (T) func.apply(v);
+    }
+
     /**
      * Creates multiple values based on given columns.
      *
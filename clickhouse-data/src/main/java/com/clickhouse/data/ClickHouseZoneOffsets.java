@@ -0,0 +1,183 @@
+package com.clickhouse.data;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached offsets of a time zone. All transitions between year 1900 and 2299,
+ * which is the range of {@code DateTime64}, are kept in an array indexed by
+ * fixed-size buckets, so that converting epoch seconds from and to local date
+ * time is an array lookup instead of going through {@link ZoneRules}, no
+ * matter in which order the values come. Instants out of the range fall back
+ * to {@link ZoneRules}. This class is immutable and thread-safe.
+ */
+public final class ClickHouseZoneOffsets {
+    // offsets are always less than one day so local date time far enough from
+    // transitions is neither in a gap nor in an overlap
+    private static final long MARGIN = 24L * 60 * 60;
+
+    // inclusive
+    static final long MIN_SECOND = LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    // exclusive
+    static final long MAX_SECOND = LocalDateTime.of(2300, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    // about 194 days, so there are rarely more than two transitions in a bucket
+    private static final int BUCKET_SHIFT = 24;
+
+    private static final Map<ZoneId, ClickHouseZoneOffsets> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Offsets of {@code UTC}.
+     */
+    public static final ClickHouseZoneOffsets UTC = of(ClickHouseValues.UTC_ZONE);
+
+    /**
+     * Gets cached offsets of the given zone.
+     *
+     * @param zoneId zone id, null is treated as {@code UTC}
+     * @return non-null cached offsets
+     */
+    public static ClickHouseZoneOffsets of(ZoneId zoneId) {
+        return cache.computeIfAbsent(zoneId != null ? zoneId : ClickHouseValues.UTC_ZONE, ClickHouseZoneOffsets::new);
+    }
+
+    /**
+     * Gets cached offsets of the given time zone.
+     *
+     * @param tz time zone, null is treated as {@code UTC}
+     * @return non-null cached offsets
+     */
+    public static ClickHouseZoneOffsets of(TimeZone tz) {
+        return of(tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE);
+    }
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    // non-null when the zone has fixed offset
+    private final ZoneOffset fixedOffset;
+
+    // epoch seconds of transitions within the range, in ascending order
+    private final long[] transitions;
+    // offsets[i] is used from transitions[i - 1](inclusive) to transitions[i]
+    private final ZoneOffset[] offsets;
+    // index of offset at the beginning of each bucket, to avoid binary search
+    private final int[] buckets;
+
+    private ClickHouseZoneOffsets(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+
+        List<ZoneOffsetTransition> list = new ArrayList<>();
+        if (fixedOffset == null) {
+            ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(MIN_SECOND));
+            while (t != null && t.toEpochSecond() < MAX_SECOND) {
+                list.add(t);
+                t = rules.nextTransition(t.getInstant());
+            }
+        }
+
+        int len = list.size();
+        this.transitions = new long[len];
+        this.offsets = new ZoneOffset[len + 1];
+        this.offsets[0] = rules.getOffset(Instant.ofEpochSecond(MIN_SECOND));
+        for (int i = 0; i < len; i++) {
+            ZoneOffsetTransition t = list.get(i);
+            this.transitions[i] = t.toEpochSecond();
+            this.offsets[i + 1] = t.getOffsetAfter();
+        }
+
+        this.buckets = new int[len > 0 ? (int) ((MAX_SECOND - MIN_SECOND) >>> BUCKET_SHIFT) + 1 : 1];
+        for (int i = 0, index = 0; i < buckets.length; i++) {
+            long start = MIN_SECOND + ((long) i << BUCKET_SHIFT);
+            while (index < len && transitions[index] <= start) {
+                index++;
+            }
+            buckets[i] = index;
+        }
+    }
+
+    /**
+     * Gets index of offset at the given instant, which must be within the range.
+     *
+     * @param epochSecond seconds since epoch
+     * @return index of offset
+     */
+    private int indexOf(long epochSecond) {
+        int index = buckets[(int) ((epochSecond - MIN_SECOND) >>> BUCKET_SHIFT)];
+        for (int len = transitions.length; index < len && transitions[index] <= epochSecond; index++) {
+            // transitions in the same bucket
+        }
+        return index;
+    }
+
+    /**
+     * Gets zone id.
+     *
+     * @return non-null zone id
+     */
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Gets offset at the given instant.
+     *
+     * @param epochSecond seconds since epoch
+     * @return non-null offset
+     */
+    public ZoneOffset getOffset(long epochSecond) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        } else if (epochSecond < MIN_SECOND || epochSecond >= MAX_SECOND) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        }
+        return offsets[indexOf(epochSecond)];
+    }
+
+    /**
+     * Converts the given instant to local date time.
+     *
+     * @param epochSecond  seconds since epoch
+     * @param nanoOfSecond nano seconds
+     * @return non-null local date time
+     */
+    public LocalDateTime toDateTime(long epochSecond, int nanoOfSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, getOffset(epochSecond));
+    }
+
+    /**
+     * Converts the given local date time to seconds since epoch. Local date time
+     * in a gap or an overlap is resolved in the same way as
+     * {@link LocalDateTime#atZone(ZoneId)}.
+     *
+     * @param dateTime non-null local date time
+     * @return seconds since epoch
+     */
+    public long toEpochSecond(LocalDateTime dateTime) {
+        long localSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+        if (fixedOffset != null) {
+            return localSecond - fixedOffset.getTotalSeconds();
+        }
+
+        if (localSecond - MARGIN >= MIN_SECOND && localSecond + MARGIN < MAX_SECOND) {
+            // local date time is less than one day away from the instant
+            int index = indexOf(localSecond);
+            long epochSecond = localSecond - offsets[index].getTotalSeconds();
+            if ((index == 0 || epochSecond - MARGIN >= transitions[index - 1])
+                    && (index == transitions.length || epochSecond + MARGIN < transitions[index])) {
+                return epochSecond;
+            }
+        }
+
+        return dateTime.atZone(zoneId).toEpochSecond();
+    }
+}
@@ -10,7 +10,10 @@ import com.clickhouse.data.ClickHouseCache;
 
 /**
  * A simple thread-safe LRU cache based on LinkedHashMap. It's not as effient as
- * the one in Caffeine/Guava, but it requires no extra dependency.
+ * the one in Caffeine/Guava, but it requires no extra dependency. Since even
+ * lookup reorders an access-ordered LinkedHashMap, all access to the map is
+ * synchronized, but the load function is called outside of the lock, so that
+ * slow loading won't block lookup of other keys.
  */
 public class JdkLruCache<K, V> implements ClickHouseCache<K, V> {
     static class LruCacheMap<K, V> extends LinkedHashMap<K, V> {
@@ -54,7 +57,16 @@ public class JdkLruCache<K, V> implements ClickHouseCache<K, V> {
 
     @Override
     public V get(K key) {
-        return cache.computeIfAbsent(key, loadFunc);
+        V value = cache.get(key);
+        if (value == null) {
+            // same key might be loaded more than once under contention, but only
+            // the first value will be kept
+            V newValue = loadFunc.apply(key);
+            if (newValue != null && (value = cache.putIfAbsent(key, newValue)) == null) {
+                value = newValue;
+            }
+        }
+        return value;
     }
 
     @Override
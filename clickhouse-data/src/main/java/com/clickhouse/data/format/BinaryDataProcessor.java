@@ -2,16 +2,15 @@ package com.clickhouse.data.format;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.clickhouse.data.ClickHouseArraySequence;
+import com.clickhouse.data.ClickHouseByteBuffer;
 import com.clickhouse.data.ClickHouseChecker;
 import com.clickhouse.data.ClickHouseColumn;
 import com.clickhouse.data.ClickHouseDataConfig;
@@ -22,9 +21,19 @@ import com.clickhouse.data.ClickHouseOutputStream;
 import com.clickhouse.data.ClickHouseSerializer;
 import com.clickhouse.data.ClickHouseValue;
 import com.clickhouse.data.ClickHouseValues;
+import com.clickhouse.data.ClickHouseZoneOffsets;
+import com.clickhouse.data.value.ClickHouseCompactIpv4Value;
+import com.clickhouse.data.value.ClickHouseCompactIpv6Value;
+import com.clickhouse.data.value.ClickHouseCompactUuidValue;
+import com.clickhouse.data.value.ClickHouseDecimalValue;
+import com.clickhouse.data.value.ClickHouseEpochDateTimeValue;
+import com.clickhouse.data.value.ClickHouseEpochDateValue;
+import com.clickhouse.data.value.ClickHouseGeoShapeValue;
 import com.clickhouse.data.value.ClickHouseIntegerValue;
 import com.clickhouse.data.value.ClickHouseLongValue;
 import com.clickhouse.data.value.ClickHouseShortValue;
+import com.clickhouse.data.value.ClickHouseStringValue;
+import com.clickhouse.data.value.ClickHouseWideIntegerValue;
 
 public interface BinaryDataProcessor {
     static class ArrayDeserializer extends ClickHouseDeserializer.CompositeDeserializer {
@@ -139,23 +148,32 @@ public interface BinaryDataProcessor {
     }
 
     static class DateSerDe implements ClickHouseDeserializer, ClickHouseSerializer {
-        private static final Map<TimeZone, DateSerDe> cache = new HashMap<>();
+        private static final Map<TimeZone, DateSerDe> cache = new ConcurrentHashMap<>();
+        private static final DateSerDe DEFAULT = new DateSerDe(null);
 
         public static final DateSerDe of(ClickHouseDataConfig config) {
             TimeZone tz = ClickHouseChecker.nonNull(config, ClickHouseDataConfig.TYPE_NAME).getTimeZoneForDate();
-            return cache.computeIfAbsent(tz, DateSerDe::new);
+            return tz != null ? cache.computeIfAbsent(tz, DateSerDe::new) : DEFAULT;
         }
 
         protected final ZoneId zoneId;
+        // whether date should be shifted from system time zone to the given one
+        protected final boolean shifted;
 
         public DateSerDe(TimeZone tz) {
             this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.SYS_ZONE;
+            this.shifted = !ClickHouseValues.SYS_ZONE.equals(zoneId);
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            LocalDate d = LocalDate.ofEpochDay(input.readBuffer(2).asUnsignedShort());
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
+            int days = input.readBuffer(2).asUnsignedShort();
+            if (!shifted && ref instanceof ClickHouseEpochDateValue) {
+                return ClickHouseEpochDateValue.of(ref, days);
+            }
+
+            LocalDate d = LocalDate.ofEpochDay(days);
+            if (shifted) {
                 d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(zoneId).toLocalDate();
             }
             return ref.update(d);
@@ -163,34 +181,48 @@ public interface BinaryDataProcessor {
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            LocalDate d = value.asDate();
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+            int days;
+            if (!shifted && value instanceof ClickHouseEpochDateValue) {
+                days = ((ClickHouseEpochDateValue) value).asEpochDay();
+            } else {
+                LocalDate d = value.asDate();
+                if (shifted) {
+                    d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+                }
+                days = (int) d.toEpochDay();
             }
             BinaryStreamUtils.writeUnsignedInt16(output,
-                    ClickHouseChecker.between((int) d.toEpochDay(), ClickHouseValues.TYPE_DATE, 0,
-                            BinaryStreamUtils.U_INT16_MAX));
+                    ClickHouseChecker.between(days, ClickHouseValues.TYPE_DATE, 0, BinaryStreamUtils.U_INT16_MAX));
         }
     }
 
     static class Date32SerDe implements ClickHouseDeserializer, ClickHouseSerializer {
-        private static final Map<TimeZone, Date32SerDe> cache = new HashMap<>();
+        private static final Map<TimeZone, Date32SerDe> cache = new ConcurrentHashMap<>();
+        private static final Date32SerDe DEFAULT = new Date32SerDe(null);
 
         public static final Date32SerDe of(ClickHouseDataConfig config) {
             TimeZone tz = ClickHouseChecker.nonNull(config, ClickHouseDataConfig.TYPE_NAME).getTimeZoneForDate();
-            return cache.computeIfAbsent(tz, Date32SerDe::new);
+            return tz != null ? cache.computeIfAbsent(tz, Date32SerDe::new) : DEFAULT;
         }
 
         protected final ZoneId zoneId;
+        // whether date should be shifted from system time zone to the given one
+        protected final boolean shifted;
 
         public Date32SerDe(TimeZone tz) {
             this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.SYS_ZONE;
+            this.shifted = !ClickHouseValues.SYS_ZONE.equals(zoneId);
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            LocalDate d = LocalDate.ofEpochDay(input.readBuffer(4).asInteger());
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
+            int days = input.readBuffer(4).asInteger();
+            if (!shifted && ref instanceof ClickHouseEpochDateValue) {
+                return ClickHouseEpochDateValue.of(ref, days);
+            }
+
+            LocalDate d = LocalDate.ofEpochDay(days);
+            if (shifted) {
                 d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(zoneId).toLocalDate();
             }
             return ref.update(d);
@@ -198,43 +230,55 @@ public interface BinaryDataProcessor {
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            LocalDate d = value.asDate();
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+            int days;
+            if (!shifted && value instanceof ClickHouseEpochDateValue) {
+                days = ((ClickHouseEpochDateValue) value).asEpochDay();
+            } else {
+                LocalDate d = value.asDate();
+                if (shifted) {
+                    d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+                }
+                days = (int) d.toEpochDay();
             }
             BinaryStreamUtils.writeInt32(output,
-                    ClickHouseChecker.between((int) d.toEpochDay(), ClickHouseValues.TYPE_DATE,
+                    ClickHouseChecker.between(days, ClickHouseValues.TYPE_DATE,
                             BinaryStreamUtils.DATE32_MIN,
                             BinaryStreamUtils.DATE32_MAX));
         }
     }
 
     static class DateTime32SerDe implements ClickHouseDeserializer, ClickHouseSerializer {
-        private static final Map<TimeZone, DateTime32SerDe> cache = new HashMap<>();
+        private static final Map<TimeZone, DateTime32SerDe> cache = new ConcurrentHashMap<>();
+        private static final DateTime32SerDe DEFAULT = new DateTime32SerDe(null);
 
         public static final DateTime32SerDe of(ClickHouseDataConfig config, ClickHouseColumn column) {
             TimeZone tz = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).hasTimeZone()
                     ? column.getTimeZone()
                     : ClickHouseChecker.nonNull(config, ClickHouseDataConfig.TYPE_NAME).getUseTimeZone();
-            return cache.computeIfAbsent(tz, DateTime32SerDe::new);
+            return tz != null ? cache.computeIfAbsent(tz, DateTime32SerDe::new) : DEFAULT;
         }
 
         protected final ZoneId zoneId;
+        protected final ClickHouseZoneOffsets offsets;
 
         public DateTime32SerDe(TimeZone tz) {
             this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE;
+            this.offsets = ClickHouseZoneOffsets.of(zoneId);
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(
-                    LocalDateTime.ofInstant(Instant.ofEpochSecond(input.readBuffer(4).asUnsignedInteger()), zoneId));
+            long time = input.readBuffer(4).asUnsignedInteger();
+            return ref instanceof ClickHouseEpochDateTimeValue
+                    ? ((ClickHouseEpochDateTimeValue) ref).updateEpochSecond(time, 0)
+                    : ref.update(offsets.toDateTime(time, 0));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            long time = ClickHouseValues.UTC_ZONE.equals(zoneId) ? value.asDateTime().toEpochSecond(ZoneOffset.UTC)
-                    : value.asDateTime().atZone(zoneId).toEpochSecond();
+            long time = value instanceof ClickHouseEpochDateTimeValue
+                    ? ((ClickHouseEpochDateTimeValue) value).asEpochSecond()
+                    : offsets.toEpochSecond(value.asDateTime());
 
             BinaryStreamUtils.writeUnsignedInt32(output,
                     ClickHouseChecker.between(time, ClickHouseValues.TYPE_DATE_TIME, 0L,
@@ -246,7 +290,7 @@ public interface BinaryDataProcessor {
         private static final int[] BASES = new int[] { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
                 1000000000 };
         // use combined key for all timezones?
-        private static final Map<Integer, DateTime64SerDe> cache = new HashMap<>();
+        private static final Map<Integer, DateTime64SerDe> cache = new ConcurrentHashMap<>();
 
         public static final DateTime64SerDe of(ClickHouseDataConfig config, ClickHouseColumn column) {
             TimeZone tz = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).hasTimeZone()
@@ -258,17 +302,21 @@ public interface BinaryDataProcessor {
                     : new DateTime64SerDe(scale, tz);
         }
 
-        private final ZoneId zoneId;
+        private final ClickHouseZoneOffsets offsets;
         private final int scale;
 
         public DateTime64SerDe(int scale, TimeZone tz) {
             this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9);
-            this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE;
+            this.offsets = ClickHouseZoneOffsets.of(tz);
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
             long value = input.readBuffer(8).asLong();
+            if (ref instanceof ClickHouseEpochDateTimeValue && ((ClickHouseEpochDateTimeValue) ref).getScale() == scale) {
+                return ((ClickHouseEpochDateTimeValue) ref).update(value);
+            }
+
             int nanoSeconds = 0;
             if (scale > 0) {
                 int factor = BASES[scale];
@@ -283,17 +331,24 @@ public interface BinaryDataProcessor {
                 }
             }
 
-            return ref.update(LocalDateTime.ofInstant(Instant.ofEpochSecond(value, nanoSeconds), zoneId));
+            return ref instanceof ClickHouseEpochDateTimeValue
+                    ? ((ClickHouseEpochDateTimeValue) ref).updateEpochSecond(value, nanoSeconds)
+                    : ref.update(offsets.toDateTime(value, nanoSeconds));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            if (value instanceof ClickHouseEpochDateTimeValue && ((ClickHouseEpochDateTimeValue) value).getScale() == scale) {
+                ClickHouseEpochDateTimeValue v = (ClickHouseEpochDateTimeValue) value;
+                ClickHouseChecker.between(v.asEpochSecond(), ClickHouseValues.TYPE_DATE_TIME,
+                        BinaryStreamUtils.DATETIME64_MIN, BinaryStreamUtils.DATETIME64_MAX);
+                BinaryStreamUtils.writeInt64(output, v.asTicks());
+                return;
+            }
+
             LocalDateTime dt = value.asDateTime(scale);
-            long v = ClickHouseChecker.between(
-                    ClickHouseValues.UTC_ZONE.equals(zoneId) ? dt.toEpochSecond(ZoneOffset.UTC)
-                            : dt.atZone(zoneId).toEpochSecond(),
-                    ClickHouseValues.TYPE_DATE_TIME, BinaryStreamUtils.DATETIME64_MIN,
-                    BinaryStreamUtils.DATETIME64_MAX);
+            long v = ClickHouseChecker.between(offsets.toEpochSecond(dt), ClickHouseValues.TYPE_DATE_TIME,
+                    BinaryStreamUtils.DATETIME64_MIN, BinaryStreamUtils.DATETIME64_MAX);
             if (ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9) > 0) {
                 v *= BASES[scale];
                 int nanoSeconds = dt.getNano();
@@ -341,7 +396,10 @@ public interface BinaryDataProcessor {
     }
 
     static class Decimal32SerDe extends DecimalSerDe {
-        private static final Map<Integer, DecimalSerDe> cache = new HashMap<>();
+        private static final Map<Integer, DecimalSerDe> cache = new ConcurrentHashMap<>();
+
+        private static final long MIN_UNSCALED = BinaryStreamUtils.DECIMAL32_MIN.longValue();
+        private static final long MAX_UNSCALED = BinaryStreamUtils.DECIMAL32_MAX.longValue();
 
         public static final DecimalSerDe of(ClickHouseColumn column) {
             int scale = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).getScale();
@@ -355,11 +413,21 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(BigDecimal.valueOf(input.readBuffer(4).asInteger(), scale));
+            int v = input.readBuffer(4).asInteger();
+            return ref instanceof ClickHouseDecimalValue ? ClickHouseDecimalValue.of(ref, v, scale)
+                    : ref.update(BigDecimal.valueOf(v, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            if (value instanceof ClickHouseDecimalValue && ((ClickHouseDecimalValue) value).isCompact()
+                    && ((ClickHouseDecimalValue) value).getScale() == scale) {
+                BinaryStreamUtils.writeInt32(output, (int) ClickHouseChecker.between(
+                        ((ClickHouseDecimalValue) value).asUnscaledLong(), ClickHouseValues.TYPE_BIG_DECIMAL,
+                        MIN_UNSCALED, MAX_UNSCALED));
+                return;
+            }
+
             BigDecimal v = value.asBigDecimal();
             BinaryStreamUtils.writeInt32(output,
                     ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
@@ -369,7 +437,10 @@ public interface BinaryDataProcessor {
     }
 
     static class Decimal64SerDe extends DecimalSerDe {
-        private static final Map<Integer, DecimalSerDe> cache = new HashMap<>();
+        private static final Map<Integer, DecimalSerDe> cache = new ConcurrentHashMap<>();
+
+        private static final long MIN_UNSCALED = BinaryStreamUtils.DECIMAL64_MIN.longValue();
+        private static final long MAX_UNSCALED = BinaryStreamUtils.DECIMAL64_MAX.longValue();
 
         public static final DecimalSerDe of(ClickHouseColumn column) {
             int scale = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).getScale();
@@ -387,11 +458,21 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(BigDecimal.valueOf(input.readBuffer(8).asLong(), scale));
+            long v = input.readBuffer(8).asLong();
+            return ref instanceof ClickHouseDecimalValue ? ClickHouseDecimalValue.of(ref, v, scale)
+                    : ref.update(BigDecimal.valueOf(v, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            if (value instanceof ClickHouseDecimalValue && ((ClickHouseDecimalValue) value).isCompact()
+                    && ((ClickHouseDecimalValue) value).getScale() == scale) {
+                BinaryStreamUtils.writeInt64(output, ClickHouseChecker.between(
+                        ((ClickHouseDecimalValue) value).asUnscaledLong(), ClickHouseValues.TYPE_BIG_DECIMAL,
+                        MIN_UNSCALED, MAX_UNSCALED));
+                return;
+            }
+
             BigDecimal v = value.asBigDecimal();
             BinaryStreamUtils.writeInt64(output,
                     ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
@@ -401,7 +482,7 @@ public interface BinaryDataProcessor {
     }
 
     static class Decimal128SerDe extends DecimalSerDe {
-        private static final Map<Integer, DecimalSerDe> cache = new HashMap<>();
+        private static final Map<Integer, DecimalSerDe> cache = new ConcurrentHashMap<>();
 
         public static final DecimalSerDe of(ClickHouseColumn column) {
             int scale = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).getScale();
@@ -419,11 +500,18 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+            if (isWideInteger(ref, ClickHouseDataType.Decimal128, scale)) {
+                return readLimbs((ClickHouseWideIntegerValue) ref, input);
+            }
             return ref.update(BinaryStreamUtils.readDecimal128(input, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            if (writeLimbs(value, ClickHouseDataType.Decimal128, scale, output)) {
+                return;
+            }
+
             BigDecimal v = value.asBigDecimal();
             BinaryStreamUtils.writeInt128(output,
                     ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
@@ -433,7 +521,7 @@ public interface BinaryDataProcessor {
     }
 
     static class Decimal256SerDe extends DecimalSerDe {
-        private static final Map<Integer, DecimalSerDe> cache = new HashMap<>();
+        private static final Map<Integer, DecimalSerDe> cache = new ConcurrentHashMap<>();
 
         public static final DecimalSerDe of(ClickHouseColumn column) {
             int scale = ClickHouseChecker.nonNull(column, ClickHouseColumn.TYPE_NAME).getScale();
@@ -451,11 +539,18 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+            if (isWideInteger(ref, ClickHouseDataType.Decimal256, scale)) {
+                return readLimbs((ClickHouseWideIntegerValue) ref, input);
+            }
             return ref.update(BinaryStreamUtils.readDecimal256(input, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            if (writeLimbs(value, ClickHouseDataType.Decimal256, scale, output)) {
+                return;
+            }
+
             BigDecimal v = value.asBigDecimal();
             BinaryStreamUtils.writeInt256(output,
                     ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
@@ -496,6 +591,140 @@ public interface BinaryDataProcessor {
         }
     }
 
+    /**
+     * Deserializer of String column using a bounded dictionary, which maps bytes
+     * to shared {@link String} instances. It's an open-addressing hash table
+     * keyed by raw bytes, so a repeated value will be neither decoded nor
+     * allocated. The dictionary stops growing when it's full, and it will be
+     * discarded when less than half of the lookups hit. Each instance is stateful
+     * and should not be shared among processors.
+     */
+    static final class StringDictionary implements ClickHouseDeserializer {
+        // values longer than this are unlikely repeated
+        static final int MAX_VALUE_LENGTH = 256;
+        static final int MAX_SIZE = 64 * 1024;
+        static final int MIN_SAMPLES = 256;
+
+        static int hash(byte[] bytes, int offset, int length) {
+            int h = 1;
+            for (int i = offset, len = offset + length; i < len; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private final int maxSize;
+        // number of lookups before checking hit ratio
+        private final int samples;
+
+        private byte[][] keys;
+        private int[] hashes;
+        private String[] values;
+        private int size;
+
+        private int lookups;
+        private int hits;
+
+        StringDictionary(int maxSize) {
+            this.maxSize = Math.max(Math.min(maxSize, MAX_SIZE), 1);
+            this.samples = Math.max(this.maxSize * 4, MIN_SAMPLES);
+
+            int capacity = 16;
+            this.keys = new byte[capacity][];
+            this.hashes = new int[capacity];
+            this.values = new String[capacity];
+            this.size = 0;
+
+            this.lookups = 0;
+            this.hits = 0;
+        }
+
+        private void resize() {
+            int capacity = keys.length << 1;
+            int mask = capacity - 1;
+            byte[][] newKeys = new byte[capacity][];
+            int[] newHashes = new int[capacity];
+            String[] newValues = new String[capacity];
+            for (int i = 0, len = keys.length; i < len; i++) {
+                byte[] k = keys[i];
+                if (k != null) {
+                    int index = hashes[i] & mask;
+                    while (newKeys[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    newKeys[index] = k;
+                    newHashes[index] = hashes[i];
+                    newValues[index] = values[i];
+                }
+            }
+            keys = newKeys;
+            hashes = newHashes;
+            values = newValues;
+        }
+
+        private void sample(boolean hit) {
+            if (hit) {
+                hits++;
+            }
+            if (++lookups >= samples) {
+                if (hits * 2 < lookups) { // poor hit ratio
+                    keys = null;
+                    hashes = null;
+                    values = null;
+                } else {
+                    lookups = 0;
+                    hits = 0;
+                }
+            }
+        }
+
+        boolean isEnabled() {
+            return keys != null;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+            final int length = input.readVarInt();
+            if (keys == null || length > MAX_VALUE_LENGTH) {
+                return readTextString(ref, input, length);
+            }
+
+            ClickHouseByteBuffer buf = input.readBuffer(length);
+            final byte[] bytes = buf.array();
+            final int offset = buf.position();
+            final int hash = hash(bytes, offset, length);
+            final int mask = keys.length - 1;
+            int index = hash & mask;
+            byte[] k;
+            while ((k = keys[index]) != null) {
+                if (hashes[index] == hash && buf.match(k)) {
+                    String value = values[index];
+                    sample(true);
+                    return ref.update(value);
+                }
+                index = (index + 1) & mask;
+            }
+
+            String value = buf.asUnicodeString();
+            if (size < maxSize) {
+                byte[] key = new byte[length];
+                System.arraycopy(bytes, offset, key, 0, length);
+                keys[index] = key;
+                hashes[index] = hash;
+                values[index] = value;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+            }
+            sample(false);
+            return ref.update(value);
+        }
+    }
+
     static ClickHouseValue readByteArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
         return ref.update(input.readBuffer(input.readVarInt()).compact().array());
     }
@@ -607,52 +836,113 @@ public interface BinaryDataProcessor {
         BinaryStreamUtils.writeFloat64(output, value.asDouble());
     }
 
+    static boolean isWideInteger(ClickHouseValue value, ClickHouseDataType type, int scale) {
+        return value instanceof ClickHouseWideIntegerValue && ((ClickHouseWideIntegerValue) value).getType() == type
+                && ((ClickHouseWideIntegerValue) value).getScale() == scale;
+    }
+
+    static ClickHouseValue readLimbs(ClickHouseWideIntegerValue ref, ClickHouseInputStream input)
+            throws IOException {
+        if (ref.getLimbCount() == 2) {
+            ClickHouseByteBuffer buf = input.readBuffer(16);
+            return ref.updateLimbs(buf.getLong(0), buf.getLong(8));
+        }
+        ClickHouseByteBuffer buf = input.readBuffer(32);
+        return ref.updateLimbs(buf.getLong(0), buf.getLong(8), buf.getLong(16), buf.getLong(24));
+    }
+
+    static boolean writeLimbs(ClickHouseValue value, ClickHouseDataType type, int scale,
+            ClickHouseOutputStream output) throws IOException {
+        // leave decimal out of precision to the caller for range check
+        if (!isWideInteger(value, type, scale) || !((ClickHouseWideIntegerValue) value).isCompact()
+                || !((ClickHouseWideIntegerValue) value).isWithinPrecision()) {
+            return false;
+        }
+
+        ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) value;
+        if (v.getLimbCount() == 2) {
+            BinaryStreamUtils.writeInt128(output, v.getLimb(0), v.getLimb(1));
+        } else {
+            BinaryStreamUtils.writeInt256(output, v.getLimb(0), v.getLimb(1), v.getLimb(2), v.getLimb(3));
+        }
+        return true;
+    }
+
     static ClickHouseValue readInt128(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(16).asBigInteger());
+        return isWideInteger(ref, ClickHouseDataType.Int128, 0) ? readLimbs((ClickHouseWideIntegerValue) ref, input)
+                : ref.update(input.readBuffer(16).asBigInteger());
     }
 
     static void writeInt128(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInt128(output, value.asBigInteger());
+        if (!writeLimbs(value, ClickHouseDataType.Int128, 0, output)) {
+            BinaryStreamUtils.writeInt128(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readUInt128(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(16).asUnsignedBigInteger());
+        return isWideInteger(ref, ClickHouseDataType.UInt128, 0) ? readLimbs((ClickHouseWideIntegerValue) ref, input)
+                : ref.update(input.readBuffer(16).asUnsignedBigInteger());
     }
 
     static void writeUInt128(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeUnsignedInt128(output, value.asBigInteger());
+        if (!writeLimbs(value, ClickHouseDataType.UInt128, 0, output)) {
+            BinaryStreamUtils.writeUnsignedInt128(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readInt256(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(32).asBigInteger());
+        return isWideInteger(ref, ClickHouseDataType.Int256, 0) ? readLimbs((ClickHouseWideIntegerValue) ref, input)
+                : ref.update(input.readBuffer(32).asBigInteger());
     }
 
     static void writeInt256(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInt256(output, value.asBigInteger());
+        if (!writeLimbs(value, ClickHouseDataType.Int256, 0, output)) {
+            BinaryStreamUtils.writeInt256(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readUInt256(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(32).asUnsignedBigInteger());
+        return isWideInteger(ref, ClickHouseDataType.UInt256, 0) ? readLimbs((ClickHouseWideIntegerValue) ref, input)
+                : ref.update(input.readBuffer(32).asUnsignedBigInteger());
     }
 
     static void writeUInt256(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeUnsignedInt256(output, value.asBigInteger());
+        if (!writeLimbs(value, ClickHouseDataType.UInt256, 0, output)) {
+            BinaryStreamUtils.writeUnsignedInt256(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readIpv4(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseCompactIpv4Value) {
+            return ((ClickHouseCompactIpv4Value) ref).updateAddress(BinaryStreamUtils.readInt32(input));
+        }
         return ref.update(BinaryStreamUtils.readInet4Address(input));
     }
 
     static void writeIpv4(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInet4Address(output, value.asInet4Address());
+        if (value instanceof ClickHouseCompactIpv4Value && !value.isNullOrEmpty()) {
+            BinaryStreamUtils.writeInt32(output, ((ClickHouseCompactIpv4Value) value).getAddress());
+        } else {
+            BinaryStreamUtils.writeInet4Address(output, value.asInet4Address());
+        }
     }
 
     static ClickHouseValue readIpv6(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseCompactIpv6Value) {
+            ClickHouseByteBuffer buffer = input.readBuffer(16);
+            return ((ClickHouseCompactIpv6Value) ref).updateAddress(Long.reverseBytes(buffer.getLong(0)),
+                    Long.reverseBytes(buffer.getLong(8)));
+        }
         return ref.update(BinaryStreamUtils.readInet6Address(input));
     }
 
     static void writeIpv6(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInet6Address(output, value.asInet6Address());
+        if (value instanceof ClickHouseCompactIpv6Value && !value.isNullOrEmpty()) {
+            ClickHouseCompactIpv6Value v = (ClickHouseCompactIpv6Value) value;
+            BinaryStreamUtils.writeInet6Address(output, v.getHighBits(), v.getLowBits());
+        } else {
+            BinaryStreamUtils.writeInet6Address(output, value.asInet6Address());
+        }
     }
 
     static ClickHouseValue readBinaryString(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
@@ -664,20 +954,44 @@ public interface BinaryDataProcessor {
         output.writeVarInt(bytes.length).writeBytes(bytes);
     }
 
+    static ClickHouseValue readTextString(ClickHouseValue ref, ClickHouseInputStream input, int length)
+            throws IOException {
+        if (ref instanceof ClickHouseStringValue) {
+            // defer decoding until the value is accessed as string
+            return ClickHouseStringValue.ofUnicode(ref, input.readBytes(length));
+        }
+        return ref.update(input.readBuffer(length).asUnicodeString());
+    }
+
     static ClickHouseValue readTextString(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readUnicodeString());
+        return readTextString(ref, input, input.readVarInt());
     }
 
     static void writeTextString(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        output.writeUnicodeString(value.asString());
+        if (value instanceof ClickHouseStringValue && !value.isNullOrEmpty()) {
+            // pass through UTF-8 encoded bytes as is
+            byte[] bytes = value.asBinary();
+            output.writeVarInt(bytes.length).writeBytes(bytes);
+        } else {
+            output.writeUnicodeString(value.asString());
+        }
     }
 
     static ClickHouseValue readUuid(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseCompactUuidValue) {
+            ClickHouseByteBuffer buffer = input.readBuffer(16);
+            return ((ClickHouseCompactUuidValue) ref).updateBits(buffer.getLong(0), buffer.getLong(8));
+        }
         return ref.update(BinaryStreamUtils.readUuid(input));
     }
 
     static void writeUuid(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeUuid(output, value.asUuid());
+        if (value instanceof ClickHouseCompactUuidValue && !value.isNullOrEmpty()) {
+            ClickHouseCompactUuidValue v = (ClickHouseCompactUuidValue) value;
+            BinaryStreamUtils.writeUuid(output, v.getMostSignificantBits(), v.getLeastSignificantBits());
+        } else {
+            BinaryStreamUtils.writeUuid(output, value.asUuid());
+        }
     }
 
     static ClickHouseValue readGeoPoint(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
@@ -688,27 +1002,49 @@ public interface BinaryDataProcessor {
         BinaryStreamUtils.writeGeoPoint(output, value.asObject(double[].class));
     }
 
+    static boolean isGeoShape(ClickHouseValue value, ClickHouseDataType type) {
+        return value instanceof ClickHouseGeoShapeValue && ((ClickHouseGeoShapeValue) value).getType() == type;
+    }
+
     static ClickHouseValue readGeoRing(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(BinaryStreamUtils.readGeoRing(input));
+        return isGeoShape(ref, ClickHouseDataType.Ring)
+                ? BinaryStreamUtils.readGeoShape(input, (ClickHouseGeoShapeValue) ref)
+                : ref.update(BinaryStreamUtils.readGeoRing(input));
     }
 
     static void writeGeoRing(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeGeoRing(output, value.asObject(double[][].class));
+        if (isGeoShape(value, ClickHouseDataType.Ring)) {
+            BinaryStreamUtils.writeGeoShape(output, (ClickHouseGeoShapeValue) value);
+        } else {
+            BinaryStreamUtils.writeGeoRing(output, value.asObject(double[][].class));
+        }
     }
 
     static ClickHouseValue readGeoPolygon(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(BinaryStreamUtils.readGeoPolygon(input));
+        return isGeoShape(ref, ClickHouseDataType.Polygon)
+                ? BinaryStreamUtils.readGeoShape(input, (ClickHouseGeoShapeValue) ref)
+                : ref.update(BinaryStreamUtils.readGeoPolygon(input));
     }
 
     static void writeGeoPolygon(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeGeoPolygon(output, value.asObject(double[][][].class));
+        if (isGeoShape(value, ClickHouseDataType.Polygon)) {
+            BinaryStreamUtils.writeGeoShape(output, (ClickHouseGeoShapeValue) value);
+        } else {
+            BinaryStreamUtils.writeGeoPolygon(output, value.asObject(double[][][].class));
+        }
     }
 
     static ClickHouseValue readGeoMultiPolygon(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(BinaryStreamUtils.readGeoMultiPolygon(input));
+        return isGeoShape(ref, ClickHouseDataType.MultiPolygon)
+                ? BinaryStreamUtils.readGeoShape(input, (ClickHouseGeoShapeValue) ref)
+                : ref.update(BinaryStreamUtils.readGeoMultiPolygon(input));
     }
 
     static void writeGeoMultiPolygon(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeGeoMultiPolygon(output, value.asObject(double[][][][].class));
+        if (isGeoShape(value, ClickHouseDataType.MultiPolygon)) {
+            BinaryStreamUtils.writeGeoShape(output, (ClickHouseGeoShapeValue) value);
+        } else {
+            BinaryStreamUtils.writeGeoMultiPolygon(output, value.asObject(double[][][][].class));
+        }
     }
 }
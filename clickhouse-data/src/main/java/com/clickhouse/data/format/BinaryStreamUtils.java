@@ -30,6 +30,7 @@ import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValues;
 import com.clickhouse.data.value.ClickHouseBitmap;
+import com.clickhouse.data.value.ClickHouseGeoShapeValue;
 
 /**
  * Utility class for dealing with binary stream and data.
@@ -131,6 +132,19 @@ public final class BinaryStreamUtils {
         bytes[offset] = (byte) (0xFF & (value >> 56));
     }
 
+    // writes byte by byte, as allocating a byte array for each limb is more
+    // expensive than a few calls on a buffered stream
+    private static void writeLimb(OutputStream output, long value) throws IOException {
+        output.write((int) value);
+        output.write((int) (value >> 8));
+        output.write((int) (value >> 16));
+        output.write((int) (value >> 24));
+        output.write((int) (value >> 32));
+        output.write((int) (value >> 40));
+        output.write((int) (value >> 48));
+        output.write((int) (value >> 56));
+    }
+
     /**
      * Reverse the given byte array.
      * 
@@ -550,6 +564,101 @@ public final class BinaryStreamUtils {
         }
     }
 
+    private static void readGeoPoints(ClickHouseInputStream input, ClickHouseGeoShapeValue value)
+            throws IOException {
+        int count = readVarInt(input);
+        if (count > 0) {
+            ClickHouseByteBuffer buffer = input.readBuffer(count * 16);
+            for (int i = 0, len = count * 16; i < len; i += 16) {
+                value.addPoint(buffer.getDouble(i), buffer.getDouble(i + 8));
+            }
+        }
+    }
+
+    private static void writeGeoPoints(OutputStream output, ClickHouseGeoShapeValue value, int ring)
+            throws IOException {
+        int start = value.getRingStart(ring);
+        int count = value.getRingEnd(ring) - start;
+        writeVarInt(output, count);
+        if (count > 0) {
+            double[] coordinates = value.getCoordinates();
+            byte[] bytes = new byte[count * 16];
+            for (int i = 0, j = start * 2, len = count * 2; i < len; i++, j++) {
+                setInt64(bytes, i * 8, Double.doubleToRawLongBits(coordinates[j]));
+            }
+            output.write(bytes);
+        }
+    }
+
+    private static void readGeoRings(ClickHouseInputStream input, ClickHouseGeoShapeValue value)
+            throws IOException {
+        for (int i = 0, count = readVarInt(input); i < count; i++) {
+            value.addRing();
+            readGeoPoints(input, value);
+        }
+    }
+
+    private static void writeGeoRings(OutputStream output, ClickHouseGeoShapeValue value, int polygon)
+            throws IOException {
+        int start = value.getPolygonStart(polygon);
+        int end = value.getPolygonEnd(polygon);
+        writeVarInt(output, end - start);
+        for (int i = start; i < end; i++) {
+            writeGeoPoints(output, value, i);
+        }
+    }
+
+    /**
+     * Read geo ring, polygon or multi-polygon from given input stream into the
+     * flattened value, without creating nested arrays.
+     *
+     * @param input non-null input stream
+     * @param value non-null value to update, all existing points, rings and
+     *              polygons will be removed
+     * @return same value
+     * @throws IOException when failed to read value from input stream or reached
+     *                     end of the stream
+     */
+    public static ClickHouseGeoShapeValue readGeoShape(ClickHouseInputStream input, ClickHouseGeoShapeValue value)
+            throws IOException {
+        value.clear();
+        ClickHouseDataType type = value.getType();
+        if (type == ClickHouseDataType.Ring) {
+            readGeoPoints(input, value);
+        } else if (type == ClickHouseDataType.Polygon) {
+            readGeoRings(input, value);
+        } else {
+            for (int i = 0, count = readVarInt(input); i < count; i++) {
+                value.addPolygon();
+                readGeoRings(input, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Write geo ring, polygon or multi-polygon from the flattened value.
+     *
+     * @param output non-null output stream
+     * @param value  non-null value
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeGeoShape(OutputStream output, ClickHouseGeoShapeValue value) throws IOException {
+        ClickHouseDataType type = value.getType();
+        if (type == ClickHouseDataType.Ring) {
+            writeGeoPoints(output, value, 0);
+        } else if (type == ClickHouseDataType.Polygon) {
+            writeGeoRings(output, value, 0);
+        } else {
+            int count = value.getPolygonCount();
+            writeVarInt(output, count);
+            for (int i = 0; i < count; i++) {
+                writeGeoRings(output, value, i);
+            }
+        }
+    }
+
     /**
      * Read null marker from input stream. Same as
      * {@link #readBoolean(ClickHouseInputStream)}.
@@ -633,6 +742,22 @@ public final class BinaryStreamUtils {
         output.write(value.getAddress());
     }
 
+    /**
+     * Write IPv6 address, given as two longs, to given output stream.
+     *
+     * @param output non-null output stream
+     * @param high   the most significant 64 bits of the address
+     * @param low    the least significant 64 bits of the address
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeInet6Address(OutputStream output, long high, long low) throws IOException {
+        byte[] bytes = new byte[16];
+        setInt64(bytes, 0, Long.reverseBytes(high));
+        setInt64(bytes, 8, Long.reverseBytes(low));
+        output.write(bytes);
+    }
+
     /**
      * Read a byte from given input stream. Same as
      * {@link ClickHouseInputStream#readByte()}.
@@ -896,6 +1021,21 @@ public final class BinaryStreamUtils {
         writeBigInteger(output, value, 16);
     }
 
+    /**
+     * Write a 128-bit integer, given as two little-endian limbs, to given output
+     * stream.
+     *
+     * @param output non-null output stream
+     * @param low    the least significant 64 bits
+     * @param high   the most significant 64 bits
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeInt128(OutputStream output, long low, long high) throws IOException {
+        writeLimb(output, low);
+        writeLimb(output, high);
+    }
+
     /**
      * Read an unsigned big integer from given input stream.
      *
@@ -945,6 +1085,25 @@ public final class BinaryStreamUtils {
         writeBigInteger(output, value, 32);
     }
 
+    /**
+     * Write a 256-bit integer, given as four little-endian limbs, to given output
+     * stream.
+     *
+     * @param output non-null output stream
+     * @param l0     the least significant 64 bits
+     * @param l1     the second least significant 64 bits
+     * @param l2     the second most significant 64 bits
+     * @param l3     the most significant 64 bits
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeInt256(OutputStream output, long l0, long l1, long l2, long l3) throws IOException {
+        writeLimb(output, l0);
+        writeLimb(output, l1);
+        writeLimb(output, l2);
+        writeLimb(output, l3);
+    }
+
     /**
      * Read an unsigned big integer(32 bytes) from given input stream.
      *
@@ -1039,8 +1198,24 @@ public final class BinaryStreamUtils {
      *                     end of the stream
      */
     public static void writeUuid(OutputStream output, java.util.UUID value) throws IOException {
-        writeInt64(output, value.getMostSignificantBits());
-        writeInt64(output, value.getLeastSignificantBits());
+        writeUuid(output, value.getMostSignificantBits(), value.getLeastSignificantBits());
+    }
+
+    /**
+     * Write a UUID, given as two longs, to given output stream.
+     *
+     * @param output               non-null output stream
+     * @param mostSignificantBits  the most significant 64 bits of the UUID
+     * @param leastSignificantBits the least significant 64 bits of the UUID
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeUuid(OutputStream output, long mostSignificantBits, long leastSignificantBits)
+            throws IOException {
+        byte[] bytes = new byte[16];
+        setInt64(bytes, 0, mostSignificantBits);
+        setInt64(bytes, 8, leastSignificantBits);
+        output.write(bytes);
     }
 
     /**
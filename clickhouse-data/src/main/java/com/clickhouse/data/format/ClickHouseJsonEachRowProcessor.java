@@ -0,0 +1,858 @@
+package com.clickhouse.data.format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.clickhouse.config.ClickHouseRenameMethod;
+import com.clickhouse.data.ClickHouseArraySequence;
+import com.clickhouse.data.ClickHouseByteBuffer;
+import com.clickhouse.data.ClickHouseChecker;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataProcessor;
+import com.clickhouse.data.ClickHouseDeserializer;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseOutputStream;
+import com.clickhouse.data.ClickHouseRecord;
+import com.clickhouse.data.ClickHouseSerializer;
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.format.tsv.FieldScanner;
+
+/**
+ * Data processor for {@code JSONEachRow}(and its aliases {@code JSONLines} and
+ * {@code NDJSON}), {@code JSONCompactEachRow} and
+ * {@code JSONCompactEachRowWithNamesAndTypes}. Values are tokenized directly
+ * from bytes in the input stream into {@link ClickHouseValue}, without
+ * building intermediate JSON objects. When column types are unknown, which
+ * happens when reading {@code JSONEachRow} or {@code JSONCompactEachRow}
+ * without specifying columns, each row will be returned as is in a single
+ * column, same as what {@link ClickHouseTabSeparatedProcessor} does.
+ */
+public class ClickHouseJsonEachRowProcessor extends ClickHouseDataProcessor {
+    @FunctionalInterface
+    interface FieldReader {
+        ClickHouseValue read(ClickHouseValue ref, JsonRowReader reader) throws IOException;
+    }
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    static int readLine(byte[] bytes, int position, int limit) {
+        int index = FieldScanner.indexOf(bytes, position, limit, (byte) '\n');
+        return index < 0 ? -1 : index - position + 1;
+    }
+
+    static boolean isCompact(ClickHouseFormat format) {
+        return format == ClickHouseFormat.JSONCompactEachRow
+                || format == ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes;
+    }
+
+    static void writeAscii(ClickHouseOutputStream output, String str) throws IOException {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            output.writeByte((byte) str.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the given string as JSON string.
+     *
+     * @param output non-null output stream
+     * @param str    string to write, {@code null} will be written when it's null
+     * @throws IOException when failed to write
+     */
+    static void writeString(ClickHouseOutputStream output, String str) throws IOException {
+        if (str == null) {
+            output.writeBytes(NULL);
+            return;
+        }
+
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        output.writeByte((byte) '"');
+        int from = 0;
+        for (int i = 0, len = bytes.length; i < len; i++) {
+            byte b = bytes[i];
+            if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+                output.writeBytes(bytes, from, i - from);
+                from = i + 1;
+                output.writeByte((byte) '\\');
+                switch (b) {
+                    case '"':
+                    case '\\':
+                        output.writeByte(b);
+                        break;
+                    case '\b':
+                        output.writeByte((byte) 'b');
+                        break;
+                    case '\f':
+                        output.writeByte((byte) 'f');
+                        break;
+                    case '\n':
+                        output.writeByte((byte) 'n');
+                        break;
+                    case '\r':
+                        output.writeByte((byte) 'r');
+                        break;
+                    case '\t':
+                        output.writeByte((byte) 't');
+                        break;
+                    default:
+                        output.writeBytes(new byte[] { 'u', '0', '0', HEX[b >> 4], HEX[b & 0xF] });
+                        break;
+                }
+            }
+        }
+        output.writeBytes(bytes, from, bytes.length - from);
+        output.writeByte((byte) '"');
+    }
+
+    static Object readCoordinates(JsonRowReader reader, int depth) throws IOException {
+        int len = reader.countElements();
+        reader.expect('[');
+        final Object result;
+        if (depth == 0) {
+            double[] arr = new double[len];
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    reader.expect(',');
+                }
+                arr[i] = reader.readDouble();
+            }
+            result = arr;
+        } else {
+            Object[] arr;
+            if (depth == 1) {
+                arr = new double[len][];
+            } else if (depth == 2) {
+                arr = new double[len][][];
+            } else {
+                arr = new double[len][][][];
+            }
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    reader.expect(',');
+                }
+                arr[i] = readCoordinates(reader, depth - 1);
+            }
+            result = arr;
+        }
+        reader.expect(']');
+        return result;
+    }
+
+    static void writeCoordinates(ClickHouseOutputStream output, Object value) throws IOException {
+        output.writeByte((byte) '[');
+        if (value instanceof double[]) {
+            double[] arr = (double[]) value;
+            for (int i = 0, len = arr.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeAscii(output, Double.toString(arr[i]));
+            }
+        } else {
+            Object[] arr = (Object[]) value;
+            for (int i = 0, len = arr.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeCoordinates(output, arr[i]);
+            }
+        }
+        output.writeByte((byte) ']');
+    }
+
+    /**
+     * Checks whether value of the given column is backed by a container, which
+     * might be reused when updating the value.
+     *
+     * @param column non-null column
+     * @return true if the value must not be shared among elements; false
+     *         otherwise
+     */
+    static boolean isComposite(ClickHouseColumn column) {
+        switch (column.getDataType()) {
+            case Array:
+            case Map:
+            case Nested:
+            case Tuple:
+            case Point:
+            case Ring:
+            case Polygon:
+            case MultiPolygon:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static FieldReader newArrayReader(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final Class<?> valClass = column.getArrayBaseColumn().getObjectClassForArray(config);
+        final int level = column.getArrayNestedLevel();
+        final ClickHouseColumn nestedColumn = column.getNestedColumns().get(0);
+        final ClickHouseValue valValue = nestedColumn.newValue(config);
+        final boolean composite = isComposite(nestedColumn);
+        final FieldReader valReader = newReader(config, nestedColumn);
+        return (ref, reader) -> {
+            int len = reader.countElements();
+            reader.expect('[');
+            if (len == 0) {
+                reader.expect(']');
+                return ref.resetToNullOrEmpty();
+            }
+
+            ClickHouseArraySequence arr = ((ClickHouseArraySequence) ref).allocate(len, valClass, level);
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    reader.expect(',');
+                }
+                // each element of nested array must have its own container
+                arr.setValue(i, valReader.read(composite ? nestedColumn.newValue(config) : valValue, reader));
+            }
+            reader.expect(']');
+            return ref;
+        };
+    }
+
+    static FieldReader newMapReader(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final ClickHouseValue keyValue = column.getKeyInfo().newValue(config);
+        final ClickHouseColumn valColumn = column.getValueInfo();
+        final ClickHouseValue valValue = valColumn.newValue(config);
+        final boolean composite = isComposite(valColumn);
+        final FieldReader valReader = newReader(config, valColumn);
+        return (ref, reader) -> {
+            reader.expect('{');
+            if (reader.consume('}')) {
+                return ref.resetToNullOrEmpty();
+            }
+
+            Map<Object, Object> map = new LinkedHashMap<>();
+            do {
+                // keys are always quoted
+                Object key = keyValue.update(reader.readString()).asObject();
+                reader.expect(':');
+                map.put(key, valReader.read(composite ? valColumn.newValue(config) : valValue, reader).asObject());
+            } while (reader.consume(','));
+            reader.expect('}');
+            return ref.update(map);
+        };
+    }
+
+    static FieldReader newTupleReader(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final List<ClickHouseColumn> nestedColumns = column.getNestedColumns();
+        final int len = nestedColumns.size();
+        final ClickHouseValue[] values = new ClickHouseValue[len];
+        final boolean[] composites = new boolean[len];
+        final FieldReader[] readers = new FieldReader[len];
+        for (int i = 0; i < len; i++) {
+            ClickHouseColumn c = nestedColumns.get(i);
+            values[i] = c.newValue(config);
+            composites[i] = isComposite(c);
+            readers[i] = newReader(config, c);
+        }
+        return (ref, reader) -> {
+            // named tuple could be written as object
+            boolean named = reader.consume('{');
+            if (!named) {
+                reader.expect('[');
+            }
+            Object[] arr = new Object[len];
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    reader.expect(',');
+                }
+                if (named) {
+                    reader.readString();
+                    reader.expect(':');
+                }
+                arr[i] = readers[i].read(composites[i] ? nestedColumns.get(i).newValue(config) : values[i], reader)
+                        .asObject();
+            }
+            reader.expect(named ? '}' : ']');
+            return ref.update(arr);
+        };
+    }
+
+    /**
+     * Creates a reader for reading value of the given column.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @return non-null reader
+     */
+    static FieldReader newReader(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final FieldReader fieldReader;
+        switch (column.getDataType()) {
+            case Bool:
+                fieldReader = (ref, reader) -> ref.update(reader.readBoolean());
+                break;
+            case Int8:
+            case UInt8:
+            case Int16:
+            case UInt16:
+            case Int32:
+            case UInt32:
+            case Int64:
+            case UInt64:
+            case IntervalYear:
+            case IntervalQuarter:
+            case IntervalMonth:
+            case IntervalWeek:
+            case IntervalDay:
+            case IntervalHour:
+            case IntervalMinute:
+            case IntervalSecond:
+                fieldReader = (ref, reader) -> {
+                    try {
+                        return ref.update(reader.readLong());
+                    } catch (NumberFormatException e) {
+                        // fall back to string, for example UInt64 greater than Long.MAX_VALUE
+                        return ref.update(reader.readText());
+                    }
+                };
+                break;
+            case Float32:
+                fieldReader = (ref, reader) -> ref.update((float) reader.readDouble());
+                break;
+            case Float64:
+                fieldReader = (ref, reader) -> ref.update(reader.readDouble());
+                break;
+            case Decimal:
+            case Decimal32:
+            case Decimal64:
+            case Decimal128:
+            case Decimal256:
+                final int scale = column.getScale();
+                fieldReader = (ref, reader) -> {
+                    BigDecimal d = new BigDecimal(reader.readText());
+                    return ref.update(d.scale() < scale ? d.setScale(scale) : d);
+                };
+                break;
+            case Point:
+                fieldReader = (ref, reader) -> ref.update(readCoordinates(reader, 0));
+                break;
+            case Ring:
+                fieldReader = (ref, reader) -> ref.update(readCoordinates(reader, 1));
+                break;
+            case Polygon:
+                fieldReader = (ref, reader) -> ref.update(readCoordinates(reader, 2));
+                break;
+            case MultiPolygon:
+                fieldReader = (ref, reader) -> ref.update(readCoordinates(reader, 3));
+                break;
+            case Array:
+                fieldReader = newArrayReader(config, column);
+                break;
+            case Map:
+                fieldReader = newMapReader(config, column);
+                break;
+            case Tuple:
+                fieldReader = newTupleReader(config, column);
+                break;
+            case SimpleAggregateFunction:
+                return newReader(config, column.getNestedColumns().get(0));
+            default:
+                // JSON and Object columns are kept as raw JSON
+                fieldReader = (ref, reader) -> ref.update(reader.readText());
+                break;
+        }
+        return (ref, reader) -> reader.consumeNull() ? ref.resetToNullOrEmpty() : fieldReader.read(ref, reader);
+    }
+
+    static ClickHouseSerializer newArrayWriter(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final ClickHouseColumn nestedColumn = column.getNestedColumns().get(0);
+        final ClickHouseValue valValue = nestedColumn.newValue(config);
+        final ClickHouseSerializer valWriter = newWriter(config, nestedColumn);
+        return (value, output) -> {
+            ClickHouseArraySequence arr = (ClickHouseArraySequence) value;
+            output.writeByte((byte) '[');
+            for (int i = 0, len = arr.length(); i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                valWriter.serialize(arr.getValue(i, valValue), output);
+            }
+            output.writeByte((byte) ']');
+        };
+    }
+
+    static ClickHouseSerializer newMapWriter(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final ClickHouseValue keyValue = column.getKeyInfo().newValue(config);
+        final ClickHouseValue valValue = column.getValueInfo().newValue(config);
+        final ClickHouseSerializer valWriter = newWriter(config, column.getValueInfo());
+        return (value, output) -> {
+            output.writeByte((byte) '{');
+            boolean first = true;
+            for (Entry<Object, Object> e : value.asMap().entrySet()) {
+                if (first) {
+                    first = false;
+                } else {
+                    output.writeByte((byte) ',');
+                }
+                writeString(output, keyValue.update(e.getKey()).asString());
+                output.writeByte((byte) ':');
+                valWriter.serialize(valValue.update(e.getValue()), output);
+            }
+            output.writeByte((byte) '}');
+        };
+    }
+
+    static ClickHouseSerializer newTupleWriter(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final List<ClickHouseColumn> nestedColumns = column.getNestedColumns();
+        final int len = nestedColumns.size();
+        final ClickHouseValue[] values = new ClickHouseValue[len];
+        final ClickHouseSerializer[] writers = new ClickHouseSerializer[len];
+        for (int i = 0; i < len; i++) {
+            ClickHouseColumn c = nestedColumns.get(i);
+            values[i] = c.newValue(config);
+            writers[i] = newWriter(config, c);
+        }
+        return (value, output) -> {
+            List<Object> tupleValues = value.asTuple();
+            output.writeByte((byte) '[');
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writers[i].serialize(values[i].update(tupleValues.get(i)), output);
+            }
+            output.writeByte((byte) ']');
+        };
+    }
+
+    /**
+     * Creates a writer for writing value of the given column as JSON.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @return non-null writer
+     */
+    static ClickHouseSerializer newWriter(ClickHouseDataConfig config, ClickHouseColumn column) {
+        final ClickHouseSerializer writer;
+        switch (column.getDataType()) {
+            case Bool:
+                writer = (value, output) -> output.writeBytes(value.asBoolean() ? TRUE : FALSE);
+                break;
+            case Int8:
+            case UInt8:
+            case Int16:
+            case UInt16:
+            case Int32:
+            case UInt32:
+            case Int64:
+            case UInt64:
+            case IntervalYear:
+            case IntervalQuarter:
+            case IntervalMonth:
+            case IntervalWeek:
+            case IntervalDay:
+            case IntervalHour:
+            case IntervalMinute:
+            case IntervalSecond:
+            case Decimal:
+            case Decimal32:
+            case Decimal64:
+            case Decimal128:
+            case Decimal256:
+                writer = (value, output) -> writeAscii(output, value.asString());
+                break;
+            case Float32:
+            case Float64:
+                writer = (value, output) -> {
+                    double d = value.asDouble();
+                    if (Double.isNaN(d)) {
+                        writeAscii(output, "\"nan\"");
+                    } else if (Double.isInfinite(d)) {
+                        writeAscii(output, d > 0D ? "\"inf\"" : "\"-inf\"");
+                    } else {
+                        writeAscii(output, value.asString());
+                    }
+                };
+                break;
+            case Point:
+            case Ring:
+            case Polygon:
+            case MultiPolygon:
+                writer = (value, output) -> writeCoordinates(output, value.asObject());
+                break;
+            case Array:
+                writer = newArrayWriter(config, column);
+                break;
+            case Map:
+                writer = newMapWriter(config, column);
+                break;
+            case Tuple:
+                writer = newTupleWriter(config, column);
+                break;
+            case JSON:
+            case Object:
+                writer = (value, output) -> {
+                    String str = value.asString();
+                    if (ClickHouseChecker.isNullOrEmpty(str)) {
+                        output.writeBytes(NULL);
+                    } else {
+                        output.writeBytes(str.getBytes(StandardCharsets.UTF_8));
+                    }
+                };
+                break;
+            case SimpleAggregateFunction:
+                return newWriter(config, column.getNestedColumns().get(0));
+            default:
+                writer = (value, output) -> writeString(output, value.asString());
+                break;
+        }
+        return column.isNullable()
+                ? (value, output) -> {
+                    if (value.isNullOrEmpty()) {
+                        output.writeBytes(NULL);
+                    } else {
+                        writer.serialize(value, output);
+                    }
+                }
+                : writer;
+    }
+
+    // initialize in readColumns()
+    private boolean raw;
+    private byte[][] keys;
+    // lazily initialized
+    private JsonRowReader reader;
+    private byte[][] prefixes;
+    private int[] seen;
+    private int stamp;
+    private boolean headerWritten;
+
+    protected JsonRowReader getReader() {
+        if (reader == null) {
+            reader = new JsonRowReader();
+        }
+        return reader;
+    }
+
+    protected byte[][] getKeys() {
+        if (keys == null) {
+            byte[][] k = new byte[columns.length][];
+            for (int i = 0; i < k.length; i++) {
+                k[i] = columns[i].getColumnName().getBytes(StandardCharsets.UTF_8);
+            }
+            keys = k;
+        }
+        return keys;
+    }
+
+    /**
+     * Reads next non-blank row.
+     *
+     * @param r non-null reader to reset
+     * @return true if a row is available; false if it reached end of the stream
+     * @throws IOException when failed to read from input stream
+     */
+    protected boolean nextRow(JsonRowReader r) throws IOException {
+        while (true) {
+            ClickHouseByteBuffer buf = input.readCustom(ClickHouseJsonEachRowProcessor::readLine);
+            if (buf.isEmpty()) {
+                if (input.available() < 1) {
+                    return false;
+                }
+                continue;
+            }
+            int position = buf.position();
+            if (!r.reset(buf.array(), position, position + buf.length()).isEnd()) {
+                return true;
+            }
+        }
+    }
+
+    protected String[] readStringArray(JsonRowReader r) throws IOException {
+        List<String> list = new ArrayList<>();
+        r.expect('[');
+        if (!r.consume(']')) {
+            do {
+                list.add(r.readString());
+            } while (r.consume(','));
+            r.expect(']');
+        }
+        return list.toArray(new String[0]);
+    }
+
+    @Override
+    protected boolean hasMoreToRead() {
+        // rest of current row has been read into buffer already
+        return readPosition > 0 || super.hasMoreToRead();
+    }
+
+    @Override
+    protected ClickHouseRecord createRecord() {
+        return new ClickHouseSimpleRecord(getColumns(), templates);
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseRecord r) throws IOException {
+        if (raw) {
+            super.readAndFill(r);
+            return;
+        }
+
+        JsonRowReader jr = getReader();
+        if (!nextRow(jr)) {
+            throw new EOFException();
+        }
+
+        int len = columns.length;
+        if (isCompact(config.getFormat())) {
+            jr.expect('[');
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    jr.expect(',');
+                }
+                readPosition = i;
+                deserializers[i].deserialize(r.getValue(i), input);
+            }
+            jr.expect(']');
+            jr.expectEnd();
+            readPosition = 0;
+            return;
+        }
+
+        byte[][] k = getKeys();
+        if (seen == null) {
+            seen = new int[len];
+        }
+        int s = ++stamp;
+        int filled = 0;
+        int expected = 0;
+        jr.expect('{');
+        if (!jr.consume('}')) {
+            do {
+                int index = -1;
+                // keys are usually in same order as columns
+                if (expected < len && jr.consumeString(k[expected])) {
+                    index = expected;
+                } else {
+                    byte[] key = jr.readString().getBytes(StandardCharsets.UTF_8);
+                    for (int i = 0; i < len; i++) {
+                        if (Arrays.equals(key, k[i])) {
+                            index = i;
+                            break;
+                        }
+                    }
+                }
+                jr.expect(':');
+                if (index < 0) {
+                    jr.skipValue();
+                    continue;
+                }
+
+                readPosition = index;
+                deserializers[index].deserialize(r.getValue(index), input);
+                if (seen[index] != s) {
+                    seen[index] = s;
+                    filled++;
+                }
+                expected = index + 1;
+            } while (jr.consume(','));
+            jr.expect('}');
+        }
+        jr.expectEnd();
+        if (filled < len) {
+            for (int i = 0; i < len; i++) {
+                if (seen[i] == s) {
+                    continue;
+                }
+                // same as ClickHouse, use default value for missing column
+                ClickHouseValue v = r.getValue(i);
+                if (columns[i].isNullable()) {
+                    v.resetToNullOrEmpty();
+                } else {
+                    v.resetToDefault();
+                }
+            }
+        }
+        readPosition = 0;
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseValue value) throws IOException {
+        int pos = readPosition;
+        JsonRowReader jr = getReader();
+        if (raw) {
+            if (!nextRow(jr)) {
+                throw new EOFException();
+            }
+            value.update(jr.readRow());
+            readPosition = 0;
+            return;
+        }
+
+        boolean compact = isCompact(config.getFormat());
+        if (pos == 0) {
+            if (!nextRow(jr)) {
+                throw new EOFException();
+            }
+            jr.expect(compact ? '[' : '{');
+        } else {
+            jr.expect(',');
+        }
+        if (!compact) {
+            // unlike readAndFill(ClickHouseRecord), keys must be in same order as columns
+            byte[] key = getKeys()[pos];
+            if (!jr.consumeString(key)) {
+                String actual = jr.peek() == '"' ? jr.readString() : null;
+                throw new IOException(ClickHouseUtils.format(
+                        "Expect key \"%s\" of column #%d but got %s, use records() to read keys in any order",
+                        new String(key, StandardCharsets.UTF_8), pos + 1,
+                        actual == null ? "no key" : "\"" + actual + "\""));
+            }
+            jr.expect(':');
+        }
+
+        ClickHouseValue v = deserializers[pos].deserialize(value, input);
+        if (v != value) {
+            templates[pos] = v;
+        }
+        if (++pos >= columns.length) {
+            jr.expect(compact ? ']' : '}');
+            jr.expectEnd();
+            readPosition = 0;
+        } else {
+            readPosition = pos;
+        }
+    }
+
+    @Override
+    protected List<ClickHouseColumn> readColumns() throws IOException {
+        if (input.available() < 1) {
+            input.close();
+            return Collections.emptyList();
+        }
+        ClickHouseFormat format = config.getFormat();
+        if (format != ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes) {
+            raw = true;
+            return DEFAULT_COLUMNS;
+        }
+
+        JsonRowReader jr = getReader();
+        if (!nextRow(jr)) {
+            input.close();
+            // no result returned
+            return Collections.emptyList();
+        }
+        if (jr.peek() != '[') {
+            String header = jr.readRow();
+            input.close();
+            throw new IllegalArgumentException("ClickHouse error: " + header);
+        }
+        String[] cols = readStringArray(jr);
+        if (!nextRow(jr)) {
+            input.close();
+            throw new IllegalArgumentException("ClickHouse response without column types");
+        }
+        String[] types = readStringArray(jr);
+        if (types.length != cols.length) {
+            input.close();
+            throw new IllegalArgumentException(ClickHouseUtils.format("Expect %d column types but got %d",
+                    cols.length, types.length));
+        }
+
+        ClickHouseRenameMethod m = config.getColumnRenameMethod();
+        List<ClickHouseColumn> list = new ArrayList<>(cols.length);
+        byte[][] k = new byte[cols.length][];
+        for (int i = 0; i < cols.length; i++) {
+            list.add(ClickHouseColumn.of(m.rename(cols[i]), types[i]));
+            k[i] = cols[i].getBytes(StandardCharsets.UTF_8);
+        }
+        keys = k;
+        return list;
+    }
+
+    public ClickHouseJsonEachRowProcessor(ClickHouseDataConfig config, ClickHouseInputStream input,
+            ClickHouseOutputStream output, List<ClickHouseColumn> columns, Map<String, Serializable> settings)
+            throws IOException {
+        super(config, input, output, columns, settings);
+    }
+
+    @Override
+    public void write(ClickHouseValue value) throws IOException {
+        if (output == null) {
+            throw new IllegalStateException("No output stream available to write");
+        }
+        int len = columns.length;
+        int pos = writePosition;
+        if (len == 0 || pos >= len) {
+            throw new IllegalStateException(
+                    ClickHouseUtils.format("No column to write(total=%d, writePosition=%d)", len, pos));
+        }
+        if (value == null) {
+            value = config.isReuseValueWrapper() ? templates[pos] : templates[pos].copy();
+        }
+
+        ClickHouseFormat format = config.getFormat();
+        boolean compact = isCompact(format);
+        if (pos == 0) {
+            if (!headerWritten && format == ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes) {
+                for (int k = 0; k < 2; k++) {
+                    output.writeByte((byte) '[');
+                    for (int i = 0; i < len; i++) {
+                        if (i > 0) {
+                            output.writeByte((byte) ',');
+                        }
+                        writeString(output, k == 0 ? columns[i].getColumnName() : columns[i].getOriginalTypeName());
+                    }
+                    output.writeByte((byte) ']').writeByte((byte) '\n');
+                }
+            }
+            headerWritten = true;
+            output.writeByte((byte) (compact ? '[' : '{'));
+        } else {
+            output.writeByte((byte) ',');
+        }
+        if (!compact) {
+            if (prefixes == null) {
+                byte[][] p = new byte[len][];
+                for (int i = 0; i < len; i++) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+                    try (ClickHouseOutputStream o = ClickHouseOutputStream.of(bytes)) {
+                        writeString(o, columns[i].getColumnName());
+                        o.writeByte((byte) ':');
+                    }
+                    p[i] = bytes.toByteArray();
+                }
+                prefixes = p;
+            }
+            output.writeBytes(prefixes[pos]);
+        }
+
+        serializers[pos++].serialize(value, output);
+        if (pos >= len) {
+            output.writeByte((byte) (compact ? ']' : '}')).writeByte((byte) '\n');
+            writePosition = 0;
+        } else {
+            writePosition = pos;
+        }
+    }
+
+    @Override
+    public ClickHouseDeserializer getDeserializer(ClickHouseDataConfig config, ClickHouseColumn column) {
+        FieldReader fieldReader = newReader(config, column);
+        return (ref, input) -> fieldReader.read(ref, getReader());
+    }
+
+    @Override
+    public ClickHouseSerializer getSerializer(ClickHouseDataConfig config, ClickHouseColumn column) {
+        return newWriter(config, column);
+    }
+}
@@ -3,6 +3,7 @@ package com.clickhouse.data.format;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -25,6 +26,7 @@ import com.clickhouse.data.ClickHouseRecord;
 import com.clickhouse.data.ClickHouseSerializer;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.value.ClickHouseArrayMap;
 import com.clickhouse.data.value.ClickHouseBitmap;
 import com.clickhouse.data.value.ClickHouseBitmapValue;
 
@@ -52,9 +54,32 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
         }
     }
 
+    /**
+     * Configuration for deserializing elements of a composite value. Each element
+     * must have its own container, so it's never reused even when
+     * {@link ClickHouseDataConfig#isReuseValueContainer()} is enabled for the
+     * column itself.
+     */
+    static final class NestedValueConfig extends ClickHouseDataConfig.Wrapped {
+        static ClickHouseDataConfig of(ClickHouseDataConfig config) {
+            return config.isReuseValueContainer() ? new NestedValueConfig(config) : config;
+        }
+
+        private NestedValueConfig(ClickHouseDataConfig config) {
+            super(config);
+        }
+
+        @Override
+        public boolean isReuseValueContainer() {
+            return false;
+        }
+    }
+
     public static class MapDeserializer extends ClickHouseDeserializer.CompositeDeserializer {
         private final ClickHouseValue keyValue;
         private final ClickHouseValue valValue;
+        // only available when value container is reusable
+        private final ClickHouseArrayMap map;
 
         public MapDeserializer(ClickHouseDataConfig config, ClickHouseColumn column,
                 ClickHouseDeserializer... deserializers) {
@@ -64,8 +89,12 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
                 throw new IllegalArgumentException("Expect 2 deserializers but got " + deserializers.length);
             }
 
+            ClickHouseColumn valueInfo = column.getValueInfo();
             this.keyValue = column.getKeyInfo().newValue(config);
-            this.valValue = column.getValueInfo().newValue(config);
+            this.valValue = valueInfo.newValue(config);
+            this.map = config.isReuseValueContainer()
+                    ? ClickHouseArrayMap.of(valueInfo.isNullable() ? Object.class : valueInfo.getObjectClass(config))
+                    : null;
         }
 
         @Override
@@ -75,9 +104,17 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
                 return ref.resetToNullOrEmpty();
             }
 
-            Map<Object, Object> map = new LinkedHashMap<>(len * 4 / 3 + 1);
             ClickHouseDeserializer kd = deserializers[0];
             ClickHouseDeserializer vd = deserializers[1];
+            if (this.map != null) {
+                ClickHouseArrayMap m = this.map.reset(len);
+                for (int i = 0; i < len; i++) {
+                    m.add(kd.deserialize(keyValue, input).asObject(), vd.deserialize(valValue, input));
+                }
+                return ref.update(m);
+            }
+
+            Map<Object, Object> map = new LinkedHashMap<>(len * 4 / 3 + 1);
             for (int i = 0; i < len; i++) {
                 map.put(kd.deserialize(keyValue, input).asObject(),
                         vd.deserialize(valValue, input).asObject());
@@ -119,6 +156,8 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
 
     public static class NestedDeserializer extends ClickHouseDeserializer.CompositeDeserializer {
         protected final ClickHouseValue[] values;
+        // only available when value container is reusable
+        private final Object[][] array;
 
         public NestedDeserializer(ClickHouseDataConfig config, ClickHouseColumn column,
                 ClickHouseDeserializer... deserializers) {
@@ -134,12 +173,13 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
             for (int i = 0; i < len; i++) {
                 values[i] = nestedCols.get(i).newArrayValue(config);
             }
+            array = config.isReuseValueContainer() ? new Object[len][] : null;
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
             int len = values.length;
-            Object[][] vals = new Object[len][];
+            Object[][] vals = array != null ? array : new Object[len][];
             for (int i = 0; i < len; i++) {
                 ClickHouseDeserializer d = deserializers[i];
                 vals[i] = d.deserialize(values[i], input).asArray();
@@ -179,6 +219,9 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
 
     public static class TupleDeserializer extends ClickHouseDeserializer.CompositeDeserializer {
         private final ClickHouseValue[] values;
+        // only available when value container is reusable
+        private final Object[] array;
+        private final List<Object> list;
 
         public TupleDeserializer(ClickHouseDataConfig config, ClickHouseColumn column,
                 ClickHouseDeserializer... deserializers) {
@@ -194,16 +237,23 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
             for (int i = 0; i < len; i++) {
                 values[i] = nestedCols.get(i).newValue(config);
             }
+            if (config.isReuseValueContainer()) {
+                array = new Object[len];
+                list = Arrays.asList(array);
+            } else {
+                array = null;
+                list = null;
+            }
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
             int len = values.length;
-            Object[] tupleValues = new Object[len];
+            Object[] tupleValues = array != null ? array : new Object[len];
             for (int i = 0; i < len; i++) {
                 tupleValues[i] = deserializers[i].deserialize(values[i], input).asObject();
             }
-            return ref.update(tupleValues);
+            return list != null ? ref.update((Object) list) : ref.update(tupleValues);
         }
     }
 
@@ -235,6 +285,11 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
         }
     }
 
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
+
     @Override
     protected ClickHouseRecord createRecord() {
         return new ClickHouseSimpleRecord(getColumns(), templates);
@@ -457,8 +512,13 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
             case JSON:
             case Object:
             case String:
-                deserializer = config.isUseBinaryString() ? BinaryDataProcessor::readBinaryString
-                        : BinaryDataProcessor::readTextString;
+                if (config.isUseBinaryString()) {
+                    deserializer = BinaryDataProcessor::readBinaryString;
+                } else if (useStringDictionary(config, column)) {
+                    deserializer = new BinaryDataProcessor.StringDictionary(config.getStringDictionarySize());
+                } else {
+                    deserializer = BinaryDataProcessor::readTextString;
+                }
                 break;
             // nested
             case Array: {
@@ -484,21 +544,21 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
                     }
                 } else {
                     deserializer = new BinaryDataProcessor.ArrayDeserializer(config, column, true,
-                            getDeserializer(config, column.getNestedColumns().get(0)));
+                            getDeserializer(NestedValueConfig.of(config), column.getNestedColumns().get(0)));
                 }
                 break;
             }
             case Map:
                 deserializer = new MapDeserializer(config, column,
-                        getDeserializers(config, column.getNestedColumns()));
+                        getDeserializers(NestedValueConfig.of(config), column.getNestedColumns()));
                 break;
             case Nested:
                 deserializer = new NestedDeserializer(config, column,
-                        getArrayDeserializers(config, column.getNestedColumns()));
+                        getArrayDeserializers(NestedValueConfig.of(config), column.getNestedColumns()));
                 break;
             case Tuple:
                 deserializer = new TupleDeserializer(config, column,
-                        getDeserializers(config, column.getNestedColumns()));
+                        getDeserializers(NestedValueConfig.of(config), column.getNestedColumns()));
                 break;
             // special
             case Nothing:
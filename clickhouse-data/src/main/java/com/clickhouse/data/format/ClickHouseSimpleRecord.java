@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.List;
 
 import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseColumnLookup;
 import com.clickhouse.data.ClickHouseRecord;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValue;
@@ -18,6 +19,7 @@ public class ClickHouseSimpleRecord implements ClickHouseRecord {
 
     private final List<ClickHouseColumn> columns;
     private ClickHouseValue[] values;
+    private ClickHouseColumnLookup lookup;
 
     /**
      * Creates a record object to wrap given values.
@@ -27,6 +29,20 @@ public class ClickHouseSimpleRecord implements ClickHouseRecord {
      * @return record
      */
     public static ClickHouseRecord of(List<ClickHouseColumn> columns, ClickHouseValue[] values) {
+        return of(columns, values, null);
+    }
+
+    /**
+     * Creates a record object to wrap given values.
+     *
+     * @param columns non-null list of columns
+     * @param values  non-null array of values
+     * @param lookup  optional lookup shared among records having same columns,
+     *                null means it will be retrieved on demand
+     * @return record
+     */
+    public static ClickHouseRecord of(List<ClickHouseColumn> columns, ClickHouseValue[] values,
+            ClickHouseColumnLookup lookup) {
         if (columns == null || values == null) {
             throw new IllegalArgumentException("Non-null columns and values are required");
         } else if (columns.size() != values.length) {
@@ -36,18 +52,31 @@ public class ClickHouseSimpleRecord implements ClickHouseRecord {
             return EMPTY;
         }
 
-        return new ClickHouseSimpleRecord(columns, values);
+        return new ClickHouseSimpleRecord(columns, values, lookup);
     }
 
     protected ClickHouseSimpleRecord(List<ClickHouseColumn> columns, ClickHouseValue[] values) {
+        this(columns, values, null);
+    }
+
+    protected ClickHouseSimpleRecord(List<ClickHouseColumn> columns, ClickHouseValue[] values,
+            ClickHouseColumnLookup lookup) {
         this.columns = columns;
         this.values = values;
+        this.lookup = lookup;
     }
 
     protected List<ClickHouseColumn> getColumns() {
         return columns;
     }
 
+    protected ClickHouseColumnLookup getLookup() {
+        if (lookup == null) {
+            lookup = ClickHouseColumnLookup.of(columns);
+        }
+        return lookup;
+    }
+
     protected ClickHouseValue[] getValues() {
         return values;
     }
@@ -78,7 +107,7 @@ public class ClickHouseSimpleRecord implements ClickHouseRecord {
         for (int i = 0; i < len; i++) {
             vals[i] = values[i].copy();
         }
-        return new ClickHouseSimpleRecord(columns, vals);
+        return new ClickHouseSimpleRecord(columns, vals, getLookup());
     }
 
     @Override
@@ -88,12 +117,9 @@ public class ClickHouseSimpleRecord implements ClickHouseRecord {
 
     @Override
     public ClickHouseValue getValue(String name) {
-        int index = 0;
-        for (ClickHouseColumn c : columns) {
-            if (c.getColumnName().equalsIgnoreCase(name)) {
-                return getValue(index);
-            }
-            index++;
+        int index = getLookup().indexOf(name);
+        if (index >= 0) {
+            return getValue(index);
         }
 
         throw new IllegalArgumentException(ClickHouseUtils.format("Unable to find column [%s]", name));
@@ -3,6 +3,7 @@ package com.clickhouse.data.format;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,8 +21,10 @@ import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseOutputStream;
 import com.clickhouse.data.ClickHouseRecord;
 import com.clickhouse.data.ClickHouseSerializer;
+import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValue;
 import com.clickhouse.data.format.tsv.ByteFragment;
+import com.clickhouse.data.format.tsv.FieldScanner;
 
 public class ClickHouseTabSeparatedProcessor extends ClickHouseDataProcessor {
     private static String[] toStringArray(ByteFragment headerFragment, byte delimitter) {
@@ -37,9 +40,41 @@ public class ClickHouseTabSeparatedProcessor extends ClickHouseDataProcessor {
         return array;
     }
 
+    private static final int FIELD_STRING = 0;
+    private static final int FIELD_LONG = 1;
+    private static final int FIELD_DOUBLE = 2;
+
+    private static int getFieldType(ClickHouseColumn column) {
+        switch (column.getDataType()) {
+            case Int8:
+            case UInt8:
+            case Int16:
+            case UInt16:
+            case Int32:
+            case UInt32:
+            case Int64:
+            case UInt64:
+            case IntervalYear:
+            case IntervalQuarter:
+            case IntervalMonth:
+            case IntervalWeek:
+            case IntervalDay:
+            case IntervalHour:
+            case IntervalMinute:
+            case IntervalSecond:
+                return FIELD_LONG;
+            case Float64:
+                return FIELD_DOUBLE;
+            default:
+                return FIELD_STRING;
+        }
+    }
+
     // initialize in readColumns()
     private TextDataProcessor.TextSerDe serde;
-    private ByteFragment currentRow;
+    // initialize in readAndFill()
+    private int[] fieldTypes;
+    private byte[] unescaped;
 
     protected TextDataProcessor.TextSerDe getTextSerDe() {
         if (serde == null) {
@@ -60,23 +95,71 @@ public class ClickHouseTabSeparatedProcessor extends ClickHouseDataProcessor {
         if (buf.isEmpty() && input.available() < 1) {
             throw new EOFException();
         }
-        currentRow = new ByteFragment(buf.array(), buf.position(),
-                buf.lastByte() == ds.getRecordSeparator() ? buf.length() - 1 : buf.length());
-
-        int index = readPosition;
-        ByteFragment[] currentCols;
-        if (columns.length > 1 && ds.hasValueSeparator()) {
-            currentCols = currentRow.split(ds.getValueSeparator());
-        } else {
-            currentCols = new ByteFragment[] { currentRow };
+        byte[] bytes = buf.array();
+        int position = buf.position();
+        int limit = position + (buf.lastByte() == ds.getRecordSeparator() ? buf.length() - 1 : buf.length());
+
+        int len = columns.length;
+        if (fieldTypes == null) {
+            int[] types = new int[len];
+            for (int i = 0; i < len; i++) {
+                types[i] = getFieldType(columns[i]);
+            }
+            fieldTypes = types;
         }
-        for (int i = index, len = columns.length; i < len; i++) {
-            r.getValue(i).update(currentCols[i - index].asString(true));
+        boolean split = len > 1 && ds.hasValueSeparator();
+        byte valueSeparator = ds.getValueSeparator();
+        for (int i = readPosition; i < len; i++) {
+            if (position > limit) {
+                readPosition = i;
+                throw new IOException(ClickHouseUtils.format("Expect %d columns but got only %d", len, i));
+            }
+            int end = split ? FieldScanner.indexOf(bytes, position, limit, valueSeparator) : -1;
+            if (end < 0) {
+                end = limit;
+            }
+            readField(r.getValue(i), fieldTypes[i], bytes, position, end);
+            position = end + 1;
             readPosition = i;
         }
         readPosition = 0;
     }
 
+    protected void readField(ClickHouseValue value, int fieldType, byte[] bytes, int from, int to) {
+        TextDataProcessor.TextSerDe ds = getTextSerDe();
+        if (ds.isNullValue(bytes, from, to)) {
+            value.update((String) null);
+            return;
+        }
+
+        byte escapeChar = ds.getEscapeCharacter();
+        if (escapeChar != (byte) 0 && FieldScanner.indexOf(bytes, from, to, escapeChar) >= 0) {
+            int len = to - from;
+            if (unescaped == null || unescaped.length < len) {
+                unescaped = new byte[Math.max(len, 64)];
+            }
+            value.update(new String(unescaped, 0, FieldScanner.unescape(bytes, from, to, unescaped),
+                    StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (fieldType == FIELD_LONG) {
+            try {
+                value.update(FieldScanner.parseLong(bytes, from, to));
+                return;
+            } catch (NumberFormatException e) {
+                // fall back to string, for example UInt64 greater than Long.MAX_VALUE
+            }
+        } else if (fieldType == FIELD_DOUBLE) {
+            double d = FieldScanner.parseDouble(bytes, from, to);
+            if (!Double.isNaN(d)) {
+                value.update(d);
+                return;
+            }
+        }
+        value.update(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+    }
+
     @Override
     protected void readAndFill(ClickHouseValue value) throws IOException {
         throw new UnsupportedOperationException();
@@ -0,0 +1,553 @@
+package com.clickhouse.data.format;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.format.tsv.FieldScanner;
+
+/**
+ * Pull tokenizer reading JSON values from one row in a byte array, without
+ * building intermediate objects. ClickHouse writes one row per line in
+ * JSON*EachRow formats, and new line in strings is always escaped, so the row
+ * can be located by simply searching new line.
+ */
+final class JsonRowReader {
+    static final String ERROR_UNEXPECTED = "Expect %s but got %s at position %d of row: %s";
+
+    // max number of bytes of the row to show in error message
+    private static final int MAX_ROW_LENGTH = 256;
+
+    private byte[] bytes;
+    private int start;
+    private int position;
+    private int limit;
+
+    private byte[] scratch;
+
+    JsonRowReader() {
+        this.bytes = new byte[0];
+        this.start = 0;
+        this.position = 0;
+        this.limit = 0;
+
+        this.scratch = new byte[64];
+    }
+
+    private IOException unexpected(String expected) {
+        String actual = position < limit ? "'" + (char) bytes[position] + "'" : "end of row";
+        return new IOException(ClickHouseUtils.format(ERROR_UNEXPECTED, expected, actual, position - start,
+                new String(bytes, start, Math.min(limit - start, MAX_ROW_LENGTH), StandardCharsets.UTF_8)));
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte b = bytes[position];
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                position++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private boolean matchLiteral(String literal) {
+        int len = literal.length();
+        if (limit - position < len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (bytes[position + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int endOfLiteral() {
+        int i = position;
+        while (i < limit) {
+            byte b = bytes[i];
+            if (b == ',' || b == ']' || b == '}' || b == ':' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int endOfString(int from) throws IOException {
+        int i = from;
+        while ((i = FieldScanner.indexOf(bytes, i, limit, (byte) '"', (byte) '\\')) >= 0) {
+            if (bytes[i] == '"') {
+                return i;
+            }
+            i += 2;
+        }
+        position = limit;
+        throw unexpected("'\"'");
+    }
+
+    private void ensureScratch(int length) {
+        if (scratch.length < length) {
+            byte[] newScratch = new byte[Math.max(length, scratch.length * 2)];
+            System.arraycopy(scratch, 0, newScratch, 0, scratch.length);
+            scratch = newScratch;
+        }
+    }
+
+    private int readHex(int index) throws IOException {
+        if (index + 4 > limit) {
+            position = limit;
+            throw unexpected("4 hex digits");
+        }
+        int v = 0;
+        for (int i = index, len = index + 4; i < len; i++) {
+            int d = Character.digit(bytes[i], 16);
+            if (d < 0) {
+                position = i;
+                throw unexpected("hex digit");
+            }
+            v = (v << 4) | d;
+        }
+        return v;
+    }
+
+    private int writeUtf8(int codePoint, int offset) {
+        ensureScratch(offset + 4);
+        byte[] b = scratch;
+        if (codePoint < 0x80) {
+            b[offset++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            b[offset++] = (byte) (0xC0 | (codePoint >> 6));
+            b[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            b[offset++] = (byte) (0xE0 | (codePoint >> 12));
+            b[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            b[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            b[offset++] = (byte) (0xF0 | (codePoint >> 18));
+            b[offset++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            b[offset++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            b[offset++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+        return offset;
+    }
+
+    /**
+     * Unescapes string starting from {@code from}(after opening quote) into
+     * scratch buffer, and moves position to the byte after closing quote.
+     */
+    private int unescape(int from) throws IOException {
+        int len = 0;
+        int i = from;
+        while (true) {
+            int end = FieldScanner.indexOf(bytes, i, limit, (byte) '"', (byte) '\\');
+            if (end < 0) {
+                position = limit;
+                throw unexpected("'\"'");
+            }
+            int n = end - i;
+            ensureScratch(len + n + 4);
+            System.arraycopy(bytes, i, scratch, len, n);
+            len += n;
+            if (bytes[end] == '"') {
+                position = end + 1;
+                return len;
+            } else if (end + 1 >= limit) {
+                position = limit;
+                throw unexpected("escaped character");
+            }
+
+            byte b = bytes[end + 1];
+            i = end + 2;
+            switch (b) {
+                case 'b':
+                    scratch[len++] = '\b';
+                    break;
+                case 'f':
+                    scratch[len++] = '\f';
+                    break;
+                case 'n':
+                    scratch[len++] = '\n';
+                    break;
+                case 'r':
+                    scratch[len++] = '\r';
+                    break;
+                case 't':
+                    scratch[len++] = '\t';
+                    break;
+                case 'u':
+                    int cp = readHex(i);
+                    i += 4;
+                    if (Character.isHighSurrogate((char) cp) && i + 6 <= limit && bytes[i] == '\\'
+                            && bytes[i + 1] == 'u') {
+                        int low = readHex(i + 2);
+                        if (Character.isLowSurrogate((char) low)) {
+                            cp = Character.toCodePoint((char) cp, (char) low);
+                            i += 6;
+                        }
+                    }
+                    len = writeUtf8(cp, len);
+                    break;
+                default: // '"', '\\', '/' and anything else
+                    scratch[len++] = b;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Resets the reader to read the given row.
+     *
+     * @param bytes    non-null byte array
+     * @param position inclusive start index
+     * @param limit    exclusive end index
+     * @return this reader
+     */
+    JsonRowReader reset(byte[] bytes, int position, int limit) {
+        this.bytes = bytes;
+        this.start = position;
+        this.position = position;
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Gets the whole row as string, excluding trailing new line.
+     *
+     * @return non-null row
+     */
+    String readRow() {
+        int end = limit;
+        while (end > start && (bytes[end - 1] == '\n' || bytes[end - 1] == '\r')) {
+            end--;
+        }
+        position = limit;
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Checks whether there's nothing but whitespaces left.
+     *
+     * @return true if there's nothing left to read; false otherwise
+     */
+    boolean isEnd() {
+        skipWhitespace();
+        return position >= limit;
+    }
+
+    /**
+     * Ensures there's nothing but whitespaces left.
+     *
+     * @throws IOException when there's more to read
+     */
+    void expectEnd() throws IOException {
+        if (!isEnd()) {
+            throw unexpected("end of row");
+        }
+    }
+
+    /**
+     * Gets next non-whitespace byte without consuming it.
+     *
+     * @return next byte, or -1 when there's nothing left
+     */
+    int peek() {
+        skipWhitespace();
+        return position < limit ? bytes[position] : -1;
+    }
+
+    /**
+     * Consumes next non-whitespace byte when it's same as the given one.
+     *
+     * @param ch expected byte
+     * @return true if the byte was consumed; false otherwise
+     */
+    boolean consume(char ch) {
+        skipWhitespace();
+        if (position < limit && bytes[position] == ch) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes next non-whitespace byte, which must be same as the given one.
+     *
+     * @param ch expected byte
+     * @throws IOException when next byte is different
+     */
+    void expect(char ch) throws IOException {
+        if (!consume(ch)) {
+            throw unexpected("'" + ch + "'");
+        }
+    }
+
+    /**
+     * Consumes {@code null} literal if it's next.
+     *
+     * @return true if {@code null} was consumed; false otherwise
+     */
+    boolean consumeNull() {
+        skipWhitespace();
+        if (matchLiteral("null")) {
+            position += 4;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes a string when it has no escape character and its content is same
+     * as the given bytes. This is mainly for matching keys without creating
+     * strings.
+     *
+     * @param expected non-null UTF-8 bytes
+     * @return true if the string was consumed; false otherwise
+     */
+    boolean consumeString(byte[] expected) {
+        skipWhitespace();
+        int len = expected.length;
+        int begin = position + 1;
+        int end = begin + len;
+        if (end >= limit || bytes[position] != '"' || bytes[end] != '"') {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            byte b = bytes[begin + i];
+            if (b != expected[i] || b == '\\') {
+                return false;
+            }
+        }
+        position = end + 1;
+        return true;
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @return non-null string
+     * @throws IOException when next value is not a string
+     */
+    String readString() throws IOException {
+        expect('"');
+        int begin = position;
+        int end = FieldScanner.indexOf(bytes, begin, limit, (byte) '"', (byte) '\\');
+        if (end >= 0 && bytes[end] == '"') {
+            position = end + 1;
+            return new String(bytes, begin, end - begin, StandardCharsets.UTF_8);
+        }
+        // scratch might be replaced during unescaping
+        int len = unescape(begin);
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads next value as text. It's same as {@link #readString()} for string,
+     * but for anything else, raw JSON will be returned.
+     *
+     * @return non-null text
+     * @throws IOException when failed to read value
+     */
+    String readText() throws IOException {
+        if (peek() == '"') {
+            return readString();
+        }
+
+        int begin = position;
+        skipValue();
+        return new String(bytes, begin, position - begin, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads next value as boolean. Number and quoted value are also accepted.
+     *
+     * @return boolean value
+     * @throws IOException when next value is not a boolean
+     */
+    boolean readBoolean() throws IOException {
+        boolean quoted = consume('"');
+        final boolean value;
+        if (matchLiteral("true")) {
+            position += 4;
+            value = true;
+        } else if (matchLiteral("false")) {
+            position += 5;
+            value = false;
+        } else if (matchLiteral("1")) {
+            position++;
+            value = true;
+        } else if (matchLiteral("0")) {
+            position++;
+            value = false;
+        } else {
+            throw unexpected("boolean");
+        }
+        if (quoted) {
+            expect('"');
+        }
+        return value;
+    }
+
+    /**
+     * Reads next value, which could be quoted, as long.
+     *
+     * @return long value
+     * @throws IOException           when there's no value to read
+     * @throws NumberFormatException when the value is not a long, position is
+     *                               left unchanged in this case
+     */
+    long readLong() throws IOException {
+        if (isEnd()) {
+            throw unexpected("number");
+        }
+
+        int begin = position;
+        int from = begin;
+        int to;
+        if (bytes[from] == '"') {
+            to = endOfString(++from);
+            position = to + 1;
+        } else {
+            to = endOfLiteral();
+            position = to;
+        }
+
+        try {
+            return FieldScanner.parseLong(bytes, from, to);
+        } catch (NumberFormatException e) {
+            position = begin;
+            throw e;
+        }
+    }
+
+    /**
+     * Reads next value, which could be quoted, as double. Special values like
+     * {@code nan} and {@code inf} are supported.
+     *
+     * @return double value
+     * @throws IOException           when there's no value to read
+     * @throws NumberFormatException when the value is not a double, position is
+     *                               left unchanged in this case
+     */
+    double readDouble() throws IOException {
+        if (isEnd()) {
+            throw unexpected("number");
+        }
+
+        int begin = position;
+        int from = begin;
+        int to;
+        if (bytes[from] == '"') {
+            to = endOfString(++from);
+            position = to + 1;
+        } else {
+            to = endOfLiteral();
+            position = to;
+        }
+
+        double d = FieldScanner.parseDouble(bytes, from, to);
+        if (Double.isNaN(d)) {
+            String str = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            try {
+                switch (str) {
+                    case "nan":
+                    case "-nan":
+                        break;
+                    case "inf":
+                    case "+inf":
+                        d = Double.POSITIVE_INFINITY;
+                        break;
+                    case "-inf":
+                        d = Double.NEGATIVE_INFINITY;
+                        break;
+                    default:
+                        d = Double.parseDouble(str);
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                position = begin;
+                throw e;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Counts number of elements in the array starting from current position,
+     * without consuming anything.
+     *
+     * @return number of elements
+     * @throws IOException when next value is not an array
+     */
+    int countElements() throws IOException {
+        int begin = position;
+        try {
+            expect('[');
+            int count = 0;
+            if (!consume(']')) {
+                do {
+                    skipValue();
+                    count++;
+                } while (consume(','));
+                expect(']');
+            }
+            return count;
+        } finally {
+            position = begin;
+        }
+    }
+
+    /**
+     * Skips next value.
+     *
+     * @throws IOException when there's no value to skip
+     */
+    void skipValue() throws IOException {
+        int b = peek();
+        if (b == '"') {
+            position = endOfString(position + 1) + 1;
+        } else if (b == '[' || b == '{') {
+            int depth = 0;
+            while (position < limit) {
+                int i = FieldScanner.indexOf(bytes, position, limit, (byte) '"', (byte) '[', (byte) ']');
+                int j = FieldScanner.indexOf(bytes, position, i < 0 ? limit : i, (byte) '{', (byte) '}');
+                if (j >= 0) {
+                    i = j;
+                } else if (i < 0) {
+                    break;
+                }
+
+                byte ch = bytes[i];
+                if (ch == '"') {
+                    position = endOfString(i + 1) + 1;
+                    continue;
+                }
+                position = i + 1;
+                if (ch == '[' || ch == '{') {
+                    depth++;
+                } else if (--depth == 0) {
+                    return;
+                }
+            }
+            position = limit;
+            throw unexpected("end of " + (b == '[' ? "array" : "object"));
+        } else {
+            int end = endOfLiteral();
+            if (end == position) {
+                throw unexpected("value");
+            }
+            position = end;
+        }
+    }
+}
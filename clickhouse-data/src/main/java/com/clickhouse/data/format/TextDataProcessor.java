@@ -14,6 +14,7 @@ import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseOutputStream;
 import com.clickhouse.data.ClickHouseSerializer;
 import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.format.tsv.FieldScanner;
 
 public interface TextDataProcessor {
     static class TextSerDe implements ClickHouseDeserializer, ClickHouseSerializer {
@@ -33,16 +34,8 @@ public interface TextDataProcessor {
         private final byte[] nullValue;
 
         protected int read(byte[] bytes, int position, int limit, byte stopChar) {
-            int offset = 0;
-            for (int i = position; i < limit; i++) {
-                byte b = bytes[i];
-                offset++;
-                if (b == stopChar) {
-                    return offset;
-                }
-            }
-
-            return -1;
+            int index = FieldScanner.indexOf(bytes, position, limit, stopChar);
+            return index < 0 ? -1 : index - position + 1;
         }
 
         public TextSerDe(String str) {
@@ -76,10 +69,27 @@ public interface TextDataProcessor {
             return valueSeparator;
         }
 
+        public byte getEscapeCharacter() {
+            return escapeChar;
+        }
+
         public boolean hasEscapeCharacter() {
             return escapeChar != (byte) 0;
         }
 
+        public boolean isNullValue(byte[] bytes, int from, int to) {
+            int len = nullValue.length;
+            if (to - from != len) {
+                return false;
+            }
+            for (int i = 0; i < len; i++) {
+                if (bytes[from + i] != nullValue[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public boolean hasValueSeparator() {
             return valueSeparator != (byte) 0;
         }
@@ -89,22 +99,8 @@ public interface TextDataProcessor {
                 return read(bytes, position, limit, recordSeparator);
             }
 
-            int offset = 0;
-            byte prev = 0;
-            for (int i = position; i < limit; i++) {
-                byte b = bytes[i];
-                offset++;
-                if (prev == escapeChar) {
-                    prev = b == escapeChar ? (byte) 0 : b;
-                } else {
-                    prev = b;
-                    if (b == recordSeparator) {
-                        return offset;
-                    }
-                }
-            }
-
-            return -1;
+            int index = FieldScanner.indexOfUnescaped(bytes, position, limit, recordSeparator, escapeChar);
+            return index < 0 ? -1 : index - position + 1;
         }
 
         protected int readValue(byte[] bytes, int position, int limit) {
@@ -112,22 +108,9 @@ public interface TextDataProcessor {
                 return read(bytes, position, limit, valueSeparator);
             }
 
-            int offset = 0;
-            byte prev = 0;
-            for (int i = position; i < limit; i++) {
-                byte b = bytes[i];
-                offset++;
-                if (prev == escapeChar) {
-                    prev = b == escapeChar ? (byte) 0 : b;
-                } else {
-                    prev = b;
-                    if (b == valueSeparator || b == recordSeparator) {
-                        return offset;
-                    }
-                }
-            }
-
-            return -1;
+            int index = FieldScanner.indexOfUnescaped(bytes, position, limit, valueSeparator, recordSeparator,
+                    escapeChar);
+            return index < 0 ? -1 : index - position + 1;
         }
 
         protected ClickHouseByteBuffer readBuffer(ClickHouseInputStream input) throws IOException {
@@ -208,7 +191,8 @@ public interface TextDataProcessor {
             case TabSeparatedRaw:
             case TabSeparatedRawWithNames:
             case TabSeparatedRawWithNamesAndTypes:
-                serde = new TextSerDe("\\\n\0\\N");
+                // no escaping but still tab-separated
+                serde = new TextSerDe("\0\n\t\\N");
                 break;
             default:
                 serde = new TextSerDe("\0\n\0");
@@ -0,0 +1,354 @@
+package com.clickhouse.data.format.tsv;
+
+import com.clickhouse.data.ClickHouseByteUtils;
+
+/**
+ * Utility class for scanning and parsing fields of TabSeparated family formats
+ * directly from a byte array. Delimiters and escape characters are searched
+ * eight bytes at a time(SWAR) instead of byte by byte, and numbers are parsed
+ * without creating intermediate strings.
+ */
+public final class FieldScanner {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+    // exactly representable powers of ten
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    // max number of significant digits that can be converted to double exactly
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Gets a word having the given byte in each of its eight bytes.
+     *
+     * @param b byte to repeat
+     * @return word to be used as pattern in {@link #match(long, long)}
+     */
+    static long pattern(byte b) {
+        return (0xFFL & b) * ONES;
+    }
+
+    /**
+     * Finds bytes in {@code word} that are equal to the ones in {@code pattern}.
+     * Unlike the well-known {@code (x - 0x01..) & ~x & 0x80..} trick, there's no
+     * false positive, so the result can be used to locate all matches.
+     *
+     * @param word    eight bytes to check
+     * @param pattern pattern created by {@link #pattern(byte)}
+     * @return word having the highest bit set for each matched byte
+     */
+    static long match(long word, long pattern) {
+        long x = word ^ pattern;
+        return ~(((x & LOWS) + LOWS) | x | LOWS);
+    }
+
+    /**
+     * Gets index of the first matched byte.
+     *
+     * @param offset index of the first byte in the word
+     * @param mask   non-zero result of {@link #match(long, long)}
+     * @return index of the first matched byte
+     */
+    static int indexOf(int offset, long mask) {
+        // words are read in little-endian so the first byte is the lowest one
+        return offset + (Long.numberOfTrailingZeros(mask) >>> 3);
+    }
+
+    /**
+     * Finds the first occurrence of the given byte.
+     *
+     * @param bytes non-null byte array
+     * @param from  inclusive start index
+     * @param to    exclusive end index
+     * @param b     byte to search
+     * @return index of the byte, or -1 when not found
+     */
+    public static int indexOf(byte[] bytes, int from, int to, byte b) {
+        int i = from;
+        if (to - i >= Long.BYTES) {
+            long p = pattern(b);
+            for (int len = to - Long.BYTES; i <= len; i += Long.BYTES) {
+                long mask = match(ClickHouseByteUtils.getInt64LE(bytes, i), p);
+                if (mask != 0L) {
+                    return indexOf(i, mask);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of either of the given bytes.
+     *
+     * @param bytes non-null byte array
+     * @param from  inclusive start index
+     * @param to    exclusive end index
+     * @param b1    byte to search
+     * @param b2    another byte to search
+     * @return index of the first found byte, or -1 when neither was found
+     */
+    public static int indexOf(byte[] bytes, int from, int to, byte b1, byte b2) {
+        int i = from;
+        if (to - i >= Long.BYTES) {
+            long p1 = pattern(b1);
+            long p2 = pattern(b2);
+            for (int len = to - Long.BYTES; i <= len; i += Long.BYTES) {
+                long word = ClickHouseByteUtils.getInt64LE(bytes, i);
+                long mask = match(word, p1) | match(word, p2);
+                if (mask != 0L) {
+                    return indexOf(i, mask);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b == b1 || b == b2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of any of the given bytes.
+     *
+     * @param bytes non-null byte array
+     * @param from  inclusive start index
+     * @param to    exclusive end index
+     * @param b1    byte to search
+     * @param b2    another byte to search
+     * @param b3    yet another byte to search
+     * @return index of the first found byte, or -1 when none was found
+     */
+    public static int indexOf(byte[] bytes, int from, int to, byte b1, byte b2, byte b3) {
+        int i = from;
+        if (to - i >= Long.BYTES) {
+            long p1 = pattern(b1);
+            long p2 = pattern(b2);
+            long p3 = pattern(b3);
+            for (int len = to - Long.BYTES; i <= len; i += Long.BYTES) {
+                long word = ClickHouseByteUtils.getInt64LE(bytes, i);
+                long mask = match(word, p1) | match(word, p2) | match(word, p3);
+                if (mask != 0L) {
+                    return indexOf(i, mask);
+                }
+            }
+        }
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b == b1 || b == b2 || b == b3) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first unescaped occurrence of the given byte. Byte following the
+     * escape character is skipped.
+     *
+     * @param bytes      non-null byte array
+     * @param from       inclusive start index
+     * @param to         exclusive end index
+     * @param b          byte to search
+     * @param escapeChar escape character, zero means no escaping
+     * @return index of the byte, or -1 when not found
+     */
+    public static int indexOfUnescaped(byte[] bytes, int from, int to, byte b, byte escapeChar) {
+        if (escapeChar == (byte) 0) {
+            return indexOf(bytes, from, to, b);
+        }
+
+        int i = from;
+        while ((i = indexOf(bytes, i, to, b, escapeChar)) >= 0) {
+            if (bytes[i] == b) {
+                return i;
+            }
+            i += 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first unescaped occurrence of either of the given bytes. Byte
+     * following the escape character is skipped.
+     *
+     * @param bytes      non-null byte array
+     * @param from       inclusive start index
+     * @param to         exclusive end index
+     * @param b1         byte to search
+     * @param b2         another byte to search
+     * @param escapeChar escape character, zero means no escaping
+     * @return index of the first found byte, or -1 when neither was found
+     */
+    public static int indexOfUnescaped(byte[] bytes, int from, int to, byte b1, byte b2, byte escapeChar) {
+        if (escapeChar == (byte) 0) {
+            return indexOf(bytes, from, to, b1, b2);
+        }
+
+        int i = from;
+        while ((i = indexOf(bytes, i, to, b1, b2, escapeChar)) >= 0) {
+            byte b = bytes[i];
+            if (b == b1 || b == b2) {
+                return i;
+            }
+            i += 2;
+        }
+        return -1;
+    }
+
+    /**
+     * Unescapes bytes in TabSeparated format. Unlike
+     * {@link ByteFragment#unescape()}, unknown escape sequence like {@code \a}
+     * is treated as the character itself, which is same as ClickHouse.
+     *
+     * @param bytes  non-null byte array
+     * @param from   inclusive start index
+     * @param to     exclusive end index
+     * @param target non-null byte array having at least {@code to - from} bytes
+     * @return number of bytes written into {@code target}
+     */
+    public static int unescape(byte[] bytes, int from, int to, byte[] target) {
+        int len = 0;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b == '\\' && ++i < to) {
+                b = bytes[i];
+                switch (b) {
+                    case '0':
+                    case 'N':
+                        b = 0;
+                        break;
+                    case 'b':
+                        b = '\b';
+                        break;
+                    case 'f':
+                        b = '\f';
+                        break;
+                    case 'n':
+                        b = '\n';
+                        break;
+                    case 'r':
+                        b = '\r';
+                        break;
+                    case 't':
+                        b = '\t';
+                        break;
+                    default:
+                        break;
+                }
+            }
+            target[len++] = b;
+        }
+        return len;
+    }
+
+    /**
+     * Parses signed decimal integer.
+     *
+     * @param bytes non-null byte array
+     * @param from  inclusive start index
+     * @param to    exclusive end index
+     * @return parsed number
+     * @throws NumberFormatException when the bytes do not represent a number in
+     *                               range of {@code long}
+     */
+    public static long parseLong(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to) {
+            byte b = bytes[i];
+            if (b == '-') {
+                negative = true;
+                i++;
+            } else if (b == '+') {
+                i++;
+            }
+        }
+        if (i >= to || to - i > 19) {
+            throw new NumberFormatException("Not a long number");
+        }
+
+        // accumulate negatively so that Long.MIN_VALUE can be handled
+        long result = 0L;
+        for (; i < to; i++) {
+            int d = bytes[i] - '0';
+            if (d < 0 || d > 9) {
+                throw new NumberFormatException("Not a long number");
+            }
+            long r = result * 10 - d;
+            if (r > result) {
+                throw new NumberFormatException("Long number out of range");
+            }
+            result = r;
+        }
+        if (!negative) {
+            if (result == Long.MIN_VALUE) {
+                throw new NumberFormatException("Long number out of range");
+            }
+            result = -result;
+        }
+        return result;
+    }
+
+    /**
+     * Parses decimal number like {@code -123.45}. Only numbers having no more
+     * than 15 significant digits and no exponent are supported, because they can
+     * be converted to double exactly, which is same as
+     * {@link Double#parseDouble(String)}.
+     *
+     * @param bytes non-null byte array
+     * @param from  inclusive start index
+     * @param to    exclusive end index
+     * @return parsed number, or {@link Double#NaN} when the bytes are not
+     *         supported, in which case {@link Double#parseDouble(String)} should
+     *         be used instead
+     */
+    public static double parseDouble(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && bytes[i] == '-') {
+            negative = true;
+            i++;
+        }
+
+        long mantissa = 0L;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean hasDigit = false;
+        for (; i < to; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                hasDigit = true;
+                if (mantissa != 0L || b != '0') {
+                    if (++digits > MAX_EXACT_DIGITS) {
+                        return Double.NaN;
+                    }
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (dot) {
+                    scale++;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!hasDigit || scale >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+
+        double result = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -result : result;
+    }
+
+    private FieldScanner() {
+    }
+}
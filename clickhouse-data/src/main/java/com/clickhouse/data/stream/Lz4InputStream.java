@@ -2,16 +2,24 @@ package com.clickhouse.data.stream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import com.clickhouse.config.ClickHouseDefaultOption;
+import com.clickhouse.config.ClickHouseOption;
 import com.clickhouse.data.ClickHouseByteUtils;
 import com.clickhouse.data.ClickHouseByteBuffer;
 import com.clickhouse.data.ClickHouseChecker;
 import com.clickhouse.data.ClickHouseCityHash;
+import com.clickhouse.data.ClickHouseDataStreamFactory;
 import com.clickhouse.data.ClickHousePassThruStream;
 import com.clickhouse.data.ClickHouseUtils;
 
+import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.lz4.LZ4SafeDecompressor;
 
 /**
  * Reader from clickhouse in lz4.
@@ -22,11 +30,71 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
     static final byte MAGIC = (byte) 0x82;
     static final int HEADER_LENGTH = 25;
 
+    static final String ERROR_CHECKSUM_MISMATCH = "Checksum doesn't match: corrupted data.";
+
+    /**
+     * Verify checksum of one out of every N blocks. 1 means all blocks will be
+     * verified, and zero or negative number disables verification, which should
+     * only be considered on trusted links. Blocks not verified are decompressed
+     * with bounds checking, which is slower.
+     */
+    public static final ClickHouseOption CHECKSUM_SAMPLING = new ClickHouseDefaultOption("lz4_checksum_sampling", 1);
+    /**
+     * Whether to verify checksum in a separate thread, so that decompression and
+     * consumption of current block won't wait for verification. When it's
+     * enabled, checksum mismatch will be reported later, in the call reading the
+     * next but one block, or at the end of the stream, so data of a corrupted
+     * block may have been returned to the caller by then.
+     */
+    public static final ClickHouseOption CHECKSUM_ASYNC = new ClickHouseDefaultOption("lz4_checksum_async", false);
+
+    static void verify(byte[] block, int length, long expected0, long expected1) throws IOException {
+        long[] real = ClickHouseCityHash.cityHash128(block, 0, length);
+        if (real[0] != expected0 || real[1] != expected1) {
+            throw new IOException(ERROR_CHECKSUM_MISMATCH);
+        }
+    }
+
     private final LZ4FastDecompressor decompressor;
+    // for blocks not verified before decompression
+    private final LZ4SafeDecompressor safeDecompressor;
     private final InputStream input;
     private final byte[] header;
 
-    private byte[] compressedBlock;
+    private final int checksumSampling;
+    private final boolean asyncChecksum;
+    // blocks are used in turn when checksum is verified asynchronously
+    private final byte[][] compressedBlocks;
+    private final CompletableFuture<?>[] checksums;
+    private int blockIndex;
+    private long blockCount;
+
+    private void await(int index) throws IOException {
+        CompletableFuture<?> future = checksums[index];
+        if (future == null) {
+            return;
+        }
+
+        checksums[index] = null;
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while verifying checksum", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(ERROR_CHECKSUM_MISMATCH, cause);
+        }
+    }
+
+    private void awaitAll() throws IOException {
+        for (int i = 0; i < checksums.length; i++) {
+            await(i);
+        }
+    }
 
     private boolean readFully(byte[] b, int off, int len) throws IOException {
         int n = 0;
@@ -50,6 +118,7 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
 
         // checksum(16 bytes) + 1 magic byte + header(8 bytes)
         if (!readFully(header, 0, HEADER_LENGTH)) {
+            awaitAll();
             buffer = ClickHouseByteBuffer.EMPTY_BYTES;
             return limit = 0;
         } else if (header[16] != MAGIC) {
@@ -63,8 +132,15 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
         // 4 bytes - size of uncompressed data
         int uncompressedSize = ClickHouseByteUtils.getInt32LE(header, 21);
         int offset = 9;
-        final byte[] block = compressedBlock.length >= compressedSizeWithHeader ? compressedBlock
-                : (compressedBlock = new byte[compressedSizeWithHeader]);
+        if (compressedSizeWithHeader < offset || uncompressedSize < 0) {
+            throw new IOException(ClickHouseUtils.format("Invalid block size - compressed %d, uncompressed %d",
+                    compressedSizeWithHeader, uncompressedSize));
+        }
+        final int index = asyncChecksum ? (blockIndex ^= 1) : 0;
+        // make sure the block is no longer used for verification
+        await(index);
+        final byte[] block = compressedBlocks[index].length >= compressedSizeWithHeader ? compressedBlocks[index]
+                : (compressedBlocks[index] = new byte[compressedSizeWithHeader]);
         block[0] = header[16];
         ClickHouseByteUtils.setInt32LE(block, 1, compressedSizeWithHeader);
         ClickHouseByteUtils.setInt32LE(block, 5, uncompressedSize);
@@ -73,14 +149,35 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
             throw new IOException(ClickHouseUtils.format(ERROR_INCOMPLETE_READ, 0, compressedSizeWithHeader - offset));
         }
 
-        long[] real = ClickHouseCityHash.cityHash128(block, 0, compressedSizeWithHeader);
-        if (real[0] != ClickHouseByteUtils.getInt64LE(header, 0)
-                || real[1] != ClickHouseByteUtils.getInt64LE(header, 8)) {
-            throw new IOException("Checksum doesn't match: corrupted data.");
+        boolean verified = false;
+        if (checksumSampling > 0 && blockCount++ % checksumSampling == 0) {
+            final long expected0 = ClickHouseByteUtils.getInt64LE(header, 0);
+            final long expected1 = ClickHouseByteUtils.getInt64LE(header, 8);
+            if (asyncChecksum) {
+                checksums[index] = CompletableFuture.runAsync(() -> {
+                    try {
+                        verify(block, compressedSizeWithHeader, expected0, expected1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, ClickHouseDataStreamFactory.getInstance().getExecutor());
+            } else {
+                verify(block, compressedSizeWithHeader, expected0, expected1);
+                verified = true;
+            }
         }
 
         final byte[] buf = buffer.length >= uncompressedSize ? buffer : (buffer = new byte[uncompressedSize]);
-        decompressor.decompress(block, offset, buf, 0, uncompressedSize);
+        try {
+            if (verified) {
+                decompressor.decompress(block, offset, buf, 0, uncompressedSize);
+            } else if (safeDecompressor.decompress(block, offset, compressedSizeWithHeader - offset, buf, 0,
+                    uncompressedSize) != uncompressedSize) {
+                throw new IOException(ERROR_CHECKSUM_MISMATCH);
+            }
+        } catch (LZ4Exception e) {
+            throw new IOException(ERROR_CHECKSUM_MISMATCH, e);
+        }
         if (copyTo != null) {
             copyTo.write(buf);
         }
@@ -92,13 +189,29 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
     }
 
     public Lz4InputStream(ClickHousePassThruStream stream, InputStream input, Runnable postCloseAction) {
+        this(stream, input, (int) CHECKSUM_SAMPLING.getEffectiveDefaultValue(),
+                (boolean) CHECKSUM_ASYNC.getEffectiveDefaultValue(), postCloseAction);
+    }
+
+    public Lz4InputStream(ClickHousePassThruStream stream, InputStream input, int checksumSampling,
+            boolean asyncChecksum, Runnable postCloseAction) {
         super(stream, null, postCloseAction);
 
         this.decompressor = factory.fastDecompressor();
+        this.safeDecompressor = factory.safeDecompressor();
         this.input = ClickHouseChecker.nonNull(input, "InputStream");
         this.header = new byte[HEADER_LENGTH];
 
-        this.compressedBlock = ClickHouseByteBuffer.EMPTY_BYTES;
+        this.checksumSampling = checksumSampling;
+        this.asyncChecksum = asyncChecksum && checksumSampling > 0;
+        int blocks = this.asyncChecksum ? 2 : 1;
+        this.compressedBlocks = new byte[blocks][];
+        for (int i = 0; i < blocks; i++) {
+            this.compressedBlocks[i] = ClickHouseByteBuffer.EMPTY_BYTES;
+        }
+        this.checksums = new CompletableFuture<?>[blocks];
+        this.blockIndex = 0;
+        this.blockCount = 0L;
     }
 
     @Override
@@ -107,7 +220,11 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
             try {
                 input.close();
             } finally {
-                super.close();
+                try {
+                    awaitAll();
+                } finally {
+                    super.close();
+                }
             }
         }
     }
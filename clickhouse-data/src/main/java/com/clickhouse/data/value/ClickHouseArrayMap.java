@@ -0,0 +1,325 @@
+package com.clickhouse.data.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.ClickHouseValue;
+
+/**
+ * Read-only map backed by parallel arrays of keys and values, in insertion
+ * order. It's designed to be refilled row after row without allocating a new
+ * map and its entries every time. Same as how ClickHouse handles {@code Map}
+ * type, lookup is a linear scan, which is fine for small maps but not for
+ * large ones.
+ *
+ * <p>
+ * Numeric values, when {@link #of(Class)} is called with one of
+ * {@code Byte}, {@code Short}, {@code Integer}, {@code Long}, their unsigned
+ * counterparts, {@code Float} or {@code Double}, are kept in a primitive array
+ * and only boxed on access. Use {@link #getLong(int)} or
+ * {@link #getDouble(int)} to avoid boxing altogether.
+ */
+public final class ClickHouseArrayMap extends AbstractMap<Object, Object> {
+    static final int KIND_OBJECT = 0;
+    static final int KIND_BYTE = 1;
+    static final int KIND_UNSIGNED_BYTE = 2;
+    static final int KIND_SHORT = 3;
+    static final int KIND_UNSIGNED_SHORT = 4;
+    static final int KIND_INT = 5;
+    static final int KIND_UNSIGNED_INT = 6;
+    static final int KIND_LONG = 7;
+    static final int KIND_UNSIGNED_LONG = 8;
+    static final int KIND_FLOAT = 9;
+    static final int KIND_DOUBLE = 10;
+
+    static int getKind(Class<?> valueClass) {
+        final int kind;
+        if (valueClass == Byte.class) {
+            kind = KIND_BYTE;
+        } else if (valueClass == UnsignedByte.class) {
+            kind = KIND_UNSIGNED_BYTE;
+        } else if (valueClass == Short.class) {
+            kind = KIND_SHORT;
+        } else if (valueClass == UnsignedShort.class) {
+            kind = KIND_UNSIGNED_SHORT;
+        } else if (valueClass == Integer.class) {
+            kind = KIND_INT;
+        } else if (valueClass == UnsignedInteger.class) {
+            kind = KIND_UNSIGNED_INT;
+        } else if (valueClass == Long.class) {
+            kind = KIND_LONG;
+        } else if (valueClass == UnsignedLong.class) {
+            kind = KIND_UNSIGNED_LONG;
+        } else if (valueClass == Float.class) {
+            kind = KIND_FLOAT;
+        } else if (valueClass == Double.class) {
+            kind = KIND_DOUBLE;
+        } else {
+            kind = KIND_OBJECT;
+        }
+        return kind;
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @param valueClass class of non-null values, values will be kept in a
+     *                   primitive array when it's a numeric class
+     * @return empty map
+     */
+    public static ClickHouseArrayMap of(Class<?> valueClass) {
+        return new ClickHouseArrayMap(getKind(valueClass));
+    }
+
+    private final int kind;
+
+    private Object[] keys;
+    private Object[] values;
+    private long[] longs;
+    private double[] doubles;
+    private int size;
+
+    private transient Set<Entry<Object, Object>> entries;
+
+    private ClickHouseArrayMap(int kind) {
+        this.kind = kind;
+
+        this.keys = new Object[8];
+        if (kind == KIND_FLOAT || kind == KIND_DOUBLE) {
+            this.doubles = new double[8];
+        } else if (kind != KIND_OBJECT) {
+            this.longs = new long[8];
+        } else {
+            this.values = new Object[8];
+        }
+        this.size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newLength = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, newLength);
+            } else if (longs != null) {
+                longs = Arrays.copyOf(longs, newLength);
+            } else {
+                values = Arrays.copyOf(values, newLength);
+            }
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    ClickHouseUtils.format("Index %d is out of bounds for size %d", index, size));
+        }
+        return index;
+    }
+
+    /**
+     * Removes all entries. Unlike {@link #clear()}, capacity will be kept as is
+     * but nothing will be released for garbage collection.
+     *
+     * @param capacity expected number of entries
+     * @return this map
+     */
+    public ClickHouseArrayMap reset(int capacity) {
+        size = 0;
+        ensureCapacity(capacity);
+        return this;
+    }
+
+    /**
+     * Appends an entry. It's caller's responsibility to ensure that the key is
+     * not present in the map.
+     *
+     * @param key   key
+     * @param value non-null value wrapper
+     * @return this map
+     */
+    public ClickHouseArrayMap add(Object key, ClickHouseValue value) {
+        int index = size;
+        ensureCapacity(index + 1);
+        keys[index] = key;
+        if (doubles != null) {
+            doubles[index] = value.asDouble();
+        } else if (longs != null) {
+            longs[index] = value.asLong();
+        } else {
+            values[index] = value.asObject();
+        }
+        size = index + 1;
+        return this;
+    }
+
+    /**
+     * Gets index of the given key.
+     *
+     * @param key key
+     * @return zero-based index of the key, or -1 when the key does not exist
+     */
+    public int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(key, keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets key at the given position.
+     *
+     * @param index zero-based index
+     * @return key
+     */
+    public Object getKey(int index) {
+        return keys[checkIndex(index)];
+    }
+
+    /**
+     * Gets value at the given position.
+     *
+     * @param index zero-based index
+     * @return value, boxed when needed
+     */
+    public Object getValue(int index) {
+        checkIndex(index);
+        final Object value;
+        switch (kind) {
+            case KIND_BYTE:
+                value = (byte) longs[index];
+                break;
+            case KIND_UNSIGNED_BYTE:
+                value = UnsignedByte.valueOf((byte) longs[index]);
+                break;
+            case KIND_SHORT:
+                value = (short) longs[index];
+                break;
+            case KIND_UNSIGNED_SHORT:
+                value = UnsignedShort.valueOf((short) longs[index]);
+                break;
+            case KIND_INT:
+                value = (int) longs[index];
+                break;
+            case KIND_UNSIGNED_INT:
+                value = UnsignedInteger.valueOf((int) longs[index]);
+                break;
+            case KIND_LONG:
+                value = longs[index];
+                break;
+            case KIND_UNSIGNED_LONG:
+                value = UnsignedLong.valueOf(longs[index]);
+                break;
+            case KIND_FLOAT:
+                value = (float) doubles[index];
+                break;
+            case KIND_DOUBLE:
+                value = doubles[index];
+                break;
+            default:
+                value = values[index];
+                break;
+        }
+        return value;
+    }
+
+    /**
+     * Gets value at the given position as long without boxing. Only applicable
+     * to integer values.
+     *
+     * @param index zero-based index
+     * @return value
+     */
+    public long getLong(int index) {
+        if (longs == null) {
+            throw new UnsupportedOperationException("Values are not kept as long");
+        }
+        return longs[checkIndex(index)];
+    }
+
+    /**
+     * Gets value at the given position as double without boxing. Only applicable
+     * to floating point values.
+     *
+     * @param index zero-based index
+     * @return value
+     */
+    public double getDouble(int index) {
+        if (doubles == null) {
+            throw new UnsupportedOperationException("Values are not kept as double");
+        }
+        return doubles[checkIndex(index)];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : getValue(index);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        if (values != null) {
+            Arrays.fill(values, 0, size, null);
+        }
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<Entry<Object, Object>>() {
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    return new Iterator<Entry<Object, Object>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < size;
+                        }
+
+                        @Override
+                        public Entry<Object, Object> next() {
+                            if (index >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = index++;
+                            return new SimpleImmutableEntry<>(keys[i], getValue(i));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entries;
+    }
+}
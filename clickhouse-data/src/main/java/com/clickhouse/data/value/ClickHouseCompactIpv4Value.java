@@ -0,0 +1,387 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code IPv4} keeping the address as {@code int}. Unlike
+ * {@link ClickHouseIpv4Value}, {@link Inet4Address} is only created on demand.
+ */
+public class ClickHouseCompactIpv4Value implements ClickHouseValue {
+    /**
+     * Parses dotted-decimal IPv4 address.
+     *
+     * @param value non-null string
+     * @return address in the lower 32 bits, or negative number when the string
+     *         is not in dotted-decimal form
+     */
+    static long parse(String value) {
+        long address = 0L;
+        int octet = -1;
+        int dots = 0;
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                octet = octet < 0 ? ch - '0' : octet * 10 + ch - '0';
+                if (octet > 255) {
+                    return -1L;
+                }
+            } else if (ch == '.' && octet >= 0 && ++dots < 4) {
+                address = (address << 8) | octet;
+                octet = -1;
+            } else {
+                return -1L;
+            }
+        }
+        return dots == 3 && octet >= 0 ? (address << 8) | octet : -1L;
+    }
+
+    /**
+     * Appends dotted-decimal form of the given IPv4 address.
+     *
+     * @param builder non-null string builder
+     * @param address IPv4 address
+     * @return the string builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, int address) {
+        return builder.append((address >>> 24) & 0xFF).append('.').append((address >>> 16) & 0xFF).append('.')
+                .append((address >>> 8) & 0xFF).append('.').append(address & 0xFF);
+    }
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @return new instance representing null value
+     */
+    public static ClickHouseCompactIpv4Value ofNull() {
+        return ofNull(null);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref object to update, could be null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactIpv4Value ofNull(ClickHouseValue ref) {
+        return ref instanceof ClickHouseCompactIpv4Value ? ((ClickHouseCompactIpv4Value) ref).set(true, 0)
+                : new ClickHouseCompactIpv4Value(true, 0);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param address IPv4 address, for example {@code 0x7F000001} is
+     *                {@code 127.0.0.1}
+     * @return object representing the value
+     */
+    public static ClickHouseCompactIpv4Value of(int address) {
+        return of(null, address);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref     object to update, could be null
+     * @param address IPv4 address
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactIpv4Value of(ClickHouseValue ref, int address) {
+        return ref instanceof ClickHouseCompactIpv4Value ? ((ClickHouseCompactIpv4Value) ref).set(false, address)
+                : new ClickHouseCompactIpv4Value(false, address);
+    }
+
+    private boolean isNull;
+    private int address;
+    // lazily created
+    private Inet4Address inetAddress;
+
+    protected ClickHouseCompactIpv4Value(boolean isNull, int address) {
+        set(isNull, address);
+    }
+
+    protected final ClickHouseCompactIpv4Value set(boolean isNull, int address) {
+        this.isNull = isNull;
+        this.address = isNull ? 0 : address;
+        this.inetAddress = null;
+
+        return this;
+    }
+
+    protected final ClickHouseCompactIpv4Value set(Inet4Address value) {
+        if (value == null) {
+            return set(true, 0);
+        }
+
+        byte[] bytes = value.getAddress();
+        set(false, ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8)
+                | (bytes[3] & 0xFF));
+        this.inetAddress = value;
+        return this;
+    }
+
+    /**
+     * Gets IPv4 address.
+     *
+     * @return IPv4 address, for example {@code 0x7F000001} is {@code 127.0.0.1}
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Updates IPv4 address. Same as {@link #update(int)}.
+     *
+     * @param address IPv4 address
+     * @return this object
+     */
+    public ClickHouseCompactIpv4Value updateAddress(int address) {
+        return set(false, address);
+    }
+
+    /**
+     * Appends dotted-decimal form of the address to the given string builder.
+     * Nothing will be appended when the value is null.
+     *
+     * @param builder non-null string builder
+     * @return the string builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return isNull ? builder : appendTo(builder, address);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value copy(boolean deep) {
+        return new ClickHouseCompactIpv4Value(isNull, address);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) address;
+    }
+
+    @Override
+    public short asShort() {
+        return (short) address;
+    }
+
+    @Override
+    public int asInteger() {
+        return address;
+    }
+
+    @Override
+    public long asLong() {
+        return 0xFFFFFFFFL & address;
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        return isNull ? null : BigInteger.valueOf(asLong());
+    }
+
+    @Override
+    public float asFloat() {
+        return asLong();
+    }
+
+    @Override
+    public double asDouble() {
+        return asLong();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        return isNull ? null : new BigDecimal(BigInteger.valueOf(asLong()), scale);
+    }
+
+    @Override
+    public Inet4Address asInet4Address() {
+        if (isNull) {
+            return null;
+        } else if (inetAddress == null) {
+            inetAddress = ClickHouseValues.convertToIpv4(address);
+        }
+        return inetAddress;
+    }
+
+    @Override
+    public Inet6Address asInet6Address() {
+        return ClickHouseValues.convertToIpv6(asInet4Address());
+    }
+
+    @Override
+    public Object asObject() {
+        return asInet4Address();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : appendTo(new StringBuilder(15), address).toString();
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value resetToDefault() {
+        return set(false, 0);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value resetToNullOrEmpty() {
+        return set(true, 0);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+        return appendTo(new StringBuilder(17).append('\''), address).append('\'').toString();
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(byte value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(short value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(int value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(long value) {
+        return set(false, (int) value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(float value) {
+        return set(false, (int) value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(double value) {
+        return set(false, (int) value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(BigInteger value) {
+        return value == null ? resetToNullOrEmpty() : set(false, value.intValue());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : set(false, value.intValue());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(Enum<?> value) {
+        return value == null ? resetToNullOrEmpty() : set(false, value.ordinal());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(Inet4Address value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(Inet6Address value) {
+        return set(ClickHouseValues.convertToIpv4(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(LocalDate value) {
+        return value == null ? resetToNullOrEmpty() : set(false, (int) value.toEpochDay());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(LocalTime value) {
+        return value == null ? resetToNullOrEmpty() : set(false, value.toSecondOfDay());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(LocalDateTime value) {
+        return value == null ? resetToNullOrEmpty() : set(false, (int) value.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(String value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        long v = parse(value);
+        return v < 0L ? set(ClickHouseValues.convertToIpv4(value)) : set(false, (int) v);
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(UUID value) {
+        BigInteger v = ClickHouseValues.convertToBigInteger(value);
+        return v == null ? resetToNullOrEmpty() : set(false, v.intValue());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseCompactIpv4Value) {
+            return set(false, ((ClickHouseCompactIpv4Value) value).address);
+        }
+        return set(value.asInet4Address());
+    }
+
+    @Override
+    public ClickHouseCompactIpv4Value update(Object value) {
+        if (value instanceof Inet4Address) {
+            return set((Inet4Address) value);
+        } else if (value instanceof Inet6Address) {
+            return set(ClickHouseValues.convertToIpv4((Inet6Address) value));
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseCompactIpv4Value v = (ClickHouseCompactIpv4Value) obj;
+        return isNull == v.isNull && address == v.address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 + (isNull ? 1231 : 1237)) * 31 + address;
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
@@ -0,0 +1,421 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code IPv6} keeping the address as two {@code long}s. Unlike
+ * {@link ClickHouseIpv6Value}, {@link Inet6Address} is only created on demand.
+ */
+public class ClickHouseCompactIpv6Value implements ClickHouseValue {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static StringBuilder appendHex(StringBuilder builder, long value, int digits, boolean leadingZeros) {
+        for (int i = digits - 1; i >= 0; i--) {
+            int d = (int) (value >>> (i * 4)) & 0xF;
+            if (leadingZeros || d != 0 || i == 0) {
+                builder.append(HEX_DIGITS[d]);
+                leadingZeros = true;
+            }
+        }
+        return builder;
+    }
+
+    static long toLong(byte[] bytes, int offset) {
+        long v = 0L;
+        for (int i = offset, len = offset + 8; i < len; i++) {
+            v = (v << 8) | (bytes[i] & 0xFFL);
+        }
+        return v;
+    }
+
+    static void setLong(byte[] bytes, int offset, long value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * Appends IPv6 address to the given string builder, in the same form as
+     * {@link Inet6Address#getHostAddress()}.
+     *
+     * @param builder non-null string builder
+     * @param high    the most significant 64 bits of the address
+     * @param low     the least significant 64 bits of the address
+     * @return the string builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long high, long low) {
+        for (int i = 48; i >= 0; i -= 16) {
+            appendHex(builder, high >>> i, 4, false).append(':');
+        }
+        for (int i = 48; i > 0; i -= 16) {
+            appendHex(builder, low >>> i, 4, false).append(':');
+        }
+        return appendHex(builder, low, 4, false);
+    }
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @return new instance representing null value
+     */
+    public static ClickHouseCompactIpv6Value ofNull() {
+        return ofNull(null);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref object to update, could be null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactIpv6Value ofNull(ClickHouseValue ref) {
+        return ref instanceof ClickHouseCompactIpv6Value ? ((ClickHouseCompactIpv6Value) ref).set(true, 0L, 0L)
+                : new ClickHouseCompactIpv6Value(true, 0L, 0L);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param high the most significant 64 bits of the address
+     * @param low  the least significant 64 bits of the address
+     * @return object representing the value
+     */
+    public static ClickHouseCompactIpv6Value of(long high, long low) {
+        return of(null, high, low);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref  object to update, could be null
+     * @param high the most significant 64 bits of the address
+     * @param low  the least significant 64 bits of the address
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactIpv6Value of(ClickHouseValue ref, long high, long low) {
+        return ref instanceof ClickHouseCompactIpv6Value ? ((ClickHouseCompactIpv6Value) ref).set(false, high, low)
+                : new ClickHouseCompactIpv6Value(false, high, low);
+    }
+
+    private boolean isNull;
+    private long high;
+    private long low;
+    // lazily created
+    private Inet6Address inetAddress;
+
+    protected ClickHouseCompactIpv6Value(boolean isNull, long high, long low) {
+        set(isNull, high, low);
+    }
+
+    protected final ClickHouseCompactIpv6Value set(boolean isNull, long high, long low) {
+        this.isNull = isNull;
+        this.high = isNull ? 0L : high;
+        this.low = isNull ? 0L : low;
+        this.inetAddress = null;
+
+        return this;
+    }
+
+    protected final ClickHouseCompactIpv6Value set(Inet6Address value) {
+        if (value == null) {
+            return set(true, 0L, 0L);
+        }
+
+        byte[] bytes = value.getAddress();
+        set(false, toLong(bytes, 0), toLong(bytes, 8));
+        this.inetAddress = value;
+        return this;
+    }
+
+    /**
+     * Gets the most significant 64 bits of the address.
+     *
+     * @return the most significant 64 bits
+     */
+    public long getHighBits() {
+        return high;
+    }
+
+    /**
+     * Gets the least significant 64 bits of the address.
+     *
+     * @return the least significant 64 bits
+     */
+    public long getLowBits() {
+        return low;
+    }
+
+    /**
+     * Updates IPv6 address.
+     *
+     * @param high the most significant 64 bits of the address
+     * @param low  the least significant 64 bits of the address
+     * @return this object
+     */
+    public ClickHouseCompactIpv6Value updateAddress(long high, long low) {
+        return set(false, high, low);
+    }
+
+    /**
+     * Appends the address to the given string builder, in the same form as
+     * {@link Inet6Address#getHostAddress()}. Nothing will be appended when the
+     * value is null.
+     *
+     * @param builder non-null string builder
+     * @return the string builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return isNull ? builder : appendTo(builder, high, low);
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value copy(boolean deep) {
+        return new ClickHouseCompactIpv6Value(isNull, high, low);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) low;
+    }
+
+    @Override
+    public short asShort() {
+        return (short) low;
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) low;
+    }
+
+    @Override
+    public long asLong() {
+        return low;
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        if (isNull) {
+            return null;
+        }
+
+        byte[] bytes = new byte[16];
+        setLong(bytes, 0, high);
+        setLong(bytes, 8, low);
+        return new BigInteger(1, bytes);
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : asBigInteger().floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        return isNull ? 0D : asBigInteger().doubleValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        return isNull ? null : new BigDecimal(asBigInteger(), scale);
+    }
+
+    @Override
+    public Inet4Address asInet4Address() {
+        return ClickHouseValues.convertToIpv4(asInet6Address());
+    }
+
+    @Override
+    public Inet6Address asInet6Address() {
+        if (isNull) {
+            return null;
+        } else if (inetAddress == null) {
+            byte[] bytes = new byte[16];
+            setLong(bytes, 0, high);
+            setLong(bytes, 8, low);
+            try {
+                inetAddress = Inet6Address.getByAddress(null, bytes, null);
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        return inetAddress;
+    }
+
+    @Override
+    public Object asObject() {
+        return asInet6Address();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : appendTo(new StringBuilder(39), high, low).toString();
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value resetToDefault() {
+        return set(false, 0L, 0L);
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value resetToNullOrEmpty() {
+        return set(true, 0L, 0L);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+        return appendTo(new StringBuilder(41).append('\''), high, low).append('\'').toString();
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(byte value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(short value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(int value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(long value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(float value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(double value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(BigInteger value) {
+        return set(ClickHouseValues.convertToIpv6(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : update(value.toBigIntegerExact());
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(Enum<?> value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.ordinal()));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(Inet4Address value) {
+        return set(ClickHouseValues.convertToIpv6(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(Inet6Address value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(LocalDate value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.toEpochDay()));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(LocalTime value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.toSecondOfDay()));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(LocalDateTime value) {
+        return value == null ? resetToNullOrEmpty()
+                : update(BigInteger.valueOf(value.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(String value) {
+        return set(ClickHouseValues.convertToIpv6(value));
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(UUID value) {
+        BigInteger v = ClickHouseValues.convertToBigInteger(value);
+        return v == null ? resetToNullOrEmpty() : update(v);
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseCompactIpv6Value) {
+            ClickHouseCompactIpv6Value v = (ClickHouseCompactIpv6Value) value;
+            return set(false, v.high, v.low);
+        }
+        return set(value.asInet6Address());
+    }
+
+    @Override
+    public ClickHouseCompactIpv6Value update(Object value) {
+        if (value instanceof Inet6Address) {
+            return set((Inet6Address) value);
+        } else if (value instanceof Inet4Address) {
+            return set(ClickHouseValues.convertToIpv6((Inet4Address) value));
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseCompactIpv6Value v = (ClickHouseCompactIpv6Value) obj;
+        return isNull == v.isNull && high == v.high && low == v.low;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 + (isNull ? 1231 : 1237);
+        result = 31 * result + Long.hashCode(high);
+        return 31 * result + Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
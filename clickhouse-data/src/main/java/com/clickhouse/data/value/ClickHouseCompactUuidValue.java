@@ -0,0 +1,370 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code UUID} keeping the value as two {@code long}s. Unlike
+ * {@link ClickHouseUuidValue}, {@link UUID} is only created on demand.
+ */
+public class ClickHouseCompactUuidValue implements ClickHouseValue {
+    /**
+     * Appends UUID to the given string builder, in the same form as
+     * {@link UUID#toString()}.
+     *
+     * @param builder              non-null string builder
+     * @param mostSignificantBits  the most significant 64 bits of the UUID
+     * @param leastSignificantBits the least significant 64 bits of the UUID
+     * @return the string builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long mostSignificantBits,
+            long leastSignificantBits) {
+        ClickHouseCompactIpv6Value.appendHex(builder, mostSignificantBits >>> 32, 8, true).append('-');
+        ClickHouseCompactIpv6Value.appendHex(builder, mostSignificantBits >>> 16, 4, true).append('-');
+        ClickHouseCompactIpv6Value.appendHex(builder, mostSignificantBits, 4, true).append('-');
+        ClickHouseCompactIpv6Value.appendHex(builder, leastSignificantBits >>> 48, 4, true).append('-');
+        return ClickHouseCompactIpv6Value.appendHex(builder, leastSignificantBits, 12, true);
+    }
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @return new instance representing null value
+     */
+    public static ClickHouseCompactUuidValue ofNull() {
+        return ofNull(null);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref object to update, could be null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactUuidValue ofNull(ClickHouseValue ref) {
+        return ref instanceof ClickHouseCompactUuidValue ? ((ClickHouseCompactUuidValue) ref).set(true, 0L, 0L)
+                : new ClickHouseCompactUuidValue(true, 0L, 0L);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param mostSignificantBits  the most significant 64 bits of the UUID
+     * @param leastSignificantBits the least significant 64 bits of the UUID
+     * @return object representing the value
+     */
+    public static ClickHouseCompactUuidValue of(long mostSignificantBits, long leastSignificantBits) {
+        return of(null, mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref                  object to update, could be null
+     * @param mostSignificantBits  the most significant 64 bits of the UUID
+     * @param leastSignificantBits the least significant 64 bits of the UUID
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseCompactUuidValue of(ClickHouseValue ref, long mostSignificantBits,
+            long leastSignificantBits) {
+        return ref instanceof ClickHouseCompactUuidValue
+                ? ((ClickHouseCompactUuidValue) ref).set(false, mostSignificantBits, leastSignificantBits)
+                : new ClickHouseCompactUuidValue(false, mostSignificantBits, leastSignificantBits);
+    }
+
+    private boolean isNull;
+    private long msb;
+    private long lsb;
+    // lazily created
+    private UUID uuid;
+
+    protected ClickHouseCompactUuidValue(boolean isNull, long mostSignificantBits, long leastSignificantBits) {
+        set(isNull, mostSignificantBits, leastSignificantBits);
+    }
+
+    protected final ClickHouseCompactUuidValue set(boolean isNull, long mostSignificantBits,
+            long leastSignificantBits) {
+        this.isNull = isNull;
+        this.msb = isNull ? 0L : mostSignificantBits;
+        this.lsb = isNull ? 0L : leastSignificantBits;
+        this.uuid = null;
+
+        return this;
+    }
+
+    protected final ClickHouseCompactUuidValue set(UUID value) {
+        if (value == null) {
+            return set(true, 0L, 0L);
+        }
+
+        set(false, value.getMostSignificantBits(), value.getLeastSignificantBits());
+        this.uuid = value;
+        return this;
+    }
+
+    /**
+     * Gets the most significant 64 bits of the UUID.
+     *
+     * @return the most significant 64 bits
+     */
+    public long getMostSignificantBits() {
+        return msb;
+    }
+
+    /**
+     * Gets the least significant 64 bits of the UUID.
+     *
+     * @return the least significant 64 bits
+     */
+    public long getLeastSignificantBits() {
+        return lsb;
+    }
+
+    /**
+     * Updates the UUID.
+     *
+     * @param mostSignificantBits  the most significant 64 bits of the UUID
+     * @param leastSignificantBits the least significant 64 bits of the UUID
+     * @return this object
+     */
+    public ClickHouseCompactUuidValue updateBits(long mostSignificantBits, long leastSignificantBits) {
+        return set(false, mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Appends the UUID to the given string builder, in the same form as
+     * {@link UUID#toString()}. Nothing will be appended when the value is null.
+     *
+     * @param builder non-null string builder
+     * @return the string builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return isNull ? builder : appendTo(builder, msb, lsb);
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue copy(boolean deep) {
+        return new ClickHouseCompactUuidValue(isNull, msb, lsb);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) lsb;
+    }
+
+    @Override
+    public short asShort() {
+        return (short) lsb;
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) lsb;
+    }
+
+    @Override
+    public long asLong() {
+        return lsb;
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        return isNull ? null : ClickHouseValues.convertToBigInteger(asUuid());
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : asBigInteger().floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        return isNull ? 0D : asBigInteger().doubleValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        return isNull ? null : new BigDecimal(asBigInteger(), scale);
+    }
+
+    @Override
+    public Object asObject() {
+        return asUuid();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : appendTo(new StringBuilder(36), msb, lsb).toString();
+    }
+
+    @Override
+    public UUID asUuid() {
+        if (isNull) {
+            return null;
+        } else if (uuid == null) {
+            uuid = new UUID(msb, lsb);
+        }
+        return uuid;
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue resetToDefault() {
+        return set(false, 0L, 0L);
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue resetToNullOrEmpty() {
+        return set(true, 0L, 0L);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+        return appendTo(new StringBuilder(38).append('\''), msb, lsb).append('\'').toString();
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(byte value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(short value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(int value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(long value) {
+        return update(BigInteger.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(float value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(double value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(BigInteger value) {
+        return set(ClickHouseValues.convertToUuid(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : update(value.toBigIntegerExact());
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(Enum<?> value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.ordinal()));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(Inet4Address value) {
+        return update(ClickHouseValues.convertToBigInteger(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(Inet6Address value) {
+        return update(ClickHouseValues.convertToBigInteger(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(LocalDate value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.toEpochDay()));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(LocalTime value) {
+        return value == null ? resetToNullOrEmpty() : update(BigInteger.valueOf(value.toSecondOfDay()));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(LocalDateTime value) {
+        return value == null ? resetToNullOrEmpty()
+                : update(BigInteger.valueOf(value.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(String value) {
+        return value == null ? resetToNullOrEmpty() : set(UUID.fromString(value));
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(UUID value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseCompactUuidValue) {
+            ClickHouseCompactUuidValue v = (ClickHouseCompactUuidValue) value;
+            return set(false, v.msb, v.lsb);
+        }
+        return set(value.asUuid());
+    }
+
+    @Override
+    public ClickHouseCompactUuidValue update(Object value) {
+        if (value instanceof UUID) {
+            return set((UUID) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseCompactUuidValue v = (ClickHouseCompactUuidValue) obj;
+        return isNull == v.isNull && msb == v.msb && lsb == v.lsb;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 + (isNull ? 1231 : 1237);
+        result = 31 * result + Long.hashCode(msb);
+        return 31 * result + Long.hashCode(lsb);
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
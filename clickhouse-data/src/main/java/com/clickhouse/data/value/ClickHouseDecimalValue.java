@@ -0,0 +1,392 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import com.clickhouse.data.ClickHouseChecker;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataType;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code Decimal32} and {@code Decimal64}. Unlike
+ * {@link ClickHouseBigDecimalValue}, the value is kept as unscaled
+ * {@code long} along with its scale, and {@link BigDecimal} is only created on
+ * demand. Use {@link #asUnscaledLong()} or {@link #asDouble()} to avoid
+ * allocation when reading.
+ */
+public class ClickHouseDecimalValue implements ClickHouseValue {
+    static final long[] POWERS_OF_TEN = new long[] { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
+
+    // values in this range can be converted to double without loss of precision
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    // 10^22 is the largest power of ten that can be represented as double
+    private static final int MAX_EXACT_DOUBLE_SCALE = 22;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+    private static final int MAX_EXACT_FLOAT_SCALE = 10;
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @param scale scale, between 0 and 18
+     * @return new instance representing null value
+     */
+    public static ClickHouseDecimalValue ofNull(int scale) {
+        return ofNull(null, scale);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref   object to update, could be null
+     * @param scale scale, between 0 and 18
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseDecimalValue ofNull(ClickHouseValue ref, int scale) {
+        return ref instanceof ClickHouseDecimalValue ? ((ClickHouseDecimalValue) ref).set(true, 0L, scale, null)
+                : new ClickHouseDecimalValue(true, 0L, scale, null);
+    }
+
+    /**
+     * Wraps the given unscaled value.
+     *
+     * @param unscaledValue unscaled value
+     * @param scale         scale, between 0 and 18
+     * @return object representing the value
+     */
+    public static ClickHouseDecimalValue of(long unscaledValue, int scale) {
+        return of(null, unscaledValue, scale);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref           object to update, could be null
+     * @param unscaledValue unscaled value
+     * @param scale         scale, between 0 and 18
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseDecimalValue of(ClickHouseValue ref, long unscaledValue, int scale) {
+        return ref instanceof ClickHouseDecimalValue
+                ? ((ClickHouseDecimalValue) ref).set(false, unscaledValue, scale, null)
+                : new ClickHouseDecimalValue(false, unscaledValue, scale, null);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param value value
+     * @param scale scale, between 0 and 18
+     * @return object representing the value
+     */
+    public static ClickHouseDecimalValue of(BigDecimal value, int scale) {
+        return value == null ? ofNull(null, scale) : new ClickHouseDecimalValue(false, 0L, scale, value);
+    }
+
+    private boolean isNull;
+    // whether the unscaled value is used, or it's updated by a BigDecimal
+    private boolean compact;
+    private long unscaledValue;
+    private int scale;
+    // the actual value when it's not compact, or otherwise lazily created
+    private BigDecimal value;
+
+    protected ClickHouseDecimalValue(boolean isNull, long unscaledValue, int scale, BigDecimal value) {
+        set(isNull, unscaledValue, scale, value);
+    }
+
+    protected final ClickHouseDecimalValue set(boolean isNull, long unscaledValue, int scale, BigDecimal value) {
+        this.isNull = isNull;
+        this.compact = value == null;
+        this.unscaledValue = isNull || value != null ? 0L : unscaledValue;
+        this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0,
+                ClickHouseDataType.Decimal64.getMaxScale());
+        this.value = isNull ? null : value;
+
+        return this;
+    }
+
+    /**
+     * Sets unscaled value without changing scale.
+     *
+     * @param unscaledValue unscaled value
+     * @return this object
+     */
+    public ClickHouseDecimalValue updateUnscaled(long unscaledValue) {
+        return set(false, unscaledValue, scale, null);
+    }
+
+    /**
+     * Checks whether the value is backed by unscaled {@code long}, instead of a
+     * {@link BigDecimal} given by caller.
+     *
+     * @return true if the value is backed by unscaled {@code long}; false
+     *         otherwise
+     */
+    public boolean isCompact() {
+        return !isNull && compact;
+    }
+
+    /**
+     * Gets scale of the value.
+     *
+     * @return scale of the value
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets unscaled value. Fractional digits beyond the scale will be discarded
+     * when the value was updated by a {@link BigDecimal}.
+     *
+     * @return unscaled value
+     */
+    public long asUnscaledLong() {
+        if (isNull) {
+            return 0L;
+        } else if (compact) {
+            return unscaledValue;
+        }
+
+        return value.setScale(scale, RoundingMode.DOWN).unscaledValue().longValue();
+    }
+
+    @Override
+    public ClickHouseDecimalValue copy(boolean deep) {
+        return new ClickHouseDecimalValue(isNull, unscaledValue, scale, compact ? null : value);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) asLong();
+    }
+
+    @Override
+    public short asShort() {
+        return (short) asLong();
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) asLong();
+    }
+
+    @Override
+    public long asLong() {
+        if (isNull) {
+            return 0L;
+        } else if (!compact) {
+            return value.longValue();
+        }
+
+        return unscaledValue / POWERS_OF_TEN[scale];
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        if (isNull) {
+            return null;
+        } else if (compact) {
+            long base = POWERS_OF_TEN[scale];
+            if (unscaledValue % base == 0L) {
+                return BigInteger.valueOf(unscaledValue / base);
+            }
+        }
+
+        BigDecimal v = asBigDecimal();
+        if (v.remainder(BigDecimal.ONE).signum() != 0) {
+            throw new IllegalArgumentException("Failed to convert BigDecimal to BigInteger: " + v);
+        }
+        return v.toBigIntegerExact();
+    }
+
+    @Override
+    public float asFloat() {
+        if (isNull) {
+            return 0F;
+        } else if (compact && scale <= MAX_EXACT_FLOAT_SCALE && unscaledValue > -MAX_EXACT_FLOAT
+                && unscaledValue < MAX_EXACT_FLOAT) {
+            // both operands are exact so the result is correctly rounded
+            return (float) unscaledValue / POWERS_OF_TEN[scale];
+        }
+
+        return asBigDecimal().floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        if (isNull) {
+            return 0D;
+        } else if (compact && scale <= MAX_EXACT_DOUBLE_SCALE && unscaledValue > -MAX_EXACT_DOUBLE
+                && unscaledValue < MAX_EXACT_DOUBLE) {
+            // both operands are exact so the result is correctly rounded
+            return (double) unscaledValue / POWERS_OF_TEN[scale];
+        }
+
+        return asBigDecimal().doubleValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+        if (isNull) {
+            return null;
+        } else if (value == null) {
+            value = BigDecimal.valueOf(unscaledValue, scale);
+        }
+        return value;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        BigDecimal v = asBigDecimal();
+        if (v != null && v.scale() != scale) {
+            v = v.setScale(scale, ClickHouseDataConfig.DEFAULT_ROUNDING_MODE);
+        }
+        return v;
+    }
+
+    @Override
+    public Object asObject() {
+        return asBigDecimal();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : asBigDecimal().toString();
+    }
+
+    @Override
+    public ClickHouseDecimalValue resetToDefault() {
+        return set(false, 0L, scale, null);
+    }
+
+    @Override
+    public ClickHouseDecimalValue resetToNullOrEmpty() {
+        return set(true, 0L, scale, null);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        return isNull ? ClickHouseValues.NULL_EXPR : asBigDecimal().toString();
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(boolean value) {
+        return update(value ? 1L : 0L);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(char value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(byte value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(short value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(int value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(long value) {
+        long base = POWERS_OF_TEN[scale];
+        long v = value * base;
+        // fall back to BigDecimal on overflow
+        return v / base == value ? set(false, v, scale, null) : set(false, 0L, scale, BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(float value) {
+        return set(false, 0L, scale, BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(double value) {
+        return set(false, 0L, scale, BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(BigInteger value) {
+        return value == null ? resetToNullOrEmpty() : set(false, 0L, scale, new BigDecimal(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : set(false, 0L, scale, value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(String value) {
+        return value == null ? resetToNullOrEmpty() : set(false, 0L, scale, new BigDecimal(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseDecimalValue) {
+            ClickHouseDecimalValue v = (ClickHouseDecimalValue) value;
+            if (v.scale == scale) {
+                return set(false, v.unscaledValue, scale, v.compact ? null : v.value);
+            }
+        }
+        return set(false, 0L, scale, value.asBigDecimal(scale));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(Object value) {
+        if (value instanceof BigDecimal) {
+            return set(false, 0L, scale, (BigDecimal) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseDecimalValue v = (ClickHouseDecimalValue) obj;
+        if (isNull || v.isNull) {
+            return isNull == v.isNull;
+        } else if (compact && v.compact) {
+            return scale == v.scale && unscaledValue == v.unscaledValue;
+        }
+        return asBigDecimal().equals(v.asBigDecimal());
+    }
+
+    @Override
+    public int hashCode() {
+        return isNull ? 0 : asBigDecimal().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
@@ -0,0 +1,440 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.TimeZone;
+
+import com.clickhouse.data.ClickHouseChecker;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+import com.clickhouse.data.ClickHouseZoneOffsets;
+
+/**
+ * Wrapper of {@code DateTime}, {@code DateTime32} and {@code DateTime64}
+ * keeping ticks since epoch as {@code long}, where a tick is {@code 10^-scale}
+ * second. Unlike {@link ClickHouseDateTimeValue}, {@link LocalDateTime} in the
+ * given time zone is only created on demand, using cached offsets of the time
+ * zone. Numbers are treated as ticks when updating the value.
+ */
+public class ClickHouseEpochDateTimeValue implements ClickHouseValue {
+    static final long[] BASES = new long[] { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L };
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @param scale scale, between 0 and 9
+     * @param tz    time zone, null is treated as {@code UTC}
+     * @return new instance representing null value
+     */
+    public static ClickHouseEpochDateTimeValue ofNull(int scale, TimeZone tz) {
+        return ofNull(null, scale, tz);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref   object to update, could be null
+     * @param scale scale, only used when {@code ref} is null
+     * @param tz    time zone, only used when {@code ref} is null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseEpochDateTimeValue ofNull(ClickHouseValue ref, int scale, TimeZone tz) {
+        return ref instanceof ClickHouseEpochDateTimeValue ? ((ClickHouseEpochDateTimeValue) ref).set(true, 0L)
+                : new ClickHouseEpochDateTimeValue(true, 0L, scale, tz);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param ticks ticks since epoch
+     * @param scale scale, between 0 and 9
+     * @param tz    time zone, null is treated as {@code UTC}
+     * @return object representing the value
+     */
+    public static ClickHouseEpochDateTimeValue of(long ticks, int scale, TimeZone tz) {
+        return of(null, ticks, scale, tz);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref   object to update, could be null
+     * @param ticks ticks since epoch
+     * @param scale scale, only used when {@code ref} is null
+     * @param tz    time zone, only used when {@code ref} is null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseEpochDateTimeValue of(ClickHouseValue ref, long ticks, int scale, TimeZone tz) {
+        return ref instanceof ClickHouseEpochDateTimeValue ? ((ClickHouseEpochDateTimeValue) ref).set(false, ticks)
+                : new ClickHouseEpochDateTimeValue(false, ticks, scale, tz);
+    }
+
+    private final int scale;
+    private final TimeZone tz;
+    private final ClickHouseZoneOffsets offsets;
+
+    private boolean isNull;
+    private long ticks;
+    // lazily created
+    private LocalDateTime dateTime;
+
+    protected ClickHouseEpochDateTimeValue(boolean isNull, long ticks, int scale, TimeZone tz) {
+        this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9);
+        this.tz = tz != null ? tz : ClickHouseValues.UTC_TIMEZONE;
+        this.offsets = ClickHouseZoneOffsets.of(this.tz);
+
+        set(isNull, ticks);
+    }
+
+    protected final ClickHouseEpochDateTimeValue set(boolean isNull, long ticks) {
+        this.isNull = isNull;
+        this.ticks = isNull ? 0L : ticks;
+        this.dateTime = null;
+
+        return this;
+    }
+
+    protected final ClickHouseEpochDateTimeValue set(long epochSecond, int nanoOfSecond) {
+        return set(false, epochSecond * BASES[scale] + nanoOfSecond / BASES[9 - scale]);
+    }
+
+    /**
+     * Sets seconds since epoch, along with nano-of-second which will be truncated
+     * according to scale.
+     *
+     * @param epochSecond  seconds since epoch
+     * @param nanoOfSecond nano-of-second, between 0 and 999,999,999
+     * @return this object
+     */
+    public ClickHouseEpochDateTimeValue updateEpochSecond(long epochSecond, int nanoOfSecond) {
+        return set(epochSecond, nanoOfSecond);
+    }
+
+    /**
+     * Gets scale of the value.
+     *
+     * @return scale, between 0 and 9
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets time zone of the value.
+     *
+     * @return non-null time zone
+     */
+    public TimeZone getTimeZone() {
+        return tz;
+    }
+
+    /**
+     * Gets ticks since epoch, where a tick is {@code 10^-scale} second.
+     *
+     * @return ticks since epoch
+     */
+    public long asTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets seconds since epoch.
+     *
+     * @return seconds since epoch
+     */
+    public long asEpochSecond() {
+        return Math.floorDiv(ticks, BASES[scale]);
+    }
+
+    /**
+     * Gets milliseconds since epoch.
+     *
+     * @return milliseconds since epoch
+     */
+    public long asEpochMillis() {
+        return scale <= 3 ? ticks * BASES[3 - scale] : Math.floorDiv(ticks, BASES[scale - 3]);
+    }
+
+    /**
+     * Gets nano-of-second.
+     *
+     * @return nano-of-second, between 0 and 999,999,999
+     */
+    public int getNano() {
+        return (int) (Math.floorMod(ticks, BASES[scale]) * BASES[9 - scale]);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue copy(boolean deep) {
+        return new ClickHouseEpochDateTimeValue(isNull, ticks, scale, tz);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) asEpochSecond();
+    }
+
+    @Override
+    public short asShort() {
+        return (short) asEpochSecond();
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) asEpochSecond();
+    }
+
+    @Override
+    public long asLong() {
+        return asEpochSecond();
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        return isNull ? null : BigInteger.valueOf(asEpochSecond());
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : (float) ticks / BASES[scale];
+    }
+
+    @Override
+    public double asDouble() {
+        return isNull ? 0D : (double) ticks / BASES[scale];
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        if (isNull) {
+            return null;
+        }
+
+        BigDecimal v = BigDecimal.valueOf(ticks, this.scale);
+        return v.scale() != scale ? v.setScale(scale, ClickHouseDataConfig.DEFAULT_ROUNDING_MODE) : v;
+    }
+
+    @Override
+    public LocalDate asDate() {
+        return isNull ? null : asDateTime().toLocalDate();
+    }
+
+    @Override
+    public LocalTime asTime(int scale) {
+        return isNull ? null : asDateTime().toLocalTime();
+    }
+
+    @Override
+    public LocalDateTime asDateTime(int scale) {
+        if (isNull) {
+            return null;
+        } else if (dateTime == null) {
+            dateTime = offsets.toDateTime(asEpochSecond(), getNano());
+        }
+        return dateTime;
+    }
+
+    @Override
+    public Instant asInstant(int scale) {
+        return isNull ? null : Instant.ofEpochSecond(asEpochSecond(), getNano());
+    }
+
+    @Override
+    public OffsetDateTime asOffsetDateTime(int scale) {
+        if (isNull) {
+            return null;
+        }
+
+        long epochSecond = asEpochSecond();
+        return OffsetDateTime.of(asDateTime(), offsets.getOffset(epochSecond));
+    }
+
+    @Override
+    public ZonedDateTime asZonedDateTime(int scale) {
+        return isNull ? null : ZonedDateTime.ofInstant(asDateTime(), offsets.getOffset(asEpochSecond()), tz.toZoneId());
+    }
+
+    @Override
+    public Object asObject() {
+        return asDateTime();
+    }
+
+    @Override
+    public String asString() {
+        if (isNull) {
+            return null;
+        }
+
+        return asDateTime()
+                .format(scale > 0 ? ClickHouseValues.DATETIME_FORMATTER : ClickHouseDateTimeValue.dateTimeFormatter);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue resetToDefault() {
+        return set(false, 0L);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue resetToNullOrEmpty() {
+        return set(true, 0L);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+
+        return new StringBuilder().append('\'').append(asString()).append('\'').toString();
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(byte value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(short value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(int value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(long value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(float value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(double value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(BigInteger value) {
+        return value == null ? resetToNullOrEmpty() : set(false, value.longValueExact());
+    }
+
+    /**
+     * Updates value using seconds since epoch, with fractional part if any.
+     *
+     * @param value seconds since epoch
+     * @return this object
+     */
+    @Override
+    public ClickHouseEpochDateTimeValue update(BigDecimal value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(false, value.setScale(scale, ClickHouseDataConfig.DEFAULT_ROUNDING_MODE).unscaledValue()
+                .longValueExact());
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(LocalDate value) {
+        return value == null ? resetToNullOrEmpty() : update(LocalDateTime.of(value, LocalTime.MIN));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(LocalTime value) {
+        return value == null ? resetToNullOrEmpty() : update(LocalDateTime.of(LocalDate.now(), value));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(LocalDateTime value) {
+        return value == null ? resetToNullOrEmpty() : set(offsets.toEpochSecond(value), value.getNano());
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(Instant value) {
+        return value == null ? resetToNullOrEmpty() : set(value.getEpochSecond(), value.getNano());
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(OffsetDateTime value) {
+        return value == null ? resetToNullOrEmpty() : set(value.toEpochSecond(), value.getNano());
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(ZonedDateTime value) {
+        return value == null ? resetToNullOrEmpty() : set(value.toEpochSecond(), value.getNano());
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(String value) {
+        return value == null ? resetToNullOrEmpty()
+                : update(LocalDateTime.parse(value, ClickHouseValues.DATETIME_FORMATTER));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseEpochDateTimeValue) {
+            ClickHouseEpochDateTimeValue v = (ClickHouseEpochDateTimeValue) value;
+            return v.scale == scale ? set(false, v.ticks) : set(v.asEpochSecond(), v.getNano());
+        }
+        return update(value.asInstant(scale));
+    }
+
+    @Override
+    public ClickHouseEpochDateTimeValue update(Object value) {
+        if (value instanceof LocalDateTime) {
+            return update((LocalDateTime) value);
+        } else if (value instanceof String) {
+            return update((String) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseEpochDateTimeValue v = (ClickHouseEpochDateTimeValue) obj;
+        return isNull == v.isNull && ticks == v.ticks && scale == v.scale && tz.equals(v.tz);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 + (isNull ? 1231 : 1237);
+        result = 31 * result + (int) (ticks ^ (ticks >>> 32));
+        result = 31 * result + scale;
+        return 31 * result + tz.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
@@ -0,0 +1,305 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code Date} and {@code Date32} keeping days since epoch as
+ * {@code int}. Unlike {@link ClickHouseDateValue}, {@link LocalDate} is only
+ * created on demand.
+ */
+public class ClickHouseEpochDateValue implements ClickHouseValue {
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @return new instance representing null value
+     */
+    public static ClickHouseEpochDateValue ofNull() {
+        return ofNull(null);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null.
+     *
+     * @param ref object to update, could be null
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseEpochDateValue ofNull(ClickHouseValue ref) {
+        return ref instanceof ClickHouseEpochDateValue ? ((ClickHouseEpochDateValue) ref).set(true, 0)
+                : new ClickHouseEpochDateValue(true, 0);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param epochDay days since epoch
+     * @return object representing the value
+     */
+    public static ClickHouseEpochDateValue of(int epochDay) {
+        return of(null, epochDay);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref      object to update, could be null
+     * @param epochDay days since epoch
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseEpochDateValue of(ClickHouseValue ref, int epochDay) {
+        return ref instanceof ClickHouseEpochDateValue ? ((ClickHouseEpochDateValue) ref).set(false, epochDay)
+                : new ClickHouseEpochDateValue(false, epochDay);
+    }
+
+    private boolean isNull;
+    private int epochDay;
+    // lazily created
+    private LocalDate date;
+
+    protected ClickHouseEpochDateValue(boolean isNull, int epochDay) {
+        set(isNull, epochDay);
+    }
+
+    protected final ClickHouseEpochDateValue set(boolean isNull, int epochDay) {
+        this.isNull = isNull;
+        this.epochDay = isNull ? 0 : epochDay;
+        this.date = null;
+
+        return this;
+    }
+
+    protected final ClickHouseEpochDateValue set(LocalDate value) {
+        return value == null ? set(true, 0) : set(false, Math.toIntExact(value.toEpochDay()));
+    }
+
+    /**
+     * Gets days since epoch.
+     *
+     * @return days since epoch
+     */
+    public int asEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Gets milliseconds since epoch, at start of the day in {@code UTC}.
+     *
+     * @return milliseconds since epoch
+     */
+    public long asEpochMillis() {
+        return epochDay * 86400000L;
+    }
+
+    @Override
+    public ClickHouseEpochDateValue copy(boolean deep) {
+        return new ClickHouseEpochDateValue(isNull, epochDay);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) epochDay;
+    }
+
+    @Override
+    public short asShort() {
+        return (short) epochDay;
+    }
+
+    @Override
+    public int asInteger() {
+        return epochDay;
+    }
+
+    @Override
+    public long asLong() {
+        return epochDay;
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        return isNull ? null : BigInteger.valueOf(epochDay);
+    }
+
+    @Override
+    public float asFloat() {
+        return epochDay;
+    }
+
+    @Override
+    public double asDouble() {
+        return epochDay;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        return isNull ? null : BigDecimal.valueOf(epochDay, scale);
+    }
+
+    @Override
+    public LocalDate asDate() {
+        if (isNull) {
+            return null;
+        } else if (date == null) {
+            date = LocalDate.ofEpochDay(epochDay);
+        }
+        return date;
+    }
+
+    @Override
+    public LocalTime asTime(int scale) {
+        return isNull ? null : ClickHouseValues.TIME_ZERO;
+    }
+
+    @Override
+    public LocalDateTime asDateTime(int scale) {
+        return isNull ? null : LocalDateTime.of(asDate(), ClickHouseValues.TIME_ZERO);
+    }
+
+    @Override
+    public Object asObject() {
+        return asDate();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : asDate().format(ClickHouseValues.DATE_FORMATTER);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue resetToDefault() {
+        return set(false, 0);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue resetToNullOrEmpty() {
+        return set(true, 0);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+        return new StringBuilder().append('\'').append(asDate().format(ClickHouseValues.DATE_FORMATTER)).append('\'')
+                .toString();
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(byte value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(short value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(int value) {
+        return set(false, value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(long value) {
+        return set(false, Math.toIntExact(value));
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(float value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(double value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(BigInteger value) {
+        return value == null ? resetToNullOrEmpty() : update(value.longValue());
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : update(value.longValue());
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(LocalDate value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(LocalTime value) {
+        return this;
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(LocalDateTime value) {
+        return value == null ? resetToNullOrEmpty() : set(value.toLocalDate());
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(String value) {
+        return value == null ? resetToNullOrEmpty() : set(LocalDate.parse(value, ClickHouseValues.DATE_FORMATTER));
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseEpochDateValue) {
+            return set(false, ((ClickHouseEpochDateValue) value).epochDay);
+        }
+        return set(value.asDate());
+    }
+
+    @Override
+    public ClickHouseEpochDateValue update(Object value) {
+        if (value instanceof LocalDate) {
+            return set((LocalDate) value);
+        } else if (value instanceof LocalDateTime) {
+            return set(((LocalDateTime) value).toLocalDate());
+        } else if (value instanceof LocalTime) {
+            return set(LocalDate.now());
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseEpochDateValue v = (ClickHouseEpochDateValue) obj;
+        return isNull == v.isNull && epochDay == v.epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 + (isNull ? 1231 : 1237)) * 31 + epochDay;
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
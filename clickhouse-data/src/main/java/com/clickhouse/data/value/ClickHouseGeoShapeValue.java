@@ -0,0 +1,621 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.clickhouse.data.ClickHouseDataType;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Flattened wrapper of {@code Ring}, {@code Polygon} and {@code MultiPolygon}.
+ * Unlike {@link ClickHouseGeoRingValue}, {@link ClickHouseGeoPolygonValue} and
+ * {@link ClickHouseGeoMultiPolygonValue}, all coordinates are kept in one
+ * {@code double[]} as {@code x0, y0, x1, y1, ...}, along with two
+ * {@code int[]} offset arrays for rings and polygons, which are reused when
+ * the value is updated. Nested arrays are only created on demand, for example
+ * by {@link #asObject()}.
+ *
+ * <p>
+ * Ring {@code r} contains points from {@link #getRingStart(int)} (inclusive) to
+ * {@link #getRingEnd(int)} (exclusive), and polygon {@code p} contains rings
+ * from {@link #getPolygonStart(int)} (inclusive) to
+ * {@link #getPolygonEnd(int)} (exclusive). A {@code Ring} always has exactly
+ * one ring, and a {@code Polygon} always has exactly one polygon.
+ */
+public class ClickHouseGeoShapeValue implements ClickHouseValue {
+    private static final int DEFAULT_POINTS = 16;
+    private static final int DEFAULT_RINGS = 4;
+
+    static ClickHouseDataType checkType(ClickHouseDataType type) {
+        if (type != ClickHouseDataType.Ring && type != ClickHouseDataType.Polygon
+                && type != ClickHouseDataType.MultiPolygon) {
+            throw new IllegalArgumentException("Unsupported data type: " + type);
+        }
+        return type;
+    }
+
+    static int[] ensureCapacity(int[] array, int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(length, array.length * 2));
+    }
+
+    /**
+     * Creates an empty shape.
+     *
+     * @param type data type, one of {@code Ring}, {@code Polygon} and
+     *             {@code MultiPolygon}
+     * @return empty shape
+     */
+    public static ClickHouseGeoShapeValue ofEmpty(ClickHouseDataType type) {
+        return new ClickHouseGeoShapeValue(type);
+    }
+
+    /**
+     * Wraps the given nested array.
+     *
+     * @param type  data type, one of {@code Ring}, {@code Polygon} and
+     *              {@code MultiPolygon}
+     * @param value {@code double[][]}, {@code double[][][]} or
+     *              {@code double[][][][]} according to data type
+     * @return object representing the value
+     */
+    public static ClickHouseGeoShapeValue of(ClickHouseDataType type, Object value) {
+        return of(null, type, value);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null or of different data type.
+     *
+     * @param ref   object to update, could be null
+     * @param type  data type, one of {@code Ring}, {@code Polygon} and
+     *              {@code MultiPolygon}
+     * @param value {@code double[][]}, {@code double[][][]} or
+     *              {@code double[][][][]} according to data type
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseGeoShapeValue of(ClickHouseValue ref, ClickHouseDataType type, Object value) {
+        ClickHouseGeoShapeValue v = ref instanceof ClickHouseGeoShapeValue
+                && ((ClickHouseGeoShapeValue) ref).type == type ? (ClickHouseGeoShapeValue) ref
+                        : new ClickHouseGeoShapeValue(type);
+        return v.set(value);
+    }
+
+    private final ClickHouseDataType type;
+
+    private double[] coordinates;
+    private int pointCount;
+    // rings[i] is the start point of ring i, and rings[ringCount] is the end
+    private int[] rings;
+    private int ringCount;
+    // polygons[i] is the start ring of polygon i, and polygons[polygonCount] is
+    // the end
+    private int[] polygons;
+    private int polygonCount;
+
+    // lazily created
+    private Object nested;
+
+    protected ClickHouseGeoShapeValue(ClickHouseDataType type) {
+        this.type = checkType(type);
+
+        this.coordinates = new double[DEFAULT_POINTS * 2];
+        this.rings = new int[DEFAULT_RINGS];
+        this.polygons = new int[type == ClickHouseDataType.MultiPolygon ? DEFAULT_RINGS : 2];
+        clear();
+    }
+
+    protected ClickHouseGeoShapeValue(ClickHouseGeoShapeValue v) {
+        this.type = v.type;
+
+        this.coordinates = Arrays.copyOf(v.coordinates, Math.max(v.pointCount * 2, 2));
+        this.pointCount = v.pointCount;
+        this.rings = Arrays.copyOf(v.rings, v.ringCount + 2);
+        this.ringCount = v.ringCount;
+        this.polygons = Arrays.copyOf(v.polygons, v.polygonCount + 2);
+        this.polygonCount = v.polygonCount;
+        this.nested = null;
+    }
+
+    protected final ClickHouseGeoShapeValue set(Object value) {
+        if (type == ClickHouseDataType.Ring) {
+            double[][] ring = ClickHouseGeoRingValue.check((double[][]) value);
+            clear().addPoints(ring);
+        } else if (type == ClickHouseDataType.Polygon) {
+            double[][][] polygon = ClickHouseGeoPolygonValue.check((double[][][]) value);
+            clear().addRings(polygon);
+        } else {
+            double[][][][] polygons = ClickHouseGeoMultiPolygonValue.check((double[][][][]) value);
+            clear();
+            for (double[][][] polygon : polygons) {
+                addPolygon();
+                addRings(polygon);
+            }
+        }
+        return this;
+    }
+
+    private void addRings(double[][][] polygon) {
+        for (double[][] ring : polygon) {
+            addRing();
+            addPoints(ring);
+        }
+    }
+
+    private void addPoints(double[][] ring) {
+        for (double[] point : ring) {
+            addPoint(point[0], point[1]);
+        }
+    }
+
+    private double[][] newRing(int ring) {
+        int start = rings[ring];
+        double[][] value = new double[rings[ring + 1] - start][];
+        for (int i = 0, len = value.length; i < len; i++) {
+            int index = (start + i) * 2;
+            value[i] = new double[] { coordinates[index], coordinates[index + 1] };
+        }
+        return value;
+    }
+
+    private double[][][] newPolygon(int polygon) {
+        int start = polygons[polygon];
+        double[][][] value = new double[polygons[polygon + 1] - start][][];
+        for (int i = 0, len = value.length; i < len; i++) {
+            value[i] = newRing(start + i);
+        }
+        return value;
+    }
+
+    private void appendRing(StringBuilder builder, int ring) {
+        builder.append('[');
+        for (int i = rings[ring], end = rings[ring + 1]; i < end; i++) {
+            if (builder.charAt(builder.length() - 1) != '[') {
+                builder.append(',');
+            }
+            builder.append('(').append(coordinates[i * 2]).append(',').append(coordinates[i * 2 + 1]).append(')');
+        }
+        builder.append(']');
+    }
+
+    private void appendPolygon(StringBuilder builder, int polygon) {
+        builder.append('[');
+        for (int i = polygons[polygon], end = polygons[polygon + 1]; i < end; i++) {
+            if (builder.charAt(builder.length() - 1) != '[') {
+                builder.append(',');
+            }
+            appendRing(builder, i);
+        }
+        builder.append(']');
+    }
+
+    /**
+     * Removes all points, rings and polygons.
+     *
+     * @return this object
+     */
+    public ClickHouseGeoShapeValue clear() {
+        pointCount = 0;
+        rings[0] = 0;
+        polygons[0] = 0;
+        if (type == ClickHouseDataType.Ring) {
+            ringCount = 1;
+            rings[1] = 0;
+        } else {
+            ringCount = 0;
+        }
+        if (type == ClickHouseDataType.MultiPolygon) {
+            polygonCount = 0;
+        } else {
+            polygonCount = 1;
+            polygons[1] = ringCount;
+        }
+        nested = null;
+        return this;
+    }
+
+    /**
+     * Starts a new polygon. Only applicable to {@code MultiPolygon}.
+     *
+     * @return this object
+     */
+    public ClickHouseGeoShapeValue addPolygon() {
+        if (type != ClickHouseDataType.MultiPolygon) {
+            throw new IllegalStateException("Cannot add polygon to " + type);
+        }
+        polygons = ensureCapacity(polygons, polygonCount + 2);
+        polygons[++polygonCount] = ringCount;
+        nested = null;
+        return this;
+    }
+
+    /**
+     * Starts a new ring in current polygon. Not applicable to {@code Ring}.
+     *
+     * @return this object
+     */
+    public ClickHouseGeoShapeValue addRing() {
+        if (type == ClickHouseDataType.Ring || polygonCount == 0) {
+            throw new IllegalStateException("Cannot add ring to " + type);
+        }
+        rings = ensureCapacity(rings, ringCount + 2);
+        rings[++ringCount] = pointCount;
+        polygons[polygonCount] = ringCount;
+        nested = null;
+        return this;
+    }
+
+    /**
+     * Adds a point to current ring.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @return this object
+     */
+    public ClickHouseGeoShapeValue addPoint(double x, double y) {
+        if (ringCount == 0) {
+            throw new IllegalStateException("Cannot add point without ring");
+        }
+        int index = pointCount * 2;
+        if (index + 2 > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, Math.max(index + 2, coordinates.length * 2));
+        }
+        coordinates[index] = x;
+        coordinates[index + 1] = y;
+        rings[ringCount] = ++pointCount;
+        nested = null;
+        return this;
+    }
+
+    /**
+     * Gets data type.
+     *
+     * @return non-null data type
+     */
+    public ClickHouseDataType getType() {
+        return type;
+    }
+
+    /**
+     * Gets backing array of coordinates, in the form of
+     * {@code x0, y0, x1, y1, ...}. Only the first {@code 2 * getPointCount()}
+     * elements are meaningful.
+     *
+     * @return non-null backing array of coordinates
+     */
+    public double[] getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Gets number of points.
+     *
+     * @return number of points
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Gets x coordinate of the given point.
+     *
+     * @param point zero-based index of the point
+     * @return x coordinate
+     */
+    public double getX(int point) {
+        return coordinates[point * 2];
+    }
+
+    /**
+     * Gets y coordinate of the given point.
+     *
+     * @param point zero-based index of the point
+     * @return y coordinate
+     */
+    public double getY(int point) {
+        return coordinates[point * 2 + 1];
+    }
+
+    /**
+     * Gets number of rings.
+     *
+     * @return number of rings
+     */
+    public int getRingCount() {
+        return ringCount;
+    }
+
+    /**
+     * Gets index of the first point in the given ring.
+     *
+     * @param ring zero-based index of the ring
+     * @return index of the first point, inclusive
+     */
+    public int getRingStart(int ring) {
+        return rings[ring];
+    }
+
+    /**
+     * Gets index of the point after the last one in the given ring.
+     *
+     * @param ring zero-based index of the ring
+     * @return index of the last point, exclusive
+     */
+    public int getRingEnd(int ring) {
+        return rings[ring + 1];
+    }
+
+    /**
+     * Gets number of polygons.
+     *
+     * @return number of polygons
+     */
+    public int getPolygonCount() {
+        return polygonCount;
+    }
+
+    /**
+     * Gets index of the first ring in the given polygon.
+     *
+     * @param polygon zero-based index of the polygon
+     * @return index of the first ring, inclusive
+     */
+    public int getPolygonStart(int polygon) {
+        return polygons[polygon];
+    }
+
+    /**
+     * Gets index of the ring after the last one in the given polygon.
+     *
+     * @param polygon zero-based index of the polygon
+     * @return index of the last ring, exclusive
+     */
+    public int getPolygonEnd(int polygon) {
+        return polygons[polygon + 1];
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue copy(boolean deep) {
+        return new ClickHouseGeoShapeValue(this);
+    }
+
+    @Override
+    public boolean isNullable() {
+        return false;
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return type == ClickHouseDataType.Ring ? pointCount == 0
+                : (type == ClickHouseDataType.Polygon ? ringCount == 0 : polygonCount == 0);
+    }
+
+    @Override
+    public Object[] asArray() {
+        return (Object[]) asObject();
+    }
+
+    @Override
+    public byte asByte() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_BYTE);
+    }
+
+    @Override
+    public short asShort() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_SHORT);
+    }
+
+    @Override
+    public int asInteger() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_INT);
+    }
+
+    @Override
+    public long asLong() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_LONG);
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_BIG_INTEGER);
+    }
+
+    @Override
+    public float asFloat() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_FLOAT);
+    }
+
+    @Override
+    public double asDouble() {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_DOUBLE);
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        throw newUnsupportedException(type.name(), ClickHouseValues.TYPE_BIG_DECIMAL);
+    }
+
+    @Override
+    public Object asObject() {
+        if (nested == null) {
+            if (type == ClickHouseDataType.Ring) {
+                nested = newRing(0);
+            } else if (type == ClickHouseDataType.Polygon) {
+                nested = newPolygon(0);
+            } else {
+                double[][][][] value = new double[polygonCount][][][];
+                for (int i = 0; i < polygonCount; i++) {
+                    value[i] = newPolygon(i);
+                }
+                nested = value;
+            }
+        }
+        return nested;
+    }
+
+    @Override
+    public String asString() {
+        StringBuilder builder = new StringBuilder();
+        if (type == ClickHouseDataType.Ring) {
+            appendRing(builder, 0);
+        } else if (type == ClickHouseDataType.Polygon) {
+            appendPolygon(builder, 0);
+        } else {
+            builder.append('[');
+            for (int i = 0; i < polygonCount; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                appendPolygon(builder, i);
+            }
+            builder.append(']');
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue resetToDefault() {
+        return clear();
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue resetToNullOrEmpty() {
+        return clear();
+    }
+
+    @Override
+    public String toSqlExpression() {
+        return asString();
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(byte value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_BYTE, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(short value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_SHORT, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(int value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_INT, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(long value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_LONG, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(float value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_FLOAT, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(double value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_DOUBLE, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(BigInteger value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_BIG_INTEGER, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(BigDecimal value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_BIG_DECIMAL, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(String value) {
+        throw newUnsupportedException(ClickHouseValues.TYPE_STRING, type.name());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return clear();
+        } else if (value instanceof ClickHouseGeoShapeValue && ((ClickHouseGeoShapeValue) value).type == type) {
+            ClickHouseGeoShapeValue v = (ClickHouseGeoShapeValue) value;
+            if (v == this) {
+                return this;
+            }
+            coordinates = v.pointCount * 2 > coordinates.length ? new double[v.pointCount * 2] : coordinates;
+            System.arraycopy(v.coordinates, 0, coordinates, 0, v.pointCount * 2);
+            pointCount = v.pointCount;
+            rings = ensureCapacity(rings, v.ringCount + 1);
+            System.arraycopy(v.rings, 0, rings, 0, v.ringCount + 1);
+            ringCount = v.ringCount;
+            polygons = ensureCapacity(polygons, v.polygonCount + 1);
+            System.arraycopy(v.polygons, 0, polygons, 0, v.polygonCount + 1);
+            polygonCount = v.polygonCount;
+            nested = null;
+            return this;
+        }
+        return set(value.asObject());
+    }
+
+    @Override
+    public ClickHouseGeoShapeValue update(Object value) {
+        if (value == null) {
+            return clear();
+        } else if (value instanceof double[][][][] || value instanceof double[][][] || value instanceof double[][]) {
+            return set(value);
+        } else if (value instanceof ClickHouseValue) {
+            return update((ClickHouseValue) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseGeoShapeValue v = (ClickHouseGeoShapeValue) obj;
+        if (type != v.type || pointCount != v.pointCount || ringCount != v.ringCount
+                || polygonCount != v.polygonCount) {
+            return false;
+        }
+        for (int i = 0, len = pointCount * 2; i < len; i++) {
+            if (Double.compare(coordinates[i], v.coordinates[i]) != 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i <= ringCount; i++) {
+            if (rings[i] != v.rings[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i <= polygonCount; i++) {
+            if (polygons[i] != v.polygons[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * type.ordinal() + ringCount;
+        result = 31 * result + polygonCount;
+        for (int i = 0, len = pointCount * 2; i < len; i++) {
+            long bits = Double.doubleToLongBits(coordinates[i]);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
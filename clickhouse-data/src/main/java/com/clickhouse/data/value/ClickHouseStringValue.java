@@ -61,6 +61,96 @@ public class ClickHouseStringValue implements ClickHouseValue {
         return of(null, bytes);
     }
 
+    /**
+     * Update value of the given object using UTF-8 encoded bytes, or create a new
+     * instance if {@code ref} is null. Unlike {@link #of(ClickHouseValue, byte[])},
+     * the value is text instead of binary string, and it will not be decoded until
+     * {@link #asString()} is called. The byte array is used as is, so it should not
+     * be changed afterwards.
+     *
+     * @param ref   object to update, could be null
+     * @param bytes UTF-8 encoded bytes
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseStringValue ofUnicode(ClickHouseValue ref, byte[] bytes) {
+        return ref instanceof ClickHouseStringValue ? ((ClickHouseStringValue) ref).setUnicode(bytes)
+                : new ClickHouseStringValue((String) null).setUnicode(bytes);
+    }
+
+    /**
+     * Decodes UTF-8 encoded bytes, with a fast path for ASCII.
+     *
+     * @param bytes non-null UTF-8 encoded bytes
+     * @return non-null string
+     */
+    static String decode(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b < 0) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Calculates hash code of UTF-8 encoded bytes without decoding them. The
+     * result is same as {@code decode(bytes).hashCode()}.
+     *
+     * @param bytes non-null UTF-8 encoded bytes
+     * @return hash code
+     */
+    static int hashCode(byte[] bytes) {
+        int h = 0;
+        for (int i = 0, len = bytes.length; i < len; i++) {
+            int b = bytes[i];
+            if (b >= 0) {
+                h = 31 * h + b;
+                continue;
+            }
+
+            int cp;
+            int min;
+            int count;
+            if ((b & 0xE0) == 0xC0) {
+                cp = b & 0x1F;
+                min = 0x80;
+                count = 1;
+            } else if ((b & 0xF0) == 0xE0) {
+                cp = b & 0x0F;
+                min = 0x800;
+                count = 2;
+            } else if ((b & 0xF8) == 0xF0) {
+                cp = b & 0x07;
+                min = 0x10000;
+                count = 3;
+            } else {
+                cp = -1;
+                min = 0;
+                count = 0;
+            }
+            if (cp < 0 || i + count >= len) {
+                // malformed input is replaced in a way that is not worth repeating here
+                return decode(bytes).hashCode();
+            }
+            for (int j = 0; j < count; j++) {
+                int c = bytes[++i];
+                if ((c & 0xC0) != 0x80) {
+                    return decode(bytes).hashCode();
+                }
+                cp = (cp << 6) | (c & 0x3F);
+            }
+            if (cp < min || cp > Character.MAX_CODE_POINT
+                    || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+                return decode(bytes).hashCode();
+            } else if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                h = 31 * (31 * h + Character.highSurrogate(cp)) + Character.lowSurrogate(cp);
+            } else {
+                h = 31 * h + cp;
+            }
+        }
+        return h;
+    }
+
     /**
      * Update value of the given object or create a new instance if {@code ref} is
      * null.
@@ -113,9 +203,23 @@ public class ClickHouseStringValue implements ClickHouseValue {
         return this;
     }
 
+    protected ClickHouseStringValue setUnicode(byte[] bytes) {
+        this.binary = false;
+        this.bytes = bytes;
+        this.value = null;
+        return this;
+    }
+
+    protected ClickHouseStringValue set(ClickHouseStringValue v) {
+        this.binary = v.binary;
+        this.bytes = v.bytes;
+        this.value = v.value;
+        return this;
+    }
+
     @Override
     public ClickHouseStringValue copy(boolean deep) {
-        if (bytes == null || !binary) {
+        if (bytes == null || (!binary && value != null)) {
             return new ClickHouseStringValue(value);
         }
 
@@ -124,13 +228,57 @@ public class ClickHouseStringValue implements ClickHouseValue {
             b = new byte[bytes.length];
             System.arraycopy(bytes, 0, b, 0, bytes.length);
         }
-        return new ClickHouseStringValue(b);
+        return binary ? new ClickHouseStringValue(b) : new ClickHouseStringValue((String) null).setUnicode(b);
     }
 
     public boolean isBinary() {
         return binary;
     }
 
+    /**
+     * Checks whether the text value is still kept as UTF-8 encoded bytes, which
+     * have not been decoded yet.
+     *
+     * @return true if the text value has not been decoded; false otherwise
+     */
+    public boolean isLazy() {
+        return !binary && bytes != null && value == null;
+    }
+
+    /**
+     * Checks if the value starts with the given prefix by comparing bytes.
+     *
+     * @param prefix non-null prefix in bytes
+     * @return true if the value starts with the given prefix; false otherwise
+     */
+    public boolean startsWith(byte[] prefix) {
+        byte[] b = asBinary();
+        int len = prefix.length;
+        if (b == null || b.length < len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (b[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the value starts with the given prefix. Text value will not be
+     * decoded when it's still kept as bytes.
+     *
+     * @param prefix non-null prefix
+     * @return true if the value starts with the given prefix; false otherwise
+     */
+    public boolean startsWith(String prefix) {
+        if (value != null) {
+            return value.startsWith(prefix);
+        }
+        return bytes != null && startsWith(prefix.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Override
     public boolean isNullOrEmpty() {
         return bytes == null && value == null;
@@ -230,7 +378,7 @@ public class ClickHouseStringValue implements ClickHouseValue {
 
     @Override
     public Object asRawObject() {
-        return isBinary() ? bytes : value;
+        return isBinary() ? bytes : asString();
     }
 
     @Override
@@ -246,7 +394,11 @@ public class ClickHouseStringValue implements ClickHouseValue {
     public byte[] asBinary(int length, Charset charset) {
         byte[] b = bytes;
         if (value != null && b == null) {
-            bytes = b = value.getBytes(charset == null ? StandardCharsets.UTF_8 : charset);
+            if (charset == null || charset.equals(StandardCharsets.UTF_8)) {
+                bytes = b = value.getBytes(StandardCharsets.UTF_8);
+            } else { // only cache UTF-8 encoded bytes
+                b = value.getBytes(charset);
+            }
         }
 
         if (b != null && b.length < length) {
@@ -258,7 +410,12 @@ public class ClickHouseStringValue implements ClickHouseValue {
     @Override
     public String asString() {
         if (bytes != null && value == null) {
-            value = new String(bytes, StandardCharsets.UTF_8);
+            if (binary) {
+                value = new String(bytes, StandardCharsets.UTF_8);
+            } else { // no need to keep both once decoded
+                value = decode(bytes);
+                bytes = null;
+            }
         }
 
         return value;
@@ -387,6 +544,9 @@ public class ClickHouseStringValue implements ClickHouseValue {
 
     @Override
     public ClickHouseStringValue update(ClickHouseValue value) {
+        if (value instanceof ClickHouseStringValue) {
+            return set((ClickHouseStringValue) value);
+        }
         return set(value == null || value.isNullOrEmpty() ? null : value.asString());
     }
 
@@ -397,8 +557,7 @@ public class ClickHouseStringValue implements ClickHouseValue {
         } else if (value instanceof String) { // or CharSequence?
             return set((String) value);
         } else if (value instanceof ClickHouseStringValue) {
-            ClickHouseStringValue s = (ClickHouseStringValue) value;
-            return s.isBinary() ? set(s.asBinary()) : set(s.asString());
+            return set((ClickHouseStringValue) value);
         }
 
         return set(value == null ? null : value.toString());
@@ -409,8 +568,13 @@ public class ClickHouseStringValue implements ClickHouseValue {
         final int prime = 31;
         int result = 1;
         result = prime * result + (binary ? 1231 : 1237);
-        result = prime * result + Arrays.hashCode(bytes);
-        result = prime * result + ((value == null) ? 0 : value.hashCode());
+        if (binary) {
+            result = prime * result + Arrays.hashCode(bytes);
+        } else if (value != null) {
+            result = prime * result + value.hashCode();
+        } else { // same as above but without decoding
+            result = prime * result + (bytes != null ? hashCode(bytes) : 0);
+        }
         return result;
     }
 
@@ -423,7 +587,13 @@ public class ClickHouseStringValue implements ClickHouseValue {
         }
 
         ClickHouseStringValue v = (ClickHouseStringValue) obj;
-        return binary == v.binary && Objects.equals(bytes, v.bytes) && Objects.equals(value, v.value);
+        if (binary != v.binary) {
+            return false;
+        } else if (binary || (value == null && v.value == null)) {
+            // compare bytes when both text values have not been decoded
+            return Arrays.equals(bytes, v.bytes);
+        }
+        return Objects.equals(asString(), v.asString());
     }
 
     @Override
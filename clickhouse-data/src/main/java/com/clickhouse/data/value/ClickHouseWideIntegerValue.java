@@ -0,0 +1,759 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.clickhouse.data.ClickHouseChecker;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataType;
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
+
+/**
+ * Wrapper of {@code Int128}, {@code UInt128}, {@code Int256}, {@code UInt256},
+ * {@code Decimal128} and {@code Decimal256}. Unlike
+ * {@link ClickHouseBigIntegerValue} and {@link ClickHouseBigDecimalValue}, the
+ * (unscaled) value is kept as little-endian 64-bit limbs, so that comparison,
+ * hashing and simple arithmetic do not allocate, and {@link BigInteger} or
+ * {@link BigDecimal} is only created on demand.
+ */
+public class ClickHouseWideIntegerValue implements ClickHouseValue, Comparable<ClickHouseWideIntegerValue> {
+    private static final BigInteger DECIMAL128_MAX = BigInteger.TEN
+            .pow(ClickHouseDataType.Decimal128.getMaxPrecision());
+    private static final BigInteger DECIMAL256_MAX = BigInteger.TEN
+            .pow(ClickHouseDataType.Decimal256.getMaxPrecision());
+    // exclusive bounds of unscaled decimals as limbs
+    private static final long[] DECIMAL128_MAX_LIMBS = toLimbs(DECIMAL128_MAX, 2);
+    private static final long[] DECIMAL128_MIN_LIMBS = toLimbs(DECIMAL128_MAX.negate(), 2);
+    private static final long[] DECIMAL256_MAX_LIMBS = toLimbs(DECIMAL256_MAX, 4);
+    private static final long[] DECIMAL256_MIN_LIMBS = toLimbs(DECIMAL256_MAX.negate(), 4);
+
+    private static long[] toLimbs(BigInteger v, int count) {
+        long[] limbs = new long[count];
+        for (int i = 0; i < count; i++) {
+            limbs[i] = v.shiftRight(i * 64).longValue();
+        }
+        return limbs;
+    }
+
+    private static int compareSigned(long[] a, long[] b) {
+        int i = a.length - 1;
+        int result = Long.compare(a[i], b[i]);
+        while (result == 0 && --i >= 0) {
+            result = Long.compareUnsigned(a[i], b[i]);
+        }
+        return result;
+    }
+
+    static ClickHouseDataType checkType(ClickHouseDataType type) {
+        if (type != ClickHouseDataType.Int128 && type != ClickHouseDataType.UInt128
+                && type != ClickHouseDataType.Int256 && type != ClickHouseDataType.UInt256
+                && type != ClickHouseDataType.Decimal128 && type != ClickHouseDataType.Decimal256) {
+            throw new IllegalArgumentException("Unsupported data type: " + type);
+        }
+        return type;
+    }
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @param type  data type, one of {@code Int128}, {@code UInt128},
+     *              {@code Int256}, {@code UInt256}, {@code Decimal128} and
+     *              {@code Decimal256}
+     * @param scale scale, only used by {@code Decimal128} and {@code Decimal256}
+     * @return new instance representing null value
+     */
+    public static ClickHouseWideIntegerValue ofNull(ClickHouseDataType type, int scale) {
+        return ofNull(null, type, scale);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref}
+     * is null or of different data type or scale.
+     *
+     * @param ref   object to update, could be null
+     * @param type  data type
+     * @param scale scale, only used by {@code Decimal128} and {@code Decimal256}
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseWideIntegerValue ofNull(ClickHouseValue ref, ClickHouseDataType type, int scale) {
+        return isSameKind(ref, type, scale) ? ((ClickHouseWideIntegerValue) ref).resetToNullOrEmpty()
+                : new ClickHouseWideIntegerValue(type, scale);
+    }
+
+    /**
+     * Wraps the given unscaled value.
+     *
+     * @param type          data type
+     * @param scale         scale, only used by {@code Decimal128} and
+     *                      {@code Decimal256}
+     * @param unscaledValue unscaled value, could be null
+     * @return object representing the value
+     */
+    public static ClickHouseWideIntegerValue of(ClickHouseDataType type, int scale, BigInteger unscaledValue) {
+        return of(null, type, scale, unscaledValue);
+    }
+
+    /**
+     * Updates value of the given object or creates a new instance when
+     * {@code ref} is null or of different data type or scale.
+     *
+     * @param ref           object to update, could be null
+     * @param type          data type
+     * @param scale         scale, only used by {@code Decimal128} and
+     *                      {@code Decimal256}
+     * @param unscaledValue unscaled value, could be null
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseWideIntegerValue of(ClickHouseValue ref, ClickHouseDataType type, int scale,
+            BigInteger unscaledValue) {
+        ClickHouseWideIntegerValue v = isSameKind(ref, type, scale) ? (ClickHouseWideIntegerValue) ref
+                : new ClickHouseWideIntegerValue(type, scale);
+        return v.updateUnscaled(unscaledValue);
+    }
+
+    private static boolean isSameKind(ClickHouseValue ref, ClickHouseDataType type, int scale) {
+        return ref instanceof ClickHouseWideIntegerValue && ((ClickHouseWideIntegerValue) ref).type == type
+                && ((ClickHouseWideIntegerValue) ref).scale == (type.getMaxScale() > 0 ? scale : 0);
+    }
+
+    private final ClickHouseDataType type;
+    private final int scale;
+    private final boolean decimal;
+    private final boolean unsigned;
+    // little-endian, limbs[0] is the least significant one
+    private final long[] limbs;
+
+    private boolean isNull;
+    // whether limbs are used, or it's updated by a value that cannot fit
+    private boolean compact;
+    // BigInteger or BigDecimal, the actual value when it's not compact, or
+    // otherwise lazily created
+    private Number value;
+
+    protected ClickHouseWideIntegerValue(ClickHouseDataType type, int scale) {
+        this.type = checkType(type);
+        this.decimal = type.getMaxScale() > 0;
+        this.scale = decimal ? ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, type.getMaxScale())
+                : 0;
+        this.unsigned = !type.isSigned();
+        this.limbs = new long[type.getByteLength() / 8];
+
+        this.isNull = true;
+        this.compact = true;
+        this.value = null;
+    }
+
+    protected ClickHouseWideIntegerValue(ClickHouseWideIntegerValue v) {
+        this.type = v.type;
+        this.decimal = v.decimal;
+        this.scale = v.scale;
+        this.unsigned = v.unsigned;
+        this.limbs = Arrays.copyOf(v.limbs, v.limbs.length);
+
+        this.isNull = v.isNull;
+        this.compact = v.compact;
+        this.value = v.value;
+    }
+
+    protected final ClickHouseWideIntegerValue set(Number value) {
+        this.isNull = value == null;
+        this.compact = false;
+        this.value = value;
+        Arrays.fill(limbs, 0L);
+        return this;
+    }
+
+    protected final ClickHouseWideIntegerValue set(long value) {
+        this.isNull = false;
+        this.compact = true;
+        this.value = null;
+        Arrays.fill(limbs, value < 0L ? -1L : 0L);
+        limbs[0] = value;
+        return this;
+    }
+
+    /**
+     * Tries to set limbs using the given unscaled value.
+     *
+     * @param v non-null unscaled value
+     * @return true if the value fits; false otherwise
+     */
+    private boolean trySet(BigInteger v) {
+        int bits = limbs.length * 64;
+        int len = v.bitLength();
+        if (unsigned ? v.signum() < 0 || len > bits : len >= bits) {
+            return false;
+        } else if (decimal && v.abs().compareTo(limbs.length == 2 ? DECIMAL128_MAX : DECIMAL256_MAX) >= 0) {
+            return false;
+        }
+
+        if (len < 64) {
+            set(v.longValue());
+        } else {
+            Arrays.fill(limbs, v.signum() < 0 ? -1L : 0L);
+            byte[] bytes = v.toByteArray();
+            for (int i = 0, size = Math.min(bytes.length, bits / 8); i < size; i++) {
+                int shift = (i & 7) << 3;
+                int index = i >> 3;
+                limbs[index] = (limbs[index] & ~(0xFFL << shift))
+                        | ((bytes[bytes.length - 1 - i] & 0xFFL) << shift);
+            }
+            this.isNull = false;
+            this.compact = true;
+            this.value = null;
+        }
+        return true;
+    }
+
+    private boolean fitsInLong() {
+        long ext = limbs[0] >> 63;
+        if (unsigned && ext != 0L) {
+            return false;
+        }
+        for (int i = 1, len = limbs.length; i < len; i++) {
+            if (limbs[i] != ext) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BigInteger toBigInteger() {
+        if (fitsInLong()) {
+            return BigInteger.valueOf(limbs[0]);
+        }
+
+        int len = limbs.length;
+        byte[] bytes = new byte[len * 8];
+        for (int i = 0; i < len; i++) {
+            long l = limbs[len - 1 - i];
+            for (int j = 0, k = i * 8; j < 8; j++) {
+                bytes[k + j] = (byte) (l >>> (56 - j * 8));
+            }
+        }
+        return unsigned ? new BigInteger(1, bytes) : new BigInteger(bytes);
+    }
+
+    private void addLimbs(long[] other) {
+        long carry = 0L;
+        for (int i = 0, len = limbs.length; i < len; i++) {
+            long a = limbs[i];
+            long s = a + other[i];
+            long c = Long.compareUnsigned(s, a) < 0 ? 1L : 0L;
+            long r = s + carry;
+            carry = c | (Long.compareUnsigned(r, s) < 0 ? 1L : 0L);
+            limbs[i] = r;
+        }
+    }
+
+    private void subtractLimbs(long[] other) {
+        long borrow = 0L;
+        for (int i = 0, len = limbs.length; i < len; i++) {
+            long a = limbs[i];
+            long d = a - other[i];
+            long b = Long.compareUnsigned(a, other[i]) < 0 ? 1L : 0L;
+            long r = d - borrow;
+            borrow = b | (Long.compareUnsigned(d, borrow) < 0 ? 1L : 0L);
+            limbs[i] = r;
+        }
+    }
+
+    private void checkLimbs(ClickHouseWideIntegerValue v) {
+        if (v.limbs.length != limbs.length || v.scale != scale || !v.compact || !compact || v.isNull || isNull) {
+            throw new IllegalArgumentException(
+                    ClickHouseUtils.format("Cannot operate on %s and %s", this.type, v.type));
+        }
+    }
+
+    /**
+     * Gets data type of the value.
+     *
+     * @return non-null data type
+     */
+    public ClickHouseDataType getType() {
+        return type;
+    }
+
+    /**
+     * Gets scale of the value, always zero for integers.
+     *
+     * @return scale of the value
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Checks whether the value is backed by limbs, instead of a {@link BigInteger}
+     * or {@link BigDecimal} that cannot fit.
+     *
+     * @return true if the value is backed by limbs; false otherwise
+     */
+    public boolean isCompact() {
+        return !isNull && compact;
+    }
+
+    /**
+     * Checks whether the value fits in the precision of its type. It's always
+     * true for integers, as well as decimals not backed by limbs.
+     *
+     * @return true if the value fits; false otherwise
+     */
+    public boolean isWithinPrecision() {
+        if (isNull || !compact || !decimal) {
+            return true;
+        }
+        return limbs.length == 2
+                ? compareSigned(limbs, DECIMAL128_MIN_LIMBS) > 0 && compareSigned(limbs, DECIMAL128_MAX_LIMBS) < 0
+                : compareSigned(limbs, DECIMAL256_MIN_LIMBS) > 0 && compareSigned(limbs, DECIMAL256_MAX_LIMBS) < 0;
+    }
+
+    /**
+     * Gets number of limbs, 2 for 128-bit and 4 for 256-bit.
+     *
+     * @return number of limbs
+     */
+    public int getLimbCount() {
+        return limbs.length;
+    }
+
+    /**
+     * Gets 64-bit limb at the given index. Always use {@link #isCompact()} to
+     * check before reading limbs.
+     *
+     * @param index zero-based index, 0 means the least significant limb
+     * @return limb at the given index
+     */
+    public long getLimb(int index) {
+        return limbs[index];
+    }
+
+    /**
+     * Sets the two least significant limbs, while the others will be sign
+     * extended.
+     *
+     * @param low  the least significant limb
+     * @param high the second least significant limb
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue updateLimbs(long low, long high) {
+        Arrays.fill(limbs, !unsigned && high < 0L ? -1L : 0L);
+        limbs[0] = low;
+        limbs[1] = high;
+        this.isNull = false;
+        this.compact = true;
+        this.value = null;
+        return this;
+    }
+
+    /**
+     * Sets all four limbs of a 256-bit value.
+     *
+     * @param l0 the least significant limb
+     * @param l1 the second least significant limb
+     * @param l2 the second most significant limb
+     * @param l3 the most significant limb
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue updateLimbs(long l0, long l1, long l2, long l3) {
+        if (limbs.length != 4) {
+            throw new IllegalArgumentException(ClickHouseUtils.format("%s has only %d limbs", type, limbs.length));
+        }
+        limbs[0] = l0;
+        limbs[1] = l1;
+        limbs[2] = l2;
+        limbs[3] = l3;
+        this.isNull = false;
+        this.compact = true;
+        this.value = null;
+        return this;
+    }
+
+    /**
+     * Sets unscaled value.
+     *
+     * @param unscaledValue unscaled value, could be null
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue updateUnscaled(BigInteger unscaledValue) {
+        if (unscaledValue == null) {
+            return resetToNullOrEmpty();
+        } else if (!trySet(unscaledValue)) {
+            set(decimal ? new BigDecimal(unscaledValue, scale) : unscaledValue);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the given value in place. Overflow of integers wraps around like it
+     * does in ClickHouse, while decimal result out of precision is kept as
+     * {@link BigDecimal}, same as {@link #update(BigDecimal)}, so it will be
+     * rejected on serialization.
+     *
+     * @param v non-null compact value of same width and scale
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue add(ClickHouseWideIntegerValue v) {
+        checkLimbs(v);
+        if (v == this) {
+            v = new ClickHouseWideIntegerValue(v);
+        }
+        int top = limbs.length - 1;
+        boolean negative = limbs[top] < 0L;
+        addLimbs(v.limbs);
+        this.value = null;
+        // signed overflow happens only when both operands have the same sign
+        if (decimal && ((negative == v.limbs[top] < 0L && negative != limbs[top] < 0L) || !isWithinPrecision())) {
+            subtractLimbs(v.limbs);
+            updateUnscaled(toBigInteger().add(v.toBigInteger()));
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts the given value in place. Overflow of integers wraps around like
+     * it does in ClickHouse, while decimal result out of precision is kept as
+     * {@link BigDecimal}, same as {@link #update(BigDecimal)}, so it will be
+     * rejected on serialization.
+     *
+     * @param v non-null compact value of same width and scale
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue subtract(ClickHouseWideIntegerValue v) {
+        checkLimbs(v);
+        if (v == this) {
+            v = new ClickHouseWideIntegerValue(v);
+        }
+        int top = limbs.length - 1;
+        boolean negative = limbs[top] < 0L;
+        subtractLimbs(v.limbs);
+        this.value = null;
+        // signed overflow happens only when operands have different signs
+        if (decimal && ((negative != v.limbs[top] < 0L && negative != limbs[top] < 0L) || !isWithinPrecision())) {
+            addLimbs(v.limbs);
+            updateUnscaled(toBigInteger().subtract(v.toBigInteger()));
+        }
+        return this;
+    }
+
+    /**
+     * Negates the value in place.
+     *
+     * @return this object
+     */
+    public ClickHouseWideIntegerValue negate() {
+        if (isNull) {
+            return this;
+        } else if (!compact) {
+            return decimal ? set(((BigDecimal) value).negate()) : set(((BigInteger) value).negate());
+        }
+
+        long carry = 1L;
+        for (int i = 0, len = limbs.length; i < len; i++) {
+            long r = ~limbs[i] + carry;
+            carry = carry == 1L && r == 0L ? 1L : 0L;
+            limbs[i] = r;
+        }
+        this.value = null;
+        return this;
+    }
+
+    @Override
+    public int compareTo(ClickHouseWideIntegerValue o) {
+        if (isNull || o.isNull) {
+            return isNull ? (o.isNull ? 0 : -1) : 1;
+        } else if (!compact || !o.compact || scale != o.scale || limbs.length != o.limbs.length
+                || unsigned != o.unsigned) {
+            return decimal || o.decimal ? asBigDecimal().compareTo(o.asBigDecimal())
+                    : asBigInteger().compareTo(o.asBigInteger());
+        }
+
+        int i = limbs.length - 1;
+        int result = unsigned ? Long.compareUnsigned(limbs[i], o.limbs[i]) : Long.compare(limbs[i], o.limbs[i]);
+        while (result == 0 && --i >= 0) {
+            result = Long.compareUnsigned(limbs[i], o.limbs[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue copy(boolean deep) {
+        return new ClickHouseWideIntegerValue(this);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) asLong();
+    }
+
+    @Override
+    public short asShort() {
+        return (short) asLong();
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) asLong();
+    }
+
+    @Override
+    public long asLong() {
+        if (isNull) {
+            return 0L;
+        } else if (!compact) {
+            return value.longValue();
+        } else if (!decimal) {
+            return limbs[0];
+        } else if (fitsInLong()) {
+            return scale < ClickHouseDecimalValue.POWERS_OF_TEN.length
+                    ? limbs[0] / ClickHouseDecimalValue.POWERS_OF_TEN[scale]
+                    : 0L;
+        }
+        return asBigDecimal().longValue();
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        if (isNull) {
+            return null;
+        } else if (decimal) {
+            BigDecimal v = asBigDecimal();
+            if (v.remainder(BigDecimal.ONE).signum() != 0) {
+                throw new IllegalArgumentException("Failed to convert BigDecimal to BigInteger: " + v);
+            }
+            return v.toBigIntegerExact();
+        } else if (value == null) {
+            value = toBigInteger();
+        }
+        return (BigInteger) value;
+    }
+
+    @Override
+    public float asFloat() {
+        if (isNull) {
+            return 0F;
+        } else if (compact && !decimal && fitsInLong()) {
+            return limbs[0];
+        }
+        return decimal ? asBigDecimal().floatValue() : asBigInteger().floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        if (isNull) {
+            return 0D;
+        } else if (compact && !decimal && fitsInLong()) {
+            return limbs[0];
+        }
+        return decimal ? asBigDecimal().doubleValue() : asBigInteger().doubleValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+        if (isNull) {
+            return null;
+        } else if (!decimal) {
+            return new BigDecimal(asBigInteger());
+        } else if (value == null) {
+            value = new BigDecimal(toBigInteger(), scale);
+        }
+        return (BigDecimal) value;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        if (isNull) {
+            return null;
+        } else if (!decimal) {
+            return new BigDecimal(asBigInteger(), scale);
+        }
+
+        BigDecimal v = asBigDecimal();
+        if (v.scale() != scale) {
+            v = v.setScale(scale, ClickHouseDataConfig.DEFAULT_ROUNDING_MODE);
+        }
+        return v;
+    }
+
+    @Override
+    public Object asObject() {
+        return decimal ? asBigDecimal() : asBigInteger();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : String.valueOf(asObject());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue resetToDefault() {
+        return set(0L);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue resetToNullOrEmpty() {
+        return set((Number) null);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        return isNull ? ClickHouseValues.NULL_EXPR : String.valueOf(asObject());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(boolean value) {
+        return update(value ? 1L : 0L);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(char value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(byte value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(short value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(int value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(long value) {
+        if (decimal) {
+            if (scale < ClickHouseDecimalValue.POWERS_OF_TEN.length) {
+                long base = ClickHouseDecimalValue.POWERS_OF_TEN[scale];
+                long v = value * base;
+                if (v / base == value) {
+                    return set(v);
+                }
+            }
+            return update(BigDecimal.valueOf(value));
+        } else if (unsigned && value < 0L) {
+            return set(BigInteger.valueOf(value));
+        }
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(float value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(double value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(BigInteger value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        } else if (decimal) {
+            return update(new BigDecimal(value));
+        } else if (!trySet(value)) {
+            set(value);
+        }
+        return this;
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(BigDecimal value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        } else if (!decimal) {
+            return update(value.toBigIntegerExact());
+        } else if (value.scale() > scale || !trySet(value.setScale(scale).unscaledValue())) {
+            // keep as is, so that nothing is lost before serialization
+            set(value);
+        }
+        return this;
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(String value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+        return decimal ? update(new BigDecimal(value)) : update(new BigInteger(value));
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseWideIntegerValue) {
+            ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) value;
+            if (v.compact && v.decimal == decimal && v.limbs.length == limbs.length && v.scale == scale
+                    && v.unsigned == unsigned) {
+                System.arraycopy(v.limbs, 0, limbs, 0, limbs.length);
+                this.isNull = false;
+                this.compact = true;
+                this.value = v.value;
+                return this;
+            }
+        }
+        return decimal ? update(value.asBigDecimal(scale)) : update(value.asBigInteger());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(Object value) {
+        if (value instanceof BigInteger) {
+            return update((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            return update((BigDecimal) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) obj;
+        if (isNull || v.isNull) {
+            return isNull == v.isNull;
+        } else if (type != v.type || scale != v.scale) {
+            return false;
+        } else if (compact && v.compact) {
+            return Arrays.equals(limbs, v.limbs);
+        }
+        return asObject().equals(v.asObject());
+    }
+
+    @Override
+    public int hashCode() {
+        if (isNull) {
+            return 0;
+        } else if (compact) {
+            return (31 * type.ordinal() + scale) * 31 + Arrays.hashCode(limbs);
+        }
+        return (31 * type.ordinal() + scale) * 31 + asObject().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
@@ -0,0 +1,243 @@
+package com.clickhouse.data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Utility class for reading and writing numbers in little-endian byte order.
+ * This is the Java 9+ implementation, which uses {@link VarHandle} for reading
+ * and writing a single value, and little-endian {@link ByteBuffer} views for
+ * bulk reads.
+ */
+public class ClickHouseByteUtils {
+    private static final VarHandle INT16_LE = MethodHandles.byteArrayViewVarHandle(short[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT32_LE = MethodHandles.byteArrayViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT64_LE = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private static ByteBuffer wrap(byte[] bytes, int offset, int length) {
+        return ByteBuffer.wrap(bytes, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public static short getInt16LE(byte[] bytes, int offset) {
+        return (short) INT16_LE.get(bytes, offset);
+    }
+
+    public static void setInt16LE(byte[] bytes, int offset, short value) {
+        INT16_LE.set(bytes, offset, value);
+    }
+
+    public static int getInt32LE(byte[] bytes, int offset) {
+        return (int) INT32_LE.get(bytes, offset);
+    }
+
+    public static void setInt32LE(byte[] bytes, int offset, int value) {
+        INT32_LE.set(bytes, offset, value);
+    }
+
+    public static long getInt64LE(byte[] bytes, int offset) {
+        return (long) INT64_LE.get(bytes, offset);
+    }
+
+    public static void setInt64LE(byte[] bytes, int offset, long value) {
+        INT64_LE.set(bytes, offset, value);
+    }
+
+    /**
+     * Reads {@code values.length} little-endian short values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt16ArrayLE(byte[] bytes, int offset, short[] values) {
+        wrap(bytes, offset, values.length * Short.BYTES).asShortBuffer().get(values);
+    }
+
+    /**
+     * Reads {@code values.length} little-endian integers starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt32ArrayLE(byte[] bytes, int offset, int[] values) {
+        wrap(bytes, offset, values.length * Integer.BYTES).asIntBuffer().get(values);
+    }
+
+    /**
+     * Reads {@code values.length} little-endian long values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getInt64ArrayLE(byte[] bytes, int offset, long[] values) {
+        wrap(bytes, offset, values.length * Long.BYTES).asLongBuffer().get(values);
+    }
+
+    /**
+     * Reads {@code values.length} little-endian float values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getFloat32ArrayLE(byte[] bytes, int offset, float[] values) {
+        wrap(bytes, offset, values.length * Float.BYTES).asFloatBuffer().get(values);
+    }
+
+    /**
+     * Reads {@code values.length} little-endian double values starting from
+     * {@code offset}.
+     *
+     * @param bytes  non-null byte array
+     * @param offset start position
+     * @param values non-null array to fill
+     */
+    public static void getFloat64ArrayLE(byte[] bytes, int offset, double[] values) {
+        wrap(bytes, offset, values.length * Double.BYTES).asDoubleBuffer().get(values);
+    }
+
+    /**
+     * Get varint length of given integer.
+     *
+     * @param value integer
+     * @return varint length
+     */
+    public static int getVarIntSize(int value) {
+        int result = 0;
+        do {
+            result++;
+            value >>>= 7;
+        } while (value != 0);
+
+        return result;
+    }
+
+    /**
+     * Get varint length of given long.
+     *
+     * @param value long
+     * @return varint length
+     */
+    public static int getVarLongSize(long value) {
+        int result = 0;
+        do {
+            result++;
+            value >>>= 7;
+        } while (value != 0);
+
+        return result;
+    }
+
+    /**
+     * Gets varint from given byte buffer.
+     *
+     * @param buffer non-null byte buffer
+     * @return varint
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        long result = 0L;
+        int shift = 0;
+        for (int i = 0; i < 9; i++) {
+            // gets 7 bits from next byte
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+
+        return (int) result;
+    }
+
+    /**
+     * Write varint to given output stream.
+     *
+     * @param buffer non-null byte buffer
+     * @param value  integer value
+     */
+    public static void setVarInt(ByteBuffer buffer, int value) {
+        while ((value & 0xFFFFFF80) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) (value & 0x7F));
+    }
+
+    /**
+     * Reads varint from given input stream.
+     *
+     * @param input non-null input stream
+     * @return varint
+     * @throws IOException when failed to read value from input stream or reached
+     *                     end of the stream
+     */
+    public static int readVarInt(InputStream input) throws IOException {
+        // https://github.com/ClickHouse/ClickHouse/blob/abe314feecd1647d7c2b952a25da7abf5c19f352/src/IO/VarInt.h#L126
+        long result = 0L;
+        int shift = 0;
+        for (int i = 0; i < 9; i++) {
+            // gets 7 bits from next byte
+            int b = input.read();
+            if (b == -1) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    // ignore error
+                }
+                throw new EOFException();
+            }
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+
+        return (int) result;
+    }
+
+    /**
+     * Writes varint to given output stream.
+     *
+     * @param output non-null output stream
+     * @param value  long value
+     * @throws IOException when failed to write value to output stream or reached
+     *                     end of the stream
+     */
+    public static void writeVarInt(OutputStream output, long value) throws IOException {
+        // https://github.com/ClickHouse/ClickHouse/blob/abe314feecd1647d7c2b952a25da7abf5c19f352/src/IO/VarInt.h#L187
+        for (int i = 0; i < 9; i++) {
+            byte b = (byte) (value & 0x7F);
+
+            if (value > 0x7F) {
+                b |= 0x80;
+            }
+
+            value >>= 7;
+            output.write(b);
+
+            if (value == 0) {
+                return;
+            }
+        }
+    }
+
+    protected ClickHouseByteUtils() {
+    }
+}
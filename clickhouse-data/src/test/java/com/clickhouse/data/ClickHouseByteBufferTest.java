@@ -79,6 +79,46 @@ public class ClickHouseByteBufferTest {
                 ClickHouseByteBuffer.of(new byte[] { 0x2, 0x3 }, 0, 2));
     }
 
+    @Test(groups = { "unit" })
+    public void testNumbers() {
+        byte[] bytes = new byte[] { 9, 1, 2, 3, 4, 5, 6, 7, 8, (byte) 0xF1, (byte) 0xF2, (byte) 0xF3, (byte) 0xF4,
+                (byte) 0xF5, (byte) 0xF6, (byte) 0xF7, (byte) 0xF8 };
+        ClickHouseByteBuffer buf = ClickHouseByteBuffer.of(bytes, 1, 16);
+        Assert.assertEquals(buf.asShort(), (short) 0x0201);
+        Assert.assertEquals(buf.asInteger(), 0x04030201);
+        Assert.assertEquals(buf.asLong(), 0x0807060504030201L);
+        Assert.assertEquals(buf.getShort(8), (short) 0xF2F1);
+        Assert.assertEquals(buf.getUnsignedShort(8), 0xF2F1);
+        Assert.assertEquals(buf.getInteger(8), 0xF4F3F2F1);
+        Assert.assertEquals(buf.getUnsignedInteger(8), 0xF4F3F2F1L);
+        Assert.assertEquals(buf.getLong(8), 0xF8F7F6F5F4F3F2F1L);
+        Assert.assertEquals(buf.getFloat(8), Float.intBitsToFloat(0xF4F3F2F1));
+        Assert.assertEquals(buf.getDouble(8), Double.longBitsToDouble(0xF8F7F6F5F4F3F2F1L));
+
+        Assert.assertEquals(buf.asShortArray(), new short[] { 0x0201, 0x0403, 0x0605, 0x0807, (short) 0xF2F1,
+                (short) 0xF4F3, (short) 0xF6F5, (short) 0xF8F7 });
+        Assert.assertEquals(buf.asIntegerArray(), new int[] { 0x04030201, 0x08070605, 0xF4F3F2F1, 0xF8F7F6F5 });
+        Assert.assertEquals(buf.asLongArray(), new long[] { 0x0807060504030201L, 0xF8F7F6F5F4F3F2F1L });
+        Assert.assertEquals(buf.asFloatArray(), new float[] { Float.intBitsToFloat(0x04030201),
+                Float.intBitsToFloat(0x08070605), Float.intBitsToFloat(0xF4F3F2F1),
+                Float.intBitsToFloat(0xF8F7F6F5) });
+        Assert.assertEquals(buf.asDoubleArray(), new double[] { Double.longBitsToDouble(0x0807060504030201L),
+                Double.longBitsToDouble(0xF8F7F6F5F4F3F2F1L) });
+        Assert.assertEquals(buf.asUnsignedIntegerArray(), new long[] { 0x04030201L, 0x08070605L, 0xF4F3F2F1L,
+                0xF8F7F6F5L });
+        Assert.assertEquals(ClickHouseByteBuffer.of(bytes, 4, 10).asLongArray(),
+                new long[] { 0xF3F2F10807060504L });
+
+        byte[] b = new byte[10];
+        ClickHouseByteUtils.setInt16LE(b, 1, (short) 0xF2F1);
+        ClickHouseByteUtils.setInt64LE(b, 2, 0xF8F7F6F5F4F3F2F1L);
+        Assert.assertEquals(ClickHouseByteUtils.getInt16LE(b, 1), (short) 0xF1F1);
+        Assert.assertEquals(ClickHouseByteUtils.getInt64LE(b, 2), 0xF8F7F6F5F4F3F2F1L);
+        ClickHouseByteUtils.setInt32LE(b, 6, 0x04030201);
+        Assert.assertEquals(ClickHouseByteUtils.getInt32LE(b, 6), 0x04030201);
+        Assert.assertEquals(ClickHouseByteUtils.getInt64LE(b, 2), 0x04030201F4F3F2F1L);
+    }
+
     @Test(groups = { "unit" })
     public void testReverse() {
         Assert.assertEquals(ClickHouseByteBuffer.newInstance().reverse(), ClickHouseByteBuffer.newInstance());
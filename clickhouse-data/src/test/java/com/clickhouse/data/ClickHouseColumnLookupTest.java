@@ -0,0 +1,44 @@
+package com.clickhouse.data;
+
+import java.util.Collections;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseColumnLookupTest {
+    @Test(groups = { "unit" })
+    public void testEmptyLookup() {
+        Assert.assertEquals(ClickHouseColumnLookup.of(null), ClickHouseColumnLookup.EMPTY);
+        Assert.assertEquals(ClickHouseColumnLookup.of(Collections.emptyList()), ClickHouseColumnLookup.EMPTY);
+        Assert.assertEquals(ClickHouseColumnLookup.EMPTY.size(), 0);
+        Assert.assertEquals(ClickHouseColumnLookup.EMPTY.indexOf(null), -1);
+        Assert.assertEquals(ClickHouseColumnLookup.EMPTY.indexOf("a"), -1);
+    }
+
+    @Test(groups = { "unit" })
+    public void testIndexOf() {
+        ClickHouseColumnLookup lookup = ClickHouseColumnLookup
+                .of(ClickHouseColumn.parse("a String, B Int32, `Aa` UInt8, `aA` String, `ı` String"));
+        Assert.assertEquals(lookup.size(), 5);
+        Assert.assertEquals(lookup.indexOf(null), -1);
+        Assert.assertEquals(lookup.indexOf(""), -1);
+        Assert.assertEquals(lookup.indexOf("c"), -1);
+        Assert.assertEquals(lookup.indexOf("a"), 0);
+        Assert.assertEquals(lookup.indexOf("A"), 0);
+        Assert.assertEquals(lookup.indexOf("b"), 1);
+        Assert.assertEquals(lookup.indexOf("B"), 1);
+        // first match wins, same as equalsIgnoreCase
+        Assert.assertEquals(lookup.indexOf("Aa"), 2);
+        Assert.assertEquals(lookup.indexOf("aA"), 2);
+        Assert.assertEquals(lookup.indexOf("AA"), 2);
+        Assert.assertEquals(lookup.indexOf("ı"), 4);
+        Assert.assertEquals(lookup.indexOf("I"), 4);
+    }
+
+    @Test(groups = { "unit" })
+    public void testSharedLookup() {
+        ClickHouseColumnLookup lookup = ClickHouseColumnLookup.of(ClickHouseColumn.parse("a String, b Int32"));
+        Assert.assertSame(ClickHouseColumnLookup.of(ClickHouseColumn.parse("a Nullable(String), b UInt64")), lookup);
+        Assert.assertNotSame(ClickHouseColumnLookup.of(ClickHouseColumn.parse("b Int32, a String")), lookup);
+    }
+}
@@ -1,9 +1,11 @@
 package com.clickhouse.data;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -321,4 +323,58 @@ public class ClickHouseColumnTest {
             }
         }
     }
+
+    @Test(groups = { "unit" })
+    public void testCachedType() {
+        String type = "Array(Nullable(DateTime64(3, 'UTC')))";
+        ClickHouseColumn c1 = ClickHouseColumn.of("a", type);
+        ClickHouseColumn c2 = ClickHouseColumn.of("b", type);
+        Assert.assertNotSame(c1, c2);
+        Assert.assertEquals(c1.getColumnName(), "a");
+        Assert.assertEquals(c2.getColumnName(), "b");
+        Assert.assertEquals(c1.getOriginalTypeName(), type);
+        Assert.assertSame(c1.getNestedColumns(), c2.getNestedColumns());
+        Assert.assertSame(c1.getArrayBaseColumn(), c2.getArrayBaseColumn());
+        Assert.assertEquals(c1.getArrayBaseColumn().getScale(), 3);
+
+        c1.setColumnIndex(1, 2);
+        Assert.assertEquals(c1.getColumnIndex(), 1);
+        Assert.assertEquals(c2.getColumnIndex(), 0);
+        Assert.assertEquals(ClickHouseColumn.of("a", type).getColumnIndex(), 0);
+
+        List<ClickHouseColumn> list1 = ClickHouseColumn.parse("x Tuple(a String, b UInt8), y Nullable(Int32)");
+        List<ClickHouseColumn> list2 = ClickHouseColumn.parse("x Tuple(a String, b UInt8), y Nullable(Int32)");
+        Assert.assertEquals(list1, list2);
+        Assert.assertNotSame(list1.get(0), list2.get(0));
+        Assert.assertSame(list1.get(0).getNestedColumns(), list2.get(0).getNestedColumns());
+        Assert.assertEquals(list1.get(1).getColumnName(), "y");
+        Assert.assertTrue(list1.get(1).isNullable());
+        list1.get(1).setColumnIndex(1, 2);
+        Assert.assertEquals(list2.get(1).getColumnIndex(), 0);
+    }
+
+    @Test(groups = { "unit" })
+    public void testCachedTypeConcurrently() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int seed = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    int n = (seed + j) % 50;
+                    String type = "Tuple(a" + n + " String, b Array(Nullable(Decimal(18, " + (n % 18) + "))))";
+                    ClickHouseColumn c = ClickHouseColumn.of("c" + j, type);
+                    Assert.assertEquals(c.getColumnName(), "c" + j);
+                    Assert.assertEquals(c.getNestedColumns().get(0).getColumnName(), "a" + n);
+                    Assert.assertEquals(c.getNestedColumns().get(1).getArrayBaseColumn().getScale(), n % 18);
+                    Assert.assertSame(c.getNestedColumns(), ClickHouseColumn.of("x", type).getNestedColumns());
+
+                    List<ClickHouseColumn> list = ClickHouseColumn.parse("x" + n + " " + type + ", y UInt8");
+                    Assert.assertEquals(list.size(), 2);
+                    Assert.assertEquals(list.get(0).getColumnName(), "x" + n);
+                    Assert.assertEquals(list.get(0).getNestedColumns(), c.getNestedColumns());
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
 }
@@ -17,6 +17,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+
+import com.clickhouse.data.value.ClickHouseDateValue;
+import com.clickhouse.data.value.ClickHouseIntegerValue;
+import com.clickhouse.data.value.ClickHouseLongValue;
+import com.clickhouse.data.value.ClickHouseStringValue;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -95,6 +101,37 @@ public class ClickHouseValuesTest extends BaseClickHouseValueTest {
         }
     }
 
+    @Test(groups = { "unit" })
+    public void testGetConverter() {
+        Assert.assertNull(ClickHouseValues.getConverter(null).apply(ClickHouseIntegerValue.of(1)));
+
+        ClickHouseValue[] values = new ClickHouseValue[] { ClickHouseIntegerValue.of(1),
+                ClickHouseIntegerValue.ofNull(), ClickHouseStringValue.of("2"), ClickHouseStringValue.ofNull(),
+                ClickHouseDateValue.of(1), ClickHouseLongValue.of(-3L, false) };
+        Class<?>[] types = new Class<?>[] { Boolean.class, Byte.class, Short.class, Integer.class, Long.class,
+                Float.class, Double.class, String.class, BigInteger.class, BigDecimal.class, Object.class };
+        for (Class<?> type : types) {
+            for (ClickHouseValue v : values) {
+                Object expected;
+                try {
+                    expected = v.asObject(type);
+                } catch (Exception e) {
+                    Assert.assertThrows(e.getClass(), () -> ClickHouseValues.getConverter(type).apply(v));
+                    continue;
+                }
+                Assert.assertEquals(ClickHouseValues.getConverter(type).apply(v), expected);
+            }
+        }
+
+        // primitive type is treated as wrapper class
+        Assert.assertEquals(ClickHouseValues.getConverter(int.class).apply(ClickHouseIntegerValue.of(5)), 5);
+        Assert.assertEquals(ClickHouseValues.getConverter(long.class).apply(ClickHouseIntegerValue.of(5)), 5L);
+        Assert.assertEquals(ClickHouseValues.getConverter(boolean.class).apply(ClickHouseIntegerValue.of(1)),
+                true);
+        Assert.assertEquals(ClickHouseValues.getConverter(LocalDate.class).apply(ClickHouseDateValue.of(1)),
+                LocalDate.ofEpochDay(1L));
+    }
+
     @Test(groups = { "unit" })
     public void testConvertToIpv4() throws UnknownHostException {
         Assert.assertEquals(ClickHouseValues.convertToIpv4((String) null), null);
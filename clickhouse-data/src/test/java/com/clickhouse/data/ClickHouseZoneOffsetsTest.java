@@ -0,0 +1,70 @@
+package com.clickhouse.data;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseZoneOffsetsTest {
+    @Test(groups = { "unit" })
+    public void testFixedOffset() {
+        Assert.assertSame(ClickHouseZoneOffsets.of((ZoneId) null), ClickHouseZoneOffsets.UTC);
+        Assert.assertSame(ClickHouseZoneOffsets.of(ClickHouseValues.UTC_TIMEZONE), ClickHouseZoneOffsets.UTC);
+
+        ClickHouseZoneOffsets offsets = ClickHouseZoneOffsets.of(ZoneOffset.ofHours(8));
+        Assert.assertEquals(offsets.getOffset(0L), ZoneOffset.ofHours(8));
+        Assert.assertEquals(offsets.toDateTime(0L, 1), LocalDateTime.of(1970, 1, 1, 8, 0, 0, 1));
+        Assert.assertEquals(offsets.toEpochSecond(LocalDateTime.of(1970, 1, 1, 8, 0, 0)), 0L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testTransitions() {
+        for (String zone : new String[] { "America/New_York", "Europe/Berlin", "Asia/Shanghai",
+                "Australia/Lord_Howe" }) {
+            ZoneId zoneId = ZoneId.of(zone);
+            ClickHouseZoneOffsets offsets = ClickHouseZoneOffsets.of(zoneId);
+            // one year from late 2022, in 7-minute steps to cover gaps and overlaps
+            for (long s = 1667000000L; s < 1667000000L + 366L * 24 * 3600; s += 420L) {
+                LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(s), zoneId);
+                Assert.assertEquals(offsets.toDateTime(s, 0), expected, zone + ": " + s);
+                Assert.assertEquals(offsets.toEpochSecond(expected), expected.atZone(zoneId).toEpochSecond(),
+                        zone + ": " + expected);
+                // may fall into a gap or an overlap
+                LocalDateTime shifted = expected.plusMinutes(30L);
+                Assert.assertEquals(offsets.toEpochSecond(shifted), shifted.atZone(zoneId).toEpochSecond(),
+                        zone + ": " + shifted);
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testRandomInstants() {
+        Random random = new Random(0L);
+        long min = ClickHouseZoneOffsets.MIN_SECOND - 7L * 24 * 3600;
+        long range = ClickHouseZoneOffsets.MAX_SECOND + 7L * 24 * 3600 - min;
+        for (String zone : new String[] { "Europe/Berlin", "Europe/Dublin", "Africa/Casablanca", "Pacific/Apia",
+                "America/Sao_Paulo" }) {
+            ZoneId zoneId = ZoneId.of(zone);
+            ClickHouseZoneOffsets offsets = ClickHouseZoneOffsets.of(zoneId);
+            for (int i = 0; i < 100000; i++) {
+                long s = min + (long) (random.nextDouble() * range);
+                LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(s), zoneId);
+                Assert.assertEquals(offsets.toDateTime(s, 0), expected, zone + ": " + s);
+                LocalDateTime shifted = expected.plusMinutes(i % 120);
+                Assert.assertEquals(offsets.toEpochSecond(shifted), shifted.atZone(zoneId).toEpochSecond(),
+                        zone + ": " + shifted);
+            }
+            for (long s : new long[] { ClickHouseZoneOffsets.MIN_SECOND - 1L, ClickHouseZoneOffsets.MIN_SECOND,
+                    ClickHouseZoneOffsets.MAX_SECOND - 1L, ClickHouseZoneOffsets.MAX_SECOND }) {
+                LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(s), zoneId);
+                Assert.assertEquals(offsets.toDateTime(s, 0), expected, zone + ": " + s);
+                Assert.assertEquals(offsets.toEpochSecond(expected), expected.atZone(zoneId).toEpochSecond(),
+                        zone + ": " + expected);
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.clickhouse.data.cache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.clickhouse.data.ClickHouseCache;
 
@@ -37,4 +40,22 @@ public class JdkLruCacheTest {
         m.put("D", "D");
         Assert.assertEquals(map, m);
     }
+
+    @Test(groups = { "unit" })
+    public void testConcurrentAccess() {
+        int capacity = 10;
+        ClickHouseCache<Integer, String> cache = JdkLruCache.create(capacity, String::valueOf);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final int seed = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    int key = (seed * 31 + j) % (capacity * 3);
+                    Assert.assertEquals(cache.get(key), String.valueOf(key));
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        Assert.assertTrue(cache.unwrap(Map.class).size() <= capacity);
+    }
 }
@@ -0,0 +1,244 @@
+package com.clickhouse.data.format;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataProcessor;
+import com.clickhouse.data.ClickHouseDataStreamFactory;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseOutputStream;
+import com.clickhouse.data.ClickHouseRecord;
+import com.clickhouse.data.ClickHouseTestDataConfig;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.value.UnsignedLong;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseJsonEachRowProcessorTest {
+    private static ClickHouseDataConfig newConfig(ClickHouseFormat format) {
+        return new ClickHouseTestDataConfig() {
+            @Override
+            public ClickHouseFormat getFormat() {
+                return format;
+            }
+        };
+    }
+
+    private static ClickHouseDataProcessor newProcessor(ClickHouseFormat format, String data,
+            List<ClickHouseColumn> columns) throws IOException {
+        return ClickHouseDataStreamFactory.getInstance().getProcessor(newConfig(format),
+                ClickHouseInputStream.of(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8))), null,
+                null, columns);
+    }
+
+    private static void check(ClickHouseDataProcessor p, Object[][] expected) {
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            for (int i = 0; i < expected[count].length; i++) {
+                Assert.assertEquals(r.getValue(i).asObject(), expected[count][i], "Row " + count + " column " + i);
+            }
+            count++;
+        }
+        Assert.assertEquals(count, expected.length);
+    }
+
+    @Test(groups = { "unit" })
+    public void testGetProcessor() throws IOException {
+        for (ClickHouseFormat format : new ClickHouseFormat[] { ClickHouseFormat.JSONEachRow,
+                ClickHouseFormat.JSONLines, ClickHouseFormat.NDJSON, ClickHouseFormat.JSONCompactEachRow,
+                ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes }) {
+            Assert.assertEquals(newProcessor(format, "", null).getClass(), ClickHouseJsonEachRowProcessor.class);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadRawRows() throws IOException {
+        ClickHouseDataProcessor p = newProcessor(ClickHouseFormat.JSONEachRow,
+                "{\"1\":1,\"2\":\"a\"}\n\n{\"1\":2,\"2\":\"b\"}\r\n", null);
+        Assert.assertEquals(p.getColumns(), ClickHouseDataProcessor.DEFAULT_COLUMNS);
+        check(p, new Object[][] { { "{\"1\":1,\"2\":\"a\"}" }, { "{\"1\":2,\"2\":\"b\"}" } });
+
+        p = newProcessor(ClickHouseFormat.JSONEachRow, "", null);
+        Assert.assertEquals(p.getColumns().size(), 0);
+        check(p, new Object[0][]);
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadJsonEachRow() throws IOException {
+        String data = "{\"a\":-1,\"b\":\"18446744073709551615\",\"c\":0.1,\"d\":\"x\\ty\\u4e2d\",\"e\":true}\n"
+                // keys in different order, unknown key and missing key
+                + "{\"d\":null,\"x\":{\"y\":[1,\"]\"]},\"a\":2147483647,\"c\":\"-inf\"}\n"
+                + "{ \"a\" : \"0\" , \"b\" : null , \"c\" : 1e-7 , \"d\" : \"\\\"\" , \"e\" : false }";
+        ClickHouseDataProcessor p = newProcessor(ClickHouseFormat.JSONEachRow, data,
+                ClickHouseColumn.parse("a Int32, b Nullable(UInt64), c Float64, d Nullable(String), e Bool"));
+        check(p, new Object[][] {
+                { -1, UnsignedLong.MAX_VALUE, 0.1D, "x\ty中", true },
+                { Integer.MAX_VALUE, null, Double.NEGATIVE_INFINITY, null, false },
+                { 0, null, 1e-7D, "\"", false } });
+
+        // values() requires keys in same order as columns
+        p = newProcessor(ClickHouseFormat.JSONEachRow, "{\"a\":1,\"b\":\"x\"}\n{\"a\":2,\"b\":\"y\"}\n",
+                ClickHouseColumn.parse("a Int8, b String"));
+        StringBuilder builder = new StringBuilder();
+        p.values().forEach(v -> builder.append(v.asString()).append(','));
+        Assert.assertEquals(builder.toString(), "1,x,2,y,");
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadJsonCompactEachRow() throws IOException {
+        String data = "[\"a\", \"b\", \"c\"]\n"
+                + "[\"Array(Array(Nullable(Int16)))\", \"Map(String, Float32)\", \"Tuple(s String, d Decimal(10,2))\"]\n"
+                + "[[[1,null],[]], {\"x\":1.5,\"y\":\"nan\"}, [\"a,b\", 1.23]]\n"
+                + "[[], {}, {\"s\":\"\", \"d\":\"-0.5\"}]\n";
+        ClickHouseDataProcessor p = newProcessor(ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes, data, null);
+        Assert.assertEquals(p.getColumns().toString(),
+                "[a Array(Array(Nullable(Int16))), b Map(String, Float32), c Tuple(s String, d Decimal(10,2))]");
+        Map<String, Float> map = new LinkedHashMap<>();
+        map.put("x", 1.5F);
+        map.put("y", Float.NaN);
+        Object[][] expected = new Object[][] {
+                { new Short[][] { new Short[] { 1, null }, new Short[0] }, map,
+                        Arrays.asList("a,b", new BigDecimal("1.23")) },
+                { new Short[0][], new LinkedHashMap<>(), Arrays.asList("", new BigDecimal("-0.50")) } };
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            Assert.assertEquals(r.getValue(0).asObject(), expected[count][0]);
+            Assert.assertEquals(r.getValue(1).asMap().toString(), expected[count][1].toString());
+            Assert.assertEquals(r.getValue(2).asTuple(), expected[count][2]);
+            count++;
+        }
+        Assert.assertEquals(count, expected.length);
+
+        p = newProcessor(ClickHouseFormat.JSONCompactEachRow, "[1,\"x\"]\n[2,null]\n",
+                ClickHouseColumn.parse("a Int8, b Nullable(String)"));
+        check(p, new Object[][] { { (byte) 1, "x" }, { (byte) 2, null } });
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadNestedContainers() throws IOException {
+        ClickHouseDataProcessor p = newProcessor(ClickHouseFormat.JSONCompactEachRow,
+                "[[[1,2],[3,4]], {\"k\":[2],\"j\":[3]}, [[5,6],[7,8]]]\n[[[9,10],[11,12]], {}, [[],[]]]\n",
+                ClickHouseColumn.parse(
+                        "a Array(Array(Int64)), b Map(String, Array(Int32)), c Tuple(Array(Int8), Array(Int8))"));
+        Object[][] expected = new Object[][] {
+                { new long[][] { { 1L, 2L }, { 3L, 4L } }, "{k=[2], j=[3]}", "[[5, 6], [7, 8]]" },
+                { new long[][] { { 9L, 10L }, { 11L, 12L } }, "{}", "[[], []]" } };
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            Assert.assertEquals(r.getValue(0).asString(), Arrays.deepToString((Object[]) expected[count][0]));
+            Map<Object, Object> map = r.getValue(1).asMap();
+            StringBuilder builder = new StringBuilder().append('{');
+            for (Map.Entry<Object, Object> e : map.entrySet()) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(e.getKey()).append('=').append(Arrays.toString((int[]) e.getValue()));
+            }
+            Assert.assertEquals(builder.append('}').toString(), expected[count][1]);
+            List<Object> tuple = r.getValue(2).asTuple();
+            Assert.assertEquals(
+                    "[" + Arrays.toString((byte[]) tuple.get(0)) + ", " + Arrays.toString((byte[]) tuple.get(1)) + "]",
+                    expected[count][2]);
+            count++;
+        }
+        Assert.assertEquals(count, expected.length);
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadInvalidRow() throws IOException {
+        ClickHouseDataProcessor p = newProcessor(ClickHouseFormat.JSONCompactEachRow, "[1,2\n",
+                ClickHouseColumn.parse("a Int8, b Int8"));
+        Assert.assertThrows(Exception.class, () -> p.records().iterator().next());
+
+        // trailing content after the row
+        for (ClickHouseFormat format : new ClickHouseFormat[] { ClickHouseFormat.JSONEachRow,
+                ClickHouseFormat.JSONCompactEachRow }) {
+            String row = format == ClickHouseFormat.JSONEachRow ? "{\"a\":1} trailing\n" : "[1] trailing\n";
+            ClickHouseDataProcessor p1 = newProcessor(format, row, ClickHouseColumn.parse("a Int8"));
+            Assert.assertThrows(Exception.class, () -> p1.records().iterator().next());
+            ClickHouseDataProcessor p2 = newProcessor(format, row, ClickHouseColumn.parse("a Int8"));
+            Assert.assertThrows(Exception.class, () -> p2.values().iterator().next());
+        }
+
+        // values() must not assign value to a different column
+        ClickHouseDataProcessor p3 = newProcessor(ClickHouseFormat.JSONEachRow, "{\"b\":\"x\",\"a\":1}\n",
+                ClickHouseColumn.parse("a String, b String"));
+        Assert.assertThrows(Exception.class, () -> p3.values().iterator().next());
+        ClickHouseDataProcessor p4 = newProcessor(ClickHouseFormat.JSONEachRow, "{\"a\":1}\n",
+                ClickHouseColumn.parse("a String, b String"));
+        Iterator<ClickHouseValue> it = p4.values().iterator();
+        Assert.assertEquals(it.next().asString(), "1");
+        Assert.assertThrows(Exception.class, () -> it.next());
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> newProcessor(ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes, "Code: 60. DB::Exception\n",
+                        null));
+    }
+
+    @Test(groups = { "unit" })
+    public void testWrite() throws IOException {
+        List<ClickHouseColumn> columns = ClickHouseColumn
+                .parse("a Nullable(String), b Int64, c Float64, d Array(Bool), e Map(String, UInt8), f Tuple(Int8, String)");
+        Map<String, Short> map = new LinkedHashMap<>();
+        map.put("k\"", (short) 255);
+        Object[] values = new Object[] { "a\"\\\n\u0001中", -1L, Double.NaN, new Boolean[] { true, false }, map,
+                Arrays.asList((byte) 1, "x") };
+
+        String[] expected = new String[] {
+                "{\"a\":\"a\\\"\\\\\\n\\u0001中\",\"b\":-1,\"c\":\"nan\",\"d\":[true,false],\"e\":{\"k\\\"\":255},\"f\":[1,\"x\"]}\n"
+                        + "{\"a\":null,\"b\":-1,\"c\":\"nan\",\"d\":[true,false],\"e\":{\"k\\\"\":255},\"f\":[1,\"x\"]}\n",
+                "[\"a\\\"\\\\\\n\\u0001中\",-1,\"nan\",[true,false],{\"k\\\"\":255},[1,\"x\"]]\n"
+                        + "[null,-1,\"nan\",[true,false],{\"k\\\"\":255},[1,\"x\"]]\n",
+                "[\"a\",\"b\",\"c\",\"d\",\"e\",\"f\"]\n"
+                        + "[\"Nullable(String)\",\"Int64\",\"Float64\",\"Array(Bool)\",\"Map(String, UInt8)\",\"Tuple(Int8, String)\"]\n"
+                        + "[\"a\\\"\\\\\\n\\u0001中\",-1,\"nan\",[true,false],{\"k\\\"\":255},[1,\"x\"]]\n"
+                        + "[null,-1,\"nan\",[true,false],{\"k\\\"\":255},[1,\"x\"]]\n" };
+        ClickHouseFormat[] formats = new ClickHouseFormat[] { ClickHouseFormat.JSONEachRow,
+                ClickHouseFormat.JSONCompactEachRow, ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes };
+        for (int k = 0; k < formats.length; k++) {
+            ClickHouseDataConfig config = newConfig(formats[k]);
+            byte[] bytes;
+            try (ByteArrayOutputStream bas = new ByteArrayOutputStream();
+                    ClickHouseOutputStream out = ClickHouseOutputStream.of(bas)) {
+                ClickHouseDataProcessor p = ClickHouseDataStreamFactory.getInstance().getProcessor(config, null,
+                        out, null, columns);
+                for (int i = 0; i < 2; i++) {
+                    for (int j = 0; j < values.length; j++) {
+                        p.write(columns.get(j).newValue(config).update(i == 1 && j == 0 ? null : values[j]));
+                    }
+                }
+                out.flush();
+                bytes = bas.toByteArray();
+            }
+            Assert.assertEquals(new String(bytes, StandardCharsets.UTF_8), expected[k]);
+
+            // round trip
+            ClickHouseDataProcessor p = ClickHouseDataStreamFactory.getInstance().getProcessor(config,
+                    ClickHouseInputStream.of(new ByteArrayInputStream(bytes)), null, null,
+                    k < 2 ? columns : null);
+            int count = 0;
+            for (ClickHouseRecord r : p.records()) {
+                Assert.assertEquals(r.getValue(0).asString(), count == 0 ? values[0] : null);
+                Assert.assertEquals(r.getValue(1).asLong(), -1L);
+                Assert.assertTrue(Double.isNaN(r.getValue(2).asDouble()));
+                Assert.assertEquals(r.getValue(3).asArray(), values[3]);
+                Assert.assertEquals(r.getValue(4).asMap().toString(), "{k\"=255}");
+                Assert.assertEquals(r.getValue(5).asTuple(), values[5]);
+                count++;
+            }
+            Assert.assertEquals(count, 2);
+        }
+    }
+}
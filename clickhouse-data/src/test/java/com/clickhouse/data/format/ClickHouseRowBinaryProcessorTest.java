@@ -2,20 +2,29 @@ package com.clickhouse.data.format;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import com.clickhouse.data.ClickHouseColumn;
 import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataType;
 import com.clickhouse.data.ClickHouseDataProcessor;
+import com.clickhouse.data.ClickHouseDeserializer;
 import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseOutputStream;
 import com.clickhouse.data.ClickHouseTestDataConfig;
@@ -23,10 +32,25 @@ import com.clickhouse.data.ClickHouseValue;
 import com.clickhouse.data.value.array.ClickHouseByteArrayValue;
 import com.clickhouse.data.value.array.ClickHouseShortArrayValue;
 import com.clickhouse.data.value.BaseDataProcessorTest;
+import com.clickhouse.data.value.ClickHouseArrayMap;
 import com.clickhouse.data.value.ClickHouseArrayValue;
+import com.clickhouse.data.value.ClickHouseBigDecimalValue;
+import com.clickhouse.data.value.ClickHouseBigIntegerValue;
+import com.clickhouse.data.value.ClickHouseCompactIpv4Value;
+import com.clickhouse.data.value.ClickHouseCompactIpv6Value;
+import com.clickhouse.data.value.ClickHouseCompactUuidValue;
+import com.clickhouse.data.value.ClickHouseDecimalValue;
+import com.clickhouse.data.value.ClickHouseEpochDateTimeValue;
+import com.clickhouse.data.value.ClickHouseEpochDateValue;
+import com.clickhouse.data.value.ClickHouseGeoShapeValue;
+import com.clickhouse.data.value.ClickHouseIpv4Value;
+import com.clickhouse.data.value.ClickHouseIpv6Value;
 import com.clickhouse.data.value.ClickHouseMapValue;
 import com.clickhouse.data.value.ClickHouseNestedValue;
+import com.clickhouse.data.value.ClickHouseStringValue;
 import com.clickhouse.data.value.ClickHouseTupleValue;
+import com.clickhouse.data.value.ClickHouseUuidValue;
+import com.clickhouse.data.value.ClickHouseWideIntegerValue;
 import com.clickhouse.data.value.UnsignedByte;
 import com.clickhouse.data.value.UnsignedInteger;
 import com.clickhouse.data.value.UnsignedShort;
@@ -418,6 +442,306 @@ public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
         Assert.assertEquals(bas2.toByteArray(), BinaryStreamUtilsTest.generateBytes(1, 3, 1, 0, 1));
     }
 
+    @Test(groups = { "unit" })
+    public void testLazyString() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        ClickHouseColumn column = ClickHouseColumn.of("s", "String");
+        byte[] bytes = new byte[] { 4, 0x61, (byte) 0xC3, (byte) 0xA7, 0x62 };
+        ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseStringValue);
+        Assert.assertTrue(((ClickHouseStringValue) value).isLazy());
+
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), bytes);
+        Assert.assertTrue(((ClickHouseStringValue) value).isLazy());
+        Assert.assertEquals(value.asString(), "a\u00e7b");
+    }
+
+    @Test(groups = { "unit" })
+    public void testUnscaledDecimal() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        ClickHouseColumn column = ClickHouseColumn.of("d", "Decimal64(4)");
+        byte[] bytes = new byte[] { 0x39, 0x30, 0, 0, 0, 0, 0, 0 };
+        ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseDecimalValue);
+        Assert.assertTrue(((ClickHouseDecimalValue) value).isCompact());
+        Assert.assertEquals(((ClickHouseDecimalValue) value).asUnscaledLong(), 12345L);
+        Assert.assertEquals(value.asBigDecimal(), new BigDecimal("1.2345"));
+
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        // same as BigDecimal
+        serialize(value.copy().update(new BigDecimal("1.2345")), config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), new byte[] { 0x39, 0x30, 0, 0, 0, 0, 0, 0, 0x39, 0x30, 0, 0, 0, 0, 0, 0 });
+
+        column = ClickHouseColumn.of("d", "Decimal(9,2)");
+        bytes = new byte[] { (byte) 0xC7, (byte) 0xCF, (byte) 0xFF, (byte) 0xFF };
+        value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseDecimalValue);
+        Assert.assertEquals(((ClickHouseDecimalValue) value).asUnscaledLong(), -12345L);
+        Assert.assertEquals(value.asDouble(), -123.45D);
+
+        bas = new ByteArrayOutputStream();
+        out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), bytes);
+
+        ClickHouseColumn c = column;
+        ClickHouseOutputStream o = out;
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(ClickHouseDecimalValue.of(1000000001L, 2), config, c, o));
+    }
+
+    @Test(groups = { "unit" })
+    public void testEpochDateTime() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public boolean isUseEpochTime() {
+                return true;
+            }
+        };
+
+        ClickHouseColumn column = ClickHouseColumn.of("d", "Date");
+        byte[] bytes = new byte[] { 0x0A, 0 };
+        ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseEpochDateValue);
+        Assert.assertEquals(((ClickHouseEpochDateValue) value).asEpochDay(), 10);
+        Assert.assertEquals(value.asObject(), LocalDate.of(1970, 1, 11));
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), bytes);
+
+        column = ClickHouseColumn.of("d", "DateTime('Asia/Shanghai')");
+        bytes = new byte[] { 0x10, 0x0E, 0, 0 };
+        value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseEpochDateTimeValue);
+        Assert.assertEquals(((ClickHouseEpochDateTimeValue) value).asEpochSecond(), 3600L);
+        Assert.assertEquals(value.asObject(), LocalDateTime.of(1970, 1, 1, 9, 0, 0));
+        bas = new ByteArrayOutputStream();
+        out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        // same as LocalDateTime
+        serialize(ClickHouseEpochDateTimeValue.ofNull(0, column.getTimeZone())
+                .update(LocalDateTime.of(1970, 1, 1, 9, 0, 0)), config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), new byte[] { 0x10, 0x0E, 0, 0, 0x10, 0x0E, 0, 0 });
+
+        column = ClickHouseColumn.of("d", "DateTime64(3)");
+        bytes = new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF };
+        value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+        Assert.assertTrue(value instanceof ClickHouseEpochDateTimeValue);
+        Assert.assertEquals(((ClickHouseEpochDateTimeValue) value).asTicks(), -1L);
+        Assert.assertEquals(value.asObject(), LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999000000));
+        bas = new ByteArrayOutputStream();
+        out = ClickHouseOutputStream.of(bas);
+        serialize(value, config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), bytes);
+
+        // different scale
+        bas = new ByteArrayOutputStream();
+        out = ClickHouseOutputStream.of(bas);
+        serialize(ClickHouseEpochDateTimeValue.of(-1L, 6, null), config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), bytes);
+    }
+
+    @Test(groups = { "unit" })
+    public void testWideInteger() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        byte[] bytes = new byte[16];
+        Arrays.fill(bytes, (byte) 0xFF);
+        bytes[0] = (byte) 0xFE;
+        for (String type : new String[] { "Int128", "UInt128", "Int256", "UInt256", "Decimal128(2)",
+                "Decimal(76,2)" }) {
+            ClickHouseColumn column = ClickHouseColumn.of("i", type);
+            byte[] b = Arrays.copyOf(bytes, column.getDataType().getByteLength() > 0
+                    ? column.getDataType().getByteLength()
+                    : 32);
+            Arrays.fill(b, bytes.length, b.length, (byte) 0xFF);
+            ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(b));
+            Assert.assertTrue(value instanceof ClickHouseWideIntegerValue, type);
+            Assert.assertEquals(((ClickHouseWideIntegerValue) value).getLimb(0), -2L, type);
+            Assert.assertEquals(value.asObject(), type.startsWith("U")
+                    ? BigInteger.ONE.shiftLeft(b.length * 8).subtract(BigInteger.valueOf(2L))
+                    : (type.startsWith("D") ? new BigDecimal("-0.02") : BigInteger.valueOf(-2L)), type);
+
+            ByteArrayOutputStream bas = new ByteArrayOutputStream();
+            ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+            serialize(value, config, column, out);
+            // same as BigInteger or BigDecimal
+            serialize(type.startsWith("D") ? ClickHouseBigDecimalValue.of(value.asBigDecimal())
+                    : ClickHouseBigIntegerValue.of(value.asBigInteger()), config, column, out);
+            out.flush();
+            byte[] expected = Arrays.copyOf(b, b.length * 2);
+            System.arraycopy(b, 0, expected, b.length, b.length);
+            Assert.assertEquals(bas.toByteArray(), expected, type);
+        }
+
+        ClickHouseColumn column = ClickHouseColumn.of("i", "UInt128");
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.UInt128, 0).update(-1L), config,
+                        column, ClickHouseOutputStream.of(new ByteArrayOutputStream())));
+
+        // decimal limbs out of precision must be rejected like BigDecimal
+        ClickHouseColumn decimal = ClickHouseColumn.of("d", "Decimal128(0)");
+        ClickHouseWideIntegerValue max = ClickHouseWideIntegerValue.of(ClickHouseDataType.Decimal128, 0,
+                BigInteger.TEN.pow(38).subtract(BigInteger.ONE));
+        serialize(max, config, decimal, ClickHouseOutputStream.of(new ByteArrayOutputStream()));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(max.copy(true).add(max), config, decimal,
+                        ClickHouseOutputStream.of(new ByteArrayOutputStream())));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, 0).updateLimbs(0L,
+                        Long.MAX_VALUE), config, decimal, ClickHouseOutputStream.of(new ByteArrayOutputStream())));
+    }
+
+    @Test(groups = { "unit" })
+    public void testGeoShape() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        double[][] ring = new double[][] { { 1D, 2D }, { -3.5D, 4D }, { 5D, -6.25D } };
+        double[][][] polygon = new double[][][] { ring, new double[0][], { { 7D, 8D } } };
+        double[][][][] multiPolygon = new double[][][][] { polygon, new double[0][][], { ring } };
+        for (Object v : new Object[] { ring, polygon, multiPolygon }) {
+            ByteArrayOutputStream bas = new ByteArrayOutputStream();
+            ClickHouseColumn column;
+            if (v instanceof double[][][][]) {
+                column = ClickHouseColumn.of("g", "MultiPolygon");
+                BinaryStreamUtils.writeGeoMultiPolygon(bas, (double[][][][]) v);
+            } else if (v instanceof double[][][]) {
+                column = ClickHouseColumn.of("g", "Polygon");
+                BinaryStreamUtils.writeGeoPolygon(bas, (double[][][]) v);
+            } else {
+                column = ClickHouseColumn.of("g", "Ring");
+                BinaryStreamUtils.writeGeoRing(bas, (double[][]) v);
+            }
+            byte[] bytes = bas.toByteArray();
+
+            ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+            Assert.assertTrue(value instanceof ClickHouseGeoShapeValue, column.getOriginalTypeName());
+            Assert.assertEquals(value.asObject(), v);
+
+            bas = new ByteArrayOutputStream();
+            ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+            serialize(value, config, column, out);
+            out.flush();
+            Assert.assertEquals(bas.toByteArray(), bytes, column.getOriginalTypeName());
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testCompactValues() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        ClickHouseValue[] values = new ClickHouseValue[] {
+                ClickHouseIpv4Value.of((Inet4Address) InetAddress.getByName("192.168.1.254")),
+                ClickHouseIpv6Value.of((Inet6Address) InetAddress.getByName("2001:db8::ff00:42:8329")),
+                ClickHouseUuidValue.of(UUID.fromString("f81d4fae-7dec-11d0-a765-00a0c91e6bf6")) };
+        String[] types = new String[] { "IPv4", "IPv6", "UUID" };
+        Class<?>[] classes = new Class<?>[] { ClickHouseCompactIpv4Value.class, ClickHouseCompactIpv6Value.class,
+                ClickHouseCompactUuidValue.class };
+        for (int i = 0; i < types.length; i++) {
+            ClickHouseColumn column = ClickHouseColumn.of("c", types[i]);
+            ByteArrayOutputStream bas = new ByteArrayOutputStream();
+            ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+            serialize(values[i], config, column, out);
+            out.flush();
+            byte[] bytes = bas.toByteArray();
+
+            ClickHouseValue value = deserialize(null, config, column, ClickHouseInputStream.of(bytes));
+            Assert.assertEquals(value.getClass(), classes[i], types[i]);
+            Assert.assertEquals(value.asObject(), values[i].asObject(), types[i]);
+            Assert.assertEquals(value.asString(), values[i].asString(), types[i]);
+
+            bas = new ByteArrayOutputStream();
+            out = ClickHouseOutputStream.of(bas);
+            serialize(value, config, column, out);
+            out.flush();
+            Assert.assertEquals(bas.toByteArray(), bytes, types[i]);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReuseValueContainer() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public boolean isReuseValueContainer() {
+                return true;
+            }
+        };
+
+        ClickHouseColumn column = ClickHouseColumn.of("t", "Tuple(String, UInt8)");
+        ClickHouseInputStream in = BinaryStreamUtilsTest.generateInput(1, 0x61, 1, 1, 0x62, 2);
+        ClickHouseDeserializer d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        ClickHouseValue value = d.deserialize(column.newValue(config), in);
+        List<Object> tuple = value.asTuple();
+        Assert.assertEquals(tuple, Arrays.asList("a", UnsignedByte.ONE));
+        Assert.assertSame(d.deserialize(value, in).asTuple(), tuple);
+        Assert.assertEquals(tuple, Arrays.asList("b", UnsignedByte.valueOf((byte) 2)));
+
+        column = ClickHouseColumn.of("m", "Map(String, Int64)");
+        in = BinaryStreamUtilsTest.generateInput(1, 1, 0x61, 1, 0, 0, 0, 0, 0, 0, 0, 2, 1, 0x62, 2, 0, 0, 0, 0, 0, 0,
+                0, 1, 0x63, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF);
+        d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        value = d.deserialize(column.newValue(config), in);
+        Assert.assertTrue(value instanceof ClickHouseMapValue);
+        ClickHouseArrayMap map = (ClickHouseArrayMap) value.asObject();
+        Assert.assertEquals(map, Collections.singletonMap("a", 1L));
+        Assert.assertSame(d.deserialize(value, in).asObject(), map);
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("b", 2L);
+        expected.put("c", -1L);
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(map.getLong(1), -1L);
+
+        column = ClickHouseColumn.of("n", "Nested(a UInt8)");
+        in = BinaryStreamUtilsTest.generateInput(1, 1, 2, 2, 3);
+        d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        value = d.deserialize(column.newValue(config), in);
+        Object[] array = value.asArray();
+        Assert.assertEquals(((Object[]) array[0]).length, 1);
+        Assert.assertSame(d.deserialize(value, in).asArray(), array);
+        Assert.assertEquals(((Object[]) array[0]).length, 2);
+
+        // nested composite values must not share container
+        column = ClickHouseColumn.of("a", "Array(Tuple(UInt8))");
+        in = BinaryStreamUtilsTest.generateInput(2, 1, 2);
+        d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        array = d.deserialize(column.newValue(config), in).asArray();
+        Assert.assertEquals(array, new Object[] { Arrays.asList(UnsignedByte.ONE),
+                Arrays.asList(UnsignedByte.valueOf((byte) 2)) });
+
+        column = ClickHouseColumn.of("m", "Map(String, Tuple(UInt8))");
+        in = BinaryStreamUtilsTest.generateInput(2, 1, 0x61, 1, 1, 0x62, 2);
+        d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        Map<String, Object> expectedTuples = new LinkedHashMap<>();
+        expectedTuples.put("a", Arrays.asList(UnsignedByte.ONE));
+        expectedTuples.put("b", Arrays.asList(UnsignedByte.valueOf((byte) 2)));
+        Assert.assertEquals(d.deserialize(column.newValue(config), in).asObject(), expectedTuples);
+
+        column = ClickHouseColumn.of("t", "Tuple(Array(Tuple(UInt8)), Map(UInt8, Map(UInt8, UInt8)))");
+        in = BinaryStreamUtilsTest.generateInput(2, 1, 2, 2, 1, 1, 1, 1, 2, 1, 2, 2);
+        d = getDataProcessor(config, column, in, null).getDeserializer(config, column);
+        tuple = d.deserialize(column.newValue(config), in).asTuple();
+        Assert.assertEquals((Object[]) tuple.get(0), new Object[] { Arrays.asList(UnsignedByte.ONE),
+                Arrays.asList(UnsignedByte.valueOf((byte) 2)) });
+        Map<Object, Object> inner1 = Collections.singletonMap(UnsignedByte.ONE, UnsignedByte.ONE);
+        Map<Object, Object> inner2 = Collections.singletonMap(UnsignedByte.valueOf((byte) 2),
+                UnsignedByte.valueOf((byte) 2));
+        Map<Object, Object> outer = new LinkedHashMap<>();
+        outer.put(UnsignedByte.ONE, inner1);
+        outer.put(UnsignedByte.valueOf((byte) 2), inner2);
+        Assert.assertEquals(tuple.get(1), outer);
+    }
+
     @Test(groups = { "unit" })
     public void testDeserializeMap() throws IOException {
         ClickHouseDataConfig config = new ClickHouseTestDataConfig();
@@ -554,4 +878,96 @@ public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
                 BinaryStreamUtilsTest.generateBytes(1, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0,
                         0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0x05, 0xa8, 0xc0));
     }
+
+    static class TestProcessor extends ClickHouseRowBinaryProcessor {
+        TestProcessor(ClickHouseDataConfig config, String columns) throws IOException {
+            super(config, BinaryStreamUtilsTest.generateInput(1), null, ClickHouseColumn.parse(columns), null);
+        }
+
+        boolean isShared(TestProcessor p, int index) {
+            return deserializers[index] == p.deserializers[index];
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testCachedDeserializers() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig();
+        String columns = "a Int32, b Nullable(DateTime64(3, 'Asia/Chongqing')), c Array(String), d Decimal64(2)";
+        TestProcessor p1 = new TestProcessor(config, columns);
+        TestProcessor p2 = new TestProcessor(config,
+                "x Int32, y Nullable(DateTime64(3, 'Asia/Chongqing')), z Array(String), d Decimal64(2)");
+        Assert.assertTrue(p1.isShared(p2, 0));
+        Assert.assertTrue(p1.isShared(p2, 1));
+        Assert.assertFalse(p1.isShared(p2, 2), "Composite deserializer should never be shared");
+        Assert.assertTrue(p1.isShared(p2, 3));
+
+        // different configuration means different plan
+        TestProcessor p3 = new TestProcessor(new ClickHouseTestDataConfig() {
+            @Override
+            public boolean isUseBinaryString() {
+                return true;
+            }
+        }, columns);
+        Assert.assertFalse(p1.isShared(p3, 1));
+    }
+
+    @Test(groups = { "unit" })
+    public void testStringDictionary() throws IOException {
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public int getStringDictionarySize() {
+                return 2;
+            }
+        };
+        TestProcessor p = new TestProcessor(config, "a String, b LowCardinality(String)");
+        Assert.assertTrue(p.isShared(new TestProcessor(config, "a String, b LowCardinality(String)"), 0));
+        Assert.assertFalse(p.isShared(new TestProcessor(config, "a String, b LowCardinality(String)"), 1),
+                "Dictionary should never be shared");
+        Assert.assertFalse(p.getDeserializer(config, ClickHouseColumn.of("a", "String"))
+                instanceof BinaryDataProcessor.StringDictionary);
+        Assert.assertFalse(p.getDeserializer(new ClickHouseTestDataConfig(),
+                ClickHouseColumn.of("a", "LowCardinality(String)")) instanceof BinaryDataProcessor.StringDictionary);
+        Assert.assertTrue(p.getDeserializer(config, ClickHouseColumn.of("a", "LowCardinality(String)"))
+                instanceof BinaryDataProcessor.StringDictionary);
+        Assert.assertTrue(p.getDeserializer(new ClickHouseTestDataConfig() {
+            @Override
+            public int getStringDictionarySize() {
+                return 2;
+            }
+
+            @Override
+            public Set<String> getStringDictionaryColumns() {
+                return Collections.singleton("a");
+            }
+        }, ClickHouseColumn.of("a", "String")) instanceof BinaryDataProcessor.StringDictionary);
+
+        BinaryDataProcessor.StringDictionary dict = new BinaryDataProcessor.StringDictionary(2);
+        ClickHouseInputStream input = BinaryStreamUtilsTest.generateInput(1, 0x61, 1, 0x62, 1, 0x63, 1, 0x61, 0,
+                1, 0x63, 1, 0x62);
+        ClickHouseValue v = ClickHouseStringValue.ofNull();
+        String a = dict.deserialize(v, input).asString();
+        String b = dict.deserialize(v, input).asString();
+        Assert.assertEquals(dict.deserialize(v, input).asString(), "c");
+        Assert.assertEquals(dict.size(), 2);
+        Assert.assertSame(dict.deserialize(v, input).asString(), a);
+        Assert.assertEquals(dict.deserialize(v, input).asString(), "");
+        Assert.assertEquals(dict.deserialize(v, input).asString(), "c");
+        Assert.assertSame(dict.deserialize(v, input).asString(), b);
+        Assert.assertEquals(a, "a");
+        Assert.assertEquals(b, "b");
+
+        // disabled due to poor hit ratio
+        dict = new BinaryDataProcessor.StringDictionary(1000);
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        for (int i = 0; i < 4000; i++) {
+            out.writeUnicodeString(String.valueOf(i));
+        }
+        out.flush();
+        input = ClickHouseInputStream.of(bas.toByteArray());
+        for (int i = 0; i < 4000; i++) {
+            Assert.assertEquals(dict.deserialize(v, input).asString(), String.valueOf(i));
+        }
+        Assert.assertFalse(dict.isEnabled());
+    }
 }
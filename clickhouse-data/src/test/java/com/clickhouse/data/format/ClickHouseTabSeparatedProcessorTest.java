@@ -1,11 +1,15 @@
 package com.clickhouse.data.format;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -186,6 +190,87 @@ public class ClickHouseTabSeparatedProcessorTest extends BaseDataProcessorTest {
         Assert.assertEquals(count, rows);
     }
 
+    @Test(groups = { "unit" })
+    public void testReadTypedFields() throws IOException {
+        String result = "a\tb\tc\td\n"
+                + "Int32\tNullable(UInt64)\tFloat64\tString\n"
+                + "-1\t18446744073709551615\t0.1\tx\\ty\n"
+                + "2147483647\t\\N\t-1e300\t\\N\n"
+                + "0\t1\t1e-7\t\u4e2d\u6587\n";
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public ClickHouseFormat getFormat() {
+                return ClickHouseFormat.TabSeparatedWithNamesAndTypes;
+            }
+        };
+        ClickHouseTabSeparatedProcessor p = new ClickHouseTabSeparatedProcessor(config,
+                ClickHouseInputStream.of(new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8))), null,
+                null, null);
+        Assert.assertEquals(p.getColumns().toString(), "[a Int32, b Nullable(UInt64), c Float64, d String]");
+        Object[][] expected = new Object[][] {
+                { -1, UnsignedLong.MAX_VALUE, 0.1D, "x\ty" },
+                { Integer.MAX_VALUE, null, -1e300D, null },
+                { 0, UnsignedLong.ONE, 1e-7D, "\u4e2d\u6587" } };
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            for (int i = 0; i < expected[count].length; i++) {
+                Assert.assertEquals(r.getValue(i).asObject(), expected[count][i]);
+            }
+            count++;
+        }
+        Assert.assertEquals(count, expected.length);
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadTsvRaw() throws IOException {
+        String result = "a\tb\nx\\ty\t1\n\\N\t2\n";
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public ClickHouseFormat getFormat() {
+                return ClickHouseFormat.TabSeparatedRawWithNames;
+            }
+        };
+        ClickHouseTabSeparatedProcessor p = new ClickHouseTabSeparatedProcessor(config,
+                ClickHouseInputStream.of(new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8))), null,
+                null, null);
+        Assert.assertEquals(p.getColumns().size(), 2);
+        Object[][] expected = new Object[][] { { "x\\ty", "1" }, { null, "2" } };
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            for (int i = 0; i < expected[count].length; i++) {
+                Assert.assertEquals(r.getValue(i).asObject(), expected[count][i]);
+            }
+            count++;
+        }
+        Assert.assertEquals(count, expected.length);
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadShortRow() throws IOException {
+        String result = "a\tb\tc\nInt32\tString\tString\n1\tx\ty\n2\tz\n";
+        ClickHouseDataConfig config = new ClickHouseTestDataConfig() {
+            @Override
+            public ClickHouseFormat getFormat() {
+                return ClickHouseFormat.TabSeparatedWithNamesAndTypes;
+            }
+        };
+        ClickHouseTabSeparatedProcessor p = new ClickHouseTabSeparatedProcessor(config,
+                ClickHouseInputStream.of(new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8))), null,
+                null, null);
+        Iterator<ClickHouseRecord> it = p.records().iterator();
+        Assert.assertTrue(it.hasNext());
+        ClickHouseRecord r = it.next();
+        Assert.assertEquals(r.getValue(0).asInteger(), 1);
+        Assert.assertEquals(r.getValue(2).asString(), "y");
+        Assert.assertTrue(it.hasNext());
+        try {
+            it.next();
+            Assert.fail("Should fail on row with missing columns");
+        } catch (UncheckedIOException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "Expect 3 columns but got only 2");
+        }
+    }
+
     @Test(groups = { "unit" })
     public void testWriteTsv() throws IOException {
         List<ClickHouseColumn> list = ClickHouseColumn.parse("a String, b Nullable(Int32)");
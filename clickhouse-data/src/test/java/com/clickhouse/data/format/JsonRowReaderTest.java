@@ -0,0 +1,103 @@
+package com.clickhouse.data.format;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class JsonRowReaderTest {
+    private static JsonRowReader newReader(String row) {
+        byte[] bytes = ("  " + row + "  ").getBytes(StandardCharsets.UTF_8);
+        JsonRowReader reader = new JsonRowReader();
+        return reader.reset(bytes, 2, bytes.length - 2);
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadString() throws IOException {
+        Assert.assertEquals(newReader("\"\"").readString(), "");
+        Assert.assertEquals(newReader("\"0123456789abcdef\"").readString(), "0123456789abcdef");
+        Assert.assertEquals(newReader("\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\"").readString(), "a\"b\\c/d\b\f\n\r\t");
+        Assert.assertEquals(newReader("\"\\u4e2d\\u6587\\ud83d\\ude00\u00e9\"").readString(),
+                "\u4e2d\u6587\ud83d\ude00\u00e9");
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("\\n").append(i);
+        }
+        Assert.assertEquals(newReader("\"" + builder + "\"").readString(), builder.toString().replace("\\n", "\n"));
+
+        Assert.assertThrows(IOException.class, () -> newReader("\"abc").readString());
+        Assert.assertThrows(IOException.class, () -> newReader("\"\\u12\"").readString());
+        Assert.assertThrows(IOException.class, () -> newReader("abc").readString());
+    }
+
+    @Test(groups = { "unit" })
+    public void testConsume() throws IOException {
+        JsonRowReader reader = newReader("{ \"key\" : null , \"k\\u0065y\":1}");
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+        Assert.assertFalse(reader.consume('['));
+        reader.expect('{');
+        Assert.assertFalse(reader.consumeString("ke".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(reader.consumeString(key));
+        reader.expect(':');
+        Assert.assertTrue(reader.consumeNull());
+        reader.expect(',');
+        Assert.assertFalse(reader.consumeString(key));
+        Assert.assertEquals(reader.readString(), "key");
+        reader.expect(':');
+        Assert.assertFalse(reader.consumeNull());
+        Assert.assertEquals(reader.readLong(), 1L);
+        reader.expect('}');
+        Assert.assertTrue(reader.isEnd());
+        Assert.assertThrows(IOException.class, () -> reader.expect('}'));
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadNumbers() throws IOException {
+        Assert.assertEquals(newReader("-9223372036854775808").readLong(), Long.MIN_VALUE);
+        Assert.assertEquals(newReader("\"123\"").readLong(), 123L);
+        JsonRowReader reader = newReader("18446744073709551615");
+        Assert.assertThrows(NumberFormatException.class, () -> reader.readLong());
+        Assert.assertEquals(reader.readText(), "18446744073709551615");
+
+        Assert.assertEquals(newReader("-0.125").readDouble(), -0.125D);
+        Assert.assertEquals(newReader("1.7976931348623157e308").readDouble(), Double.MAX_VALUE);
+        Assert.assertEquals(newReader("\"inf\"").readDouble(), Double.POSITIVE_INFINITY);
+        Assert.assertEquals(newReader("\"-inf\"").readDouble(), Double.NEGATIVE_INFINITY);
+        Assert.assertTrue(Double.isNaN(newReader("\"nan\"").readDouble()));
+        Assert.assertThrows(NumberFormatException.class, () -> newReader("\"x\"").readDouble());
+
+        Assert.assertTrue(newReader("true").readBoolean());
+        Assert.assertFalse(newReader("\"0\"").readBoolean());
+        Assert.assertThrows(IOException.class, () -> newReader("yes").readBoolean());
+    }
+
+    @Test(groups = { "unit" })
+    public void testSkipValue() throws IOException {
+        JsonRowReader reader = newReader("[1, \"a,]\\\"\", {\"b\":[{}, \"}\"]}, [], null,-1.5e3]");
+        Assert.assertEquals(reader.countElements(), 6);
+        int position = reader.getPosition();
+        reader.skipValue();
+        Assert.assertTrue(reader.isEnd());
+
+        reader.setPosition(position);
+        reader.expect('[');
+        Assert.assertEquals(reader.readText(), "1");
+        reader.expect(',');
+        Assert.assertEquals(reader.readText(), "a,]\"");
+        reader.expect(',');
+        Assert.assertEquals(reader.readText(), "{\"b\":[{}, \"}\"]}");
+        reader.expect(',');
+        Assert.assertEquals(reader.countElements(), 0);
+        reader.skipValue();
+        reader.expect(',');
+        Assert.assertTrue(reader.consumeNull());
+        reader.expect(',');
+        Assert.assertEquals(reader.readText(), "-1.5e3");
+        reader.expect(']');
+        Assert.assertTrue(reader.isEnd());
+
+        Assert.assertThrows(IOException.class, () -> newReader("[1,[2]").skipValue());
+        Assert.assertThrows(IOException.class, () -> newReader(",").skipValue());
+    }
+}
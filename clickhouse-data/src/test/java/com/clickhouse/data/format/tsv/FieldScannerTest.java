@@ -0,0 +1,105 @@
+package com.clickhouse.data.format.tsv;
+
+import java.nio.charset.StandardCharsets;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FieldScannerTest {
+    private static byte[] toBytes(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test(groups = { "unit" })
+    public void testMatch() {
+        long p = FieldScanner.pattern((byte) '\t');
+        Assert.assertEquals(p, 0x0909090909090909L);
+        Assert.assertEquals(FieldScanner.match(0L, p), 0L);
+        Assert.assertEquals(FieldScanner.match(0x0909000000000009L, p), 0x8080000000000080L);
+        // no false positive on bytes next to a match
+        Assert.assertEquals(FieldScanner.match(0x0A09080100FF8909L, p), 0x0080000000000080L);
+        Assert.assertEquals(FieldScanner.match(-1L, FieldScanner.pattern((byte) 0xFF)), 0x8080808080808080L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testIndexOf() {
+        for (int len = 0; len < 40; len++) {
+            byte[] bytes = new byte[len];
+            for (int i = 0; i < len; i++) {
+                bytes[i] = (byte) ('a' + i % 26);
+            }
+            Assert.assertEquals(FieldScanner.indexOf(bytes, 0, len, (byte) '\t'), -1);
+            for (int i = 0; i < len; i++) {
+                byte b = bytes[i];
+                bytes[i] = '\t';
+                Assert.assertEquals(FieldScanner.indexOf(bytes, 0, len, (byte) '\t'), i);
+                Assert.assertEquals(FieldScanner.indexOf(bytes, 0, len, (byte) '\n', (byte) '\t'), i);
+                Assert.assertEquals(FieldScanner.indexOf(bytes, 0, len, (byte) '\n', (byte) '\\', (byte) '\t'), i);
+                Assert.assertEquals(FieldScanner.indexOf(bytes, i + 1, len, (byte) '\t'), -1);
+                Assert.assertEquals(FieldScanner.indexOf(bytes, 0, i, (byte) '\t'), -1);
+                bytes[i] = b;
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testIndexOfUnescaped() {
+        byte[] bytes = toBytes("a\\\nbcdefghijk\\\\\nxyz");
+        Assert.assertEquals(FieldScanner.indexOfUnescaped(bytes, 0, bytes.length, (byte) '\n', (byte) 0), 2);
+        Assert.assertEquals(FieldScanner.indexOfUnescaped(bytes, 0, bytes.length, (byte) '\n', (byte) '\\'), 15);
+        Assert.assertEquals(FieldScanner.indexOfUnescaped(bytes, 0, 15, (byte) '\n', (byte) '\\'), -1);
+        Assert.assertEquals(
+                FieldScanner.indexOfUnescaped(bytes, 0, bytes.length, (byte) '\t', (byte) '\n', (byte) '\\'), 15);
+        Assert.assertEquals(FieldScanner.indexOfUnescaped(bytes, 0, 1, (byte) '\n', (byte) '\\'), -1);
+    }
+
+    @Test(groups = { "unit" })
+    public void testUnescape() {
+        byte[] bytes = toBytes("a\\tb\\nc\\\\d\\'e\\0\\a\\");
+        byte[] target = new byte[bytes.length];
+        int len = FieldScanner.unescape(bytes, 0, bytes.length, target);
+        Assert.assertEquals(new String(target, 0, len, StandardCharsets.UTF_8), "a\tb\nc\\d'e\0a\\");
+
+        bytes = toBytes("中文");
+        Assert.assertEquals(FieldScanner.unescape(bytes, 0, bytes.length, target), bytes.length);
+    }
+
+    @Test(groups = { "unit" })
+    public void testParseLong() {
+        for (String s : new String[] { "0", "-0", "+1", "-1", "123456789", "9223372036854775807",
+                "-9223372036854775808", "00000000000000000001" }) {
+            byte[] bytes = toBytes(s);
+            if (bytes.length > 19 + (s.charAt(0) == '-' ? 1 : 0)) {
+                Assert.assertThrows(NumberFormatException.class,
+                        () -> FieldScanner.parseLong(bytes, 0, bytes.length));
+            } else {
+                Assert.assertEquals(FieldScanner.parseLong(bytes, 0, bytes.length), Long.parseLong(s), s);
+            }
+        }
+
+        for (String s : new String[] { "", "-", "+", "1a", " 1", "9223372036854775808", "-9223372036854775809",
+                "18446744073709551615", "99999999999999999999", "1.0" }) {
+            byte[] bytes = toBytes(s);
+            Assert.assertThrows(NumberFormatException.class, () -> FieldScanner.parseLong(bytes, 0, bytes.length));
+        }
+
+        byte[] bytes = toBytes("1\t-23\t");
+        Assert.assertEquals(FieldScanner.parseLong(bytes, 2, 5), -23L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testParseDouble() {
+        for (String s : new String[] { "0", "-0", "1", "-1.5", "0.1", "3.141592653589", "123456789012345",
+                "0.000123", "100.", ".5", "1234567.890123" }) {
+            byte[] bytes = toBytes(s);
+            Assert.assertEquals(FieldScanner.parseDouble(bytes, 0, bytes.length), Double.parseDouble(s), s);
+        }
+        Assert.assertEquals(1D / FieldScanner.parseDouble(toBytes("-0"), 0, 2), Double.NEGATIVE_INFINITY);
+
+        for (String s : new String[] { "", "-", ".", "nan", "inf", "-inf", "1e10", "1.2.3", "1234567890123456",
+                "0.12345678901234567", "0.00000000000000000000001" }) {
+            byte[] bytes = toBytes(s);
+            Assert.assertTrue(Double.isNaN(FieldScanner.parseDouble(bytes, 0, bytes.length)), s);
+        }
+    }
+}
@@ -31,6 +31,16 @@ public class Lz4InputStreamTest {
         return new ByteArrayInputStream(result);
     }
 
+    private String readString(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] bytes = new byte[1025];
+        int len = 0;
+        while ((len = in.read(bytes)) != -1) {
+            out.write(bytes, 0, len);
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
     @DataProvider(name = "samples")
     private Object[][] getSamples() {
         return new Object[][] { { "", 0 }, { "test", 100000 }, { "萌萌哒", 1024 * 1024 },
@@ -192,4 +202,54 @@ public class Lz4InputStreamTest {
             Assert.assertEquals(new String(buf, 0, read), sb.toString());
         }
     }
+
+    @Test(groups = { "unit" })
+    public void testChecksumVerification() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        byte[] result = null;
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                Lz4OutputStream outputStream = new Lz4OutputStream(baos, 1024, null)) {
+            for (int i = 0; i < 10000; i++) {
+                outputStream.write(("test" + i).getBytes(StandardCharsets.US_ASCII));
+                sb.append("test").append(i);
+            }
+            outputStream.flush();
+            result = baos.toByteArray();
+        }
+
+        int[][] modes = new int[][] { { 1, 0 }, { 1, 1 }, { 3, 0 }, { 3, 1 }, { 0, 0 }, { 0, 1 } };
+        for (int[] mode : modes) {
+            try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(result), mode[0],
+                    mode[1] == 1, null)) {
+                Assert.assertEquals(readString(in), sb.toString());
+            }
+        }
+
+        // only checksum of the first block is corrupted, so decompression still works
+        byte[] corrupted = result.clone();
+        corrupted[0] ^= 0x01;
+        for (int[] mode : modes) {
+            try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(corrupted), mode[0],
+                    mode[1] == 1, null)) {
+                if (mode[0] > 0) {
+                    Assert.assertThrows(IOException.class, () -> readString(in));
+                } else {
+                    Assert.assertEquals(readString(in), sb.toString());
+                }
+            }
+        }
+
+        // malformed block must be rejected even when it's not verified before
+        // decompression
+        byte[] malformed = result.clone();
+        malformed[21]++;
+        for (int[] mode : modes) {
+            Assert.assertThrows(IOException.class, () -> {
+                try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(malformed), mode[0],
+                        mode[1] == 1, null)) {
+                    readString(in);
+                }
+            });
+        }
+    }
 }
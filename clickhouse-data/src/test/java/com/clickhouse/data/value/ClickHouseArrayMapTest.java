@@ -0,0 +1,75 @@
+package com.clickhouse.data.value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseArrayMapTest {
+    @Test(groups = { "unit" })
+    public void testObjectValues() {
+        ClickHouseArrayMap map = ClickHouseArrayMap.of(String.class);
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(map, Collections.emptyMap());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> map.getKey(0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> map.getLong(0));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> map.put("a", "b"));
+
+        for (int i = 0; i < 20; i++) {
+            map.add(i, ClickHouseStringValue.of(String.valueOf(i)));
+        }
+        Assert.assertEquals(map.size(), 20);
+        Assert.assertEquals(map.indexOf(19), 19);
+        Assert.assertEquals(map.indexOf(20), -1);
+        Assert.assertEquals(map.get(15), "15");
+        Assert.assertNull(map.get("15"));
+        Assert.assertTrue(map.containsKey(0));
+
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            expected.put(i, String.valueOf(i));
+        }
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(map.hashCode(), expected.hashCode());
+
+        Assert.assertSame(map.reset(1), map);
+        Assert.assertTrue(map.isEmpty());
+        map.add(null, ClickHouseStringValue.ofNull());
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertNull(map.get(null));
+        map.clear();
+        Assert.assertEquals(map.size(), 0);
+    }
+
+    @Test(groups = { "unit" })
+    public void testPrimitiveValues() {
+        ClickHouseArrayMap map = ClickHouseArrayMap.of(Long.class);
+        map.add("a", ClickHouseLongValue.of(1L)).add("b", ClickHouseLongValue.of(-2L));
+        Assert.assertEquals(map.get("a"), 1L);
+        Assert.assertEquals(map.getLong(1), -2L);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> map.getDouble(1));
+
+        Iterator<Entry<Object, Object>> it = map.entrySet().iterator();
+        Entry<Object, Object> e = it.next();
+        Assert.assertEquals(e.getKey(), "a");
+        Assert.assertEquals(e.getValue(), 1L);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> e.setValue(2L));
+        Assert.assertEquals(it.next().getValue(), -2L);
+        Assert.assertFalse(it.hasNext());
+
+        ClickHouseArrayMap m = ClickHouseArrayMap.of(UnsignedByte.class);
+        m.add(1, ClickHouseByteValue.ofUnsigned((byte) 0xFF));
+        Assert.assertEquals(m.get(1), UnsignedByte.valueOf((byte) 0xFF));
+        Assert.assertEquals(m.getLong(0), 255L);
+
+        ClickHouseArrayMap f = ClickHouseArrayMap.of(Float.class);
+        f.add(1, ClickHouseFloatValue.of(1.5F));
+        Assert.assertEquals(f.get(1), 1.5F);
+        Assert.assertEquals(f.getDouble(0), 1.5D);
+        Assert.assertThrows(UnsupportedOperationException.class, () -> f.getLong(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.clickhouse.data.value;
+
+import java.math.BigInteger;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseCompactIpv4ValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseCompactIpv4Value v = ClickHouseCompactIpv4Value.ofNull();
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertEquals(v.appendTo(new StringBuilder()).length(), 0);
+        Assert.assertSame(ClickHouseCompactIpv4Value.ofNull(v), v);
+        Assert.assertEquals(v.resetToDefault().asString(), "0.0.0.0");
+    }
+
+    @Test(groups = { "unit" })
+    public void testValue() throws UnknownHostException {
+        ClickHouseCompactIpv4Value v = ClickHouseCompactIpv4Value.of(0xC0A80101);
+        Assert.assertFalse(v.isNullOrEmpty());
+        Assert.assertEquals(v.getAddress(), 0xC0A80101);
+        Assert.assertEquals(v.asLong(), 0xC0A80101L);
+        Assert.assertEquals(v.asBigInteger(), BigInteger.valueOf(0xC0A80101L));
+        Assert.assertEquals(v.asString(), "192.168.1.1");
+        Assert.assertEquals(v.toSqlExpression(), "'192.168.1.1'");
+        Assert.assertEquals(v.appendTo(new StringBuilder("ip=")).toString(), "ip=192.168.1.1");
+
+        Inet4Address addr = (Inet4Address) InetAddress.getByName("192.168.1.1");
+        Assert.assertEquals(v.asObject(), addr);
+        Assert.assertSame(v.asObject(), v.asObject());
+        Assert.assertEquals(v.asInet6Address().getHostAddress(), "0:0:0:0:0:ffff:c0a8:101");
+
+        Assert.assertEquals(ClickHouseCompactIpv4Value.of(v, 0).asString(), "0.0.0.0");
+        Assert.assertEquals(v.update(addr).getAddress(), 0xC0A80101);
+        Assert.assertEquals(v.update("255.255.255.255").getAddress(), -1);
+        Assert.assertEquals(v.update("10.0.0.1").asString(), "10.0.0.1");
+        Assert.assertEquals(v.update("::ffff:10.0.0.2").asString(), "10.0.0.2");
+        Assert.assertEquals(v.update(ClickHouseIpv4Value.of(addr)), ClickHouseCompactIpv4Value.of(0xC0A80101));
+        Assert.assertEquals(v.copy(true), v);
+        Assert.assertTrue(v.update((Object) null).isNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testParse() {
+        Assert.assertEquals(ClickHouseCompactIpv4Value.parse("0.0.0.0"), 0L);
+        Assert.assertEquals(ClickHouseCompactIpv4Value.parse("1.2.3.4"), 0x01020304L);
+        Assert.assertEquals(ClickHouseCompactIpv4Value.parse("255.255.255.255"), 0xFFFFFFFFL);
+        for (String s : new String[] { "", "1", "1.2.3", "1.2.3.4.5", "1..3.4", "1.2.3.", ".1.2.3", "256.1.1.1",
+                "1.2.3.a", "localhost" }) {
+            Assert.assertTrue(ClickHouseCompactIpv4Value.parse(s) < 0L, s);
+        }
+    }
+}
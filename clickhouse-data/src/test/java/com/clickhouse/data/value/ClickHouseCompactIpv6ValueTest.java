@@ -0,0 +1,48 @@
+package com.clickhouse.data.value;
+
+import java.math.BigInteger;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseCompactIpv6ValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseCompactIpv6Value v = ClickHouseCompactIpv6Value.ofNull();
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertSame(ClickHouseCompactIpv6Value.ofNull(v), v);
+        Assert.assertEquals(v.resetToDefault().asString(), "0:0:0:0:0:0:0:0");
+    }
+
+    @Test(groups = { "unit" })
+    public void testValue() throws UnknownHostException {
+        for (String s : new String[] { "::", "::1", "2001:db8::ff00:42:8329", "fe80::1:2:3:4",
+                "ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", "::ffff:0:1.2.3.4" }) {
+            Inet6Address addr = (Inet6Address) InetAddress.getByName(s);
+            ClickHouseCompactIpv6Value v = ClickHouseCompactIpv6Value.ofNull().update(addr);
+            Assert.assertEquals(v.asString(), addr.getHostAddress(), s);
+            Assert.assertEquals(v.asBigInteger(), new BigInteger(1, addr.getAddress()), s);
+
+            ClickHouseCompactIpv6Value c = ClickHouseCompactIpv6Value.of(v.getHighBits(), v.getLowBits());
+            Assert.assertEquals(c, v);
+            Assert.assertEquals(c.hashCode(), v.hashCode());
+            Assert.assertEquals(c.asObject(), addr, s);
+            Assert.assertSame(c.asObject(), c.asObject());
+            Assert.assertEquals(c.toSqlExpression(), "'" + addr.getHostAddress() + "'");
+            Assert.assertEquals(ClickHouseCompactIpv6Value.ofNull().update(s), v);
+            Assert.assertEquals(ClickHouseCompactIpv6Value.ofNull().update(ClickHouseIpv6Value.of(addr)), v);
+        }
+
+        ClickHouseCompactIpv6Value v = ClickHouseCompactIpv6Value.of(0x20010db800000000L, 0x0000ff0000428329L);
+        Assert.assertEquals(v.getHighBits(), 0x20010db800000000L);
+        Assert.assertEquals(v.getLowBits(), 0x0000ff0000428329L);
+        Assert.assertEquals(v.appendTo(new StringBuilder("ip=")).toString(), "ip=2001:db8:0:0:0:ff00:42:8329");
+        Assert.assertEquals(v.update(InetAddress.getByName("10.0.0.1")).asString(), "0:0:0:0:0:ffff:a00:1");
+        Assert.assertTrue(v.update((Object) null).isNullOrEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.clickhouse.data.value;
+
+import java.util.UUID;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseCompactUuidValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseCompactUuidValue v = ClickHouseCompactUuidValue.ofNull();
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertSame(ClickHouseCompactUuidValue.ofNull(v), v);
+        Assert.assertEquals(v.resetToDefault().asString(), "00000000-0000-0000-0000-000000000000");
+    }
+
+    @Test(groups = { "unit" })
+    public void testValue() {
+        for (UUID uuid : new UUID[] { new UUID(0L, 0L), new UUID(-1L, -1L), new UUID(1L, 2L),
+                UUID.fromString("00000001-0002-0003-0004-000000000005"), UUID.randomUUID(), UUID.randomUUID() }) {
+            ClickHouseCompactUuidValue v = ClickHouseCompactUuidValue.of(uuid.getMostSignificantBits(),
+                    uuid.getLeastSignificantBits());
+            Assert.assertEquals(v.asString(), uuid.toString());
+            Assert.assertEquals(v.toSqlExpression(), "'" + uuid + "'");
+            Assert.assertEquals(v.appendTo(new StringBuilder("u=")).toString(), "u=" + uuid);
+            Assert.assertEquals(v.asObject(), uuid);
+            Assert.assertSame(v.asUuid(), v.asUuid());
+            Assert.assertEquals(v.asBigInteger(), ClickHouseUuidValue.of(uuid).asBigInteger());
+
+            Assert.assertEquals(ClickHouseCompactUuidValue.ofNull().update(uuid), v);
+            Assert.assertEquals(ClickHouseCompactUuidValue.ofNull().update(uuid.toString()), v);
+            Assert.assertEquals(ClickHouseCompactUuidValue.ofNull().update(ClickHouseUuidValue.of(uuid)), v);
+            Assert.assertEquals(v.copy(true), v);
+            Assert.assertEquals(v.copy(true).hashCode(), v.hashCode());
+        }
+
+        ClickHouseCompactUuidValue v = ClickHouseCompactUuidValue.of(1L, 2L);
+        Assert.assertEquals(v.updateBits(3L, 4L).getMostSignificantBits(), 3L);
+        Assert.assertEquals(v.getLeastSignificantBits(), 4L);
+        Assert.assertTrue(v.update((Object) null).isNullOrEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseDecimalValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.ofNull(2);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertFalse(v.isCompact());
+        Assert.assertEquals(v.getScale(), 2);
+        Assert.assertEquals(v.asUnscaledLong(), 0L);
+        Assert.assertEquals(v.asDouble(), 0D);
+        Assert.assertNull(v.asBigDecimal());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertEquals(v, ClickHouseDecimalValue.of(123L, 2).resetToNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testUnscaledValue() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.of(-12345L, 2);
+        Assert.assertTrue(v.isCompact());
+        Assert.assertEquals(v.asUnscaledLong(), -12345L);
+        Assert.assertEquals(v.asInteger(), -123);
+        Assert.assertEquals(v.asLong(), -123L);
+        Assert.assertEquals(v.asFloat(), -123.45F);
+        Assert.assertEquals(v.asDouble(), -123.45D);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("-123.45"));
+        Assert.assertEquals(v.asBigDecimal(1), new BigDecimal("-123.4"));
+        Assert.assertEquals(v.asString(), "-123.45");
+        Assert.assertEquals(v.toSqlExpression(), "-123.45");
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.asBigInteger());
+        // still compact after materializing BigDecimal
+        Assert.assertTrue(v.isCompact());
+
+        Assert.assertEquals(v.updateUnscaled(500L).asBigInteger(), BigInteger.valueOf(5L));
+        Assert.assertEquals(v.update(7).asUnscaledLong(), 700L);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("7.00"));
+        Assert.assertTrue(v.isCompact());
+        Assert.assertEquals(v.update(Long.MAX_VALUE).asBigDecimal(), BigDecimal.valueOf(Long.MAX_VALUE));
+        Assert.assertFalse(v.isCompact());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseDecimalValue.of(1L, 19));
+    }
+
+    @Test(groups = { "unit" })
+    public void testBigDecimalValue() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.ofNull(2).update(new BigDecimal("1.239"));
+        Assert.assertFalse(v.isCompact());
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("1.239"));
+        Assert.assertEquals(v.asUnscaledLong(), 123L);
+        Assert.assertEquals(v.asDouble(), 1.239D);
+
+        Assert.assertEquals(v.update("-0.5").asUnscaledLong(), -50L);
+        Assert.assertEquals(v.update(ClickHouseDecimalValue.of(3L, 2)).asUnscaledLong(), 3L);
+        Assert.assertTrue(v.isCompact());
+        Assert.assertEquals(v.update(ClickHouseDecimalValue.of(3L, 1)).asBigDecimal(), new BigDecimal("0.30"));
+        Assert.assertFalse(v.isCompact());
+
+        ClickHouseDecimalValue c = ClickHouseDecimalValue.of(12345L, 2);
+        ClickHouseDecimalValue b = ClickHouseDecimalValue.of(new BigDecimal("123.45"), 2);
+        Assert.assertEquals(c, b);
+        Assert.assertEquals(c.hashCode(), b.hashCode());
+        Assert.assertEquals(b.copy(), c.copy());
+        Assert.assertNotEquals(c, ClickHouseDecimalValue.of(new BigDecimal("123.450"), 3));
+    }
+
+    @Test(groups = { "unit" })
+    public void testConversion() {
+        Random random = new Random();
+        for (int i = 0; i < 10000; i++) {
+            long unscaled = i % 2 == 0 ? random.nextInt() : random.nextLong() % 1000000000000000000L;
+            int scale = random.nextInt(19);
+            ClickHouseDecimalValue v = ClickHouseDecimalValue.of(unscaled, scale);
+            BigDecimal d = BigDecimal.valueOf(unscaled, scale);
+            Assert.assertEquals(v.asDouble(), d.doubleValue());
+            Assert.assertEquals(v.asFloat(), d.floatValue());
+            Assert.assertEquals(v.asLong(), d.longValue());
+            Assert.assertEquals(v.asInteger(), d.intValue());
+        }
+    }
+}
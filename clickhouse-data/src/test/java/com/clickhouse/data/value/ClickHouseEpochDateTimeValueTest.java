@@ -0,0 +1,72 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseEpochDateTimeValueTest {
+    @Test(groups = { "unit" })
+    public void testDate() {
+        ClickHouseEpochDateValue v = ClickHouseEpochDateValue.ofNull();
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertNull(v.asDate());
+        Assert.assertNull(v.asObject());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+
+        Assert.assertSame(ClickHouseEpochDateValue.of(v, -1), v);
+        Assert.assertEquals(v.asEpochDay(), -1);
+        Assert.assertEquals(v.asEpochMillis(), -86400000L);
+        Assert.assertEquals(v.asDate(), LocalDate.of(1969, 12, 31));
+        Assert.assertEquals(v.asString(), "1969-12-31");
+        Assert.assertEquals(v.toSqlExpression(), "'1969-12-31'");
+        Assert.assertEquals(v.update(LocalDate.of(2023, 1, 1)).asEpochDay(), 19358);
+        Assert.assertEquals(v.update(LocalDateTime.of(2023, 1, 2, 3, 4, 5)).asEpochDay(), 19359);
+        Assert.assertEquals(v.update("1970-01-02").asEpochDay(), 1);
+        Assert.assertEquals(v.update(ClickHouseDateValue.of(2)).asEpochDay(), 2);
+        Assert.assertEquals(v, ClickHouseEpochDateValue.of(2));
+        Assert.assertEquals(v.hashCode(), ClickHouseEpochDateValue.of(2).hashCode());
+        Assert.assertEquals(v.copy(), v);
+        Assert.assertTrue(v.resetToNullOrEmpty().isNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testDateTime() {
+        TimeZone tz = TimeZone.getTimeZone("Asia/Shanghai");
+        ClickHouseEpochDateTimeValue v = ClickHouseEpochDateTimeValue.ofNull(3, tz);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertNull(v.asDateTime());
+        Assert.assertNull(v.asObject());
+        Assert.assertEquals(v.getScale(), 3);
+        Assert.assertEquals(v.getTimeZone(), tz);
+
+        Assert.assertSame(ClickHouseEpochDateTimeValue.of(v, -1L, 3, tz), v);
+        Assert.assertEquals(v.asTicks(), -1L);
+        Assert.assertEquals(v.asEpochSecond(), -1L);
+        Assert.assertEquals(v.asEpochMillis(), -1L);
+        Assert.assertEquals(v.getNano(), 999000000);
+        Assert.assertEquals(v.asDateTime(), LocalDateTime.of(1970, 1, 1, 7, 59, 59, 999000000));
+        Assert.assertEquals(v.asInstant(), Instant.ofEpochMilli(-1L));
+        Assert.assertEquals(v.asBigDecimal(3), new BigDecimal("-0.001"));
+        Assert.assertEquals(v.asString(), "1970-01-01 07:59:59.999");
+
+        Assert.assertEquals(v.updateEpochSecond(1L, 123456789).asTicks(), 1123L);
+        Assert.assertEquals(v.update(LocalDateTime.of(1970, 1, 1, 8, 0, 2, 5000000)).asTicks(), 2005L);
+        Assert.assertEquals(v.update(Instant.ofEpochSecond(3L)).asTicks(), 3000L);
+        Assert.assertEquals(v.update(new BigDecimal("4.5")).asTicks(), 4500L);
+        Assert.assertEquals(v.update(ClickHouseEpochDateTimeValue.of(5L, 0, null)).asTicks(), 5000L);
+        Assert.assertEquals(v, ClickHouseEpochDateTimeValue.of(5000L, 3, tz));
+        Assert.assertEquals(v.hashCode(), ClickHouseEpochDateTimeValue.of(5000L, 3, tz).hashCode());
+        Assert.assertNotEquals(v, ClickHouseEpochDateTimeValue.of(5000L, 3, null));
+        Assert.assertEquals(v.copy(), v);
+
+        v = ClickHouseEpochDateTimeValue.of(0L, 0, null);
+        Assert.assertEquals(v.asString(), "1970-01-01 00:00:00");
+        Assert.assertEquals(v.update(LocalDateTime.of(2023, 1, 1, 0, 0, 0, 999999999)).asEpochSecond(), 1672531200L);
+        Assert.assertEquals(v.getNano(), 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.clickhouse.data.value;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import com.clickhouse.data.ClickHouseDataType;
+
+public class ClickHouseGeoShapeValueTest {
+    @Test(groups = { "unit" })
+    public void testEmptyValue() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseGeoShapeValue.ofEmpty(ClickHouseDataType.Point));
+
+        ClickHouseGeoShapeValue v = ClickHouseGeoShapeValue.ofEmpty(ClickHouseDataType.Ring);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.getRingCount(), 1);
+        Assert.assertEquals(v.asObject(), new double[0][]);
+        Assert.assertEquals(v.asString(), "[]");
+        Assert.assertThrows(IllegalStateException.class, () -> v.addRing());
+
+        ClickHouseGeoShapeValue p = ClickHouseGeoShapeValue.ofEmpty(ClickHouseDataType.Polygon);
+        Assert.assertTrue(p.isNullOrEmpty());
+        Assert.assertEquals(p.getPolygonCount(), 1);
+        Assert.assertEquals(p.asObject(), new double[0][][]);
+        Assert.assertThrows(IllegalStateException.class, () -> p.addPoint(1D, 2D));
+        Assert.assertThrows(IllegalStateException.class, () -> p.addPolygon());
+
+        ClickHouseGeoShapeValue m = ClickHouseGeoShapeValue.ofEmpty(ClickHouseDataType.MultiPolygon);
+        Assert.assertTrue(m.isNullOrEmpty());
+        Assert.assertEquals(m.asObject(), new double[0][][][]);
+        Assert.assertEquals(m.asString(), "[]");
+        Assert.assertThrows(IllegalStateException.class, () -> m.addRing());
+    }
+
+    @Test(groups = { "unit" })
+    public void testFlattenedValue() {
+        ClickHouseGeoShapeValue v = ClickHouseGeoShapeValue.ofEmpty(ClickHouseDataType.MultiPolygon);
+        v.addPolygon().addRing().addPoint(1D, 2D).addPoint(3D, 4D).addRing().addPolygon().addRing()
+                .addPoint(5D, 6D);
+        Assert.assertFalse(v.isNullOrEmpty());
+        Assert.assertEquals(v.getPointCount(), 3);
+        Assert.assertEquals(v.getX(2), 5D);
+        Assert.assertEquals(v.getY(2), 6D);
+        Assert.assertEquals(v.getRingCount(), 3);
+        Assert.assertEquals(v.getRingStart(1), 2);
+        Assert.assertEquals(v.getRingEnd(1), 2);
+        Assert.assertEquals(v.getPolygonCount(), 2);
+        Assert.assertEquals(v.getPolygonStart(1), 2);
+        Assert.assertEquals(v.getPolygonEnd(1), 3);
+
+        double[][][][] expected = new double[][][][] { { { { 1D, 2D }, { 3D, 4D } }, {} }, { { { 5D, 6D } } } };
+        Assert.assertEquals(v.asObject(), expected);
+        Assert.assertSame(v.asObject(), v.asObject());
+        Assert.assertEquals(v.asString(), "[[[(1.0,2.0),(3.0,4.0)],[]],[[(5.0,6.0)]]]");
+        Assert.assertEquals(v.asString(), ClickHouseGeoMultiPolygonValue.of(expected).asString());
+
+        ClickHouseGeoShapeValue c = v.copy(true);
+        Assert.assertEquals(c, v);
+        Assert.assertEquals(c.hashCode(), v.hashCode());
+        Assert.assertEquals(ClickHouseGeoShapeValue.of(ClickHouseDataType.MultiPolygon, expected), v);
+        c.addPoint(7D, 8D);
+        Assert.assertNotEquals(c, v);
+        Assert.assertEquals(v.getPointCount(), 3);
+        Assert.assertEquals(v.update(c), c);
+
+        Assert.assertTrue(v.resetToNullOrEmpty().isNullOrEmpty());
+        Assert.assertEquals(v.getPointCount(), 0);
+        Assert.assertEquals(v.asObject(), new double[0][][][]);
+    }
+
+    @Test(groups = { "unit" })
+    public void testUpdate() {
+        double[][] ring = new double[][] { { 1D, 2D }, { 3D, 4D } };
+        ClickHouseGeoShapeValue v = ClickHouseGeoShapeValue.of(ClickHouseDataType.Ring, ring);
+        Assert.assertEquals(v.asObject(), ring);
+        Assert.assertEquals(v.getCoordinates()[3], 4D);
+        Assert.assertSame(ClickHouseGeoShapeValue.of(v, ClickHouseDataType.Ring, new double[0][]), v);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.update(ClickHouseGeoRingValue.of(ring)).asObject(), ring);
+
+        ClickHouseGeoShapeValue p = ClickHouseGeoShapeValue.of(ClickHouseDataType.Polygon,
+                new double[][][] { ring, ring });
+        Assert.assertEquals(p.getRingCount(), 2);
+        Assert.assertEquals(p.getPointCount(), 4);
+        Assert.assertEquals(p.asString(), "[[(1.0,2.0),(3.0,4.0)],[(1.0,2.0),(3.0,4.0)]]");
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> v.update(new double[][] { { 1D, 2D, 3D } }));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> v.update(1));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> v.update("[]"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> v.asDouble());
+    }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
@@ -80,6 +81,70 @@ public class ClickHouseStringValueTest extends BaseClickHouseValueTest {
         Assert.assertEquals(ClickHouseStringValue.of(new byte[] { 97, 98, 99 }).toSqlExpression(), "unhex('616263')");
     }
 
+    @Test(groups = { "unit" })
+    public void testLazyValue() {
+        byte[] bytes = "ab\u00e7".getBytes(StandardCharsets.UTF_8);
+        ClickHouseStringValue v = ClickHouseStringValue.ofUnicode(null, bytes);
+        Assert.assertTrue(v.isLazy());
+        Assert.assertFalse(v.isBinary());
+        Assert.assertFalse(v.isNullOrEmpty());
+        Assert.assertSame(v.asBinary(), bytes);
+        Assert.assertTrue(v.startsWith("ab"));
+        Assert.assertTrue(v.startsWith(new byte[] { 97 }));
+        Assert.assertFalse(v.startsWith("b"));
+        Assert.assertTrue(v.isLazy());
+
+        ClickHouseStringValue c = v.copy(true);
+        Assert.assertTrue(c.isLazy());
+        Assert.assertNotSame(c.asBinary(), bytes);
+        Assert.assertSame(ClickHouseStringValue.ofNull().update(v).asBinary(), bytes);
+        Assert.assertSame(ClickHouseStringValue.ofNull().update((Object) v).asBinary(), bytes);
+        // compared and hashed as bytes while both sides are lazy
+        Assert.assertEquals(c, v);
+        Assert.assertEquals(c.hashCode(), v.hashCode());
+        Assert.assertNotEquals(v, ClickHouseStringValue.ofUnicode(null, "ab".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertTrue(v.isLazy());
+        Assert.assertTrue(c.isLazy());
+
+        Assert.assertEquals(v, ClickHouseStringValue.of("ab\u00e7"));
+        Assert.assertEquals(v.hashCode(), ClickHouseStringValue.of("ab\u00e7").hashCode());
+        Assert.assertEquals(c.hashCode(), "ab\u00e7".hashCode() + 31 * (31 + 1237));
+        Assert.assertNotEquals(v, ClickHouseStringValue.of(bytes));
+        Assert.assertEquals(ClickHouseStringValue.of(bytes), ClickHouseStringValue.of(bytes.clone()));
+        Assert.assertEquals(ClickHouseStringValue.of(bytes).hashCode(),
+                ClickHouseStringValue.of(bytes.clone()).hashCode());
+
+        // bytes are dropped once decoded
+        Assert.assertEquals(v.asString(), "ab\u00e7");
+        Assert.assertFalse(v.isLazy());
+        Assert.assertNotSame(v.asBinary(), bytes);
+        Assert.assertEquals(v.asBinary(), bytes);
+        Assert.assertEquals(v.toSqlExpression(), "'ab\u00e7'");
+        Assert.assertEquals(ClickHouseStringValue.ofUnicode(null, new byte[] { 97, 98 }).asString(), "ab");
+        Assert.assertEquals(ClickHouseStringValue.ofUnicode(v, new byte[0]).asObject(), "");
+        Assert.assertEquals(ClickHouseStringValue.ofUnicode(v, null).asObject(), null);
+        Assert.assertTrue(v.isNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testHashCodeOfBytes() {
+        for (String str : new String[] { "", "abc", "\u00e7\u00e9", "\u4e2d\u6587", "\ud83d\ude00!",
+                "\u0000\u07ff\u0800\uffff", "\udbff\udfff" }) {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            Assert.assertEquals(ClickHouseStringValue.hashCode(bytes), str.hashCode(), str);
+            Assert.assertEquals(ClickHouseStringValue.ofUnicode(null, bytes).hashCode(),
+                    ClickHouseStringValue.of(str).hashCode(), str);
+        }
+
+        // malformed
+        for (byte[] bytes : new byte[][] { { (byte) 0x80 }, { 0x61, (byte) 0xC3 }, { (byte) 0xC0, (byte) 0x80 },
+                { (byte) 0xED, (byte) 0xA0, (byte) 0x80 }, { (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 },
+                { (byte) 0xE4, 0x61, 0x62 }, { (byte) 0xFF, 0x61 } }) {
+            Assert.assertEquals(ClickHouseStringValue.hashCode(bytes),
+                    new String(bytes, StandardCharsets.UTF_8).hashCode());
+        }
+    }
+
     @Test(groups = { "unit" })
     public void testValue() throws UnknownHostException {
         // null value
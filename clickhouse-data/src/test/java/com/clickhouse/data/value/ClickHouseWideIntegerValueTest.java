@@ -0,0 +1,185 @@
+package com.clickhouse.data.value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.clickhouse.data.ClickHouseDataType;
+
+public class ClickHouseWideIntegerValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int128, 0);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertFalse(v.isCompact());
+        Assert.assertEquals(v.getLimbCount(), 2);
+        Assert.assertEquals(v.asLong(), 0L);
+        Assert.assertNull(v.asBigInteger());
+        Assert.assertNull(v.asObject());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertEquals(v, ClickHouseWideIntegerValue.of(ClickHouseDataType.Int128, 0, BigInteger.ONE)
+                .resetToNullOrEmpty());
+        Assert.assertSame(ClickHouseWideIntegerValue.ofNull(v, ClickHouseDataType.Int128, 0), v);
+        Assert.assertNotSame(ClickHouseWideIntegerValue.ofNull(v, ClickHouseDataType.UInt128, 0), v);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int64, 0));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, 39));
+    }
+
+    @Test(groups = { "unit" })
+    public void testLimbs() {
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int128, 0);
+        Assert.assertEquals(v.updateLimbs(-1L, -1L).asBigInteger(), BigInteger.valueOf(-1L));
+        Assert.assertEquals(v.asLong(), -1L);
+        Assert.assertEquals(v.updateLimbs(0L, 1L).asBigInteger(), BigInteger.ONE.shiftLeft(64));
+        Assert.assertEquals(v.update(BigInteger.ONE.shiftLeft(127).negate()).getLimb(1), Long.MIN_VALUE);
+        Assert.assertTrue(v.isCompact());
+        Assert.assertFalse(v.update(BigInteger.ONE.shiftLeft(127)).isCompact());
+        Assert.assertEquals(v.asBigInteger(), BigInteger.ONE.shiftLeft(127));
+
+        v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.UInt128, 0);
+        Assert.assertEquals(v.updateLimbs(-1L, -1L).asBigInteger(), BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE));
+        Assert.assertEquals(v.asString(), "340282366920938463463374607431768211455");
+        Assert.assertTrue(v.update(BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE)).isCompact());
+        Assert.assertEquals(v.getLimb(0), -1L);
+        Assert.assertFalse(v.update(-1L).isCompact());
+
+        v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int256, 0);
+        Assert.assertEquals(v.updateLimbs(1L, 2L, 3L, -4L).asBigInteger(),
+                BigInteger.valueOf(-4L).shiftLeft(192).add(BigInteger.valueOf(3L).shiftLeft(128))
+                        .add(BigInteger.valueOf(2L).shiftLeft(64)).add(BigInteger.ONE));
+        Assert.assertEquals(v.updateLimbs(5L, -1L).asBigInteger(), BigInteger.valueOf(-1L).shiftLeft(64).add(
+                BigInteger.valueOf(5L)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int128, 0).updateLimbs(0L, 0L, 0L, 0L));
+    }
+
+    @Test(groups = { "unit" })
+    public void testDecimal() {
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, 2);
+        Assert.assertEquals(v.update(new BigDecimal("-123.45")).getLimb(0), -12345L);
+        Assert.assertTrue(v.isCompact());
+        Assert.assertEquals(v.asObject(), new BigDecimal("-123.45"));
+        Assert.assertEquals(v.asLong(), -123L);
+        Assert.assertEquals(v.asDouble(), -123.45D);
+        Assert.assertEquals(v.asBigDecimal(1), new BigDecimal("-123.4"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.asBigInteger());
+        Assert.assertEquals(v.update(3).asBigDecimal(), new BigDecimal("3.00"));
+        Assert.assertEquals(v.asBigInteger(), BigInteger.valueOf(3L));
+        Assert.assertEquals(v.update("1.5").getLimb(0), 150L);
+
+        // keep values that do not fit
+        Assert.assertFalse(v.update(new BigDecimal("1.239")).isCompact());
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("1.239"));
+        Assert.assertFalse(v.update(new BigDecimal("1e36")).isCompact());
+        Assert.assertTrue(v.update(new BigDecimal("1e35")).isCompact());
+
+        ClickHouseWideIntegerValue d = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal256, 40);
+        Assert.assertEquals(d.update(new BigDecimal("-0.5")).asBigDecimal(),
+                new BigDecimal("-0.5000000000000000000000000000000000000000"));
+        Assert.assertEquals(d.getLimb(3), -1L);
+        Assert.assertEquals(d.asLong(), 0L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testArithmetic() {
+        Random random = new Random();
+        BigInteger mod = BigInteger.ONE.shiftLeft(256);
+        for (int i = 0; i < 1000; i++) {
+            BigInteger a = new BigInteger(255, random);
+            BigInteger b = new BigInteger(255, random);
+            if (random.nextBoolean()) {
+                a = a.negate();
+            }
+            if (random.nextBoolean()) {
+                b = b.negate();
+            }
+            ClickHouseWideIntegerValue x = ClickHouseWideIntegerValue.of(ClickHouseDataType.Int256, 0, a);
+            ClickHouseWideIntegerValue y = ClickHouseWideIntegerValue.of(ClickHouseDataType.Int256, 0, b);
+            Assert.assertEquals(x.compareTo(y), a.compareTo(b));
+            Assert.assertEquals(x.copy(true).add(y).asBigInteger(), wrap(a.add(b), mod));
+            Assert.assertEquals(x.copy(true).subtract(y).asBigInteger(), wrap(a.subtract(b), mod));
+            Assert.assertEquals(x.copy(true).negate().asBigInteger(), wrap(a.negate(), mod));
+            Assert.assertEquals(x.copy(), x);
+            Assert.assertEquals(x.copy().hashCode(), x.hashCode());
+        }
+
+        ClickHouseWideIntegerValue u = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.UInt128, 0)
+                .updateLimbs(-1L, -1L);
+        Assert.assertTrue(u.compareTo(ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.UInt128, 0).update(1)) > 0);
+        Assert.assertEquals(u.add(ClickHouseWideIntegerValue.of(ClickHouseDataType.UInt128, 0, BigInteger.ONE))
+                .asBigInteger(), BigInteger.ZERO);
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> u.add(ClickHouseWideIntegerValue.of(ClickHouseDataType.Int256, 0, BigInteger.ONE)));
+    }
+
+    @Test(groups = { "unit" })
+    public void testDecimalPrecision() {
+        BigInteger max = BigInteger.TEN.pow(38).subtract(BigInteger.ONE);
+        ClickHouseWideIntegerValue x = ClickHouseWideIntegerValue.of(ClickHouseDataType.Decimal128, 2, max);
+        ClickHouseWideIntegerValue one = ClickHouseWideIntegerValue.of(ClickHouseDataType.Decimal128, 2,
+                BigInteger.ONE);
+        Assert.assertTrue(x.isCompact());
+        Assert.assertTrue(x.isWithinPrecision());
+
+        // out of precision but still fits in 128 bits
+        Assert.assertFalse(x.copy(true).add(one).isCompact());
+        Assert.assertEquals(x.copy(true).add(one).asBigDecimal(), new BigDecimal(max.add(BigInteger.ONE), 2));
+        Assert.assertFalse(x.copy(true).negate().subtract(one).isCompact());
+        Assert.assertEquals(x.copy(true).negate().subtract(one).asBigDecimal(),
+                new BigDecimal(max.add(BigInteger.ONE).negate(), 2));
+        // overflow of 128 bits
+        Assert.assertEquals(x.copy(true).add(x).asBigDecimal(), new BigDecimal(max.shiftLeft(1), 2));
+        Assert.assertEquals(x.copy(true).subtract(x.copy(true).negate()).asBigDecimal(), new BigDecimal(max.shiftLeft(1), 2));
+        Assert.assertEquals(x.copy(true).negate().add(x.copy(true).negate()).asBigDecimal(),
+                new BigDecimal(max.shiftLeft(1).negate(), 2));
+        // still compact when within precision
+        Assert.assertTrue(x.copy(true).subtract(one).isCompact());
+        Assert.assertEquals(x.copy(true).subtract(one).add(one), x);
+
+        ClickHouseWideIntegerValue d = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal256, 0);
+        Assert.assertTrue(d.updateLimbs(-1L, -1L, -1L, Long.MAX_VALUE).isCompact());
+        Assert.assertFalse(d.isWithinPrecision());
+        Assert.assertTrue(d.updateLimbs(-1L, -1L).isWithinPrecision());
+        Assert.assertTrue(ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int128, 0).updateLimbs(-1L,
+                Long.MAX_VALUE).isWithinPrecision());
+    }
+
+    @Test(groups = { "unit" })
+    public void testUpdateBetweenIntegerAndDecimal() {
+        BigInteger big = BigInteger.ONE.shiftLeft(100).add(BigInteger.valueOf(123L));
+        ClickHouseWideIntegerValue i = ClickHouseWideIntegerValue.of(ClickHouseDataType.Int128, 0, big);
+        ClickHouseWideIntegerValue d = ClickHouseWideIntegerValue.of(ClickHouseDataType.Decimal128, 0,
+                BigInteger.valueOf(-5L));
+        // cache values of both sides
+        Assert.assertEquals(i.asBigInteger(), big);
+        Assert.assertEquals(d.asBigDecimal(), BigDecimal.valueOf(-5L));
+
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Int128, 0).update(d);
+        Assert.assertEquals(v.asBigInteger(), BigInteger.valueOf(-5L));
+        Assert.assertEquals(v.asBigDecimal(), BigDecimal.valueOf(-5L));
+        Assert.assertEquals(v.asObject(), BigInteger.valueOf(-5L));
+
+        v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, 0).update(i);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal(big));
+        Assert.assertEquals(v.asBigInteger(), big);
+        Assert.assertEquals(v.asObject(), new BigDecimal(big));
+
+        // Int128 beyond precision of Decimal128(0)
+        BigInteger max = BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE);
+        v = ClickHouseWideIntegerValue.ofNull(ClickHouseDataType.Decimal128, 0)
+                .update(ClickHouseWideIntegerValue.of(ClickHouseDataType.Int128, 0, max));
+        Assert.assertFalse(v.isCompact());
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal(max));
+    }
+
+    private static BigInteger wrap(BigInteger v, BigInteger mod) {
+        BigInteger r = v.mod(mod);
+        return r.testBit(255) ? r.subtract(mod) : r;
+    }
+}
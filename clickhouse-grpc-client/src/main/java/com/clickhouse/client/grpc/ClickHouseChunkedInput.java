@@ -0,0 +1,125 @@
+package com.clickhouse.client.grpc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseException;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.grpc.impl.QueryInfo;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseOutputStream;
+
+/**
+ * Splits input data into chunks, each of which will be sent in a separate
+ * {@link QueryInfo}. Compression, if needed, happens inline in the same thread.
+ * Buffers are reused between chunks, so the {@link QueryInfo} returned from
+ * {@link #next()} is only valid until next call, which is fine as the message
+ * is serialized by the transport when it's handed over to
+ * {@code StreamObserver.onNext()}.
+ */
+final class ClickHouseChunkedInput implements AutoCloseable {
+    /**
+     * Output buffer exposing its content without copying.
+     */
+    static final class ChunkBuffer extends ByteArrayOutputStream {
+        ChunkBuffer(int size) {
+            super(size);
+        }
+
+        ByteString toByteString() {
+            return count > 0 ? UnsafeByteOperations.unsafeWrap(buf, 0, count) : ByteString.EMPTY;
+        }
+    }
+
+    private final ClickHouseNode server;
+    private final ClickHouseInputStream input;
+    private final int chunkSize;
+
+    // buffer for compressed data, null when compression is not needed
+    private final ChunkBuffer buffer;
+    private final ClickHouseOutputStream output;
+    // reusable byte array for reading input data
+    private final byte[] bytes;
+
+    private boolean completed;
+
+    ClickHouseChunkedInput(ClickHouseConfig config, ClickHouseNode server, ClickHouseInputStream input) {
+        this.server = server;
+        this.input = input;
+        this.chunkSize = config.getRequestChunkSize();
+
+        if (config.isRequestCompressed() && !input.getUnderlyingStream().hasInput()) {
+            this.buffer = new ChunkBuffer(chunkSize);
+            this.output = ClickHouseGrpcClient.getOutput(config, buffer, null);
+        } else {
+            this.buffer = null;
+            this.output = null;
+        }
+        this.bytes = new byte[chunkSize];
+
+        this.completed = false;
+    }
+
+    private int read(byte[] b) throws IOException {
+        int offset = 0;
+        int len = b.length;
+        while (offset < len) {
+            int n = input.read(b, offset, len - offset);
+            if (n < 0) {
+                break;
+            }
+            offset += n;
+        }
+        return offset;
+    }
+
+    boolean hasNext() {
+        return !completed;
+    }
+
+    QueryInfo next() {
+        try {
+            // previous chunk has been handed over to the transport, so it's
+            // safe to overwrite the buffers now
+            byte[] b = bytes;
+            int read = read(b);
+            completed = read < b.length || input.peek() < 0;
+
+            ByteString data;
+            if (output == null) {
+                data = read > 0 ? UnsafeByteOperations.unsafeWrap(b, 0, read) : ByteString.EMPTY;
+            } else {
+                buffer.reset();
+                if (read > 0) {
+                    output.write(b, 0, read);
+                }
+                if (completed) {
+                    output.close();
+                } else {
+                    output.flush();
+                }
+                data = buffer.toByteString();
+            }
+            return QueryInfo.newBuilder().setInputData(data).setNextQueryInfo(!completed).build();
+        } catch (IOException e) {
+            throw new CompletionException(ClickHouseException.of(e, server));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            input.close();
+        } finally {
+            if (output != null && !completed) {
+                completed = true;
+                output.close();
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
 import io.grpc.ManagedChannel;
@@ -186,6 +187,14 @@ public abstract class ClickHouseGrpcChannelFactory {
         if (config.isUseNoProxy()) {
             builder.proxyDetector(NoProxyDetector.INSTANCE);
         }
+
+        long keepAliveTime = config.getLongOption(ClickHouseGrpcOption.KEEP_ALIVE_TIME);
+        if (keepAliveTime > 0L) {
+            builder.keepAliveTime(keepAliveTime, TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(config.getLongOption(ClickHouseGrpcOption.KEEP_ALIVE_TIMEOUT),
+                            TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(config.getBoolOption(ClickHouseGrpcOption.KEEP_ALIVE_WITHOUT_CALLS));
+        }
         // TODO add interceptor to customize retry
         builder.maxInboundMessageSize(config.getIntOption(ClickHouseGrpcOption.MAX_INBOUND_MESSAGE_SIZE))
                 .maxInboundMetadataSize(config.getIntOption(ClickHouseGrpcOption.MAX_INBOUND_METADATA_SIZE));
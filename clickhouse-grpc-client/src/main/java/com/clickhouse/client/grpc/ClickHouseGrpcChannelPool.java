@@ -0,0 +1,122 @@
+package com.clickhouse.client.grpc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.grpc.ManagedChannel;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.grpc.config.ClickHouseGrpcOption;
+import com.clickhouse.client.grpc.impl.ClickHouseGrpc;
+
+/**
+ * Fixed-size pool of channels connecting to the same node. Each channel comes
+ * with cached stubs and a counter of active calls, which is used to pick the
+ * least loaded channel for next call.
+ */
+final class ClickHouseGrpcChannelPool {
+    static final class PooledChannel {
+        private final ManagedChannel channel;
+        private final ClickHouseGrpc.ClickHouseStub stub;
+        private final ClickHouseGrpc.ClickHouseBlockingStub blockingStub;
+        private final AtomicInteger activeCalls;
+
+        PooledChannel(ManagedChannel channel) {
+            this.channel = channel;
+            this.stub = ClickHouseGrpc.newStub(channel);
+            this.blockingStub = ClickHouseGrpc.newBlockingStub(channel);
+            this.activeCalls = new AtomicInteger(0);
+        }
+
+        ManagedChannel getChannel() {
+            return channel;
+        }
+
+        ClickHouseGrpc.ClickHouseStub getStub() {
+            return stub;
+        }
+
+        ClickHouseGrpc.ClickHouseBlockingStub getBlockingStub() {
+            return blockingStub;
+        }
+
+        int getActiveCalls() {
+            return activeCalls.get();
+        }
+
+        /**
+         * Marks the end of a call started on this channel. It's safe to be called
+         * more than once per call.
+         */
+        void release() {
+            activeCalls.updateAndGet(n -> n > 0 ? n - 1 : 0);
+        }
+    }
+
+    private final ClickHouseNode server;
+    private final PooledChannel[] channels;
+    private final AtomicInteger counter;
+
+    ClickHouseGrpcChannelPool(ClickHouseConfig config, ClickHouseNode server) {
+        int size = Math.max(config.getIntOption(ClickHouseGrpcOption.CHANNEL_POOL_SIZE), 1);
+
+        this.server = server;
+        this.channels = new PooledChannel[size];
+        for (int i = 0; i < size; i++) {
+            channels[i] = new PooledChannel(ClickHouseGrpcChannelFactory.getFactory(config, server).create());
+        }
+        this.counter = new AtomicInteger(0);
+    }
+
+    ClickHouseNode getServer() {
+        return server;
+    }
+
+    int size() {
+        return channels.length;
+    }
+
+    /**
+     * Gets the channel with least active calls and increases its counter. Ties
+     * are broken in round-robin manner. {@link PooledChannel#release()} must be
+     * called when the call is completed.
+     *
+     * @return non-null pooled channel
+     */
+    PooledChannel acquire() {
+        final int len = channels.length;
+        PooledChannel selected = channels[0];
+        if (len > 1) {
+            int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % len;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < len; i++) {
+                PooledChannel c = channels[(start + i) % len];
+                int n = c.getActiveCalls();
+                if (n < min) {
+                    selected = c;
+                    if ((min = n) == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        selected.activeCalls.incrementAndGet();
+        return selected;
+    }
+
+    void shutdown(boolean force) {
+        for (PooledChannel c : channels) {
+            if (force) {
+                c.channel.shutdownNow();
+            } else {
+                c.channel.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(getClass().getSimpleName()).append("(server=").append(server)
+                .append(", size=").append(channels.length).append(')').toString();
+    }
+}
@@ -14,13 +14,11 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import com.google.protobuf.ByteString;
 import io.grpc.Context;
-import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
 
 import com.clickhouse.client.AbstractClient;
-import com.clickhouse.client.ClickHouseClient;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseCredentials;
 import com.clickhouse.client.ClickHouseException;
@@ -40,12 +38,10 @@ import com.clickhouse.config.ClickHouseOption;
 import com.clickhouse.data.ClickHouseChecker;
 import com.clickhouse.data.ClickHouseColumn;
 import com.clickhouse.data.ClickHouseCompression;
-import com.clickhouse.data.ClickHouseDataStreamFactory;
 import com.clickhouse.data.ClickHouseDeferredValue;
 import com.clickhouse.data.ClickHouseExternalTable;
 import com.clickhouse.data.ClickHouseInputStream;
 import com.clickhouse.data.ClickHouseOutputStream;
-import com.clickhouse.data.ClickHousePipedOutputStream;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.logging.Logger;
 import com.clickhouse.logging.LoggerFactory;
@@ -53,7 +49,7 @@ import com.clickhouse.logging.LoggerFactory;
 import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
 import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
 
-public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
+public class ClickHouseGrpcClient extends AbstractClient<ClickHouseGrpcChannelPool> {
     private static final Logger log = LoggerFactory.getLogger(ClickHouseGrpcClient.class);
 
     static final List<ClickHouseProtocol> SUPPORTED = Collections.singletonList(ClickHouseProtocol.GRPC);
@@ -112,41 +108,18 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
         return out;
     }
 
-    protected static ClickHouseInputStream getCompressedInputStream(ClickHouseConfig config,
-            ClickHouseInputStream input) {
+    protected static ByteString getInputData(ClickHouseConfig config, ClickHouseInputStream input)
+            throws IOException {
         if (!config.isRequestCompressed() || input.getUnderlyingStream().hasInput()) {
-            return input;
+            return ByteString.readFrom(input);
         }
 
-        final int bufferSize = config.getWriteBufferSize();
-        final ClickHousePipedOutputStream stream = ClickHouseDataStreamFactory.getInstance() // NOSONAR
-                .createPipedOutputStream(bufferSize, 0, config.getSocketTimeout());
-        final ClickHouseInputStream compressedInput = stream.getInputStream();
-
-        ClickHouseClient.submit(() -> {
-            try (ClickHouseInputStream in = input; ClickHouseOutputStream out = getOutput(config, stream, null)) {
-                in.pipe(out);
-            } catch (Exception e) {
-                log.warn("Failed to pipe data", e);
-            }
-        });
-        return compressedInput;
-    }
-
-    protected static QueryInfo getChunkedInputData(ClickHouseNode server, ClickHouseInputStream input, byte[] bytes) {
-        QueryInfo.Builder builder = QueryInfo.newBuilder();
-
-        try {
-            int read = input.read(bytes);
-            // FIXME get rid of byte array copying
-            ByteString bs = read > 0 ? ByteString.copyFrom(bytes, 0, read) : ByteString.empty();
-            builder.setInputData(bs);
-            builder.setNextQueryInfo(read == bytes.length && input.available() > 0);
-        } catch (IOException e) {
-            throw new CompletionException(ClickHouseException.of(e, server));
+        // compress inline instead of piping through another thread
+        ByteString.Output buffer = ByteString.newOutput(config.getWriteBufferSize());
+        try (ClickHouseOutputStream out = getOutput(config, buffer, null)) {
+            input.pipe(out);
         }
-
-        return builder.build();
+        return buffer.toByteString();
     }
 
     protected static QueryInfo convert(ClickHouseRequest<?> request, boolean streaming) {
@@ -252,7 +225,7 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
                 builder.setNextQueryInfo(true);
             } else {
                 try (ClickHouseInputStream in = input.get()) {
-                    builder.setInputData(ByteString.readFrom(getCompressedInputStream(config, in)));
+                    builder.setInputData(getInputData(config, in));
                 } catch (IOException e) {
                     throw new CompletionException(ClickHouseException.of(e, server));
                 }
@@ -270,12 +243,8 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
     }
 
     @Override
-    protected void closeConnection(ManagedChannel connection, boolean force) {
-        if (!force) {
-            connection.shutdown();
-        } else {
-            connection.shutdownNow();
-        }
+    protected void closeConnection(ClickHouseGrpcChannelPool connection, boolean force) {
+        connection.shutdown(force);
     }
 
     @Override
@@ -284,16 +253,22 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
     }
 
     @Override
-    protected ManagedChannel newConnection(ManagedChannel connection, ClickHouseNode server,
+    protected ClickHouseGrpcChannelPool newConnection(ClickHouseGrpcChannelPool connection, ClickHouseNode server,
             ClickHouseRequest<?> request) {
         if (connection != null) {
             closeConnection(connection, false);
         }
 
-        return ClickHouseGrpcChannelFactory.getFactory(request.getConfig(), server).create();
+        return new ClickHouseGrpcChannelPool(request.getConfig(), server);
     }
 
     protected void fill(ClickHouseRequest<?> request, StreamObserver<QueryInfo> observer) {
+        fill(request, observer, null);
+    }
+
+    protected void fill(ClickHouseRequest<?> request, StreamObserver<QueryInfo> observer,
+            ClickHouseStreamObserver responseObserver) {
+        Throwable error = null;
         try {
             QueryInfo queryInfo = convert(request, true);
             boolean hasNext = queryInfo.getNextQueryInfo();
@@ -301,33 +276,65 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
             if (hasNext) {
                 final ClickHouseNode server = request.getServer();
                 final ClickHouseConfig config = request.getConfig();
-                try (ClickHouseInputStream input = getCompressedInputStream(config, request.getInputStream().get())) { // NOSONAR
-                    byte[] bytes = new byte[config.getRequestChunkSize()];
-                    while (hasNext) {
-                        queryInfo = getChunkedInputData(server, input, bytes);
-                        hasNext = queryInfo.getNextQueryInfo();
-                        observer.onNext(queryInfo);
+                final int timeout = config.getSocketTimeout();
+                try (ClickHouseChunkedInput input = new ClickHouseChunkedInput(config, server,
+                        request.getInputStream().get())) { // NOSONAR
+                    while (input.hasNext()) {
+                        if (responseObserver != null) {
+                            // pause until transport is able to take more data
+                            if (!responseObserver.awaitReady(timeout, TimeUnit.MILLISECONDS)) {
+                                throw new SocketTimeoutException(ClickHouseUtils
+                                        .format("Timed out after waiting for %d ms to send data", timeout));
+                            } else if (responseObserver.isCompleted()) {
+                                break;
+                            }
+                        }
+                        observer.onNext(input.next());
                     }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(ClickHouseException.of(e, server));
                 } catch (IOException e) {
                     throw new CompletionException(ClickHouseException.of(e, server));
                 }
             }
+        } catch (RuntimeException | Error e) { // NOSONAR
+            error = e;
+            throw e;
         } finally {
-            observer.onCompleted();
+            if (error == null) {
+                observer.onCompleted();
+            } else {
+                // half-closing the stream would make server commit partial data, so cancel the call instead
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                if (responseObserver != null) {
+                    // fail the response before it's cancelled by the server, so that the cause won't get lost
+                    responseObserver.onError(cause);
+                }
+                observer.onError(Status.CANCELLED.withDescription("Failed to send data").withCause(cause)
+                        .asRuntimeException());
+            }
         }
     }
 
     @Override
     protected Object[] getAsyncExecArguments(ClickHouseRequest<?> sealedRequest) {
-        // reuse stub?
-        ClickHouseGrpc.ClickHouseStub stub = ClickHouseGrpc.newStub(getConnection(sealedRequest));
-
-        final ClickHouseStreamObserver responseObserver = new ClickHouseStreamObserver(sealedRequest.getConfig(),
-                sealedRequest.getServer(), sealedRequest.getOutputStream().orElse(null));
-        final StreamObserver<QueryInfo> requestObserver = stub.executeQueryWithStreamIO(responseObserver);
+        final ClickHouseGrpcChannelPool.PooledChannel channel = getConnection(sealedRequest).acquire();
+        final ClickHouseStreamObserver responseObserver;
+        final StreamObserver<QueryInfo> requestObserver;
+        try {
+            responseObserver = new ClickHouseStreamObserver(sealedRequest.getConfig(), sealedRequest.getServer(),
+                    sealedRequest.getOutputStream().orElse(null), channel::release);
+            requestObserver = channel.getStub().executeQueryWithStreamIO(responseObserver);
+        } catch (RuntimeException e) {
+            channel.release();
+            throw e;
+        }
 
         if (sealedRequest.hasInputStream()) {
-            getExecutor().execute(() -> fill(sealedRequest, requestObserver));
+            getExecutor().execute(() -> fill(sealedRequest, requestObserver, responseObserver));
         } else {
             fill(sealedRequest, requestObserver);
         }
@@ -368,11 +375,14 @@ public class ClickHouseGrpcClient extends AbstractClient<ManagedChannel> {
 
     @Override
     protected ClickHouseResponse send(ClickHouseRequest<?> sealedRequest) throws ClickHouseException, IOException {
-        final ManagedChannel channel = getConnection(sealedRequest);
-
-        ClickHouseGrpc.ClickHouseBlockingStub stub = ClickHouseGrpc.newBlockingStub(channel);
+        final ClickHouseGrpcChannelPool.PooledChannel channel = getConnection(sealedRequest).acquire();
 
-        Result result = stub.executeQuery(convert(sealedRequest, false));
+        Result result;
+        try {
+            result = channel.getBlockingStub().executeQuery(convert(sealedRequest, false));
+        } finally {
+            channel.release();
+        }
 
         ClickHouseResponse response = new ClickHouseGrpcResponse(sealedRequest.getConfig(), // NOSONAR
                 sealedRequest.getSettings(), result);
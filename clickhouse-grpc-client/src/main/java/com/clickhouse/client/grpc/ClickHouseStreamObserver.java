@@ -4,11 +4,13 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.grpc.Status;
 import io.grpc.StatusException;
-import io.grpc.stub.StreamObserver;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseException;
@@ -17,6 +19,7 @@ import com.clickhouse.client.ClickHouseResponseSummary;
 import com.clickhouse.client.grpc.impl.Exception;
 import com.clickhouse.client.grpc.impl.LogEntry;
 import com.clickhouse.client.grpc.impl.Progress;
+import com.clickhouse.client.grpc.impl.QueryInfo;
 import com.clickhouse.client.grpc.impl.Result;
 import com.clickhouse.client.grpc.impl.Stats;
 import com.clickhouse.data.ClickHouseCompression;
@@ -29,7 +32,7 @@ import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.logging.Logger;
 import com.clickhouse.logging.LoggerFactory;
 
-public class ClickHouseStreamObserver implements StreamObserver<Result> {
+public class ClickHouseStreamObserver implements ClientResponseObserver<QueryInfo, Result> {
     private static final Logger log = LoggerFactory.getLogger(ClickHouseStreamObserver.class);
 
     private final ClickHouseNode server;
@@ -44,7 +47,20 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
 
     private final AtomicReference<IOException> errorRef;
 
+    // for on-ready flow control of request stream
+    private final Object readyLock;
+    private volatile ClientCallStreamObserver<QueryInfo> requestStream;
+
+    // invoked once when the call is completed, regardless succeeded or not
+    private final Runnable postCompleteAction;
+    private final AtomicBoolean finished;
+
     protected ClickHouseStreamObserver(ClickHouseConfig config, ClickHouseNode server, ClickHouseOutputStream output) {
+        this(config, server, output, null);
+    }
+
+    protected ClickHouseStreamObserver(ClickHouseConfig config, ClickHouseNode server, ClickHouseOutputStream output,
+            Runnable postCompleteAction) {
         this.server = server;
 
         this.startLatch = new CountDownLatch(1);
@@ -71,6 +87,28 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
         this.summary = new ClickHouseResponseSummary(null, null);
 
         this.errorRef = new AtomicReference<>(null);
+
+        this.readyLock = new Object();
+        this.requestStream = null;
+
+        this.postCompleteAction = postCompleteAction;
+        this.finished = new AtomicBoolean(false);
+    }
+
+    protected void finish() {
+        startLatch.countDown();
+        finishLatch.countDown();
+        signalReady();
+
+        if (postCompleteAction != null && finished.compareAndSet(false, true)) {
+            postCompleteAction.run();
+        }
+    }
+
+    protected void signalReady() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
     }
 
     protected void checkClosed() {
@@ -145,6 +183,12 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
         return errorRef.get();
     }
 
+    @Override
+    public void beforeStart(ClientCallStreamObserver<QueryInfo> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(this::signalReady);
+    }
+
     @Override
     public void onNext(Result value) {
         try {
@@ -168,6 +212,12 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
 
     @Override
     public void onError(Throwable t) {
+        if (isCompleted()) {
+            // for example: call cancelled after failing to send data
+            log.debug("Ignored error after completion: %s", t.getMessage());
+            return;
+        }
+
         try {
             log.error("Query failed", t);
 
@@ -180,8 +230,7 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
             checkClosed();
             // Status status = Status.fromThrowable(error = t);
         } finally {
-            startLatch.countDown();
-            finishLatch.countDown();
+            finish();
         }
     }
 
@@ -195,8 +244,7 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
             errorRef.compareAndSet(null, e);
             log.error("Failed to flush output", e);
         } finally {
-            startLatch.countDown();
-            finishLatch.countDown();
+            finish();
 
             try {
                 stream.close();
@@ -214,6 +262,35 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
         return finishLatch.await(timeout, unit);
     }
 
+    /**
+     * Waits until the request stream is able to take more data without excessive
+     * buffering, or the call is completed.
+     *
+     * @param timeout timeout
+     * @param unit    time unit of the timeout
+     * @return true if the request stream is ready or the call is completed; false
+     *         if timed out
+     * @throws InterruptedException when current thread is interrupted
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        ClientCallStreamObserver<QueryInfo> stream = requestStream;
+        if (stream == null) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (readyLock) {
+            while (!stream.isReady() && !isCompleted()) {
+                long remaining = deadline - System.nanoTime();
+                if (timeout > 0L && remaining <= 0L) {
+                    return false;
+                }
+                readyLock.wait(timeout > 0L ? Math.max(TimeUnit.NANOSECONDS.toMillis(remaining), 1L) : 0L);
+            }
+        }
+        return true;
+    }
+
     public ClickHouseInputStream getInputStream() {
         return this.input;
     }
@@ -9,11 +9,31 @@ import com.clickhouse.data.ClickHouseChecker;
  * gRPC client options.
  */
 public enum ClickHouseGrpcOption implements ClickHouseOption {
+    /**
+     * Number of channels per node.
+     */
+    CHANNEL_POOL_SIZE("channel_pool_size", 1,
+            "Number of channels to open for each node. Calls are distributed to the channel with least active calls, which helps when one HTTP/2 connection becomes the bottleneck under high concurrency."),
     /**
      * Flow control window.
      */
     FLOW_CONTROL_WINDOW("flow_control_window", 0,
             "Size of flow control window in byte, 0 or negative number are same as default."),
+    /**
+     * Keep-alive time.
+     */
+    KEEP_ALIVE_TIME("keep_alive_time", 0L,
+            "Time in milliseconds without read activity before sending a keep-alive ping, 0 or negative number means keep-alive is disabled."),
+    /**
+     * Keep-alive timeout.
+     */
+    KEEP_ALIVE_TIMEOUT("keep_alive_timeout", 20000L,
+            "Time in milliseconds waiting for the response of a keep-alive ping, before closing the connection. Only works when keep_alive_time is greater than zero."),
+    /**
+     * Whether to send keep-alive pings when there's no active call.
+     */
+    KEEP_ALIVE_WITHOUT_CALLS("keep_alive_without_calls", false,
+            "Whether to send keep-alive pings even when there's no active call. Only works when keep_alive_time is greater than zero."),
     /**
      * Maximum message size.
      */
@@ -0,0 +1,109 @@
+package com.clickhouse.client.grpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.grpc.impl.QueryInfo;
+import com.clickhouse.config.ClickHouseOption;
+import com.clickhouse.data.ClickHouseCompression;
+import com.clickhouse.data.ClickHouseInputStream;
+
+public class ClickHouseChunkedInputTest {
+    static byte[] newBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i % 7);
+        }
+        return bytes;
+    }
+
+    static ClickHouseConfig newConfig(int chunkSize, ClickHouseCompression compression) {
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.REQUEST_CHUNK_SIZE, chunkSize);
+        if (compression != ClickHouseCompression.NONE) {
+            options.put(ClickHouseClientOption.DECOMPRESS, true);
+            options.put(ClickHouseClientOption.DECOMPRESS_ALGORITHM, compression);
+        }
+        return new ClickHouseConfig(options);
+    }
+
+    /**
+     * Splits given bytes into chunks. Data is copied right after each call of
+     * {@link ClickHouseChunkedInput#next()} the same way as transport does,
+     * because buffers will be reused for next chunk.
+     */
+    static List<byte[]> split(ClickHouseConfig config, byte[] bytes) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        // smaller buffer to make sure a chunk may need multiple reads
+        try (ClickHouseChunkedInput input = new ClickHouseChunkedInput(config, ClickHouseNode.builder().build(),
+                ClickHouseInputStream.of(new ByteArrayInputStream(bytes), 3))) {
+            while (input.hasNext()) {
+                QueryInfo info = input.next();
+                chunks.add(info.getInputData().toByteArray());
+                Assert.assertEquals(info.getNextQueryInfo(), input.hasNext());
+            }
+        }
+        return chunks;
+    }
+
+    @Test(groups = { "unit" })
+    public void testEmptyInput() throws IOException {
+        List<byte[]> chunks = split(newConfig(4, ClickHouseCompression.NONE), new byte[0]);
+        Assert.assertEquals(chunks.size(), 1);
+        Assert.assertEquals(chunks.get(0), new byte[0]);
+    }
+
+    @Test(groups = { "unit" })
+    public void testExactMultiple() throws IOException {
+        byte[] bytes = newBytes(12);
+        List<byte[]> chunks = split(newConfig(4, ClickHouseCompression.NONE), bytes);
+        Assert.assertEquals(chunks.size(), 3);
+        for (int i = 0; i < 3; i++) {
+            byte[] expected = new byte[4];
+            System.arraycopy(bytes, i * 4, expected, 0, 4);
+            Assert.assertEquals(chunks.get(i), expected);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testShortTail() throws IOException {
+        byte[] bytes = newBytes(10);
+        List<byte[]> chunks = split(newConfig(4, ClickHouseCompression.NONE), bytes);
+        Assert.assertEquals(chunks.size(), 3);
+        Assert.assertEquals(chunks.get(0), new byte[] { 0, 1, 2, 3 });
+        Assert.assertEquals(chunks.get(1), new byte[] { 4, 5, 6, 0 });
+        Assert.assertEquals(chunks.get(2), new byte[] { 1, 2 });
+    }
+
+    @Test(groups = { "unit" })
+    public void testCompressedInput() throws IOException {
+        for (int length : new int[] { 0, 1024, 10000 }) {
+            byte[] bytes = newBytes(length);
+            List<byte[]> chunks = split(newConfig(1024, ClickHouseCompression.LZ4), bytes);
+            Assert.assertEquals(chunks.size(), Math.max((length + 1023) / 1024, 1));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+            }
+            try (ClickHouseInputStream in = ClickHouseInputStream.of(
+                    new FramedLZ4CompressorInputStream(new ByteArrayInputStream(out.toByteArray()), false))) {
+                Assert.assertEquals(in.readBytes(length), bytes);
+                Assert.assertEquals(in.read(), -1);
+            }
+        }
+    }
+}
@@ -1,15 +1,85 @@
 package com.clickhouse.client.grpc;
 
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.ForwardingChannelBuilder;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import com.clickhouse.client.BaseIntegrationTest;
 import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseNode;
 import com.clickhouse.client.ClickHouseProtocol;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.grpc.config.ClickHouseGrpcOption;
+import com.clickhouse.config.ClickHouseOption;
 
 public class ClickHouseGrpcChannelFactoryTest extends BaseIntegrationTest {
+    static final class RecordingChannelBuilder extends ForwardingChannelBuilder<RecordingChannelBuilder> {
+        private final ManagedChannelBuilder<?> delegate = NettyChannelBuilder.forAddress("localhost", 9100);
+
+        private long keepAliveTime = -1L;
+        private long keepAliveTimeout = -1L;
+        private Boolean keepAliveWithoutCalls = null;
+
+        @Override
+        protected ManagedChannelBuilder<?> delegate() {
+            return delegate;
+        }
+
+        @Override
+        public RecordingChannelBuilder keepAliveTime(long keepAliveTime, TimeUnit timeUnit) {
+            this.keepAliveTime = timeUnit.toMillis(keepAliveTime);
+            return super.keepAliveTime(keepAliveTime, timeUnit);
+        }
+
+        @Override
+        public RecordingChannelBuilder keepAliveTimeout(long keepAliveTimeout, TimeUnit timeUnit) {
+            this.keepAliveTimeout = timeUnit.toMillis(keepAliveTimeout);
+            return super.keepAliveTimeout(keepAliveTimeout, timeUnit);
+        }
+
+        @Override
+        public RecordingChannelBuilder keepAliveWithoutCalls(boolean enable) {
+            this.keepAliveWithoutCalls = enable;
+            return super.keepAliveWithoutCalls(enable);
+        }
+    }
+
+    static final class RecordingChannelFactory extends ClickHouseGrpcChannelFactory {
+        private final RecordingChannelBuilder builder = new RecordingChannelBuilder();
+
+        RecordingChannelFactory(ClickHouseConfig config, ClickHouseNode server) {
+            super(config, server);
+        }
+
+        @Override
+        protected ManagedChannelBuilder<?> getChannelBuilder() {
+            return builder;
+        }
+
+        @Override
+        protected String getDefaultUserAgent() {
+            return "test";
+        }
+
+        @Override
+        protected void setupSsl() {
+            // not needed
+        }
+
+        @Override
+        protected void setupTimeout() {
+            // not needed
+        }
+    }
+
     @Test(groups = { "integration" })
     public void testGetFactory() {
         ClickHouseNode server = getServer(ClickHouseProtocol.GRPC);
@@ -25,4 +95,24 @@ public class ClickHouseGrpcChannelFactoryTest extends BaseIntegrationTest {
                     server) instanceof NettyChannelFactoryImpl);
         }
     }
+
+    @Test(groups = { "unit" })
+    public void testKeepAlive() {
+        ClickHouseNode server = ClickHouseNode.of("localhost", ClickHouseProtocol.GRPC, 9100, null);
+        RecordingChannelFactory factory = new RecordingChannelFactory(new ClickHouseConfig(), server);
+        factory.setupMisc();
+        Assert.assertEquals(factory.builder.keepAliveTime, -1L);
+        Assert.assertEquals(factory.builder.keepAliveTimeout, -1L);
+        Assert.assertNull(factory.builder.keepAliveWithoutCalls);
+
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseGrpcOption.KEEP_ALIVE_TIME, 30000L);
+        options.put(ClickHouseGrpcOption.KEEP_ALIVE_TIMEOUT, 5000L);
+        options.put(ClickHouseGrpcOption.KEEP_ALIVE_WITHOUT_CALLS, true);
+        factory = new RecordingChannelFactory(new ClickHouseConfig(options), server);
+        factory.setupMisc();
+        Assert.assertEquals(factory.builder.keepAliveTime, 30000L);
+        Assert.assertEquals(factory.builder.keepAliveTimeout, 5000L);
+        Assert.assertEquals(factory.builder.keepAliveWithoutCalls, Boolean.TRUE);
+    }
 }
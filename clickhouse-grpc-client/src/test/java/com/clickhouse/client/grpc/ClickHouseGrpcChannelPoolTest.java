@@ -0,0 +1,143 @@
+package com.clickhouse.client.grpc;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProtocol;
+import com.clickhouse.client.grpc.config.ClickHouseGrpcOption;
+import com.clickhouse.config.ClickHouseOption;
+
+public class ClickHouseGrpcChannelPoolTest {
+    // channels are created lazily, so no connection will be made
+    static ClickHouseGrpcChannelPool newPool(int size) {
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseGrpcOption.CHANNEL_POOL_SIZE, size);
+        return new ClickHouseGrpcChannelPool(new ClickHouseConfig(options),
+                ClickHouseNode.of("localhost", ClickHouseProtocol.GRPC, 9100, null));
+    }
+
+    @Test(groups = { "unit" })
+    public void testPoolSize() {
+        for (int size : new int[] { -1, 0, 1, 3 }) {
+            ClickHouseGrpcChannelPool pool = newPool(size);
+            try {
+                Assert.assertEquals(pool.size(), Math.max(size, 1));
+            } finally {
+                pool.shutdown(true);
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testLeastLoaded() {
+        ClickHouseGrpcChannelPool pool = newPool(3);
+        try {
+            Set<ClickHouseGrpcChannelPool.PooledChannel> acquired = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                ClickHouseGrpcChannelPool.PooledChannel c = pool.acquire();
+                Assert.assertEquals(c.getActiveCalls(), 1);
+                acquired.add(c);
+            }
+            Assert.assertEquals(acquired.size(), 3, "Idle channels should be picked first");
+
+            ClickHouseGrpcChannelPool.PooledChannel busy = pool.acquire();
+            Assert.assertEquals(busy.getActiveCalls(), 2);
+            for (ClickHouseGrpcChannelPool.PooledChannel c : acquired) {
+                if (c != busy) {
+                    c.release();
+                    // the only idle channel always wins
+                    for (int i = 0; i < 3; i++) {
+                        ClickHouseGrpcChannelPool.PooledChannel selected = pool.acquire();
+                        Assert.assertSame(selected, c);
+                        selected.release();
+                    }
+                    Assert.assertEquals(c.getActiveCalls(), 0);
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown(true);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testAcquireAndRelease() {
+        ClickHouseGrpcChannelPool pool = newPool(1);
+        try {
+            ClickHouseGrpcChannelPool.PooledChannel c = pool.acquire();
+            Assert.assertEquals(c.getActiveCalls(), 1);
+            Assert.assertSame(pool.acquire(), c);
+            Assert.assertEquals(c.getActiveCalls(), 2);
+
+            c.release();
+            Assert.assertEquals(c.getActiveCalls(), 1);
+            c.release();
+            Assert.assertEquals(c.getActiveCalls(), 0);
+            // extra release should never make the counter negative
+            c.release();
+            Assert.assertEquals(c.getActiveCalls(), 0);
+        } finally {
+            pool.shutdown(true);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReleaseAfterFailedCall() {
+        ClickHouseGrpcChannelPool pool = newPool(2);
+        try {
+            ClickHouseGrpcChannelPool.PooledChannel c = pool.acquire();
+            ClickHouseGrpcChannelPool.PooledChannel other = pool.acquire();
+            Assert.assertNotSame(other, c);
+            Assert.assertEquals(c.getActiveCalls(), 1);
+
+            ClickHouseStreamObserver observer = new ClickHouseStreamObserver(new ClickHouseConfig(),
+                    pool.getServer(), null, c::release);
+            observer.onError(new IllegalStateException("call failed"));
+            Assert.assertTrue(observer.isCompleted());
+            Assert.assertNotNull(observer.getError());
+            Assert.assertEquals(c.getActiveCalls(), 0);
+            Assert.assertEquals(other.getActiveCalls(), 1);
+
+            // channel is released only once no matter how the call ends
+            observer.onError(new IllegalStateException("failed again"));
+            observer.onCompleted();
+            Assert.assertEquals(c.getActiveCalls(), 0);
+
+            // and it's picked again as it's now less loaded
+            Assert.assertSame(pool.acquire(), c);
+            Assert.assertEquals(c.getActiveCalls(), 1);
+        } finally {
+            pool.shutdown(true);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testCachedStubs() {
+        ClickHouseGrpcChannelPool pool = newPool(1);
+        try {
+            ClickHouseGrpcChannelPool.PooledChannel c = pool.acquire();
+            Assert.assertNotNull(c.getChannel());
+            Assert.assertNotNull(c.getStub());
+            Assert.assertNotNull(c.getBlockingStub());
+            Assert.assertSame(c.getStub(), c.getStub());
+            Assert.assertSame(c.getBlockingStub(), c.getBlockingStub());
+
+            c.release();
+            ClickHouseGrpcChannelPool.PooledChannel again = pool.acquire();
+            Assert.assertSame(again, c);
+            Assert.assertSame(again.getStub(), c.getStub());
+            Assert.assertSame(again.getBlockingStub(), c.getBlockingStub());
+            Assert.assertSame(again.getStub().getChannel(), c.getChannel());
+        } finally {
+            pool.shutdown(true);
+        }
+    }
+}
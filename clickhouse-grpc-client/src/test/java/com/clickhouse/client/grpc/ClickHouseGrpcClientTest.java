@@ -6,17 +6,30 @@ import org.testng.SkipException;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import io.grpc.stub.ClientCallStreamObserver;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.protobuf.ByteString;
 
 import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseException;
 import com.clickhouse.client.ClickHouseNode;
 import com.clickhouse.client.ClickHouseProtocol;
+import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.client.ClickHouseResponseSummary;
 import com.clickhouse.client.ClientIntegrationTest;
 import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.grpc.impl.QueryInfo;
 import com.clickhouse.data.ClickHouseCompression;
 import com.clickhouse.data.ClickHouseFormat;
 import com.clickhouse.data.ClickHouseInputStream;
@@ -132,6 +145,97 @@ public class ClickHouseGrpcClientTest extends ClientIntegrationTest {
 
     }
 
+    @Test(groups = { "unit" })
+    public void testFillWhenReady() throws Exception {
+        final AtomicBoolean ready = new AtomicBoolean(false);
+        final AtomicReference<Runnable> onReady = new AtomicReference<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final List<QueryInfo> sent = new CopyOnWriteArrayList<>();
+        final ClientCallStreamObserver<QueryInfo> requestStream = new ClientCallStreamObserver<QueryInfo>() {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public void setOnReadyHandler(Runnable onReadyHandler) {
+                onReady.set(onReadyHandler);
+            }
+
+            @Override
+            public void disableAutoInboundFlowControl() {
+            }
+
+            @Override
+            public void request(int count) {
+            }
+
+            @Override
+            public void setMessageCompression(boolean enable) {
+            }
+
+            @Override
+            public void cancel(String message, Throwable cause) {
+            }
+
+            @Override
+            public void onNext(QueryInfo value) {
+                // buffers are reused by chunked input, so copy data like transport does
+                sent.add(value.toBuilder().setInputData(ByteString.copyFrom(value.getInputData().toByteArray()))
+                        .build());
+                // take one message at a time
+                ready.set(false);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error.set(t);
+                completed.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        };
+
+        ClickHouseNode server = ClickHouseNode.builder().build();
+        try (ClickHouseGrpcClient client = new ClickHouseGrpcClient()) {
+            client.init(new ClickHouseConfig());
+            ClickHouseRequest<?> request = client.connect(server).option(ClickHouseClientOption.REQUEST_CHUNK_SIZE, 4)
+                    .write().query("insert into test_fill_when_ready").data(new ByteArrayInputStream(new byte[10]));
+            ClickHouseStreamObserver responseObserver = new ClickHouseStreamObserver(request.getConfig(), server,
+                    null);
+            responseObserver.beforeStart(requestStream);
+
+            Thread producer = new Thread(() -> client.fill(request, requestStream, responseObserver));
+            producer.start();
+            // query followed by 3 chunks: 4 + 4 + 2 bytes
+            for (int i = 1; i < 4; i++) {
+                for (int j = 0; j < 100 && sent.size() < i; j++) {
+                    Thread.sleep(50L);
+                }
+                Thread.sleep(100L);
+                Assert.assertEquals(sent.size(), i, "Producer should pause until transport is ready");
+                Assert.assertEquals(completed.getCount(), 1L);
+
+                ready.set(true);
+                onReady.get().run();
+            }
+            Assert.assertTrue(completed.await(5000L, TimeUnit.MILLISECONDS));
+            producer.join(5000L);
+            Assert.assertNull(error.get());
+            Assert.assertEquals(sent.size(), 4);
+            Assert.assertTrue(sent.get(0).getNextQueryInfo());
+            Assert.assertEquals(sent.get(1).getInputData().size(), 4);
+            Assert.assertEquals(sent.get(2).getInputData().size(), 4);
+            Assert.assertEquals(sent.get(3).getInputData().size(), 2);
+            Assert.assertTrue(sent.get(2).getNextQueryInfo());
+            Assert.assertFalse(sent.get(3).getNextQueryInfo());
+        }
+    }
+
     @Test(groups = { "integration" })
     @Override
     public void testSessionLock() {
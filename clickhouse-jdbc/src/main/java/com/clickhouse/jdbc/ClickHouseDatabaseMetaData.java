@@ -1044,7 +1044,7 @@ public class ClickHouseDatabaseMetaData extends JdbcWrapper implements DatabaseM
 
     @Override
     public boolean supportsResultSetType(int type) throws SQLException {
-        return ResultSet.TYPE_FORWARD_ONLY == type;
+        return ResultSet.TYPE_FORWARD_ONLY == type || ResultSet.TYPE_SCROLL_INSENSITIVE == type;
     }
 
     @Override
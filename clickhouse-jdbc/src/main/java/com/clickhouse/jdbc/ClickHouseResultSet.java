@@ -37,15 +37,17 @@ import java.util.TimeZone;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseColumnLookup;
 import com.clickhouse.data.ClickHouseRecord;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.jdbc.internal.PrefetchingRecordIterator;
 
 public class ClickHouseResultSet extends AbstractResultSet {
-    private ClickHouseRecord currentRow;
-    private Iterator<ClickHouseRecord> rowCursor;
-    private int rowNumber;
-    private int lastReadColumn; // 1-based
+    protected ClickHouseRecord currentRow;
+    protected Iterator<ClickHouseRecord> rowCursor;
+    protected int rowNumber;
+    protected int lastReadColumn; // 1-based
 
     protected final String database;
     protected final String table;
@@ -55,6 +57,7 @@ public class ClickHouseResultSet extends AbstractResultSet {
     protected final ClickHouseConfig config;
     protected final boolean wrapObject;
     protected final List<ClickHouseColumn> columns;
+    protected final ClickHouseColumnLookup columnLookup;
     protected final Calendar defaultCalendar;
     protected final int maxRows;
     protected final boolean nullAsDefault;
@@ -63,6 +66,8 @@ public class ClickHouseResultSet extends AbstractResultSet {
     protected final JdbcTypeMapping mapper;
     protected final Map<String, Class<?>> defaultTypeMap;
 
+    private final PrefetchingRecordIterator prefetcher;
+
     // only for testing purpose
     ClickHouseResultSet(String database, String table, ClickHouseResponse response) {
         this.database = database;
@@ -79,12 +84,14 @@ public class ClickHouseResultSet extends AbstractResultSet {
         this.currentRow = null;
         try {
             this.columns = response.getColumns();
+            this.columnLookup = ClickHouseColumnLookup.of(columns);
             this.metaData = new ClickHouseResultSetMetaData(database, table, columns, this.mapper, defaultTypeMap);
 
             this.rowCursor = response.records().iterator();
         } catch (Exception e) {
             throw new IllegalStateException(e);
         }
+        this.prefetcher = null;
 
         this.rowNumber = 0; // before the first row
         this.lastReadColumn = 0;
@@ -116,6 +123,7 @@ public class ClickHouseResultSet extends AbstractResultSet {
         this.currentRow = null;
         try {
             this.columns = response.getColumns();
+            this.columnLookup = ClickHouseColumnLookup.of(columns);
             this.metaData = new ClickHouseResultSetMetaData(database, table, columns, this.mapper, defaultTypeMap);
 
             this.rowCursor = response.records().iterator();
@@ -123,6 +131,15 @@ public class ClickHouseResultSet extends AbstractResultSet {
             throw SqlExceptionUtils.handle(e);
         }
 
+        int fetchSize = statement.getFetchSize();
+        if (fetchSize > 0 && conn.getJdbcConfig().usePrefetch()) {
+            this.prefetcher = new PrefetchingRecordIterator(rowCursor, fetchSize, 0,
+                    config == null || config.isReuseValueWrapper());
+            this.rowCursor = prefetcher;
+        } else {
+            this.prefetcher = null;
+        }
+
         this.rowNumber = 0; // before the first row
         this.lastReadColumn = 0;
 
@@ -191,6 +208,9 @@ public class ClickHouseResultSet extends AbstractResultSet {
 
     @Override
     public void close() throws SQLException {
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
         this.response.close();
     }
 
@@ -202,12 +222,9 @@ public class ClickHouseResultSet extends AbstractResultSet {
             throw SqlExceptionUtils.clientError("Non-empty column label is required");
         }
 
-        int index = 0;
-        for (ClickHouseColumn c : columns) {
-            index++;
-            if (columnLabel.equalsIgnoreCase(c.getColumnName())) {
-                return index;
-            }
+        int index = columnLookup.indexOf(columnLabel);
+        if (index >= 0) {
+            return index + 1;
         }
 
         throw SqlExceptionUtils.clientError(
@@ -470,20 +487,18 @@ public class ClickHouseResultSet extends AbstractResultSet {
         ClickHouseValue v = getValue(columnIndex);
         ClickHouseColumn c = columns.get(columnIndex - 1);
 
-        Class<?> javaType = null;
-        if (!map.isEmpty() && (javaType = map.get(c.getOriginalTypeName())) == null) {
-            javaType = map.get(c.getDataType().name());
-        }
+        Class<?> javaType = map == defaultTypeMap ? metaData.getCustomClass(columnIndex)
+                : ClickHouseResultSetMetaData.getCustomClass(c, map);
 
         Object value;
         if (!wrapObject) {
-            value = javaType != null ? v.asObject(javaType) : v.asObject();
+            value = javaType != null ? metaData.getConverter(columnIndex, javaType).apply(v) : v.asObject();
         } else if (c.isArray()) {
             value = new ClickHouseArray(this, columnIndex);
         } else if (c.isTuple() || c.isNested() || c.isMap()) {
             value = new ClickHouseStruct(c.getDataType().name(), v.asArray());
         } else {
-            value = javaType != null ? v.asObject(javaType) : v.asObject();
+            value = javaType != null ? metaData.getConverter(columnIndex, javaType).apply(v) : v.asObject();
         }
 
         return value;
@@ -496,12 +511,13 @@ public class ClickHouseResultSet extends AbstractResultSet {
 
     @Override
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-        return getValue(columnIndex).asObject(type);
+        ClickHouseValue v = getValue(columnIndex);
+        return metaData.getConverter(columnIndex, type).apply(v);
     }
 
     @Override
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-        return getValue(findColumn(columnLabel)).asObject(type);
+        return getObject(findColumn(columnLabel), type);
     }
 
     @Override
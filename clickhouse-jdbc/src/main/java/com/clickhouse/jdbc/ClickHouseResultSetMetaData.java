@@ -4,11 +4,24 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.clickhouse.data.ClickHouseColumn;
 import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.ClickHouseValues;
 
 public class ClickHouseResultSetMetaData extends JdbcWrapper implements ResultSetMetaData {
+    static final class TypedConverter {
+        final Class<?> type;
+        final Function<ClickHouseValue, ?> func;
+
+        TypedConverter(Class<?> type) {
+            this.type = type;
+            this.func = ClickHouseValues.getConverter(type);
+        }
+    }
+
     public static ResultSetMetaData of(String database, String table, List<ClickHouseColumn> columns,
             JdbcTypeMapping mapper, Map<String, Class<?>> typeMap) throws SQLException {
         if (database == null || table == null || columns == null) {
@@ -24,6 +37,13 @@ public class ClickHouseResultSetMetaData extends JdbcWrapper implements ResultSe
     private final JdbcTypeMapping mapper;
     private final Map<String, Class<?>> typeMap;
 
+    // custom Java class of each column according to type map, null means not
+    // specified
+    private final Class<?>[] customClasses;
+    // converter of each column for the last requested Java class, which is
+    // usually the only one being used
+    private final TypedConverter[] converters;
+
     protected ClickHouseResultSetMetaData(String database, String table, List<ClickHouseColumn> columns,
             JdbcTypeMapping mapper, Map<String, Class<?>> typeMap) {
         this.database = database;
@@ -31,6 +51,52 @@ public class ClickHouseResultSetMetaData extends JdbcWrapper implements ResultSe
         this.columns = columns;
         this.mapper = mapper;
         this.typeMap = typeMap;
+
+        int size = columns != null ? columns.size() : 0;
+        this.customClasses = new Class<?>[size];
+        if (typeMap != null && !typeMap.isEmpty()) {
+            for (int i = 0; i < size; i++) {
+                this.customClasses[i] = getCustomClass(columns.get(i), typeMap);
+            }
+        }
+        this.converters = new TypedConverter[size];
+    }
+
+    static Class<?> getCustomClass(ClickHouseColumn column, Map<String, Class<?>> typeMap) {
+        Class<?> javaType = null;
+        if (!typeMap.isEmpty() && (javaType = typeMap.get(column.getOriginalTypeName())) == null) {
+            javaType = typeMap.get(column.getDataType().name());
+        }
+        return javaType;
+    }
+
+    /**
+     * Gets custom Java class of the given column, according to the type map used
+     * to create this metadata.
+     *
+     * @param index one-based column index
+     * @return custom Java class, or null if it's not specified in type map
+     */
+    protected Class<?> getCustomClass(int index) {
+        return customClasses[index - 1];
+    }
+
+    /**
+     * Gets converter for turning value of the given column into the given Java
+     * class. The converter is resolved on first use and then cached.
+     *
+     * @param <T>   type of the object
+     * @param index one-based column index
+     * @param type  Java class
+     * @return non-null converter
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> Function<ClickHouseValue, T> getConverter(int index, Class<T> type) {
+        TypedConverter c = converters[index - 1];
+        if (c == null || c.type != type) {
+            converters[index - 1] = c = new TypedConverter(type);
+        }
+        return (Function<ClickHouseValue, T>) c.func;
     }
 
     protected List<ClickHouseColumn> getColumns() {
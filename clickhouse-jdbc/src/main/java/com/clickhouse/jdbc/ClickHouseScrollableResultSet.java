@@ -1,75 +1,265 @@
 package com.clickhouse.jdbc;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.sql.SQLException;
-import java.util.LinkedList;
 import java.util.List;
 
 import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseDataConfig;
+import com.clickhouse.data.ClickHouseDataProcessor;
+import com.clickhouse.data.ClickHouseDeserializer;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseOutputStream;
+import com.clickhouse.data.ClickHouseRecord;
+import com.clickhouse.data.ClickHouseValue;
+import com.clickhouse.data.format.ClickHouseRowBinaryProcessor;
+import com.clickhouse.data.format.ClickHouseSimpleRecord;
+import com.clickhouse.jdbc.internal.SpillableRowStore;
 
+/**
+ * Scroll-insensitive result set. Rows are fetched from the underlying response
+ * on demand and kept as RowBinary in a {@link SpillableRowStore}, so that the
+ * cursor can be moved back and forth without re-executing the query or keeping
+ * all rows as objects in memory.
+ */
 public class ClickHouseScrollableResultSet extends ClickHouseResultSet {
+    static final class RowBuffer extends ByteArrayOutputStream {
+        RowBuffer() {
+            super(256);
+        }
 
-	private final List<byte[]> records;
-
-	public ClickHouseScrollableResultSet(String database, String table, ClickHouseStatement statement,
-			ClickHouseResponse response) throws SQLException {
-		super(database, table, statement, response);
-
-		this.records = new LinkedList<>();
-	}
-
-	@Override
-	public int getType() throws SQLException {
-		return TYPE_SCROLL_INSENSITIVE;
-	}
-
-	@Override
-	public void beforeFirst() throws SQLException {
-		absolute(0);
-	}
-
-	@Override
-	public void afterLast() throws SQLException {
-		absolute(-1);
-		next();
-	}
-
-	@Override
-	public boolean first() throws SQLException {
-		return absolute(1);
-	}
-
-	@Override
-	public boolean last() throws SQLException {
-		return absolute(-1);
-	}
-
-	@Override
-	public boolean absolute(int row) throws SQLException {
-		return false;
-		// TODO implemetation
-		/*
-		 * if (row == 0) { rowNumber = 0; values = null; return false; } else if (row >
-		 * 0) { if (row <= lines.size()) { rowNumber = row; values = lines.get(row - 1);
-		 * return true; } absolute(lines.size()); while (getRow() < row && hasNext()) {
-		 * next(); } if (row == getRow()) { return true; } else { next(); return false;
-		 * } } else { // We have to check the number of total rows while (hasNext()) {
-		 * next(); } if (-row > lines.size()) { // there is not so many rows // Put the
-		 * cursor before the first row return absolute(0); } return
-		 * absolute(lines.size() + 1 + row); }
-		 */
-	}
-
-	@Override
-	public boolean relative(int rows) throws SQLException {
-		int r = getRow() + rows;
-		if (r < 0) {
-			r = 0;
-		}
-		return absolute(r);
-	}
-
-	@Override
-	public boolean previous() throws SQLException {
-		return relative(-1);
-	}
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    private SpillableRowStore store;
+    private RowBuffer buffer;
+    private ClickHouseOutputStream output;
+    private ClickHouseDataProcessor processor;
+    private ClickHouseDeserializer[] deserializers;
+    private ClickHouseValue[] values;
+    private ClickHouseRecord record;
+
+    // zero means before the first row, and store.size() + 1 means after the last
+    private int position;
+    private boolean fetchedAll;
+
+    // only for testing purpose
+    ClickHouseScrollableResultSet(String database, String table, ClickHouseResponse response,
+            ClickHouseDataConfig config, long memoryLimit) throws SQLException {
+        super(database, table, response);
+
+        initialize(config, memoryLimit);
+    }
+
+    public ClickHouseScrollableResultSet(String database, String table, ClickHouseStatement statement,
+            ClickHouseResponse response) throws SQLException {
+        super(database, table, statement, response);
+
+        initialize(config, statement.getConnection().getJdbcConfig().getScrollMemoryLimit());
+    }
+
+    /**
+     * Initializes the row store and everything needed to read and write rows.
+     * Shared by both constructors, which have to call different constructors of
+     * the super class and therefore cannot delegate to each other.
+     *
+     * @param config      non-null configuration
+     * @param memoryLimit maximum bytes to keep in memory before spilling to disk
+     * @throws SQLException when failed to create data processor
+     */
+    private void initialize(ClickHouseDataConfig config, long memoryLimit) throws SQLException {
+        this.store = new SpillableRowStore(memoryLimit);
+        this.buffer = new RowBuffer();
+        this.output = ClickHouseOutputStream.of(buffer);
+        this.processor = newProcessor(config, output, columns);
+
+        int len = columns.size();
+        this.deserializers = new ClickHouseDeserializer[len];
+        this.values = new ClickHouseValue[len];
+        for (int i = 0; i < len; i++) {
+            ClickHouseColumn column = columns.get(i);
+            this.deserializers[i] = processor.getDeserializer(config, column);
+            this.values[i] = column.newValue(config);
+        }
+        this.record = len > 0 ? ClickHouseSimpleRecord.of(columns, values, columnLookup)
+                : ClickHouseRecord.EMPTY;
+
+        this.position = 0;
+        this.fetchedAll = false;
+    }
+
+    private static ClickHouseDataProcessor newProcessor(ClickHouseDataConfig config, ClickHouseOutputStream output,
+            List<ClickHouseColumn> columns) throws SQLException {
+        try {
+            return new ClickHouseRowBinaryProcessor(config, null, output, columns, null);
+        } catch (Exception e) {
+            throw SqlExceptionUtils.handle(e);
+        }
+    }
+
+    /**
+     * Fetches rows from the response until the given row is available.
+     *
+     * @param row one-based row number, {@link Integer#MAX_VALUE} means all rows
+     * @return true if the row is available; false otherwise
+     * @throws SQLException when failed to fetch rows
+     */
+    protected boolean fetch(int row) throws SQLException {
+        if (row <= store.size()) {
+            return true;
+        }
+
+        try {
+            while (!fetchedAll && store.size() < row) {
+                if ((maxRows == 0 || store.size() < maxRows) && rowCursor.hasNext()) {
+                    ClickHouseRecord r = rowCursor.next();
+                    buffer.reset();
+                    for (int i = 0, len = values.length; i < len; i++) {
+                        processor.write(r.getValue(i));
+                    }
+                    output.flush();
+                    store.append(buffer.array(), 0, buffer.size());
+                } else {
+                    fetchedAll = true;
+                }
+            }
+        } catch (Exception e) {
+            throw SqlExceptionUtils.handle(e);
+        }
+        return row <= store.size();
+    }
+
+    /**
+     * Moves cursor to the given row, which must be either available in the store,
+     * or zero(before the first row), or {@code store.size() + 1}(after the last
+     * row).
+     *
+     * @param row one-based row number
+     * @return true if the cursor is on a valid row; false otherwise
+     * @throws SQLException when failed to read the row
+     */
+    protected boolean moveTo(int row) throws SQLException {
+        lastReadColumn = 0;
+        position = row;
+        if (row < 1 || row > store.size()) {
+            currentRow = null;
+            rowNumber = 0;
+            return false;
+        }
+
+        try (ClickHouseInputStream in = ClickHouseInputStream.of(store.get(row - 1))) {
+            for (int i = 0, len = deserializers.length; i < len; i++) {
+                values[i] = deserializers[i].deserialize(values[i], in);
+            }
+        } catch (IOException e) {
+            throw SqlExceptionUtils.handle(e);
+        }
+        currentRow = record;
+        rowNumber = row;
+        return true;
+    }
+
+    @Override
+    protected boolean hasNext() throws SQLException {
+        return position < Integer.MAX_VALUE && fetch(position + 1);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            super.close();
+        } finally {
+            try {
+                store.close();
+            } catch (IOException e) {
+                throw SqlExceptionUtils.handle(e);
+            }
+        }
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return TYPE_SCROLL_INSENSITIVE;
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        ensureOpen();
+
+        return position > store.size() && store.size() > 0;
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        ensureOpen();
+
+        return position == 0 && fetch(1);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        ensureOpen();
+
+        return hasNext() ? moveTo(position + 1) : moveTo(store.size() + 1);
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        ensureOpen();
+
+        moveTo(0);
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        ensureOpen();
+
+        fetch(Integer.MAX_VALUE);
+        moveTo(store.size() + 1);
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return absolute(1);
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return absolute(-1);
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        ensureOpen();
+
+        if (row < 0) {
+            fetch(Integer.MAX_VALUE);
+            row = Math.max(store.size() + 1 + row, 0);
+        } else if (!fetch(row)) {
+            row = store.size() + 1;
+        }
+        return moveTo(row);
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        ensureOpen();
+
+        long row = (long) position + rows;
+        if (row < 1L) {
+            return moveTo(0);
+        } else if (row > Integer.MAX_VALUE || !fetch((int) row)) {
+            return moveTo(store.size() + 1);
+        }
+        return moveTo((int) row);
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return relative(-1);
+    }
 }
@@ -24,10 +24,13 @@ public class JdbcConfig {
     public static final String PROP_CREATE_DATABASE = "createDatabaseIfNotExist";
     public static final String PROP_CONTINUE_BATCH = "continueBatchOnError";
     public static final String PROP_DIALECT = "dialect";
+    public static final String PROP_EXTERNAL_PARAM = "externalParameterThreshold";
     public static final String PROP_FETCH_SIZE = "fetchSize";
     public static final String PROP_JDBC_COMPLIANT = "jdbcCompliant";
     public static final String PROP_NAMED_PARAM = "namedParameter";
     public static final String PROP_NULL_AS_DEFAULT = "nullAsDefault";
+    public static final String PROP_PREFETCH = "prefetch";
+    public static final String PROP_SCROLL_MEMORY = "scrollMemoryLimit";
     public static final String PROP_TX_SUPPORT = "transactionSupport";
     public static final String PROP_TYPE_MAP = "typeMappings";
     public static final String PROP_WRAPPER_OBJ = "wrapperObject";
@@ -39,10 +42,13 @@ public class JdbcConfig {
     private static final String DEFAULT_CREATE_DATABASE = BOOLEAN_FALSE;
     private static final String DEFAULT_CONTINUE_BATCH = BOOLEAN_FALSE;
     private static final String DEFAULT_DIALECT = "";
+    private static final String DEFAULT_EXTERNAL_PARAM = "0";
     private static final String DEFAULT_FETCH_SIZE = "0";
     private static final String DEFAULT_JDBC_COMPLIANT = BOOLEAN_TRUE;
     private static final String DEFAULT_NAMED_PARAM = BOOLEAN_FALSE;
     private static final String DEFAULT_NULL_AS_DEFAULT = "0";
+    private static final String DEFAULT_PREFETCH = BOOLEAN_FALSE;
+    private static final String DEFAULT_SCROLL_MEMORY = "16777216";
     private static final String DEFAULT_TX_SUPPORT = BOOLEAN_FALSE;
     private static final String DEFAULT_TYPE_MAP = "";
     private static final String DEFAULT_WRAPPER_OBJ = BOOLEAN_FALSE;
@@ -136,6 +142,10 @@ public class JdbcConfig {
         info.description = "Whether to continue batch process when error occurred.";
         list.add(info);
 
+        info = new DriverPropertyInfo(PROP_EXTERNAL_PARAM, DEFAULT_EXTERNAL_PARAM);
+        info.description = "Minimum number of elements in an array or collection parameter of expression like 'x in (?)', above which the parameter will be sent as an external table in RowBinary format, instead of being rendered as SQL literal. Zero or negative number disables the rewriting.";
+        list.add(info);
+
         info = new DriverPropertyInfo(PROP_FETCH_SIZE, DEFAULT_FETCH_SIZE);
         info.description = "Default fetch size, negative or zero means no preferred option.";
         list.add(info);
@@ -158,6 +168,15 @@ public class JdbcConfig {
         info.description = "Default approach to handle null value, sets to 0 or negative number to throw exception when target column is not nullable, 1 to disable the null-check, and 2 or higher to replace null to default value of corresponding data type.";
         list.add(info);
 
+        info = new DriverPropertyInfo(PROP_PREFETCH, DEFAULT_PREFETCH);
+        info.choices = new String[] { BOOLEAN_TRUE, BOOLEAN_FALSE };
+        info.description = "Whether to read and decode rows ahead in a background thread, in batches of fetch size. It only takes effect when fetch size is positive, which is also passed to server as max_block_size.";
+        list.add(info);
+
+        info = new DriverPropertyInfo(PROP_SCROLL_MEMORY, DEFAULT_SCROLL_MEMORY);
+        info.description = "Maximum bytes of rows can be held in memory by a scroll-insensitive result set, remaining rows will be spilled into a temporary file. Zero or negative number means all rows will be spilled.";
+        list.add(info);
+
         info = new DriverPropertyInfo(PROP_TX_SUPPORT, DEFAULT_TX_SUPPORT);
         info.choices = new String[] { BOOLEAN_TRUE, BOOLEAN_FALSE };
         info.description = "Whether to enable transaction support or not.";
@@ -178,11 +197,14 @@ public class JdbcConfig {
     private final boolean autoCommit;
     private final boolean createDb;
     private final boolean continueBatch;
+    private final int externalParam;
     private final int fetchSize;
     private final boolean jdbcCompliant;
     private final JdbcTypeMapping dialect;
     private final boolean namedParameter;
     private final int nullAsDefault;
+    private final boolean prefetch;
+    private final int scrollMemory;
     private final boolean txSupport;
     private final Map<String, Class<?>> typeMap;
     private final boolean wrapperObject;
@@ -200,10 +222,13 @@ public class JdbcConfig {
         this.createDb = extractBooleanValue(props, PROP_CREATE_DATABASE, DEFAULT_CREATE_DATABASE);
         this.continueBatch = extractBooleanValue(props, PROP_CONTINUE_BATCH, DEFAULT_CONTINUE_BATCH);
         this.dialect = extractDialectValue(props, PROP_DIALECT, DEFAULT_DIALECT);
+        this.externalParam = extractIntValue(props, PROP_EXTERNAL_PARAM, DEFAULT_EXTERNAL_PARAM);
         this.fetchSize = extractIntValue(props, PROP_FETCH_SIZE, DEFAULT_FETCH_SIZE);
         this.jdbcCompliant = extractBooleanValue(props, PROP_JDBC_COMPLIANT, DEFAULT_JDBC_COMPLIANT);
         this.namedParameter = extractBooleanValue(props, PROP_NAMED_PARAM, DEFAULT_NAMED_PARAM);
         this.nullAsDefault = extractIntValue(props, PROP_NULL_AS_DEFAULT, DEFAULT_NULL_AS_DEFAULT);
+        this.prefetch = extractBooleanValue(props, PROP_PREFETCH, DEFAULT_PREFETCH);
+        this.scrollMemory = extractIntValue(props, PROP_SCROLL_MEMORY, DEFAULT_SCROLL_MEMORY);
         this.txSupport = extractBooleanValue(props, PROP_TX_SUPPORT, DEFAULT_TX_SUPPORT);
         this.typeMap = extractTypeMapValue(props, PROP_TYPE_MAP, DEFAULT_TYPE_MAP);
         this.wrapperObject = extractBooleanValue(props, PROP_WRAPPER_OBJ, DEFAULT_WRAPPER_OBJ);
@@ -238,6 +263,18 @@ public class JdbcConfig {
         return continueBatch;
     }
 
+    /**
+     * Gets minimum number of elements in an array or collection parameter of
+     * {@code IN} expression, above which the parameter will be sent as an external
+     * table.
+     *
+     * @return threshold of elements, zero or negative number means the parameter
+     *         will always be rendered as SQL literal
+     */
+    public int getExternalParameterThreshold() {
+        return externalParam;
+    }
+
     /**
      * Gets default fetch size for query.
      *
@@ -293,6 +330,27 @@ public class JdbcConfig {
         return nullAsDefault;
     }
 
+    /**
+     * Checks whether rows should be read and decoded ahead in a background thread.
+     * It only takes effect when fetch size is positive.
+     *
+     * @return true if rows should be prefetched; false otherwise
+     */
+    public boolean usePrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Gets maximum bytes of rows can be held in memory by a scroll-insensitive
+     * result set.
+     *
+     * @return maximum bytes of rows in memory, zero or negative number means all
+     *         rows will be spilled into a temporary file
+     */
+    public int getScrollMemoryLimit() {
+        return scrollMemory;
+    }
+
     /**
      * Checks whether named parameter should be used instead of JDBC standard
      * question mark placeholder.
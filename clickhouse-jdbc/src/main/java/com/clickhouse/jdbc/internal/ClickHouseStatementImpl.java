@@ -40,6 +40,7 @@ import com.clickhouse.logging.Logger;
 import com.clickhouse.logging.LoggerFactory;
 import com.clickhouse.jdbc.ClickHouseConnection;
 import com.clickhouse.jdbc.ClickHouseResultSet;
+import com.clickhouse.jdbc.ClickHouseScrollableResultSet;
 import com.clickhouse.jdbc.ClickHouseStatement;
 import com.clickhouse.jdbc.JdbcTypeMapping;
 import com.clickhouse.jdbc.SqlExceptionUtils;
@@ -51,8 +52,12 @@ public class ClickHouseStatementImpl extends JdbcWrapper
         implements ClickHouseConfigChangeListener<ClickHouseRequest<?>>, ClickHouseStatement {
     private static final Logger log = LoggerFactory.getLogger(ClickHouseStatementImpl.class);
 
+    static final String SETTING_MAX_BLOCK_SIZE = "max_block_size";
+
     private final ClickHouseConnection connection;
     private final ClickHouseRequest<?> request;
+    // whether to pass fetch size to server as max_block_size
+    private final boolean hintBlockSize;
 
     private final int resultSetType;
     private final int resultSetConcurrency;
@@ -257,8 +262,10 @@ public class ClickHouseStatementImpl extends JdbcWrapper
     protected ResultSet updateResult(ClickHouseSqlStatement stmt, ClickHouseResponse response) throws SQLException {
         if (stmt.isQuery() || !response.getColumns().isEmpty()) {
             currentUpdateCount = -1L;
-            currentResult = new ClickHouseResultSet(stmt.getDatabaseOrDefault(getConnection().getCurrentDatabase()),
-                    stmt.getTable(), this, response);
+            String database = stmt.getDatabaseOrDefault(getConnection().getCurrentDatabase());
+            currentResult = resultSetType == ResultSet.TYPE_FORWARD_ONLY
+                    ? new ClickHouseResultSet(database, stmt.getTable(), this, response)
+                    : new ClickHouseScrollableResultSet(database, stmt.getTable(), this, response);
         } else {
             response.close();
             currentUpdateCount = stmt.isDDL() ? 0L
@@ -278,7 +285,11 @@ public class ClickHouseStatementImpl extends JdbcWrapper
         this.request = request.setChangeListener(this);
 
         // TODO validate resultSet attributes
-        this.resultSetType = ResultSet.TYPE_FORWARD_ONLY;
+        if (resultSetType == ResultSet.TYPE_SCROLL_SENSITIVE) {
+            log.warn("TYPE_SCROLL_SENSITIVE is not supported, use TYPE_SCROLL_INSENSITIVE instead");
+        }
+        this.resultSetType = resultSetType == ResultSet.TYPE_FORWARD_ONLY ? ResultSet.TYPE_FORWARD_ONLY
+                : ResultSet.TYPE_SCROLL_INSENSITIVE;
         this.resultSetConcurrency = ResultSet.CONCUR_READ_ONLY;
         this.resultSetHoldability = ResultSet.CLOSE_CURSORS_AT_COMMIT;
 
@@ -286,6 +297,10 @@ public class ClickHouseStatementImpl extends JdbcWrapper
         this.closeOnCompletion = true;
 
         this.fetchSize = connection.getJdbcConfig().getFetchSize();
+        this.hintBlockSize = connection.getJdbcConfig().usePrefetch() && !request.hasSetting(SETTING_MAX_BLOCK_SIZE);
+        if (hintBlockSize && fetchSize > 0) {
+            request.set(SETTING_MAX_BLOCK_SIZE, fetchSize);
+        }
         this.maxFieldSize = 0;
         this.maxRows = 0L;
         this.nullAsDefault = connection.getJdbcConfig().getNullAsDefault();
@@ -577,6 +592,14 @@ public class ClickHouseStatementImpl extends JdbcWrapper
             } else {
                 request.option(ClickHouseClientOption.READ_BUFFER_SIZE, rows * 1024);
             }
+
+            if (!hintBlockSize) {
+                // max_block_size is either not needed or specified explicitly
+            } else if (rows == 0) {
+                request.removeSetting(SETTING_MAX_BLOCK_SIZE);
+            } else {
+                request.set(SETTING_MAX_BLOCK_SIZE, rows);
+            }
         }
     }
 
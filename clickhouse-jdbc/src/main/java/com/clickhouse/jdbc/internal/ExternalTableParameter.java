@@ -0,0 +1,157 @@
+package com.clickhouse.jdbc.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.clickhouse.data.ClickHouseExternalTable;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.format.BinaryStreamUtils;
+
+/**
+ * Helper class for sending large array or collection parameter, which is used
+ * as right operand of {@code IN} expression, as an external table in RowBinary
+ * format. This way the server only needs to parse a short sub-query like
+ * {@code SELECT v FROM _ext_1} instead of a huge list of literals.
+ */
+final class ExternalTableParameter {
+    static final String COLUMN_NAME = "v";
+    static final String TABLE_PREFIX = "_ext_";
+
+    static final String TYPE_FLOAT = "Float64";
+    static final String TYPE_INTEGER = "Int64";
+    static final String TYPE_STRING = "String";
+
+    private static boolean isIdentifierChar(char ch) {
+        return ch == '_' || Character.isLetterOrDigit(ch);
+    }
+
+    private static int skipWhitespacesBackward(String str, int index) {
+        while (index > 0 && Character.isWhitespace(str.charAt(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    static String getTypeName(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return TYPE_INTEGER;
+        } else if (value instanceof Double || value instanceof Float) {
+            return TYPE_FLOAT;
+        } else if (value instanceof String) {
+            return TYPE_STRING;
+        }
+        return null;
+    }
+
+    static Iterator<?> iterate(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).iterator();
+        }
+
+        final int len = Array.getLength(value);
+        return new Iterator<Object>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < len;
+            }
+
+            @Override
+            public Object next() {
+                return Array.get(value, index++);
+            }
+        };
+    }
+
+    static int sizeOf(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        } else if (value != null && value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets sub-query for the parameter between the given query parts.
+     *
+     * @param before    query part before the parameter
+     * @param after     query part after the parameter
+     * @param tableName name of the external table
+     * @return sub-query to replace the parameter, or null when the parameter is
+     *         not right operand of {@code IN} expression
+     */
+    static String getSubquery(String before, String after, String tableName) {
+        if (before == null) {
+            return null;
+        }
+
+        int index = skipWhitespacesBackward(before, before.length());
+        boolean parenthesized = index > 0 && before.charAt(index - 1) == '(';
+        if (parenthesized) {
+            if (after == null || !after.trim().startsWith(")")) {
+                return null;
+            }
+            index = skipWhitespacesBackward(before, index - 1);
+        }
+
+        if (index < 2 || !before.regionMatches(true, index - 2, "IN", 0, 2)
+                || (index > 2 && isIdentifierChar(before.charAt(index - 3)))) {
+            return null;
+        }
+
+        String subquery = "SELECT " + COLUMN_NAME + " FROM " + tableName;
+        return parenthesized ? subquery : "(" + subquery + ")";
+    }
+
+    /**
+     * Creates external table for the given array or collection.
+     *
+     * @param tableName name of the external table
+     * @param value     array or collection
+     * @param threshold number of elements, above which the external table will be
+     *                  created
+     * @return external table, or null when there are not enough elements, or the
+     *         elements are null or in mixed or unsupported types
+     * @throws IOException when failed to serialize the elements
+     */
+    static ClickHouseExternalTable of(String tableName, Object value, int threshold) throws IOException {
+        int size = sizeOf(value);
+        if (threshold < 1 || size <= threshold) {
+            return null;
+        }
+
+        String type = null;
+        for (Iterator<?> it = iterate(value); it.hasNext();) {
+            String t = getTypeName(it.next());
+            if (t == null || (type != null && !type.equals(t))) {
+                return null;
+            }
+            type = t;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 8);
+        for (Iterator<?> it = iterate(value); it.hasNext();) {
+            Object v = it.next();
+            if (type == TYPE_INTEGER) { // NOSONAR
+                BinaryStreamUtils.writeInt64(out, ((Number) v).longValue());
+            } else if (type == TYPE_FLOAT) { // NOSONAR
+                BinaryStreamUtils.writeFloat64(out, ((Number) v).doubleValue());
+            } else {
+                BinaryStreamUtils.writeString(out, (String) v);
+            }
+        }
+
+        return ClickHouseExternalTable.builder().name(tableName).format(ClickHouseFormat.RowBinary)
+                .addColumn(COLUMN_NAME, type).content(new ByteArrayInputStream(out.toByteArray()))
+                .asExternalTable().build();
+    }
+
+    private ExternalTableParameter() {
+    }
+}
@@ -0,0 +1,190 @@
+package com.clickhouse.jdbc.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.clickhouse.data.ClickHouseRecord;
+import com.clickhouse.data.ClickHouseThreadFactory;
+import com.clickhouse.logging.Logger;
+import com.clickhouse.logging.LoggerFactory;
+
+/**
+ * Iterator decoding records in a dedicated worker thread. Records are read
+ * ahead in batches and handed over through a bounded queue, so that the caller
+ * can process current batch while next ones are being read and deserialized.
+ */
+public final class PrefetchingRecordIterator implements Iterator<ClickHouseRecord>, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(PrefetchingRecordIterator.class);
+
+    private static final ClickHouseThreadFactory threadFactory = new ClickHouseThreadFactory("ClickHousePrefetch-");
+
+    // marker of end of the stream, must be compared by reference
+    private static final List<ClickHouseRecord> END = Collections.unmodifiableList(new ArrayList<>(0));
+
+    static final int DEFAULT_BATCHES = 4;
+    // maximum milliseconds to wait for the worker thread on close
+    static final long CLOSE_TIMEOUT = 1000L;
+
+    private final Iterator<ClickHouseRecord> source;
+    private final int batchSize;
+    private final boolean copyRecord;
+    private final BlockingQueue<List<ClickHouseRecord>> queue;
+    private final Thread worker;
+
+    private volatile Throwable error;
+    private volatile boolean closed;
+
+    private List<ClickHouseRecord> batch;
+    private int index;
+
+    private void prefetch() {
+        List<ClickHouseRecord> list = null;
+        try {
+            while (!closed && source.hasNext()) {
+                list = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize && source.hasNext(); i++) {
+                    ClickHouseRecord r = source.next();
+                    list.add(copyRecord ? r.copy() : r);
+                }
+                queue.put(list);
+                list = null;
+            }
+        } catch (InterruptedException e) {
+            if (!closed) {
+                error = e;
+            }
+        } catch (Throwable t) { // NOSONAR
+            if (closed) {
+                log.debug("Ignore error after closed: %s", t.getMessage());
+            } else {
+                error = t;
+            }
+        } finally {
+            // consumer must not wait forever, no matter how the loop ended
+            if (!closed) {
+                publish(list);
+            }
+        }
+    }
+
+    private void publish(List<ClickHouseRecord> list) {
+        // clear interrupted status, so that records read so far and the end marker
+        // can still be handed over
+        boolean interrupted = Thread.interrupted();
+        try {
+            // records read before the error
+            if (list != null && !list.isEmpty()) {
+                queue.put(list);
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Default constructor, which starts the worker thread immediately.
+     *
+     * @param source     non-null iterator to read records from
+     * @param batchSize  number of records in a batch, zero or negative number is
+     *                   treated as one
+     * @param batches    maximum number of batches waiting to be consumed, zero or
+     *                   negative number is treated as {@link #DEFAULT_BATCHES}
+     * @param copyRecord whether to copy record before adding into a batch, which
+     *                   is required when the source reuses same record object
+     */
+    public PrefetchingRecordIterator(Iterator<ClickHouseRecord> source, int batchSize, int batches,
+            boolean copyRecord) {
+        if (source == null) {
+            throw new IllegalArgumentException("Non-null source is required");
+        }
+
+        this.source = source;
+        this.batchSize = batchSize < 1 ? 1 : batchSize;
+        this.copyRecord = copyRecord;
+        this.queue = new ArrayBlockingQueue<>(batches < 1 ? DEFAULT_BATCHES : batches);
+
+        this.error = null;
+        this.closed = false;
+
+        this.batch = Collections.emptyList();
+        this.index = 0;
+
+        this.worker = threadFactory.newThread(this::prefetch);
+        this.worker.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index < batch.size()) {
+            return true;
+        } else if (batch == END || closed) {
+            return false;
+        }
+
+        try {
+            batch = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for next batch", e);
+        }
+        index = 0;
+
+        if (batch == END) {
+            Throwable t = error;
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            } else if (t instanceof IOException) {
+                throw new UncheckedIOException((IOException) t);
+            } else if (t != null) {
+                throw new IllegalStateException(t);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public ClickHouseRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more record");
+        }
+
+        return batch.get(index++);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        batch = END;
+        worker.interrupt();
+        try {
+            // make sure the worker no longer reads from source or adds to queue
+            worker.join(CLOSE_TIMEOUT);
+            if (worker.isAlive()) {
+                log.debug("Worker thread [%s] is still running after %d ms", worker.getName(), CLOSE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.clickhouse.jdbc.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import com.clickhouse.data.ClickHouseByteBuffer;
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.logging.Logger;
+import com.clickhouse.logging.LoggerFactory;
+
+/**
+ * Append-only store of serialized rows, which keeps the first rows in memory
+ * until the memory limit is reached and then spills the remaining rows into a
+ * memory-mapped temporary file. Each row is kept as raw bytes(e.g. RowBinary)
+ * with an offset index, so that random access by row index takes constant time
+ * and does not require to decode all rows in between.
+ */
+public final class SpillableRowStore implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SpillableRowStore.class);
+
+    static final int DEFAULT_INITIAL_ROWS = 64;
+    static final int DEFAULT_MAPPED_WINDOW = 32 * 1024 * 1024;
+    static final int DEFAULT_WRITE_BUFFER = 64 * 1024;
+
+    private final long memoryLimit;
+    private final int mappedWindow;
+
+    // end offset of each row, in memory for the first memoryRows rows, and in the
+    // file for the rest
+    private long[] offsets;
+    private int size;
+
+    private byte[] memory;
+    private int memoryRows;
+
+    private File file;
+    private FileChannel channel;
+    private ByteBuffer writeBuffer;
+    private long flushedLength;
+    private long fileLength;
+
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    private long mappedEnd;
+
+    private boolean closed;
+
+    private ByteBuffer slice(int index, long start, long end) throws IOException {
+        if (end > flushedLength) {
+            flush();
+        }
+
+        if (mapped == null || start < mappedStart || end > mappedEnd) {
+            long len = Math.min(fileLength - start, Math.max(end - start, mappedWindow));
+            if (len > Integer.MAX_VALUE) {
+                throw new IOException(ClickHouseUtils.format("Row #%d is too large(%d bytes) to be mapped", index + 1,
+                        end - start));
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+            mappedStart = start;
+            mappedEnd = start + len;
+        }
+
+        ByteBuffer buf = mapped.duplicate();
+        ((Buffer) buf).position((int) (start - mappedStart));
+        ((Buffer) buf).limit((int) (end - mappedStart));
+        return buf;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Row store has been closed");
+        }
+    }
+
+    private void flush() throws IOException {
+        ((Buffer) writeBuffer).flip();
+        while (writeBuffer.hasRemaining()) {
+            flushedLength += channel.write(writeBuffer, flushedLength);
+        }
+        ((Buffer) writeBuffer).clear();
+    }
+
+    private void spill(byte[] bytes, int offset, int length) throws IOException {
+        if (channel == null) {
+            file = ClickHouseUtils.createTempFile("chr", ".rows", true);
+            channel = new RandomAccessFile(file, "rw").getChannel(); // NOSONAR
+            writeBuffer = ByteBuffer.allocate(DEFAULT_WRITE_BUFFER);
+            log.debug("Spilling rows into [%s] after reaching memory limit of %d bytes", file, memoryLimit);
+        }
+
+        if (length > writeBuffer.remaining()) {
+            flush();
+            if (length > writeBuffer.capacity()) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes, offset, length);
+                while (buf.hasRemaining()) {
+                    flushedLength += channel.write(buf, flushedLength);
+                }
+                fileLength += length;
+                return;
+            }
+        }
+        writeBuffer.put(bytes, offset, length);
+        fileLength += length;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param memoryLimit maximum bytes can be held in memory before spilling rows
+     *                    into a temporary file, zero or negative number means all
+     *                    rows will be spilled
+     */
+    public SpillableRowStore(long memoryLimit) {
+        this(memoryLimit, DEFAULT_MAPPED_WINDOW);
+    }
+
+    SpillableRowStore(long memoryLimit, int mappedWindow) {
+        this.memoryLimit = memoryLimit < 0L ? 0L : Math.min(memoryLimit, Integer.MAX_VALUE - 8L);
+        this.mappedWindow = mappedWindow < 1 ? DEFAULT_MAPPED_WINDOW : mappedWindow;
+
+        this.offsets = new long[DEFAULT_INITIAL_ROWS];
+        this.size = 0;
+
+        this.memory = ClickHouseByteBuffer.EMPTY_BYTES;
+        this.memoryRows = 0;
+
+        this.closed = false;
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param bytes  non-null serialized row
+     * @param offset start position of the row in {@code bytes}
+     * @param length length of the row in byte
+     * @throws IOException when failed to spill the row into temporary file
+     */
+    public void append(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+
+        if (size == Integer.MAX_VALUE) {
+            throw new IOException("Too many rows to store");
+        } else if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, (int) Math.min(Integer.MAX_VALUE, offsets.length * 2L));
+        }
+
+        long memoryEnd = memoryRows > 0 ? offsets[memoryRows - 1] : 0L;
+        if (memoryRows == size && memoryEnd + length <= memoryLimit) {
+            int end = (int) memoryEnd + length;
+            if (end > memory.length) {
+                memory = Arrays.copyOf(memory, (int) Math.min(memoryLimit, Math.max(end, memory.length * 2L)));
+            }
+            System.arraycopy(bytes, offset, memory, (int) memoryEnd, length);
+            offsets[size++] = end;
+            memoryRows++;
+        } else {
+            spill(bytes, offset, length);
+            offsets[size++] = fileLength;
+        }
+    }
+
+    /**
+     * Gets a row.
+     *
+     * @param index zero-based index of the row
+     * @return non-null read-only buffer containing the serialized row
+     * @throws IOException when failed to read the row from temporary file
+     */
+    public ByteBuffer get(int index) throws IOException {
+        ensureOpen();
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    ClickHouseUtils.format("Row index should be between 0 and %d but we got %d", size - 1, index));
+        }
+
+        if (index < memoryRows) {
+            int start = index == 0 ? 0 : (int) offsets[index - 1];
+            // read-only so that deserializers cannot modify the stored bytes in place
+            return ByteBuffer.wrap(memory, start, (int) offsets[index] - start).asReadOnlyBuffer();
+        }
+
+        long start = index == memoryRows ? 0L : offsets[index - 1];
+        return slice(index, start, offsets[index]);
+    }
+
+    /**
+     * Checks whether some of the rows have been spilled into temporary file.
+     *
+     * @return true if there's spilled rows; false otherwise
+     */
+    public boolean hasSpilled() {
+        return memoryRows < size;
+    }
+
+    /**
+     * Gets number of rows in the store.
+     *
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        offsets = null;
+        memory = null;
+        mapped = null;
+        writeBuffer = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException e) {
+                    log.debug("Failed to delete temporary file [%s] due to: %s", file, e.getMessage());
+                }
+            }
+        }
+    }
+}
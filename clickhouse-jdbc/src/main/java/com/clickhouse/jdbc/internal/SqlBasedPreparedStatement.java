@@ -1,5 +1,6 @@
 package com.clickhouse.jdbc.internal;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Array;
 import java.sql.Date;
@@ -16,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.TimeZone;
@@ -27,6 +29,7 @@ import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.data.ClickHouseChecker;
 import com.clickhouse.data.ClickHouseColumn;
 import com.clickhouse.data.ClickHouseDataType;
+import com.clickhouse.data.ClickHouseExternalTable;
 import com.clickhouse.data.ClickHouseUtils;
 import com.clickhouse.data.ClickHouseValue;
 import com.clickhouse.data.ClickHouseValues;
@@ -57,6 +60,13 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
     private final List<String[]> batch;
     private final StringBuilder builder;
 
+    private final int externalThreshold;
+    // sub-queries replacing large array parameters of IN expression, and the
+    // external tables holding the values
+    private final String[] subqueries;
+    private final ClickHouseExternalTable[] externals;
+    private final List<List<ClickHouseExternalTable>> externalBatch;
+
     private int counter;
 
     protected SqlBasedPreparedStatement(ClickHouseConnectionImpl connection, ClickHouseRequest<?> request,
@@ -110,6 +120,19 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
             builder.append(insertValuesQuery);
         }
 
+        int threshold = connection.getJdbcConfig().getExternalParameterThreshold();
+        subqueries = new String[tlen];
+        externals = new ClickHouseExternalTable[tlen];
+        if (threshold > 0 && prefix == null && preparedQuery instanceof JdbcParameterizedQuery) {
+            List<String[]> parts = preparedQuery.getQueryParts();
+            for (int i = 0, len = parts.size(); i < tlen && i < len; i++) {
+                subqueries[i] = ExternalTableParameter.getSubquery(parts.get(i)[0],
+                        i + 1 < len ? parts.get(i + 1)[0] : null, ExternalTableParameter.TABLE_PREFIX + (i + 1));
+            }
+        }
+        externalThreshold = threshold;
+        externalBatch = new LinkedList<>();
+
         counter = 0;
     }
 
@@ -189,12 +212,19 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
             }
         } else {
             int index = 0;
+            Iterator<List<ClickHouseExternalTable>> tables = externalBatch.iterator();
             try {
                 for (String[] params : batch) {
                     builder.setLength(0);
                     preparedQuery.apply(builder, params);
+                    List<ClickHouseExternalTable> list = tables.hasNext() ? tables.next() : null;
+                    if (list != null && list.isEmpty()) {
+                        // remove external tables of previous execution
+                        getRequest().external(list);
+                        list = null;
+                    }
                     try {
-                        r = executeStatement(builder.toString(), null, null, null);
+                        r = executeStatement(builder.toString(), null, list, null);
                         if (updateResult(parsedStmt, r) != null && asBatch) {
                             throw SqlExceptionUtils.queryInBatchError(results);
                         }
@@ -387,7 +417,40 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
 
         for (int i = 0, len = values.length; i < len; i++) {
             values[i] = null;
+            externals[i] = null;
+        }
+    }
+
+    /**
+     * Sets array or collection parameter as external table, when it's right
+     * operand of {@code IN} expression and has more elements than
+     * {@link com.clickhouse.jdbc.JdbcConfig#getExternalParameterThreshold()}.
+     *
+     * @param idx   zero-based index of the parameter
+     * @param array array or collection
+     * @return true if the parameter is set as external table; false otherwise
+     * @throws SQLException when failed to serialize the elements
+     */
+    protected boolean setExternalParameter(int idx, Object array) throws SQLException {
+        String subquery = subqueries[idx];
+        if (subquery == null) {
+            return false;
+        }
+
+        ClickHouseExternalTable table;
+        try {
+            table = ExternalTableParameter.of(ExternalTableParameter.TABLE_PREFIX + (idx + 1), array,
+                    externalThreshold);
+        } catch (IOException e) {
+            throw SqlExceptionUtils.clientError(e);
+        }
+        if (table == null) {
+            return false;
         }
+
+        values[idx] = subquery;
+        externals[idx] = table;
+        return true;
     }
 
     @Override
@@ -404,7 +467,7 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
                 value = (ClickHouseValue) x;
                 templates[idx] = value;
                 values[idx] = value.toSqlExpression();
-            } else {
+            } else if (!setExternalParameter(idx, x)) {
                 values[idx] = ClickHouseValues.convertToSqlExpression(x);
             }
         }
@@ -442,6 +505,7 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
         } else {
             int len = values.length;
             String[] newValues = new String[len];
+            List<ClickHouseExternalTable> tables = null;
             for (int i = 0; i < len; i++) {
                 String v = values[i];
                 if (v == null) {
@@ -450,8 +514,21 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
                 } else {
                     newValues[i] = v;
                 }
+                // sub-query is shared, so the reference check tells if it's overridden by
+                // another setter
+                ClickHouseExternalTable t = externals[i];
+                if (t != null && v == subqueries[i]) { // NOSONAR
+                    if (tables == null) {
+                        tables = new ArrayList<>(len);
+                    }
+                    tables.add(t);
+                }
             }
             batch.add(newValues);
+            if (externalThreshold > 0) {
+                // empty list to reset external tables of previous execution
+                externalBatch.add(tables != null ? tables : Collections.emptyList());
+            }
         }
         counter++;
         clearParameters();
@@ -462,6 +539,7 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
         ensureOpen();
 
         this.batch.clear();
+        this.externalBatch.clear();
         this.builder.setLength(0);
         if (insertValuesQuery != null) {
             this.builder.append(insertValuesQuery);
@@ -476,8 +554,11 @@ public class SqlBasedPreparedStatement extends AbstractPreparedStatement impleme
 
         int idx = toArrayIndex(parameterIndex);
         Object array = x != null ? x.getArray() : x;
-        values[idx] = array != null ? ClickHouseValues.convertToSqlExpression(array)
-                : ClickHouseValues.EMPTY_ARRAY_EXPR;
+        if (array == null) {
+            values[idx] = ClickHouseValues.EMPTY_ARRAY_EXPR;
+        } else if (!setExternalParameter(idx, array)) {
+            values[idx] = ClickHouseValues.convertToSqlExpression(array);
+        }
     }
 
     @Override
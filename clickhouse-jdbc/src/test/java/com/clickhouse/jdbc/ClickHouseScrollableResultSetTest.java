@@ -0,0 +1,105 @@
+package com.clickhouse.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseSimpleResponse;
+import com.clickhouse.data.ClickHouseColumn;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ClickHouseScrollableResultSetTest {
+    @DataProvider(name = "memoryLimits")
+    private Object[][] getMemoryLimits() {
+        return new Object[][] { { 0L }, { 20L }, { 1024L * 1024L } };
+    }
+
+    private ClickHouseScrollableResultSet newResultSet(int rows, long memoryLimit) throws SQLException {
+        Object[][] values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[] { i + 1, i % 3 == 0 ? null : "row" + (i + 1) };
+        }
+        ClickHouseConfig config = new ClickHouseConfig();
+        return new ClickHouseScrollableResultSet("", "", ClickHouseSimpleResponse.of(config,
+                ClickHouseColumn.parse("i Int32, s Nullable(String)"), values), config, memoryLimit);
+    }
+
+    @Test(dataProvider = "memoryLimits", groups = "unit")
+    public void testEmptyResultSet(long memoryLimit) throws SQLException {
+        try (ClickHouseScrollableResultSet rs = newResultSet(0, memoryLimit)) {
+            Assert.assertEquals(rs.getType(), ResultSet.TYPE_SCROLL_INSENSITIVE);
+            Assert.assertFalse(rs.isBeforeFirst());
+            Assert.assertFalse(rs.isAfterLast());
+            Assert.assertFalse(rs.first());
+            Assert.assertFalse(rs.last());
+            Assert.assertFalse(rs.absolute(1));
+            Assert.assertFalse(rs.absolute(-1));
+            Assert.assertFalse(rs.previous());
+            Assert.assertFalse(rs.next());
+            Assert.assertEquals(rs.getRow(), 0);
+        }
+    }
+
+    @Test(dataProvider = "memoryLimits", groups = "unit")
+    public void testForwardOnly(long memoryLimit) throws SQLException {
+        try (ClickHouseScrollableResultSet rs = newResultSet(10, memoryLimit)) {
+            Assert.assertTrue(rs.isBeforeFirst());
+            for (int i = 1; i <= 10; i++) {
+                Assert.assertTrue(rs.next());
+                Assert.assertEquals(rs.getRow(), i);
+                Assert.assertEquals(rs.isFirst(), i == 1);
+                Assert.assertEquals(rs.isLast(), i == 10);
+                Assert.assertEquals(rs.getInt(1), i);
+                Assert.assertEquals(rs.getString("s"), (i - 1) % 3 == 0 ? null : "row" + i);
+                Assert.assertEquals(rs.wasNull(), (i - 1) % 3 == 0);
+            }
+            Assert.assertFalse(rs.next());
+            Assert.assertTrue(rs.isAfterLast());
+            Assert.assertEquals(rs.getRow(), 0);
+        }
+    }
+
+    @Test(dataProvider = "memoryLimits", groups = "unit")
+    public void testScroll(long memoryLimit) throws SQLException {
+        try (ClickHouseScrollableResultSet rs = newResultSet(100, memoryLimit)) {
+            Assert.assertTrue(rs.absolute(50));
+            Assert.assertEquals(rs.getInt(1), 50);
+            Assert.assertTrue(rs.previous());
+            Assert.assertEquals(rs.getInt(1), 49);
+            Assert.assertTrue(rs.relative(10));
+            Assert.assertEquals(rs.getInt(1), 59);
+            Assert.assertTrue(rs.relative(-58));
+            Assert.assertEquals(rs.getInt(1), 1);
+            Assert.assertTrue(rs.isFirst());
+            Assert.assertFalse(rs.previous());
+            Assert.assertTrue(rs.isBeforeFirst());
+            Assert.assertTrue(rs.next());
+            Assert.assertEquals(rs.getInt(1), 1);
+
+            Assert.assertTrue(rs.last());
+            Assert.assertEquals(rs.getRow(), 100);
+            Assert.assertNull(rs.getString(2));
+            Assert.assertTrue(rs.absolute(-2));
+            Assert.assertEquals(rs.getInt(1), 99);
+            Assert.assertEquals(rs.getString(2), "row99");
+            Assert.assertFalse(rs.absolute(-101));
+            Assert.assertTrue(rs.isBeforeFirst());
+            Assert.assertFalse(rs.absolute(101));
+            Assert.assertTrue(rs.isAfterLast());
+            Assert.assertTrue(rs.previous());
+            Assert.assertEquals(rs.getInt(1), 100);
+
+            rs.beforeFirst();
+            Assert.assertTrue(rs.isBeforeFirst());
+            rs.afterLast();
+            Assert.assertTrue(rs.isAfterLast());
+            Assert.assertTrue(rs.first());
+            Assert.assertEquals(rs.getInt(1), 1);
+            Assert.assertNull(rs.getString(2));
+            Assert.assertTrue(rs.wasNull());
+        }
+    }
+}
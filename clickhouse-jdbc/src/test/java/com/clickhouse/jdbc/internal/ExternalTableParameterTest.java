@@ -0,0 +1,79 @@
+package com.clickhouse.jdbc.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.clickhouse.data.ClickHouseExternalTable;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.format.BinaryStreamUtils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExternalTableParameterTest {
+    @Test(groups = "unit")
+    public void testGetSubquery() {
+        String expr = "SELECT v FROM _ext_1";
+        Assert.assertNull(ExternalTableParameter.getSubquery(null, null, "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("", null, "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where x = ", null, "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where has(", ", x)", "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where x in (", ", 1)", "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where x in (1, ", ")", "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where x = min", null, "_ext_1"));
+        Assert.assertNull(ExternalTableParameter.getSubquery("select * from t where x = login", null, "_ext_1"));
+
+        Assert.assertEquals(ExternalTableParameter.getSubquery("select * from t where x in (", ")", "_ext_1"),
+                expr);
+        Assert.assertEquals(ExternalTableParameter.getSubquery("select * from t where x NOT IN\n( ", " ) and y = ",
+                "_ext_1"), expr);
+        Assert.assertEquals(ExternalTableParameter.getSubquery("select * from t where x global in ", null,
+                "_ext_1"), "(" + expr + ")");
+        Assert.assertEquals(ExternalTableParameter.getSubquery("select * from t where (x)in", " and y = ",
+                "_ext_2"), "(SELECT v FROM _ext_2)");
+    }
+
+    @Test(groups = "unit")
+    public void testCreateTable() throws IOException {
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", null, 1));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", "123", 1));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", new int[] { 1, 2, 3 }, 0));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", new int[] { 1, 2, 3 }, 3));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", Arrays.asList(1, null, 3), 1));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", Arrays.asList(1, "2", 3), 1));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", new char[] { '1', '2' }, 1));
+        Assert.assertNull(ExternalTableParameter.of("_ext_1", Collections.singletonList(new Object()), 0));
+
+        ClickHouseExternalTable table = ExternalTableParameter.of("_ext_1", new int[] { 1, 2, 3 }, 2);
+        Assert.assertEquals(table.getName(), "_ext_1");
+        Assert.assertEquals(table.getFormat(), ClickHouseFormat.RowBinary);
+        Assert.assertEquals(table.getStructure(), "v Int64");
+        Assert.assertFalse(table.isTempTable());
+        try (ClickHouseInputStream in = ClickHouseInputStream.of(table.getContent())) {
+            Assert.assertEquals(BinaryStreamUtils.readInt64(in), 1L);
+            Assert.assertEquals(BinaryStreamUtils.readInt64(in), 2L);
+            Assert.assertEquals(BinaryStreamUtils.readInt64(in), 3L);
+            Assert.assertEquals(in.read(), -1);
+        }
+
+        table = ExternalTableParameter.of("_ext_2", Arrays.asList(1.5D, 2.5F), 1);
+        Assert.assertEquals(table.getStructure(), "v Float64");
+        try (ClickHouseInputStream in = ClickHouseInputStream.of(table.getContent())) {
+            Assert.assertEquals(BinaryStreamUtils.readFloat64(in), 1.5D);
+            Assert.assertEquals(BinaryStreamUtils.readFloat64(in), 2.5D);
+            Assert.assertEquals(in.read(), -1);
+        }
+
+        table = ExternalTableParameter.of("_ext_3", new String[] { "a", "", "中" }, 2);
+        Assert.assertEquals(table.getStructure(), "v String");
+        try (InputStream content = table.getContent(); ClickHouseInputStream in = ClickHouseInputStream.of(content)) {
+            Assert.assertEquals(in.readUnicodeString(), "a");
+            Assert.assertEquals(in.readUnicodeString(), "");
+            Assert.assertEquals(in.readUnicodeString(), "中");
+            Assert.assertEquals(in.read(), -1);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.clickhouse.jdbc.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseSimpleResponse;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseRecord;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class PrefetchingRecordIteratorTest {
+    @DataProvider(name = "batchSizes")
+    private Object[][] getBatchSizes() {
+        return new Object[][] { { 0, 0 }, { 1, 1 }, { 3, 2 }, { 100, 4 }, { 1000, 1 } };
+    }
+
+    private Iterator<ClickHouseRecord> newSource(int rows) {
+        Object[][] values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[] { i, "v" + i };
+        }
+        return ClickHouseSimpleResponse
+                .of(new ClickHouseConfig(), ClickHouseColumn.parse("i Int32, s String"), values).records()
+                .iterator();
+    }
+
+    @Test(dataProvider = "batchSizes", groups = "unit")
+    public void testRead(int batchSize, int batches) {
+        try (PrefetchingRecordIterator it = new PrefetchingRecordIterator(newSource(0), batchSize, batches, false)) {
+            Assert.assertFalse(it.hasNext());
+            Assert.assertFalse(it.hasNext());
+            Assert.assertThrows(NoSuchElementException.class, () -> it.next());
+        }
+
+        try (PrefetchingRecordIterator it = new PrefetchingRecordIterator(newSource(250), batchSize, batches,
+                true)) {
+            List<ClickHouseRecord> list = new ArrayList<>();
+            while (it.hasNext()) {
+                list.add(it.next());
+            }
+            Assert.assertEquals(list.size(), 250);
+            for (int i = 0; i < 250; i++) {
+                ClickHouseRecord r = list.get(i);
+                Assert.assertEquals(r.getValue(0).asInteger(), i);
+                Assert.assertEquals(r.getValue("s").asString(), "v" + i);
+            }
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testClose() {
+        PrefetchingRecordIterator it = new PrefetchingRecordIterator(newSource(10000), 10, 2, false);
+        Assert.assertTrue(it.hasNext());
+        Assert.assertEquals(it.next().getValue(0).asInteger(), 0);
+        it.close();
+        Assert.assertFalse(it.hasNext());
+        it.close();
+    }
+
+    @Test(groups = "unit")
+    public void testCloseStopsWorker() throws InterruptedException {
+        AtomicInteger reads = new AtomicInteger();
+        Iterator<ClickHouseRecord> source = new Iterator<ClickHouseRecord>() {
+            private final Iterator<ClickHouseRecord> it = newSource(100000);
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public ClickHouseRecord next() {
+                reads.incrementAndGet();
+                return it.next();
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            PrefetchingRecordIterator it = new PrefetchingRecordIterator(source, 1, 1, false);
+            Assert.assertTrue(it.hasNext());
+            it.close();
+            int count = reads.get();
+            Thread.sleep(10L);
+            Assert.assertEquals(reads.get(), count, "Source should not be read after close");
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testError() {
+        Iterator<ClickHouseRecord> source = new Iterator<ClickHouseRecord>() {
+            private final Iterator<ClickHouseRecord> it = newSource(5);
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ClickHouseRecord next() {
+                if (count++ < 5) {
+                    return it.next();
+                }
+                throw new UncheckedIOException(new IOException("fake error"));
+            }
+        };
+
+        try (PrefetchingRecordIterator it = new PrefetchingRecordIterator(source, 2, 0, false)) {
+            for (int i = 0; i < 5; i++) {
+                Assert.assertTrue(it.hasNext());
+                Assert.assertEquals(it.next().getValue(0).asInteger(), i);
+            }
+            Assert.assertThrows(UncheckedIOException.class, () -> it.hasNext());
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testFatalError() {
+        Iterator<ClickHouseRecord> source = new Iterator<ClickHouseRecord>() {
+            private final Iterator<ClickHouseRecord> it = newSource(3);
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ClickHouseRecord next() {
+                if (count++ < 3) {
+                    return it.next();
+                }
+                throw new AssertionError("fake error");
+            }
+        };
+
+        try (PrefetchingRecordIterator it = new PrefetchingRecordIterator(source, 2, 0, false)) {
+            for (int i = 0; i < 3; i++) {
+                Assert.assertTrue(it.hasNext());
+                Assert.assertEquals(it.next().getValue(0).asInteger(), i);
+            }
+            Assert.assertThrows(AssertionError.class, () -> it.hasNext());
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+}
@@ -8,8 +8,10 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class ClickHouseBatch implements Batch {
 
@@ -28,12 +30,43 @@ public class ClickHouseBatch implements Batch {
         return this;
     }
 
+    private Flux<ClickHouseResult> insert(String insertQuery, List<String> values) {
+        long[] counts = new long[values.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = ClickHouseInsertValues.countRows(values.get(i));
+        }
+        return ClickHouseInsertValues.execute(request, insertQuery, output -> {
+            for (String v : values) {
+                output.write(v.concat("\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }).flatMapMany(resp -> ClickHouseInsertValues.toResults(resp, counts));
+    }
+
     @Override
     public Publisher<? extends Result> execute() {
-        return Flux.fromStream(sqlList.stream().map(sql -> {
-            request.query(sql).format(PREFERRED_FORMAT);
-            return Mono.fromFuture(request::execute); }))
-                .flatMap(Mono::flux)
-                .map(ClickHouseResult::new);
+        List<Flux<ClickHouseResult>> list = new ArrayList<>(sqlList.size());
+        for (int i = 0, len = sqlList.size(); i < len;) {
+            String sql = sqlList.get(i++);
+            String[] parts = ClickHouseInsertValues.split(sql);
+            if (parts != null) {
+                // merge consecutive inserts into same table and columns
+                List<String> values = new ArrayList<>();
+                values.add(parts[1]);
+                String[] nextParts;
+                while (i < len && (nextParts = ClickHouseInsertValues.split(sqlList.get(i))) != null
+                        && parts[0].equals(nextParts[0])) {
+                    values.add(nextParts[1]);
+                    i++;
+                }
+                if (values.size() > 1) {
+                    list.add(insert(parts[0], values));
+                    continue;
+                }
+            }
+
+            ClickHouseRequest<?> req = request.query(sql).format(PREFERRED_FORMAT).seal();
+            list.add(Mono.fromFuture(req::execute).map(ClickHouseResult::new).flux());
+        }
+        return Flux.fromIterable(list).flatMapSequential(Function.identity(), ClickHouseInsertValues.MAX_CONCURRENCY);
     }
 }
@@ -0,0 +1,166 @@
+package com.clickhouse.r2dbc;
+
+import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseUtils;
+import com.clickhouse.data.ClickHouseWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Helper class for {@code INSERT ... VALUES} statements. Instead of sending one
+ * request per row, rows are streamed in {@link ClickHouseFormat#Values} format
+ * as the body of one single request.
+ */
+final class ClickHouseInsertValues {
+    /**
+     * Maximum number of requests can be executed at the same time, when a
+     * statement or batch cannot be sent as one request.
+     */
+    static final int MAX_CONCURRENCY = 4;
+
+    static final String KEYWORD_INSERT = "INSERT";
+    static final String KEYWORD_INTO = "INTO";
+    static final String KEYWORD_TABLE = "TABLE";
+    static final String KEYWORD_VALUES = "VALUES";
+
+    private static boolean isBoundary(char ch) {
+        return !Character.isJavaIdentifierPart(ch);
+    }
+
+    private static int skipWhitespaces(String sql, int index, int len) {
+        while (index < len && Character.isWhitespace(sql.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isKeyword(String sql, int index, int len, String keyword) {
+        int end = index + keyword.length();
+        return sql.regionMatches(true, index, keyword, 0, keyword.length()) && (end == len
+                || isBoundary(sql.charAt(end)));
+    }
+
+    private static int skipName(String sql, int index, int len) {
+        if (index < len && ClickHouseUtils.isQuote(sql.charAt(index))) {
+            return ClickHouseUtils.skipQuotedString(sql, index, len, sql.charAt(index));
+        }
+        while (index < len && Character.isJavaIdentifierPart(sql.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Splits the given SQL into two parts: the insert statement without values,
+     * and the values expression. Only {@code VALUES} right after the target table
+     * and optional column list is accepted, so that statements like
+     * {@code INSERT INTO t SELECT * FROM values(...)} are left alone.
+     *
+     * @param sql SQL statement
+     * @return insert statement and values expression, or null when it's not an
+     *         {@code INSERT ... VALUES} statement
+     */
+    static String[] split(String sql) {
+        int len = sql != null ? sql.length() : 0;
+        if (len == 0) {
+            return null;
+        }
+
+        int index = skipWhitespaces(sql, 0, len);
+        if (!isKeyword(sql, index, len, KEYWORD_INSERT)) {
+            return null;
+        }
+
+        try {
+            index = skipWhitespaces(sql, index + KEYWORD_INSERT.length(), len);
+            if (isKeyword(sql, index, len, KEYWORD_INTO)) {
+                index = skipWhitespaces(sql, index + KEYWORD_INTO.length(), len);
+            }
+            if (isKeyword(sql, index, len, KEYWORD_TABLE)) {
+                index = skipWhitespaces(sql, index + KEYWORD_TABLE.length(), len);
+            }
+            // table name, optionally qualified by database name
+            while (true) {
+                int end = skipName(sql, index, len);
+                if (end == index) {
+                    return null;
+                }
+                index = skipWhitespaces(sql, end, len);
+                if (index < len && sql.charAt(index) == '.') {
+                    index = skipWhitespaces(sql, index + 1, len);
+                } else {
+                    break;
+                }
+            }
+            // optional column list
+            if (index < len && sql.charAt(index) == '(') {
+                index = skipWhitespaces(sql, ClickHouseUtils.skipBrackets(sql, index, len, '('), len);
+            }
+        } catch (IllegalArgumentException e) {
+            // unclosed quote or bracket
+            return null;
+        }
+        if (!isKeyword(sql, index, len, KEYWORD_VALUES)) {
+            return null;
+        }
+
+        String values = sql.substring(index + KEYWORD_VALUES.length()).trim();
+        if (values.endsWith(";")) {
+            values = values.substring(0, values.length() - 1).trim();
+        }
+        return values.isEmpty() || values.charAt(0) != '(' ? null
+                : new String[] { sql.substring(0, index).trim(), values };
+    }
+
+    /**
+     * Counts rows in the given values expression.
+     *
+     * @param values values expression, for example: {@code (1, 'a'), (2, 'b')}
+     * @return number of rows
+     */
+    static int countRows(String values) {
+        int count = 0;
+        for (int i = 0, len = values.length(); i < len; i++) {
+            char ch = values.charAt(i);
+            if (ch == '(') {
+                i = ClickHouseUtils.skipBrackets(values, i, len, ch) - 1;
+                count++;
+            } else if (ClickHouseUtils.isQuote(ch)) {
+                i = ClickHouseUtils.skipQuotedString(values, i, len, ch) - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Executes insert statement with rows written by the given writer.
+     *
+     * @param request non-null request
+     * @param insert  insert statement without values
+     * @param writer  non-null writer for writing rows in
+     *                {@link ClickHouseFormat#Values} format
+     * @return response of the insert
+     */
+    static Mono<ClickHouseResponse> execute(ClickHouseRequest<?> request, String insert, ClickHouseWriter writer) {
+        ClickHouseRequest.Mutation mutation = request.write().query(insert).format(ClickHouseFormat.Values)
+                .data(writer).seal();
+        return Mono.fromFuture(mutation::execute);
+    }
+
+    /**
+     * Creates one result for each statement or binding of the insert.
+     *
+     * @param response response of the insert, which will be closed
+     * @param counts   update count of each statement or binding
+     * @return results
+     */
+    static Flux<ClickHouseResult> toResults(ClickHouseResponse response, long[] counts) {
+        response.close();
+        return Flux.range(0, counts.length).map(i -> new ClickHouseResult(counts[i]));
+    }
+
+    private ClickHouseInsertValues() {
+    }
+}
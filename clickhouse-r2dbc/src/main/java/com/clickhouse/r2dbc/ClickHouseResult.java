@@ -14,7 +14,6 @@ import reactor.core.publisher.Mono;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.StreamSupport;
 
 public class ClickHouseResult implements Result {
 
@@ -25,11 +24,18 @@ public class ClickHouseResult implements Result {
     private final Flux<? extends Result.Segment> segments;
 
     ClickHouseResult(ClickHouseResponse response) {
-        this.rowSegments = Mono.just(response)
-                .flatMapMany(resp -> Flux
-                        .fromStream(StreamSupport.stream(resp.records().spliterator(), false)
-                                .map(rec -> ClickHousePair.of(resp.getColumns(), rec))))
-                    .map(pair -> new ClickHouseRow(pair.getRight(), pair.getLeft()))
+        this(response, ClickHouseRowStream.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates result of the given response.
+     *
+     * @param response  non-null response
+     * @param batchSize number of rows to decode and emit at a time, zero or
+     *                  negative number means {@link ClickHouseRowStream#DEFAULT_BATCH_SIZE}
+     */
+    ClickHouseResult(ClickHouseResponse response, int batchSize) {
+        this.rowSegments = ClickHouseRowStream.of(response, batchSize)
                 .map(RowSegment::new);
         this.updatedCount =  Mono.just(response).map(ClickHouseResponse::getSummary)
                 .map(ClickHouseResponseSummary::getProgress)
@@ -38,6 +44,12 @@ public class ClickHouseResult implements Result {
         this.segments = Flux.concat(this.updatedCount, this.rowSegments);
     }
 
+    ClickHouseResult(long updatedCount) {
+        this.rowSegments = Flux.empty();
+        this.updatedCount = Mono.just(new UpdateCount(updatedCount));
+        this.segments = Flux.concat(this.updatedCount, this.rowSegments);
+    }
+
     ClickHouseResult(Flux<? extends Result.Segment> rowSegments, Mono<? extends Result.Segment> updatedCount) {
         this.rowSegments = rowSegments;
         this.updatedCount = updatedCount;
@@ -16,9 +16,8 @@ public class ClickHouseRow implements Row {
     final ClickHouseRecord record;
     final ClickHouseRowMetadata rowMetadata;
 
-    ClickHouseRow(ClickHouseRecord record, List<ClickHouseColumn> columnList) {
-        this.record = record;
-        this.rowMetadata = new ClickHouseRowMetadata(columnList.stream()
+    static ClickHouseRowMetadata newMetadata(List<ClickHouseColumn> columnList) {
+        return new ClickHouseRowMetadata(columnList.stream()
                 .map(ClickHouseColumnMetadata::new)
                 .collect(Collectors
                         .toMap(ClickHouseColumnMetadata::getName,
@@ -27,6 +26,15 @@ public class ClickHouseRow implements Row {
                                 LinkedHashMap::new)));
     }
 
+    ClickHouseRow(ClickHouseRecord record, List<ClickHouseColumn> columnList) {
+        this(record, newMetadata(columnList));
+    }
+
+    ClickHouseRow(ClickHouseRecord record, ClickHouseRowMetadata rowMetadata) {
+        this.record = record;
+        this.rowMetadata = rowMetadata;
+    }
+
     @Override
     public RowMetadata getMetadata() {
         return rowMetadata;
@@ -0,0 +1,61 @@
+package com.clickhouse.r2dbc;
+
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.data.ClickHouseRecord;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Emits rows of a response according to subscriber demand. Records are read and
+ * decoded in batches on {@link Schedulers#boundedElastic()}, so that blocking
+ * network reads never happen on the subscribing thread(e.g. an event loop).
+ * Next batch is only read when the previous one has been requested, which means
+ * reading from the response pauses as long as there's no demand.
+ */
+final class ClickHouseRowStream {
+    static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static List<ClickHouseRow> nextBatch(Iterator<ClickHouseRecord> it, ClickHouseRowMetadata metadata,
+            int batchSize) {
+        List<ClickHouseRow> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize && it.hasNext(); i++) {
+            // record might be reused by the deserializer, so copy is required
+            batch.add(new ClickHouseRow(it.next().copy(), metadata));
+        }
+        return batch;
+    }
+
+    /**
+     * Creates a flux of rows for the given response. The response will be closed
+     * on completion, error, or cancellation.
+     *
+     * @param response  non-null response
+     * @param batchSize number of rows to read and emit at a time, zero or negative
+     *                  number is treated as {@link #DEFAULT_BATCH_SIZE}
+     * @return non-null flux of rows
+     */
+    static Flux<ClickHouseRow> of(ClickHouseResponse response, int batchSize) {
+        final int size = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        return Flux.defer(() -> {
+            final ClickHouseRowMetadata metadata = ClickHouseRow.newMetadata(response.getColumns());
+            return Flux.<List<ClickHouseRow>, Iterator<ClickHouseRecord>>generate(
+                    () -> response.records().iterator(), (it, sink) -> {
+                        List<ClickHouseRow> batch = nextBatch(it, metadata, size);
+                        if (batch.isEmpty()) {
+                            sink.complete();
+                        } else {
+                            sink.next(batch);
+                        }
+                        return it;
+                    }, it -> response.close());
+        }).subscribeOn(Schedulers.boundedElastic()).flatMapIterable(Function.identity(), 1);
+    }
+
+    private ClickHouseRowStream() {
+    }
+}
@@ -1,9 +1,10 @@
 package com.clickhouse.r2dbc;
 
+import com.clickhouse.client.ClickHouseParameterizedQuery;
 import com.clickhouse.client.ClickHouseRequest;
-import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.data.ClickHouseFormat;
+import com.clickhouse.data.ClickHouseValues;
 import com.clickhouse.logging.Logger;
 import com.clickhouse.logging.LoggerFactory;
 import io.r2dbc.spi.Blob;
@@ -14,11 +15,14 @@ import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.Stream;
 
 public class ClickHouseStatement implements Statement {
 
@@ -30,6 +34,9 @@ public class ClickHouseStatement implements Statement {
     private static final String INVALID_PARAMETER_INDEX = "Invalid parameter index! Parameter index must be greater than 0.";
 
     private static final Object EXPLICITLY_SET_NULL_VALUE = new Object();
+    private static final String SETTING_MAX_BLOCK_SIZE = "max_block_size";
+    // rough estimation for sizing read buffer based on fetch size
+    private static final int ESTIMATED_ROW_SIZE = 64;
     public static final String NULL_VALUES_ARE_NOT_ALLOWED_AS_PARAMETER_NAME = "null values are not allowed as parameter name.";
     public static final String GENERATED_VALUES_CAN_NOT_BE_RETURNED_FROM_CLICKHOUSE_DATABASE = "Generated values can not be returned from Clickhouse database.";
     public static final String NON_EXISTING_IDENTIFIER_TEMPLATE = "non-existing identifier : %s";
@@ -40,6 +47,15 @@ public class ClickHouseStatement implements Statement {
     private final ClickHouseRequest<?> request;
     private final List<String> namedParameters;
     private final ClickHouseStatementBinding bindings;
+    // insert statement without values, and parsed values expression, for sending
+    // all bindings in one request
+    private final String insertQuery;
+    private final ClickHouseParameterizedQuery valuesQuery;
+    // whether fetch size should be used as hint, when not specified explicitly
+    private final boolean hintBlockSize;
+    private final boolean hintBufferSize;
+    // read buffer size used when fetch size is not specified
+    private final int defaultBufferSize;
     private int fetchSize;
 
     public ClickHouseStatement(String sql, ClickHouseRequest<?> request) {
@@ -48,6 +64,22 @@ public class ClickHouseStatement implements Statement {
                 .query(sql);
         namedParameters = request.getPreparedQuery().getParameters();
         bindings = new ClickHouseStatementBinding(namedParameters.size());
+        hintBlockSize = !request.hasSetting(SETTING_MAX_BLOCK_SIZE);
+        hintBufferSize = !request.hasOption(ClickHouseClientOption.READ_BUFFER_SIZE);
+        defaultBufferSize = request.getConfig().getReadBufferSize();
+
+        String[] parts = namedParameters.isEmpty() ? null : ClickHouseInsertValues.split(sql);
+        ClickHouseParameterizedQuery query = parts != null
+                ? ClickHouseParameterizedQuery.of(request.getConfig(), parts[1])
+                : null;
+        // all parameters must be in values expression
+        if (query != null && query.getParameters().size() == namedParameters.size()) {
+            insertQuery = parts[0];
+            valuesQuery = query;
+        } else {
+            insertQuery = null;
+            valuesQuery = null;
+        }
     }
 
 
@@ -125,6 +157,15 @@ public class ClickHouseStatement implements Statement {
         return this;
     }
 
+    /**
+     * Sets fetch size, which is number of rows to decode and emit at a time. It's
+     * also used as hint of server setting {@code max_block_size} and read buffer
+     * size(never smaller than the default), unless they were specified explicitly.
+     * Unlike JDBC, it does not limit number of rows in the result.
+     *
+     * @param rows number of rows, zero or negative number means default
+     * @return this statement
+     */
     @Override
     public Statement fetchSize(int rows) {
         this.fetchSize = rows;
@@ -134,26 +175,61 @@ public class ClickHouseStatement implements Statement {
     @Override
     public Flux<? extends Result> execute() {
         List<ClickHouseStatementBinding.Binding> boundList = bindings.getBoundList();
-        if (fetchSize > 0) {
-            log.debug("setting fetch size {}", fetchSize);
-            request.option(ClickHouseClientOption.MAX_RESULT_ROWS, fetchSize);
+        final int batchSize = fetchSize;
+        if (batchSize > 0) {
+            log.debug("setting fetch size %d", batchSize);
+            if (hintBlockSize) {
+                request.set(SETTING_MAX_BLOCK_SIZE, batchSize);
+            }
+            if (hintBufferSize) {
+                // only grow the buffer, as small one hurts throughput of small fetches
+                request.option(ClickHouseClientOption.READ_BUFFER_SIZE, (int) Math.max(defaultBufferSize,
+                        Math.min((long) batchSize * ESTIMATED_ROW_SIZE, Integer.MAX_VALUE)));
+            }
+        } else {
+            if (hintBlockSize) {
+                request.removeSetting(SETTING_MAX_BLOCK_SIZE);
+            }
+            if (hintBufferSize) {
+                request.removeOption(ClickHouseClientOption.READ_BUFFER_SIZE);
+            }
         }
         if (boundList.isEmpty()) {
             return Flux.from(Mono.fromFuture(request::execute)
-                    .map(ClickHouseResult::new));
+                    .map(resp -> new ClickHouseResult(resp, batchSize)));
         } else {
-            Stream<Mono<ClickHouseResponse>> monoStream = boundList.stream().map(binding -> {
+            for (ClickHouseStatementBinding.Binding binding : boundList) {
                 for (int i = 0; i < binding.values.length; i++ ) {
                     if (binding.values[i] == EXPLICITLY_SET_NULL_VALUE) {
                         binding.values[i] = null;
                     }
                 }
-                request.params(binding.values);
-                return Mono.fromFuture(request::execute);
-            });
-            return Flux.fromStream(monoStream)
-                    .flatMap(Mono::flux)
-                    .map(ClickHouseResult::new);
+            }
+
+            if (valuesQuery != null) {
+                long[] counts = new long[boundList.size()];
+                Arrays.fill(counts, 1L);
+                return ClickHouseInsertValues.execute(request, insertQuery, output -> {
+                    StringBuilder builder = new StringBuilder();
+                    Map<String, String> params = new HashMap<>();
+                    for (ClickHouseStatementBinding.Binding binding : boundList) {
+                        builder.setLength(0);
+                        params.clear();
+                        for (int i = 0, len = Math.min(binding.values.length, namedParameters.size()); i < len; i++) {
+                            params.put(namedParameters.get(i),
+                                    ClickHouseValues.convertToSqlExpression(binding.values[i]));
+                        }
+                        valuesQuery.apply(builder, params);
+                        output.write(builder.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+                    }
+                }).flatMapMany(resp -> ClickHouseInsertValues.toResults(resp, counts));
+            }
+
+            // seal the request right away, as it's going to be changed by next binding
+            return Flux.fromIterable(boundList)
+                    .<ClickHouseRequest<?>>map(binding -> request.params(binding.values).seal())
+                    .flatMapSequential(req -> Mono.fromFuture(req::execute), ClickHouseInsertValues.MAX_CONCURRENCY)
+                    .map(resp -> new ClickHouseResult(resp, batchSize));
         }
     }
 
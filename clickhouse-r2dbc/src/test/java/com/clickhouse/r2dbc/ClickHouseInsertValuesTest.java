@@ -0,0 +1,44 @@
+package com.clickhouse.r2dbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClickHouseInsertValuesTest {
+    @Test
+    void testSplit() {
+        assertArrayEquals(new String[] { "insert into t", "(1, 'a')" },
+                ClickHouseInsertValues.split("insert into t values (1, 'a')"));
+        assertArrayEquals(new String[] { "INSERT INTO db.`my table`(a, b)", "(:a, :b), (2, 'values')" },
+                ClickHouseInsertValues.split("  INSERT INTO db.`my table`(a, b)VALUES(:a, :b), (2, 'values');"));
+        assertArrayEquals(new String[] { "insert into table \"t\" ( a )", "(?)" },
+                ClickHouseInsertValues.split("insert into table \"t\" ( a ) Values (?) ;"));
+        assertArrayEquals(new String[] { "insert t", "(1)" }, ClickHouseInsertValues.split("insert t values(1)"));
+
+        assertNull(ClickHouseInsertValues.split(null));
+        assertNull(ClickHouseInsertValues.split(""));
+        assertNull(ClickHouseInsertValues.split("select * from values('a Int32', 1)"));
+        assertNull(ClickHouseInsertValues.split("insert into t select * from values('a Int32', 1)"));
+        assertNull(ClickHouseInsertValues.split("insert into t(a) select * from values('a Int32', (1))"));
+        assertNull(ClickHouseInsertValues.split("insert into t select 'values (1)'"));
+        assertNull(ClickHouseInsertValues.split("insert into t format Values (1)"));
+        assertNull(ClickHouseInsertValues.split("insert into t settings async_insert=1 values (1)"));
+        assertNull(ClickHouseInsertValues.split("insert into function remote('x', t) values (1)"));
+        assertNull(ClickHouseInsertValues.split("insert into t values"));
+        assertNull(ClickHouseInsertValues.split("insert into t(a values (1)"));
+        assertNull(ClickHouseInsertValues.split("insertion into t values (1)"));
+        assertNull(ClickHouseInsertValues.split("insert into tvalues (1)"));
+    }
+
+    @Test
+    void testCountRows() {
+        assertEquals(0, ClickHouseInsertValues.countRows(""));
+        assertEquals(1, ClickHouseInsertValues.countRows("(1)"));
+        assertEquals(2, ClickHouseInsertValues.countRows("(1, 'a'), (2, 'b')"));
+        assertEquals(2, ClickHouseInsertValues.countRows("(1, (2, 3), [(4)]),(5, tuple(6), [])"));
+        assertEquals(2, ClickHouseInsertValues.countRows("(1, '(x'), (2, 'y)\\')')"));
+        assertEquals(3, ClickHouseInsertValues.countRows("(:a, :b), (?, ?), (`c`, \"d)\")"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.clickhouse.r2dbc;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.ClickHouseResponseSummary;
+import com.clickhouse.client.ClickHouseSimpleResponse;
+import com.clickhouse.data.ClickHouseColumn;
+import com.clickhouse.data.ClickHouseInputStream;
+import com.clickhouse.data.ClickHouseRecord;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClickHouseRowStreamTest {
+    /**
+     * Response counting records read from it.
+     */
+    static class CountingResponse implements ClickHouseResponse {
+        private final ClickHouseResponse response;
+        final AtomicInteger reads = new AtomicInteger();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        CountingResponse(int rows) {
+            Object[][] values = new Object[rows][];
+            for (int i = 0; i < rows; i++) {
+                values[i] = new Object[] { i };
+            }
+            response = ClickHouseSimpleResponse.of(new ClickHouseConfig(), ClickHouseColumn.parse("n Int32"), values);
+        }
+
+        @Override
+        public List<ClickHouseColumn> getColumns() {
+            return response.getColumns();
+        }
+
+        @Override
+        public ClickHouseResponseSummary getSummary() {
+            return response.getSummary();
+        }
+
+        @Override
+        public ClickHouseInputStream getInputStream() {
+            return response.getInputStream();
+        }
+
+        @Override
+        public Iterable<ClickHouseRecord> records() {
+            final Iterator<ClickHouseRecord> it = response.records().iterator();
+            return () -> new Iterator<ClickHouseRecord>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public ClickHouseRecord next() {
+                    reads.incrementAndGet();
+                    return it.next();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            closed.countDown();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed.getCount() == 0L;
+        }
+    }
+
+    @Test
+    void testEmitOnDemand() throws InterruptedException {
+        CountingResponse response = new CountingResponse(100);
+        StepVerifier.create(ClickHouseRowStream.of(response, 2), 0L)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100L))
+                .then(() -> assertEquals(0, response.reads.get()))
+                .thenRequest(3L)
+                .assertNext(row -> assertEquals(0, row.get(0, Integer.class)))
+                .expectNextCount(2L)
+                .expectNoEvent(Duration.ofMillis(100L))
+                // at most one batch is read ahead
+                .then(() -> assertTrue(response.reads.get() <= 6, "Read too many rows: " + response.reads.get()))
+                .thenRequest(1L)
+                .assertNext(row -> assertEquals(3, row.get(0, Integer.class)))
+                .expectNoEvent(Duration.ofMillis(100L))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5L));
+
+        assertTrue(response.closed.await(5L, TimeUnit.SECONDS), "Response should be closed on cancellation");
+        assertTrue(response.reads.get() < 100);
+    }
+
+    @Test
+    void testEmitAll() throws InterruptedException {
+        CountingResponse response = new CountingResponse(10);
+        StepVerifier.create(ClickHouseRowStream.of(response, 3))
+                .expectNextCount(9L)
+                .assertNext(row -> assertEquals(9, row.get(0, Integer.class)))
+                .verifyComplete();
+
+        assertTrue(response.closed.await(5L, TimeUnit.SECONDS), "Response should be closed on completion");
+        assertEquals(10, response.reads.get());
+    }
+
+    @Test
+    void testEmptyResponse() throws InterruptedException {
+        CountingResponse response = new CountingResponse(0);
+        StepVerifier.create(ClickHouseRowStream.of(response, 0)).verifyComplete();
+        assertTrue(response.closed.await(5L, TimeUnit.SECONDS), "Response should be closed on completion");
+    }
+}
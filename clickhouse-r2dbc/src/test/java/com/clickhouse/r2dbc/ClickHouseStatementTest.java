@@ -0,0 +1,54 @@
+package com.clickhouse.r2dbc;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClickHouseStatementTest {
+    private static ClickHouseRequest<?> newRequest() {
+        return ClickHouseClient.newInstance().connect(ClickHouseNode.builder().build());
+    }
+
+    @Test
+    void testFetchSizeHint() {
+        ClickHouseRequest<?> request = newRequest();
+        int defaultBufferSize = request.getConfig().getReadBufferSize();
+        ClickHouseStatement statement = new ClickHouseStatement("select 1", request);
+
+        // execute() applies the hints before subscription, so no server is needed
+        statement.fetchSize(1).execute();
+        assertEquals(1, request.getSettings().get("max_block_size"));
+        assertEquals(defaultBufferSize, request.getConfig().getReadBufferSize());
+
+        int rows = defaultBufferSize; // definitely larger than default buffer size
+        statement.fetchSize(rows).execute();
+        assertEquals(rows, request.getSettings().get("max_block_size"));
+        assertTrue(request.getConfig().getReadBufferSize() > defaultBufferSize);
+
+        statement.fetchSize(0).execute();
+        assertFalse(request.hasSetting("max_block_size"));
+        assertFalse(request.hasOption(ClickHouseClientOption.READ_BUFFER_SIZE));
+        assertEquals(defaultBufferSize, request.getConfig().getReadBufferSize());
+    }
+
+    @Test
+    void testExplicitFetchSizeSettings() {
+        ClickHouseRequest<?> request = newRequest().set("max_block_size", 100)
+                .option(ClickHouseClientOption.READ_BUFFER_SIZE, 1024);
+        ClickHouseStatement statement = new ClickHouseStatement("select 1", request);
+
+        statement.fetchSize(100000).execute();
+        assertEquals(100, request.getSettings().get("max_block_size"));
+        assertEquals(1024, request.getConfig().getReadBufferSize());
+
+        statement.fetchSize(0).execute();
+        assertEquals(100, request.getSettings().get("max_block_size"));
+        assertEquals(1024, request.getConfig().getReadBufferSize());
+    }
+}